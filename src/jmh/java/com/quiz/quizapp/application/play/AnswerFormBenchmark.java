@@ -0,0 +1,45 @@
+package com.quiz.quizapp.application.play;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.benchmark.Payloads;
+import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.MultiValueMap;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link AnswerFormMapper#buildAnswerJsonFromForm} for one filled-in question of the play form. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerFormBenchmark {
+
+    @Param({"SINGLE_CHOICE", "MULTI_CHOICE", "TRUE_FALSE", "SHORT_ANSWER",
+            "LIST_CHOICE", "FILL_BLANKS", "SORTING", "MATCHING"})
+    public String type;
+
+    @Param({"4", "20"})
+    public int size;
+
+    private AnswerFormMapper mapper;
+    private QuestionForPlayDto question;
+    private MultiValueMap<String, String> params;
+
+    @Setup
+    public void setUp() {
+        mapper = new AnswerFormMapper(new ObjectMapper());
+        question = new QuestionForPlayDto(42L, type, "Benchmark question", 1, Payloads.optionsJson(type, size));
+        params = Payloads.formParams(type, 42L, size);
+        if (mapper.buildAnswerJsonFromForm(question, params) == null) {
+            throw new IllegalStateException("Form params for " + type + " map to no answer");
+        }
+    }
+
+    @Benchmark
+    public String buildAnswerJsonFromForm() {
+        return mapper.buildAnswerJsonFromForm(question, params);
+    }
+}
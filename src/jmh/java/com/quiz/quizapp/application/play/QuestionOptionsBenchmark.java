@@ -0,0 +1,59 @@
+package com.quiz.quizapp.application.play;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.benchmark.Payloads;
+import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link QuestionOptionsMapper#optionsByQuestionId} for a 20-question quiz mixing all types. The
+ * options are parsed once in setup, as the quiz snapshot does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionOptionsBenchmark {
+
+    private static final int QUESTIONS = 20;
+
+    @Param({"4", "20"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean randomiseAnswers;
+
+    private QuestionOptionsMapper mapper;
+    private List<QuestionForPlayDto> questions;
+    private Map<Long, List<String>> parsedOptions;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        mapper = new QuestionOptionsMapper();
+        questions = new ArrayList<>(QUESTIONS);
+        parsedOptions = new HashMap<>();
+        for (int i = 0; i < QUESTIONS; i++) {
+            String type = Payloads.TYPES.get(i % Payloads.TYPES.size());
+            String optionsJson = Payloads.optionsJson(type, size);
+            questions.add(new QuestionForPlayDto(i + 1, type, "Question " + (i + 1), 1, optionsJson));
+
+            List<String> parsed = QuizPlaySnapshot.parseOptions(objectMapper, optionsJson);
+            if (parsed != null) parsedOptions.put(i + 1L, parsed);
+        }
+    }
+
+    @Benchmark
+    public Map<Long, List<String>> optionsByQuestionId() {
+        return mapper.optionsByQuestionId(questions, parsedOptions, randomiseAnswers, 42L);
+    }
+}
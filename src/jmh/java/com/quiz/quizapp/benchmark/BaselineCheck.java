@@ -0,0 +1,176 @@
+package com.quiz.quizapp.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fails the build when a benchmark got slower, or allocates more per operation, than the
+ * tolerances allow. Two comparisons, both between numbers taken on the same machine:
+ * <ul>
+ *   <li>within the run: a {@code legacyFoo} benchmark keeps the implementation {@code foo}
+ *       replaced, and {@code foo} has to stay at least as fast and as lean as it on each params;</li>
+ *   <li>against the previous run: the baseline file is machine-local and not committed (the
+ *       first run saves it), since ops/ms from other hardware say nothing about this change.</li>
+ * </ul>
+ *
+ * <p>Arguments: {@code <result.json> <baseline.json> <throughputTolerance> <allocTolerance> <update>}.
+ * With {@code update=true} the result replaces the baseline, keeping only the scores compared here.
+ */
+public final class BaselineCheck {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    private static final String LEGACY = "legacy";
+    // Tiny allocations (a few objects) jitter by more than any percentage
+    private static final double ALLOC_SLACK_BYTES = 32;
+
+    private BaselineCheck() {}
+
+    public static void main(String[] args) throws IOException {
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double throughputTolerance = Double.parseDouble(args[2]);
+        double allocTolerance = Double.parseDouble(args[3]);
+        boolean update = Boolean.parseBoolean(args[4]);
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Scores> after = read(mapper.readTree(result.toFile()));
+
+        int behindLegacy = compareWithLegacy(after, throughputTolerance, allocTolerance);
+        if (behindLegacy > 0) {
+            System.err.println(behindLegacy + " benchmark(s) fell behind the implementation they replaced");
+        }
+
+        int regressions = 0;
+        if (update || !Files.exists(baseline)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            mapper.writerWithDefaultPrettyPrinter().writeValue(baseline.toFile(), compact(mapper, mapper.readTree(result.toFile())));
+            System.out.println("Saved benchmark baseline for this machine to " + baseline);
+        } else {
+            regressions = compareWithBaseline(read(mapper.readTree(baseline.toFile())), after,
+                    throughputTolerance, allocTolerance);
+            if (regressions > 0) {
+                System.err.println(regressions + " benchmark(s) regressed against " + baseline
+                        + " (rerun with -Djmh.updateBaseline=true if the change is intended)");
+            }
+        }
+
+        if (behindLegacy > 0 || regressions > 0) System.exit(1);
+    }
+
+    /** Each {@code legacyFoo} result against {@code foo} with the same params, from this run. */
+    private static int compareWithLegacy(Map<String, Scores> after, double throughputTolerance, double allocTolerance) {
+        int regressions = 0;
+        boolean header = false;
+        for (var e : new TreeMap<>(after).entrySet()) {
+            String current = replacedBy(e.getKey());
+            if (current == null || !after.containsKey(current)) continue;
+            if (!header) {
+                System.out.printf("%-70s %14s %14s %12s %12s%n", "benchmark", "ops/ms legacy", "ops/ms now", "B/op legacy", "B/op now");
+                header = true;
+            }
+            if (report(current, e.getValue(), after.get(current), throughputTolerance, allocTolerance)) regressions++;
+        }
+        return regressions;
+    }
+
+    private static int compareWithBaseline(Map<String, Scores> before, Map<String, Scores> after,
+                                           double throughputTolerance, double allocTolerance) {
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %12s %12s%n", "benchmark", "ops/ms before", "ops/ms after", "B/op before", "B/op after");
+        for (var e : new TreeMap<>(after).entrySet()) {
+            // The legacy code never changes; it only serves as the reference above
+            if (replacedBy(e.getKey()) != null) continue;
+            Scores then = before.get(e.getKey());
+            if (then == null) {
+                Scores now = e.getValue();
+                System.out.printf("%-70s %14s %14.1f %12s %12s  (new)%n", name(e.getKey()), "-", now.throughput, "-", alloc(now.alloc));
+                continue;
+            }
+            if (report(e.getKey(), then, e.getValue(), throughputTolerance, allocTolerance)) regressions++;
+        }
+        return regressions;
+    }
+
+    /** Prints one row; true when {@code now} is slower or allocates more than the tolerances allow. */
+    private static boolean report(String key, Scores then, Scores now, double throughputTolerance, double allocTolerance) {
+        boolean slower = now.throughput < then.throughput * (1 - throughputTolerance);
+        boolean heavier = !Double.isNaN(now.alloc) && !Double.isNaN(then.alloc)
+                && now.alloc > then.alloc * (1 + allocTolerance) + ALLOC_SLACK_BYTES;
+
+        System.out.printf("%-70s %14.1f %14.1f %12s %12s%s%n", name(key), then.throughput, now.throughput,
+                alloc(then.alloc), alloc(now.alloc),
+                slower && heavier ? "  SLOWER, MORE ALLOCATION" : slower ? "  SLOWER" : heavier ? "  MORE ALLOCATION" : "");
+        return slower || heavier;
+    }
+
+    /** {@code a.B.legacyFoo p=1} -> {@code a.B.foo p=1}; null when the key isn't a legacy benchmark. */
+    private static String replacedBy(String key) {
+        int space = key.indexOf(' ');
+        String benchmark = space < 0 ? key : key.substring(0, space);
+        String params = space < 0 ? "" : key.substring(space);
+        int dot = benchmark.lastIndexOf('.');
+        String method = benchmark.substring(dot + 1);
+        if (!method.startsWith(LEGACY) || method.length() == LEGACY.length()) return null;
+
+        String replaced = method.substring(LEGACY.length());
+        return benchmark.substring(0, dot + 1) + Character.toLowerCase(replaced.charAt(0)) + replaced.substring(1) + params;
+    }
+
+    private static String name(String key) {
+        return key.replace("com.quiz.quizapp.", "");
+    }
+
+    private static Map<String, Scores> read(JsonNode results) {
+        Map<String, Scores> scores = new LinkedHashMap<>();
+        for (JsonNode r : results) {
+            Map<String, String> params = new TreeMap<>();
+            r.path("params").properties().forEach(p -> params.put(p.getKey(), p.getValue().asText()));
+            StringBuilder key = new StringBuilder(r.path("benchmark").asText());
+            params.forEach((k, v) -> key.append(' ').append(k).append('=').append(v));
+
+            JsonNode alloc = r.path("secondaryMetrics").path(ALLOC_NORM).path("score");
+            scores.put(key.toString(), new Scores(
+                    r.path("primaryMetric").path("score").asDouble(),
+                    alloc.isNumber() ? alloc.asDouble() : Double.NaN));
+        }
+        return scores;
+    }
+
+    /** The result without per-iteration raw data, in the same layout so {@link #read} takes either. */
+    private static ArrayNode compact(ObjectMapper mapper, JsonNode results) {
+        ArrayNode out = mapper.createArrayNode();
+        for (JsonNode r : results) {
+            ObjectNode entry = out.addObject();
+            entry.set("benchmark", r.path("benchmark"));
+            entry.set("mode", r.path("mode"));
+            entry.set("jdkVersion", r.path("jdkVersion"));
+            entry.set("params", r.path("params"));
+            ObjectNode primary = entry.putObject("primaryMetric");
+            primary.set("score", r.path("primaryMetric").path("score"));
+            primary.set("scoreError", r.path("primaryMetric").path("scoreError"));
+            primary.set("scoreUnit", r.path("primaryMetric").path("scoreUnit"));
+            JsonNode alloc = r.path("secondaryMetrics").path(ALLOC_NORM);
+            if (!alloc.isMissingNode()) {
+                ObjectNode norm = entry.putObject("secondaryMetrics").putObject(ALLOC_NORM);
+                norm.set("score", alloc.path("score"));
+                norm.set("scoreUnit", alloc.path("scoreUnit"));
+            }
+        }
+        return out;
+    }
+
+    private static String alloc(double bytes) {
+        return Double.isNaN(bytes) ? "-" : String.format("%.0f", bytes);
+    }
+
+    private record Scores(double throughput, double alloc) {}
+}
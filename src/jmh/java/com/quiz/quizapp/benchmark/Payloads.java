@@ -0,0 +1,115 @@
+package com.quiz.quizapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Question content, submitted answers and play-form params shaped like real quizzes. {@code size}
+ * is the number of options (or blanks, or items to sort); a matching question gets
+ * {@code size * 5 / 2} pairs, so 4 and 20 give 10 and 50.
+ */
+public final class Payloads {
+
+    public static final List<String> TYPES = List.of(
+            "SINGLE_CHOICE", "MULTI_CHOICE", "TRUE_FALSE", "SHORT_ANSWER",
+            "LIST_CHOICE", "FILL_BLANKS", "SORTING", "MATCHING");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Payloads() {}
+
+    public static String optionsJson(String type, int size) {
+        return switch (type) {
+            case "SINGLE_CHOICE", "MULTI_CHOICE", "LIST_CHOICE", "SORTING" -> json(options(size));
+            case "MATCHING" -> json(Map.of("left", List.copyOf(pairs(size).keySet()),
+                    "right", List.copyOf(pairs(size).values())));
+            default -> null;
+        };
+    }
+
+    public static String answerKeyJson(String type, int size) {
+        return switch (type) {
+            case "SINGLE_CHOICE", "LIST_CHOICE" -> json(Map.of("value", options(size).get(size - 1)));
+            case "MULTI_CHOICE" -> json(Map.of("values", everyOther(options(size))));
+            case "TRUE_FALSE" -> json(Map.of("value", true));
+            case "SHORT_ANSWER" -> json(Map.of("value", "Light-dependent reactions of photosynthesis"));
+            case "FILL_BLANKS" -> json(Map.of("values", blanks(size)));
+            case "SORTING" -> json(Map.of("values", options(size)));
+            case "MATCHING" -> json(Map.of("pairs", pairs(size)));
+            default -> throw new IllegalArgumentException(type);
+        };
+    }
+
+    /** A correct answer, written the way a client would send it rather than copied from the key. */
+    public static String answerJson(String type, int size) {
+        return switch (type) {
+            case "MULTI_CHOICE" -> json(Map.of("values", everyOther(options(size)).reversed()));
+            case "SHORT_ANSWER" -> json(Map.of("value", "  light-dependent  reactions of Photosynthesis "));
+            case "FILL_BLANKS" -> json(Map.of("values", blanks(size).stream().map(String::toUpperCase).toList()));
+            default -> answerKeyJson(type, size);
+        };
+    }
+
+    public static MultiValueMap<String, String> formParams(String type, long questionId, int size) {
+        var params = new LinkedMultiValueMap<String, String>();
+        params.add("_csrf", "3f1c2a8e-6d0b-4f57-9a61-0c5d2b7e9f14");
+        String field = "q_" + questionId;
+        switch (type) {
+            case "SINGLE_CHOICE", "LIST_CHOICE" -> params.add(field, options(size).get(size - 1));
+            case "MULTI_CHOICE" -> params.put(field, new ArrayList<>(everyOther(options(size))));
+            case "TRUE_FALSE" -> params.add(field, "true");
+            case "SHORT_ANSWER" -> params.add(field, "light-dependent reactions of photosynthesis");
+            case "FILL_BLANKS" -> {
+                List<String> blanks = blanks(size);
+                for (int i = 0; i < blanks.size(); i++) params.add(field + "_" + i, blanks.get(i));
+            }
+            case "SORTING" -> params.add(field + "_csv", String.join(", ", options(size)));
+            case "MATCHING" -> {
+                StringBuilder lines = new StringBuilder();
+                pairs(size).forEach((l, r) -> lines.append(l).append(" = ").append(r).append("\r\n"));
+                params.add(field + "_pairs", lines.toString());
+            }
+            default -> throw new IllegalArgumentException(type);
+        }
+        return params;
+    }
+
+    private static List<String> options(int size) {
+        List<String> options = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) options.add("Option " + i + ": a typical answer text");
+        return options;
+    }
+
+    private static List<String> everyOther(List<String> values) {
+        List<String> picked = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += 2) picked.add(values.get(i));
+        return picked;
+    }
+
+    private static List<String> blanks(int size) {
+        List<String> blanks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) blanks.add("keyword" + i);
+        return blanks;
+    }
+
+    private static Map<String, String> pairs(int size) {
+        Map<String, String> pairs = new LinkedHashMap<>();
+        for (int i = 0; i < size * 5 / 2; i++) pairs.put("Term " + i, "Definition of term " + i);
+        return pairs;
+    }
+
+    private static String json(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.quiz.quizapp.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.benchmark.Payloads;
+import com.quiz.quizapp.domain.entity.QuestionEntity;
+import com.quiz.quizapp.domain.scoring.AnswerKeyCache;
+import com.quiz.quizapp.domain.scoring.LegacyTreeScoring;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ScoringService#isCorrect} for one correct answer, with the compiled key already cached,
+ * next to the tree-based scorer it replaced on the same input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+
+    @Param({"SINGLE_CHOICE", "MULTI_CHOICE", "TRUE_FALSE", "SHORT_ANSWER",
+            "LIST_CHOICE", "FILL_BLANKS", "SORTING", "MATCHING"})
+    public String type;
+
+    @Param({"4", "20"})
+    public int size;
+
+    private ScoringService scoringService;
+    private LegacyTreeScoring legacy;
+    private QuestionEntity question;
+    private String answerJson;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        scoringService = new ScoringService(objectMapper, new AnswerKeyCache(objectMapper, 10_000));
+        legacy = new LegacyTreeScoring(objectMapper);
+
+        question = new QuestionEntity(type, "Benchmark question", 1);
+        question.setAnswerKey(Payloads.answerKeyJson(type, size));
+        question.setOptions(Payloads.optionsJson(type, size));
+        // Persisted questions have an id, which is what the key cache goes by
+        Field id = QuestionEntity.class.getDeclaredField("id");
+        id.setAccessible(true);
+        id.set(question, 1L);
+
+        answerJson = Payloads.answerJson(type, size);
+        if (!scoringService.isCorrect(question, answerJson)) {
+            throw new IllegalStateException("Payload for " + type + " does not score as correct");
+        }
+    }
+
+    @Benchmark
+    public boolean isCorrect() {
+        return scoringService.isCorrect(question, answerJson);
+    }
+
+    @Benchmark
+    public boolean legacyIsCorrect() {
+        return legacy.isCorrect(type, question.getAnswerKey(), answerJson);
+    }
+}
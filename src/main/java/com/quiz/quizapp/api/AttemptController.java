@@ -1,16 +1,33 @@
 package com.quiz.quizapp.api;
 
+import com.quiz.quizapp.api.dto.AttemptRankResponse;
 import com.quiz.quizapp.api.dto.AttemptResponse;
+import com.quiz.quizapp.api.dto.BulkStartAttemptsRequest;
+import com.quiz.quizapp.api.dto.BulkStartAttemptsResponse;
 import com.quiz.quizapp.api.dto.FinishAttemptRequest;
+import com.quiz.quizapp.api.dto.QuestionForPlayResponse;
+import com.quiz.quizapp.api.dto.RankingEntryResponse;
+import com.quiz.quizapp.api.dto.RankingPageResponse;
 import com.quiz.quizapp.api.dto.RankingRowResponse;
 import com.quiz.quizapp.api.dto.StartAttemptRequest;
 import com.quiz.quizapp.domain.dto.AttemptInfo;
+import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import com.quiz.quizapp.domain.ranking.LeaderboardEntry;
+import com.quiz.quizapp.domain.ranking.RankPosition;
+import com.quiz.quizapp.domain.ranking.RankingPage;
 import com.quiz.quizapp.domain.service.AttemptService;
+import com.quiz.quizapp.domain.service.GameplayService;
 import com.quiz.quizapp.domain.service.RankingService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,10 +36,19 @@ public class AttemptController {
 
     private final AttemptService attemptService;
     private final RankingService rankingService;
+    private final GameplayService gameplayService;
+    private final QuizETags quizETags;
 
-    public AttemptController(AttemptService attemptService, RankingService rankingService) {
+    public AttemptController(
+            AttemptService attemptService,
+            RankingService rankingService,
+            GameplayService gameplayService,
+            QuizETags quizETags
+    ) {
         this.attemptService = attemptService;
         this.rankingService = rankingService;
+        this.gameplayService = gameplayService;
+        this.quizETags = quizETags;
     }
 
     @PostMapping("/quizzes/{quizId}/attempts")
@@ -34,6 +60,30 @@ public class AttemptController {
         return ResponseEntity.ok(toResponse(info));
     }
 
+    /** Starts attempts for a whole group at once, e.g. a class sitting an exam. */
+    @PostMapping("/quizzes/{quizId}/attempts/bulk")
+    public ResponseEntity<BulkStartAttemptsResponse> startAll(
+            @PathVariable long quizId,
+            @Valid @RequestBody BulkStartAttemptsRequest request
+    ) {
+        List<AttemptResponse> attempts = attemptService.startAll(quizId, request.nicknames()).stream()
+                .map(this::toResponse)
+                .toList();
+
+        int pageSize = request.questionPageSize() == null ? 0 : request.questionPageSize();
+        if (pageSize == 0) {
+            return ResponseEntity.ok(new BulkStartAttemptsResponse(quizId, attempts, null, null));
+        }
+
+        // Served from the play snapshot, which is thereby warm for the attempts' own question requests.
+        // Stored order: a randomised attempt gets its own order from its questions endpoint
+        List<QuestionForPlayDto> questions = gameplayService.questionsForQuiz(quizId);
+        List<QuestionForPlayResponse> page = questions.subList(0, Math.min(pageSize, questions.size())).stream()
+                .map(GameplayController::toResponse)
+                .toList();
+        return ResponseEntity.ok(new BulkStartAttemptsResponse(quizId, attempts, page, questions.size()));
+    }
+
     @PostMapping("/attempts/{attemptId}/finish")
     public ResponseEntity<AttemptResponse> finish(
             @PathVariable long attemptId,
@@ -43,12 +93,83 @@ public class AttemptController {
         return ResponseEntity.ok(toResponse(info));
     }
 
+    /** 304 for a matching {@code If-None-Match} until an attempt finishes or the quiz changes. */
     @GetMapping("/quizzes/{quizId}/ranking")
     public ResponseEntity<List<RankingRowResponse>> ranking(
+            @PathVariable long quizId,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request
+    ) {
+        String etag = quizETags.results(quizId);
+        if (request.checkNotModified(etag)) return null;
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(rankingService.topForQuiz(quizId, limit));
+    }
+
+    /** Events: state (the top N, on connect), delta (the ranks that changed since the last event). */
+    @GetMapping(path = "/quizzes/{quizId}/ranking/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter rankingEvents(@PathVariable long quizId) {
+        return rankingService.subscribe(quizId);
+    }
+
+    /** One row per player (by nickname, ignoring case), their best finished attempt. */
+    @GetMapping("/quizzes/{quizId}/ranking/players")
+    public ResponseEntity<List<RankingRowResponse>> bestRanking(
             @PathVariable long quizId,
             @RequestParam(defaultValue = "10") int limit
     ) {
-        return ResponseEntity.ok(rankingService.topForQuiz(quizId, limit));
+        return ResponseEntity.ok(rankingService.bestForQuiz(quizId, limit));
+    }
+
+    /** Best results of today, this week, or a custom range of days ({@code period=custom&from=&to=}). */
+    @GetMapping("/quizzes/{quizId}/ranking/window")
+    public ResponseEntity<List<RankingRowResponse>> windowRanking(
+            @PathVariable long quizId,
+            @RequestParam(defaultValue = "today") String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(rankingService.windowTop(quizId, period, from, to, limit));
+    }
+
+    /** The attempt's rank and percentile, with {@code around} entries above and below it. */
+    @GetMapping("/quizzes/{quizId}/ranking/attempts/{attemptId}")
+    public ResponseEntity<AttemptRankResponse> attemptRank(
+            @PathVariable long quizId,
+            @PathVariable long attemptId,
+            @RequestParam(defaultValue = "5") int around
+    ) {
+        RankPosition p = rankingService.position(quizId, attemptId, around);
+        return ResponseEntity.ok(new AttemptRankResponse(
+                attemptId,
+                p.entry().score(),
+                p.rank(),
+                p.total(),
+                p.percentile(),
+                p.above().stream().map(this::toResponse).toList(),
+                p.below().stream().map(this::toResponse).toList()
+        ));
+    }
+
+    /** The full ranking page by page; {@code after} is the previous page's {@code nextCursor}. */
+    @GetMapping("/quizzes/{quizId}/ranking/entries")
+    public ResponseEntity<RankingPageResponse> rankingPage(
+            @PathVariable long quizId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        RankingPage page = rankingService.page(quizId, after, size);
+        return ResponseEntity.ok(new RankingPageResponse(
+                page.entries().stream().map(this::toResponse).toList(),
+                page.nextCursor()
+        ));
+    }
+
+    private RankingEntryResponse toResponse(LeaderboardEntry e) {
+        return new RankingEntryResponse(e.attemptId(), e.nickname(), e.score(), e.finishedAt());
     }
 
     private AttemptResponse toResponse(AttemptInfo a) {
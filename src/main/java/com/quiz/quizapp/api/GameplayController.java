@@ -1,16 +1,21 @@
 package com.quiz.quizapp.api;
 
 import com.quiz.quizapp.api.dto.QuestionForPlayResponse;
+import com.quiz.quizapp.api.dto.SaveAnswerRequest;
 import com.quiz.quizapp.api.dto.SubmitAnswersRequest;
 import com.quiz.quizapp.api.dto.SubmitAnswersResponse;
+import com.quiz.quizapp.domain.dto.AttemptQuestions;
 import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
 import com.quiz.quizapp.domain.dto.SubmitAnswerDto;
 import com.quiz.quizapp.domain.dto.SubmitAnswersCommand;
 import com.quiz.quizapp.domain.dto.SubmitOutcome;
 import com.quiz.quizapp.domain.service.GameplayService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,20 +24,49 @@ import java.util.List;
 public class GameplayController {
 
     private final GameplayService gameplayService;
+    private final QuizETags quizETags;
 
-    public GameplayController(GameplayService gameplayService) {
+    public GameplayController(GameplayService gameplayService, QuizETags quizETags) {
         this.gameplayService = gameplayService;
+        this.quizETags = quizETags;
     }
 
+    /**
+     * The URL doesn't name the quiz, so a conditional request is matched against the quiz in the
+     * client's tag; a 304 doesn't check that the attempt is still open.
+     */
     @GetMapping("/attempts/{attemptId}/questions")
-    public ResponseEntity<List<QuestionForPlayResponse>> questions(@PathVariable long attemptId) {
-        List<QuestionForPlayDto> qs = gameplayService.questionsForAttempt(attemptId);
-        return ResponseEntity.ok(qs.stream().map(this::toResponse).toList());
+    public ResponseEntity<List<QuestionForPlayResponse>> questions(
+            @PathVariable long attemptId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            WebRequest request
+    ) {
+        long cachedQuizId = quizETags.contentQuizId(ifNoneMatch);
+        if (cachedQuizId >= 0 && request.checkNotModified(quizETags.content(cachedQuizId))) return null;
+
+        AttemptQuestions qs = gameplayService.attemptQuestions(attemptId);
+        return ResponseEntity.ok()
+                .eTag(quizETags.content(qs.quizId(), qs.version()))
+                .cacheControl(CacheControl.noCache())
+                .body(qs.questions().stream().map(GameplayController::toResponse).toList());
+    }
+
+    /** Saves one answer as the player goes; 202 because it reaches the database shortly after. */
+    @PutMapping("/attempts/{attemptId}/answers/{questionId}")
+    public ResponseEntity<Void> saveAnswer(
+            @PathVariable long attemptId,
+            @PathVariable long questionId,
+            @Valid @RequestBody SaveAnswerRequest request
+    ) {
+        gameplayService.saveAnswer(attemptId, questionId, request.answerJson());
+        return ResponseEntity.accepted().build();
     }
 
+    /** Safe to retry: a repeated submit (same {@code Idempotency-Key}) returns the first result. */
     @PostMapping("/attempts/{attemptId}/submit")
     public ResponseEntity<SubmitAnswersResponse> submit(
             @PathVariable long attemptId,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody SubmitAnswersRequest request
     ) {
         SubmitAnswersCommand cmd = new SubmitAnswersCommand(
@@ -41,11 +75,11 @@ public class GameplayController {
                         .toList()
         );
 
-        SubmitOutcome out = gameplayService.submitAndFinish(attemptId, cmd);
+        SubmitOutcome out = gameplayService.submitAndFinish(attemptId, idempotencyKey, cmd);
         return ResponseEntity.ok(new SubmitAnswersResponse(out.attemptId(), out.totalScore()));
     }
 
-    private QuestionForPlayResponse toResponse(QuestionForPlayDto q) {
+    static QuestionForPlayResponse toResponse(QuestionForPlayDto q) {
         return new QuestionForPlayResponse(q.id(), q.type(), q.prompt(), q.points(), q.optionsJson());
     }
 }
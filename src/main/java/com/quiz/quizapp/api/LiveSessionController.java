@@ -0,0 +1,110 @@
+package com.quiz.quizapp.api;
+
+import com.quiz.quizapp.api.dto.CreateLiveSessionRequest;
+import com.quiz.quizapp.api.dto.JoinLiveSessionRequest;
+import com.quiz.quizapp.api.dto.LiveAnswerRequest;
+import com.quiz.quizapp.api.dto.LivePlayerResponse;
+import com.quiz.quizapp.api.dto.LiveQuestionResultResponse;
+import com.quiz.quizapp.api.dto.LiveSessionResponse;
+import com.quiz.quizapp.api.dto.QuestionForPlayResponse;
+import com.quiz.quizapp.api.dto.RankingRowResponse;
+import com.quiz.quizapp.domain.dto.LiveSessionInfo;
+import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import com.quiz.quizapp.domain.live.LiveSession.Player;
+import com.quiz.quizapp.domain.live.LiveSession.QuestionResult;
+import com.quiz.quizapp.domain.live.LiveSessionService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Hosted live games. The host (a creator) creates a session and moves it through the quiz;
+ * players join with the session code, follow {@code /events} and answer the open question.
+ */
+@RestController
+@RequestMapping("/api/v1/live/sessions")
+public class LiveSessionController {
+
+    private final LiveSessionService liveSessionService;
+
+    public LiveSessionController(LiveSessionService liveSessionService) {
+        this.liveSessionService = liveSessionService;
+    }
+
+    @PostMapping
+    public ResponseEntity<LiveSessionResponse> create(
+            @Valid @RequestBody CreateLiveSessionRequest request,
+            UriComponentsBuilder ucb
+    ) {
+        LiveSessionInfo session = liveSessionService.create(request.quizId());
+        var location = ucb.path("/api/v1/live/sessions/{id}").buildAndExpand(session.id()).toUri();
+        return ResponseEntity.created(location).body(toResponse(session));
+    }
+
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<LiveSessionResponse> get(@PathVariable String sessionId) {
+        return ResponseEntity.ok(toResponse(liveSessionService.get(sessionId)));
+    }
+
+    /** Events: state (on connect), question, closed, ended. */
+    @GetMapping(path = "/{sessionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String sessionId) {
+        return liveSessionService.subscribe(sessionId);
+    }
+
+    @PostMapping("/{sessionId}/players")
+    public ResponseEntity<LivePlayerResponse> join(
+            @PathVariable String sessionId,
+            @Valid @RequestBody JoinLiveSessionRequest request
+    ) {
+        Player player = liveSessionService.join(sessionId, request.nickname());
+        return ResponseEntity.ok(new LivePlayerResponse(sessionId, player.token(), player.nickname()));
+    }
+
+    @PutMapping("/{sessionId}/answers")
+    public ResponseEntity<Void> answer(
+            @PathVariable String sessionId,
+            @Valid @RequestBody LiveAnswerRequest request
+    ) {
+        liveSessionService.answer(sessionId, request.playerToken(), request.questionId(), request.answerJson());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{sessionId}/next")
+    public ResponseEntity<LiveSessionResponse> next(@PathVariable String sessionId) {
+        return ResponseEntity.ok(toResponse(liveSessionService.next(sessionId)));
+    }
+
+    @PostMapping("/{sessionId}/close")
+    public ResponseEntity<LiveQuestionResultResponse> close(@PathVariable String sessionId) {
+        QuestionResult r = liveSessionService.close(sessionId);
+        return ResponseEntity.ok(new LiveQuestionResultResponse(r.index(), r.questionId(), r.answered(), r.correct()));
+    }
+
+    /** Ends the game, stores the players' attempts and returns the top standings. */
+    @PostMapping("/{sessionId}/end")
+    public ResponseEntity<List<RankingRowResponse>> end(@PathVariable String sessionId) {
+        return ResponseEntity.ok(liveSessionService.end(sessionId).stream()
+                .map(s -> new RankingRowResponse(s.nickname(), s.score()))
+                .toList());
+    }
+
+    private LiveSessionResponse toResponse(LiveSessionInfo s) {
+        QuestionForPlayDto q = s.question();
+        return new LiveSessionResponse(
+                s.id(),
+                s.quizId(),
+                s.title(),
+                s.status(),
+                s.questionIndex(),
+                s.questionCount(),
+                s.players(),
+                q == null ? null : new QuestionForPlayResponse(q.id(), q.type(), q.prompt(), q.points(), q.optionsJson())
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.quiz.quizapp.api;
+
+import com.quiz.quizapp.api.dto.PlayerStandingResponse;
+import com.quiz.quizapp.domain.ranking.PlayerMetric;
+import com.quiz.quizapp.domain.ranking.PlayerStanding;
+import com.quiz.quizapp.domain.service.RankingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/rankings")
+public class PlayerRankingController {
+
+    private final RankingService rankingService;
+
+    public PlayerRankingController(RankingService rankingService) {
+        this.rankingService = rankingService;
+    }
+
+    /** Site-wide top players, by the sum ({@code total}) or mean ({@code average}) of their best quiz scores. */
+    @GetMapping("/players")
+    public ResponseEntity<List<PlayerStandingResponse>> players(
+            @RequestParam(defaultValue = "total") String metric,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<PlayerStanding> top = rankingService.topPlayers(PlayerMetric.parse(metric), limit);
+        List<PlayerStandingResponse> out = new ArrayList<>(top.size());
+        for (PlayerStanding p : top) {
+            out.add(new PlayerStandingResponse(out.size() + 1, p.nickname(), p.totalScore(), p.quizzes(), p.averageScore()));
+        }
+        return ResponseEntity.ok(out);
+    }
+}
@@ -1,17 +1,20 @@
 package com.quiz.quizapp.api;
 
 import com.quiz.quizapp.api.dto.CreateQuizRequest;
+import com.quiz.quizapp.api.dto.QuizPageResponse;
 import com.quiz.quizapp.api.dto.QuizResponse;
 import com.quiz.quizapp.api.dto.UpdateQuizRequest;
 import com.quiz.quizapp.domain.dto.QuizCreateCommand;
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.dto.QuizInfo;
 import com.quiz.quizapp.domain.dto.QuizUpdateCommand;
 import com.quiz.quizapp.domain.service.QuizService;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @RestController
@@ -19,20 +22,36 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class QuizController {
 
     private final QuizService quizService;
+    private final QuizETags quizETags;
 
-    public QuizController(QuizService quizService) {
+    public QuizController(QuizService quizService, QuizETags quizETags) {
         this.quizService = quizService;
+        this.quizETags = quizETags;
     }
 
+    /** Newest first, page by page; {@code after} is the previous page's {@code nextCursor}. */
     @GetMapping
-    public ResponseEntity<Page<QuizResponse>> list(Pageable pageable) {
-        Page<QuizInfo> page = quizService.list(pageable);
-        return ResponseEntity.ok(page.map(this::toResponse));
+    public ResponseEntity<QuizPageResponse> list(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Slice<QuizInfo> slice = quizService.list(QuizCursor.decode(after), size);
+        return ResponseEntity.ok(new QuizPageResponse(
+                slice.getContent().stream().map(this::toResponse).toList(),
+                QuizCursor.next(slice, q -> new QuizCursor(q.createdAt(), q.id()))
+        ));
     }
 
+    /** 304 for a matching {@code If-None-Match}, decided from the quiz's version alone. */
     @GetMapping("/{id}")
-    public ResponseEntity<QuizResponse> get(@PathVariable long id) {
-        return ResponseEntity.ok(toResponse(quizService.get(id)));
+    public ResponseEntity<QuizResponse> get(@PathVariable long id, WebRequest request) {
+        // Read before the quiz, so a write in between makes the tag older, never the body
+        String etag = quizETags.content(id);
+        if (request.checkNotModified(etag)) return null;
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(toResponse(quizService.get(id)));
     }
 
     @PostMapping
@@ -0,0 +1,57 @@
+package com.quiz.quizapp.api;
+
+import com.quiz.quizapp.domain.service.QuizVersions;
+import org.springframework.stereotype.Component;
+
+/**
+ * Strong ETags for quiz responses, made from the in-memory {@link QuizVersions} alone so that a
+ * matching {@code If-None-Match} is answered with 304 without touching the database. A tag holds
+ * the process start time and the quiz id, so tags from before a restart never match.
+ */
+@Component
+public class QuizETags {
+
+    private final QuizVersions quizVersions;
+    private final String prefix;
+
+    public QuizETags(QuizVersions quizVersions) {
+        this.quizVersions = quizVersions;
+        this.prefix = "\"" + Long.toString(quizVersions.epoch(), 36) + "-";
+    }
+
+    /** The quiz and its questions. */
+    public String content(long quizId) {
+        return content(quizId, quizVersions.current(quizId));
+    }
+
+    /** The quiz and its questions as of content {@code version}. */
+    public String content(long quizId, long version) {
+        return prefix + quizId + "-" + version + "\"";
+    }
+
+    /** What's computed from the quiz's finished results: its content and results versions. */
+    public String results(long quizId) {
+        return prefix + quizId + "-" + quizVersions.current(quizId) + "." + quizVersions.results(quizId) + "\"";
+    }
+
+    /**
+     * The quiz a {@link #content} tag in {@code ifNoneMatch} was made for, or -1 if there's none;
+     * for URLs that don't name the quiz.
+     */
+    public long contentQuizId(String ifNoneMatch) {
+        if (ifNoneMatch == null) return -1;
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.strip();
+            if (!tag.startsWith(prefix) || !tag.endsWith("\"")) continue;
+            String rest = tag.substring(prefix.length(), tag.length() - 1);
+            int dash = rest.indexOf('-');
+            if (dash <= 0) continue;
+            try {
+                return Long.parseLong(rest.substring(0, dash));
+            } catch (NumberFormatException e) {
+                // Not one of ours
+            }
+        }
+        return -1;
+    }
+}
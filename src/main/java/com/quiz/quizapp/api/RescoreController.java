@@ -0,0 +1,55 @@
+package com.quiz.quizapp.api;
+
+import com.quiz.quizapp.api.dto.RescoreJobResponse;
+import com.quiz.quizapp.domain.dto.RescoreJobInfo;
+import com.quiz.quizapp.domain.service.RescoreService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+@RestController
+@RequestMapping("/api/v1/quizzes/{quizId}/rescore-jobs")
+public class RescoreController {
+
+    private final RescoreService rescoreService;
+
+    public RescoreController(RescoreService rescoreService) {
+        this.rescoreService = rescoreService;
+    }
+
+    @PostMapping
+    public ResponseEntity<RescoreJobResponse> start(@PathVariable long quizId, UriComponentsBuilder ucb) {
+        RescoreJobInfo job = rescoreService.start(quizId);
+        var location = ucb.path("/api/v1/quizzes/{quizId}/rescore-jobs/{id}").buildAndExpand(quizId, job.id()).toUri();
+        return ResponseEntity.accepted().location(location).body(toResponse(job));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<RescoreJobResponse> get(@PathVariable long quizId, @PathVariable long jobId) {
+        return ResponseEntity.ok(toResponse(rescoreService.get(quizId, jobId)));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<RescoreJobResponse> resume(@PathVariable long quizId, @PathVariable long jobId) {
+        return ResponseEntity.accepted().body(toResponse(rescoreService.resume(quizId, jobId)));
+    }
+
+    private RescoreJobResponse toResponse(RescoreJobInfo j) {
+        int percentDone = j.totalAnswers() == 0
+                ? (RescoreJobInfo.COMPLETED.equals(j.status()) ? 100 : 0)
+                : (int) Math.min(100, j.processedAnswers() * 100 / j.totalAnswers());
+        return new RescoreJobResponse(
+                j.id(),
+                j.quizId(),
+                j.status(),
+                j.totalAnswers(),
+                j.processedAnswers(),
+                j.changedAnswers(),
+                j.updatedAttempts(),
+                percentDone,
+                j.error(),
+                j.createdAt(),
+                j.finishedAt()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.quiz.quizapp.api.dto;
+
+import java.util.List;
+
+public record AttemptRankResponse(
+        long attemptId,
+        int score,
+        long rank,
+        long total,
+        double percentile,
+        List<RankingEntryResponse> above,
+        List<RankingEntryResponse> below
+) {}
@@ -0,0 +1,15 @@
+package com.quiz.quizapp.api.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// questionPageSize > 0 also returns that many of the quiz's questions, so clients needn't fetch them per attempt
+public record BulkStartAttemptsRequest(
+        @NotEmpty @Size(max = 1000) List<@NotBlank @Size(max = 60) String> nicknames,
+        @Min(0) @Max(200) Integer questionPageSize
+) {}
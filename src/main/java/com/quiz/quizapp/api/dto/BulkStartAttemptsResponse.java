@@ -0,0 +1,16 @@
+package com.quiz.quizapp.api.dto;
+
+import java.util.List;
+
+/**
+ * The started attempts, and optionally the first page of the quiz's questions. That page is in
+ * the quiz's stored order, shared by all attempts; when the quiz randomises questions each
+ * attempt plays its own order, served by {@code GET /attempts/{attemptId}/questions}, so clients
+ * match the prefetched questions to it by id.
+ */
+public record BulkStartAttemptsResponse(
+        long quizId,
+        List<AttemptResponse> attempts,
+        List<QuestionForPlayResponse> questions, // null unless asked for
+        Integer totalQuestions
+) {}
@@ -0,0 +1,7 @@
+package com.quiz.quizapp.api.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record CreateLiveSessionRequest(
+        @NotNull Long quizId
+) {}
@@ -0,0 +1,8 @@
+package com.quiz.quizapp.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record JoinLiveSessionRequest(
+        @NotBlank @Size(max = 60) String nickname
+) {}
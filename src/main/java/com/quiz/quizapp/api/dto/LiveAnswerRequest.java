@@ -0,0 +1,10 @@
+package com.quiz.quizapp.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record LiveAnswerRequest(
+        @NotBlank String playerToken,
+        @NotNull Long questionId,
+        @NotBlank String answerJson
+) {}
@@ -0,0 +1,7 @@
+package com.quiz.quizapp.api.dto;
+
+public record LivePlayerResponse(
+        String sessionId,
+        String playerToken, // secret; identifies the player's answers
+        String nickname
+) {}
@@ -0,0 +1,8 @@
+package com.quiz.quizapp.api.dto;
+
+public record LiveQuestionResultResponse(
+        int index,
+        long questionId,
+        long answered,
+        long correct
+) {}
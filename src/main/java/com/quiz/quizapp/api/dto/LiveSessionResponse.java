@@ -0,0 +1,12 @@
+package com.quiz.quizapp.api.dto;
+
+public record LiveSessionResponse(
+        String id,
+        long quizId,
+        String title,
+        String status,
+        int questionIndex,
+        int questionCount,
+        int players,
+        QuestionForPlayResponse question
+) {}
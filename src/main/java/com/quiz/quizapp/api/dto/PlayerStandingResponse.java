@@ -0,0 +1,9 @@
+package com.quiz.quizapp.api.dto;
+
+public record PlayerStandingResponse(
+        int rank,
+        String nickname,
+        long totalScore,
+        int quizzes,
+        double averageScore
+) {}
@@ -0,0 +1,9 @@
+package com.quiz.quizapp.api.dto;
+
+import java.util.List;
+
+// Pass nextCursor back as ?after= for the following page; null on the last one
+public record QuizPageResponse(
+        List<QuizResponse> quizzes,
+        String nextCursor
+) {}
@@ -0,0 +1,7 @@
+package com.quiz.quizapp.api.dto;
+
+public record RankedRowResponse(
+        int rank,
+        String nickname,
+        int score
+) {}
@@ -0,0 +1,9 @@
+package com.quiz.quizapp.api.dto;
+
+import java.util.List;
+
+/** The rows of a top-{@code size} ranking that changed; ranks past {@code size} are gone. */
+public record RankingDeltaResponse(
+        int size,
+        List<RankedRowResponse> changed
+) {}
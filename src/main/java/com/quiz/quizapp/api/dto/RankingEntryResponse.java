@@ -0,0 +1,10 @@
+package com.quiz.quizapp.api.dto;
+
+import java.time.OffsetDateTime;
+
+public record RankingEntryResponse(
+        long attemptId,
+        String nickname,
+        int score,
+        OffsetDateTime finishedAt
+) {}
@@ -0,0 +1,17 @@
+package com.quiz.quizapp.api.dto;
+
+import java.time.OffsetDateTime;
+
+public record RescoreJobResponse(
+        long id,
+        long quizId,
+        String status,
+        long totalAnswers,
+        long processedAnswers,
+        long changedAnswers,
+        int updatedAttempts,
+        int percentDone,
+        String error,
+        OffsetDateTime createdAt,
+        OffsetDateTime finishedAt
+) {}
@@ -0,0 +1,7 @@
+package com.quiz.quizapp.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record SaveAnswerRequest(
+        @NotBlank String answerJson
+) {}
@@ -1,10 +1,11 @@
 package com.quiz.quizapp.api.dto;
 
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 
 import java.util.List;
 
+// Empty answers submits what was saved through PUT /attempts/{id}/answers/{questionId}
 public record SubmitAnswersRequest(
-        @NotEmpty List<SubmitAnswerRequest> answers
+        @NotNull List<SubmitAnswerRequest> answers
 ) {}
@@ -1,5 +1,6 @@
 package com.quiz.quizapp.application.creator;
 
+import com.quiz.quizapp.domain.question.QuestionType;
 import com.quiz.quizapp.domain.service.CreatorQuestionService;
 import com.quiz.quizapp.domain.service.QuestionReadService;
 import com.quiz.quizapp.domain.service.QuizReadService;
@@ -8,23 +9,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Component
 public class CreatorQuestionFacade {
 
-    private static final List<String> TYPES = List.of(
-            "SINGLE_CHOICE",
-            "MULTI_CHOICE",
-            "TRUE_FALSE",
-            "SHORT_ANSWER",
-            "LIST_CHOICE",
-            "FILL_BLANKS",
-            "SORTING",
-            "MATCHING"
-    );
-
     private final QuizReadService quizReadService;
     private final QuestionReadService questionReadService;
     private final CreatorQuestionService creatorQuestionService;
@@ -61,7 +50,7 @@ public class CreatorQuestionFacade {
 
         Map<String, Object> model = new HashMap<>();
         model.put("quiz", quiz);
-        model.put("types", TYPES);
+        model.put("types", QuestionType.names());
         model.put("form", form);
         model.put("title", "Creator • New question");
         model.put("contentTemplate", "creator/question-new");
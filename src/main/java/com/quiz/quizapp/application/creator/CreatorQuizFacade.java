@@ -1,11 +1,11 @@
 package com.quiz.quizapp.application.creator;
 
 import com.quiz.quizapp.domain.dto.QuizCreateCommand;
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.dto.QuizInfo;
 import com.quiz.quizapp.domain.service.QuizService;
 import com.quiz.quizapp.web.dto.CreateQuizForm;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -17,8 +17,13 @@ public class CreatorQuizFacade {
         this.quizService = quizService;
     }
 
-    public Page<QuizInfo> list(Pageable pageable) {
-        return quizService.list(pageable);
+    /** A page of quizzes after the encoded {@code after} cursor (from the newest when null). */
+    public Slice<QuizInfo> list(String after, int size) {
+        return quizService.list(QuizCursor.decode(after), size);
+    }
+
+    public String nextCursor(Slice<QuizInfo> slice) {
+        return QuizCursor.next(slice, q -> new QuizCursor(q.createdAt(), q.id()));
     }
 
     public QuizInfo create(CreateQuizForm form) {
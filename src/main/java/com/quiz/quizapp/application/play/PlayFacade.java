@@ -1,15 +1,17 @@
 package com.quiz.quizapp.application.play;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
 import com.quiz.quizapp.domain.dto.SubmitAnswerDto;
 import com.quiz.quizapp.domain.dto.SubmitAnswersCommand;
+import com.quiz.quizapp.domain.play.QuizSnapshotCache;
+import com.quiz.quizapp.domain.ranking.PlayerMetric;
 import com.quiz.quizapp.domain.service.AttemptReadService;
 import com.quiz.quizapp.domain.service.AttemptService;
 import com.quiz.quizapp.domain.service.GameplayService;
 import com.quiz.quizapp.domain.service.QuizReadService;
 import com.quiz.quizapp.domain.service.RankingService;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.util.MultiValueMap;
 
@@ -18,11 +20,14 @@ import java.util.*;
 @Component
 public class PlayFacade {
 
+    static final int HOME_PAGE_SIZE = 50;
+
     private final QuizReadService quizReadService;
     private final AttemptReadService attemptReadService;
     private final AttemptService attemptService;
     private final GameplayService gameplayService;
     private final RankingService rankingService;
+    private final QuizSnapshotCache quizSnapshotCache;
     private final QuestionOptionsMapper questionOptionsMapper;
     private final AnswerFormMapper answerFormMapper;
 
@@ -32,6 +37,7 @@ public class PlayFacade {
             AttemptService attemptService,
             GameplayService gameplayService,
             RankingService rankingService,
+            QuizSnapshotCache quizSnapshotCache,
             ObjectMapper objectMapper
     ) {
         this.quizReadService = quizReadService;
@@ -39,12 +45,20 @@ public class PlayFacade {
         this.attemptService = attemptService;
         this.gameplayService = gameplayService;
         this.rankingService = rankingService;
-        this.questionOptionsMapper = new QuestionOptionsMapper(objectMapper);
+        this.quizSnapshotCache = quizSnapshotCache;
+        this.questionOptionsMapper = new QuestionOptionsMapper();
         this.answerFormMapper = new AnswerFormMapper(objectMapper);
     }
 
-    public List<?> listPlayableQuizzes() {
-        return quizReadService.list(PageRequest.of(0, 50)).getContent();
+    /** A page of quizzes to play, newest first; {@code after} is the previous page's cursor. */
+    public Map<String, Object> getHomeViewModel(String after) {
+        var slice = quizReadService.list(QuizCursor.decode(after), HOME_PAGE_SIZE);
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("quizzes", slice.getContent());
+        model.put("after", after);
+        model.put("nextCursor", QuizCursor.next(slice, q -> new QuizCursor(q.getCreatedAt(), q.getId())));
+        return model;
     }
 
     public Map<String, Object> getStartViewModel(long quizId) {
@@ -61,8 +75,10 @@ public class PlayFacade {
         var quiz = attempt.getQuiz();
 
         var questions = gameplayService.questionsForAttempt(attemptId);
-        Map<Long, List<String>> optionsByQuestionId =
-                questionOptionsMapper.optionsByQuestionId(questions, quiz.isRandomiseAnswers());
+        // Options come pre-parsed with the quiz snapshot; only the per-attempt order is applied here
+        Map<Long, List<String>> optionsByQuestionId = questionOptionsMapper.optionsByQuestionId(
+                questions, quizSnapshotCache.get(quiz.getId()).optionsByQuestionId(), quiz.isRandomiseAnswers(),
+                attempt.getShuffleSeed());
 
         Map<String, Object> model = new HashMap<>();
         model.put("attempt", attempt);
@@ -103,6 +119,16 @@ public class PlayFacade {
         Map<String, Object> model = new HashMap<>();
         model.put("quiz", quiz);
         model.put("rows", rows);
+        model.put("limit", limit);
+        return model;
+    }
+
+    public Map<String, Object> getGlobalRankingViewModel(String metric, int limit) {
+        PlayerMetric m = PlayerMetric.parse(metric);
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("metric", m.name().toLowerCase(Locale.ROOT));
+        model.put("rows", rankingService.topPlayers(m, limit));
         return model;
     }
 
@@ -36,14 +36,20 @@ public class SecurityConfig {
                         .requestMatchers(POST, "/api/v1/attempts/*/finish").permitAll()
                         .requestMatchers(GET,  "/api/v1/attempts/*/questions").permitAll()
                         .requestMatchers(POST, "/api/v1/attempts/*/submit").permitAll()
+                        .requestMatchers(PUT,  "/api/v1/attempts/*/answers/*").permitAll()
                         .requestMatchers(GET,  "/api/v1/quizzes/*/ranking").permitAll()
+                        .requestMatchers(GET,  "/api/v1/rankings/**").permitAll()
                         .requestMatchers(GET,  "/api/v1/jdbc/quizzes").permitAll()
+                        .requestMatchers(GET,  "/api/v1/live/sessions/*", "/api/v1/live/sessions/*/events").permitAll()
+                        .requestMatchers(POST, "/api/v1/live/sessions/*/players").permitAll()
+                        .requestMatchers(PUT,  "/api/v1/live/sessions/*/answers").permitAll()
 
 
                         // Restricted WRITE API
                         .requestMatchers(POST, "/api/v1/quizzes/**").hasRole("CREATOR")
                         .requestMatchers(PUT, "/api/v1/quizzes/**").hasRole("CREATOR")
                         .requestMatchers(DELETE, "/api/v1/quizzes/**").hasRole("CREATOR")
+                        .requestMatchers("/api/v1/live/**").hasRole("CREATOR")
 
                         // Creator UI
                         .requestMatchers("/creator/**").hasRole("CREATOR")
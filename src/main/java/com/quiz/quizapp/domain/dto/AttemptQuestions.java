@@ -0,0 +1,10 @@
+package com.quiz.quizapp.domain.dto;
+
+import java.util.List;
+
+/** An attempt's questions along with the quiz content version they were built from. */
+public record AttemptQuestions(
+        long quizId,
+        long version,
+        List<QuestionForPlayDto> questions
+) {}
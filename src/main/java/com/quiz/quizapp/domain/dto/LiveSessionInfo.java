@@ -0,0 +1,12 @@
+package com.quiz.quizapp.domain.dto;
+
+public record LiveSessionInfo(
+        String id,
+        long quizId,
+        String title,
+        String status,
+        int questionIndex,
+        int questionCount,
+        int players,
+        QuestionForPlayDto question // the open or last closed question; null in the lobby
+) {}
@@ -0,0 +1,51 @@
+package com.quiz.quizapp.domain.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursor for quiz listings: the (created_at, id) of the last quiz shown. Listings
+ * run newest first, and the next page is everything strictly before the cursor.
+ */
+public record QuizCursor(OffsetDateTime createdAt, long id) {
+
+    public String encode() {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, createdAt.toInstant());
+        String raw = micros + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** The cursor a client passed back; null for a null or blank one. */
+    public static QuizCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 2) throw new IllegalArgumentException("Invalid quiz cursor");
+            OffsetDateTime createdAt = Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS)
+                    .atOffset(ZoneOffset.UTC);
+            // Never minted from a real row, and the database may not hold it
+            if (createdAt.getYear() < 1 || createdAt.getYear() > 9999) {
+                throw new IllegalArgumentException("Invalid quiz cursor");
+            }
+            return new QuizCursor(createdAt, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeException | ArithmeticException e) {
+            // NumberFormatException, bad Base64 and out-of-range times included
+            throw new IllegalArgumentException("Invalid quiz cursor");
+        }
+    }
+
+    /** The encoded cursor of the slice's last row, or null when there's no next page. */
+    public static <T> String next(Slice<T> slice, Function<T, QuizCursor> key) {
+        if (!slice.hasNext() || slice.getContent().isEmpty()) return null;
+        return key.apply(slice.getContent().getLast()).encode();
+    }
+}
@@ -0,0 +1,22 @@
+package com.quiz.quizapp.domain.dto;
+
+import java.time.OffsetDateTime;
+
+public record RescoreJobInfo(
+        long id,
+        long quizId,
+        String status,
+        long totalAnswers,
+        long processedAnswers,
+        long changedAnswers,
+        long lastQuestionId,
+        long lastAnswerId,
+        int updatedAttempts,
+        String error,
+        OffsetDateTime createdAt,
+        OffsetDateTime finishedAt
+) {
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+}
@@ -12,7 +12,9 @@ import org.hibernate.type.SqlTypes;
 public class AttemptAnswerEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // allocationSize must match the sequence increment (V8__pooled_sequences.sql)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attempt_answers_id_gen")
+    @SequenceGenerator(name = "attempt_answers_id_gen", sequenceName = "attempt_answers_id_seq", allocationSize = 100)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -2,13 +2,16 @@ package com.quiz.quizapp.domain.entity;
 
 import jakarta.persistence.*;
 import java.time.OffsetDateTime;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Entity
 @Table(name = "attempts")
 public class AttemptEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // allocationSize must match the sequence increment (V8__pooled_sequences.sql)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attempts_id_gen")
+    @SequenceGenerator(name = "attempts_id_gen", sequenceName = "attempts_id_seq", allocationSize = 100)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -27,12 +30,26 @@ public class AttemptEntity {
     @Column(name = "finished_at")
     private OffsetDateTime finishedAt;
 
+    // Fixes this attempt's question and option order (see SeededShuffle)
+    @Column(name = "shuffle_seed", nullable = false, updatable = false)
+    private long shuffleSeed;
+
+    // Idempotency key of the submit that finished the attempt; null if it expired unsubmitted
+    @Column(name = "submit_key", length = 100)
+    private String submitKey;
+
     protected AttemptEntity() {}
 
     public AttemptEntity(QuizEntity quiz, String nickname) {
         this.quiz = quiz;
         this.nickname = nickname;
         this.score = 0;
+        this.shuffleSeed = ThreadLocalRandom.current().nextLong();
+    }
+
+    public AttemptEntity(QuizEntity quiz, String nickname, OffsetDateTime startedAt) {
+        this(quiz, nickname);
+        this.startedAt = startedAt;
     }
 
     @PrePersist
@@ -46,7 +63,15 @@ public class AttemptEntity {
     public int getScore() { return score; }
     public OffsetDateTime getStartedAt() { return startedAt; }
     public OffsetDateTime getFinishedAt() { return finishedAt; }
+    public long getShuffleSeed() { return shuffleSeed; }
+    public String getSubmitKey() { return submitKey; }
 
     public void setScore(int score) { this.score = score; }
     public void finishNow() { this.finishedAt = OffsetDateTime.now(); }
+
+    /** Mirrors a finish already written by {@code AttemptRepository.claimFinish}, so a flush keeps it. */
+    public void markFinished(OffsetDateTime finishedAt, String submitKey) {
+        this.finishedAt = finishedAt;
+        this.submitKey = submitKey;
+    }
 }
@@ -11,7 +11,9 @@ import org.hibernate.type.SqlTypes;
 public class QuestionEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // allocationSize must match the sequence increment (V8__pooled_sequences.sql)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "questions_id_gen")
+    @SequenceGenerator(name = "questions_id_gen", sequenceName = "questions_id_seq", allocationSize = 50)
     private Long id;
 
     // we’ll later formalise this as an enum + polymorphism; for now string keeps migrations simple
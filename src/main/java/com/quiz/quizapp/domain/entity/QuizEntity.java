@@ -13,7 +13,9 @@ import java.util.Set;
 public class QuizEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // allocationSize must match the sequence increment (V8__pooled_sequences.sql)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quizzes_id_gen")
+    @SequenceGenerator(name = "quizzes_id_gen", sequenceName = "quizzes_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
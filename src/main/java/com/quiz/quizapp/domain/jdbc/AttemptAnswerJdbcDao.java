@@ -0,0 +1,113 @@
+package com.quiz.quizapp.domain.jdbc;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+@Repository
+public class AttemptAnswerJdbcDao {
+
+    /** One scored answer to store for an attempt. */
+    public record NewAnswer(long questionId, String answerJson, boolean correct, int awardedPoints) {}
+
+    /** One saved-as-you-go answer, not scored yet. */
+    public record DraftAnswer(long attemptId, long questionId, String answerJson) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttemptAnswerJdbcDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes all scored answers of an attempt as one JDBC batch (sent as a multi-row insert with
+     * {@code reWriteBatchedInserts}), replacing drafts saved earlier for the same questions.
+     */
+    public void saveAll(long attemptId, List<NewAnswer> answers, OffsetDateTime answeredAt) {
+        saveAll(Map.of(attemptId, answers), answeredAt);
+    }
+
+    /** Same as {@link #saveAll(long, List, OffsetDateTime)} for many attempts, still one batch. */
+    public void saveAll(Map<Long, List<NewAnswer>> answersByAttempt, OffsetDateTime answeredAt) {
+        List<Map.Entry<Long, NewAnswer>> rows = new ArrayList<>();
+        answersByAttempt.forEach((attemptId, answers) -> answers.forEach(a -> rows.add(Map.entry(attemptId, a))));
+        if (rows.isEmpty()) return;
+        String sql = """
+            insert into attempt_answers(attempt_id, question_id, answer, is_correct, awarded_points, answered_at)
+            values (?, ?, ?::jsonb, ?, ?, ?)
+            on conflict (attempt_id, question_id) do update
+            set answer = excluded.answer,
+                is_correct = excluded.is_correct,
+                awarded_points = excluded.awarded_points,
+                answered_at = excluded.answered_at
+            """;
+
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            NewAnswer a = row.getValue();
+            ps.setLong(1, row.getKey());
+            ps.setLong(2, a.questionId());
+            ps.setString(3, a.answerJson());
+            ps.setBoolean(4, a.correct());
+            ps.setInt(5, a.awardedPoints());
+            ps.setObject(6, answeredAt);
+        });
+    }
+
+    /**
+     * Upserts drafts, across any number of attempts, as one batch. They are stored unscored and
+     * skipped for attempts that are finished by now, so a late flush never touches a result.
+     */
+    public void upsertDrafts(List<DraftAnswer> drafts, OffsetDateTime answeredAt) {
+        if (drafts.isEmpty()) return;
+        String sql = """
+            insert into attempt_answers(attempt_id, question_id, answer, is_correct, awarded_points, answered_at)
+            select ?, ?, ?::jsonb, false, 0, ?
+            where exists (select 1 from attempts where id = ? and finished_at is null)
+            on conflict (attempt_id, question_id) do update
+            set answer = excluded.answer, answered_at = excluded.answered_at
+            """;
+
+        jdbcTemplate.batchUpdate(sql, drafts, drafts.size(), (ps, d) -> {
+            ps.setLong(1, d.attemptId());
+            ps.setLong(2, d.questionId());
+            ps.setString(3, d.answerJson());
+            ps.setObject(4, answeredAt);
+            ps.setLong(5, d.attemptId());
+        });
+    }
+
+    /** Answers stored so far for an attempt, by question id. */
+    public Map<Long, String> findAnswers(long attemptId) {
+        Map<Long, String> answers = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "select question_id, answer::text as answer from attempt_answers where attempt_id = ? order by question_id",
+                rs -> {
+                    answers.put(rs.getLong("question_id"), rs.getString("answer"));
+                },
+                attemptId);
+        return answers;
+    }
+
+    /** Answers stored so far for each of {@code attemptIds}, by attempt and then question id. */
+    public Map<Long, Map<Long, String>> findAnswers(List<Long> attemptIds) {
+        Map<Long, Map<Long, String>> answers = new HashMap<>();
+        if (attemptIds.isEmpty()) return answers;
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                select attempt_id, question_id, answer::text as answer
+                from attempt_answers
+                where attempt_id = any(?)
+                order by attempt_id, question_id
+                """);
+            ps.setArray(1, con.createArrayOf("bigint", attemptIds.toArray()));
+            return ps;
+        }, rs -> {
+            answers.computeIfAbsent(rs.getLong("attempt_id"), id -> new LinkedHashMap<>())
+                    .put(rs.getLong("question_id"), rs.getString("answer"));
+        });
+        return answers;
+    }
+}
@@ -0,0 +1,86 @@
+package com.quiz.quizapp.domain.jdbc;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class AttemptExpiryJdbcDao {
+
+    private static final RowMapper<OpenAttempt> OPEN_MAPPER =
+            (rs, rowNum) -> new OpenAttempt(
+                    rs.getLong("id"),
+                    rs.getLong("quiz_id"),
+                    rs.getString("nickname"),
+                    rs.getBoolean("negative_points_enabled"),
+                    rs.getObject("deadline", OffsetDateTime.class)
+            );
+
+    /** An unfinished attempt with its current deadline (null once its quiz has no time limit). */
+    public record OpenAttempt(long id, long quizId, String nickname, boolean negativePointsEnabled, OffsetDateTime deadline) {}
+
+    /** Final score of an expired attempt. */
+    public record FinalScore(long attemptId, int score) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttemptExpiryJdbcDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Every open attempt of a time-limited quiz; reads the partial index on open attempts. */
+    public List<OpenAttempt> findOpenTimedAttempts() {
+        return jdbcTemplate.query("""
+            select a.id, a.quiz_id, a.nickname, q.negative_points_enabled,
+                   a.started_at + make_interval(secs => q.time_limit_seconds) as deadline
+            from attempts a
+            join quizzes q on q.id = a.quiz_id
+            where a.finished_at is null
+              and q.time_limit_seconds > 0
+            """, OPEN_MAPPER);
+    }
+
+    /** The attempts of {@code attemptIds} that are still open, with deadlines as of now. */
+    public List<OpenAttempt> findOpen(List<Long> attemptIds) {
+        if (attemptIds.isEmpty()) return List.of();
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                select a.id, a.quiz_id, a.nickname, q.negative_points_enabled,
+                       case when q.time_limit_seconds > 0
+                            then a.started_at + make_interval(secs => q.time_limit_seconds) end as deadline
+                from attempts a
+                join quizzes q on q.id = a.quiz_id
+                where a.id = any(?)
+                  and a.finished_at is null
+                """);
+            ps.setArray(1, con.createArrayOf("bigint", attemptIds.toArray()));
+            return ps;
+        }, OPEN_MAPPER);
+    }
+
+    /**
+     * Finishes the attempts as one batch. Each update only applies while the attempt is still
+     * open, so one finished concurrently keeps its result; returns the ids actually finished.
+     */
+    public List<Long> finish(List<FinalScore> scores, OffsetDateTime finishedAt) {
+        if (scores.isEmpty()) return List.of();
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "update attempts set score = ?, finished_at = ? where id = ? and finished_at is null",
+                scores, scores.size(), (ps, s) -> {
+                    ps.setInt(1, s.score());
+                    ps.setObject(2, finishedAt);
+                    ps.setLong(3, s.attemptId());
+                });
+
+        List<Long> finished = new ArrayList<>();
+        for (int i = 0; i < scores.size(); i++) {
+            if (counts[0][i] > 0) finished.add(scores.get(i).attemptId());
+        }
+        return finished;
+    }
+}
@@ -0,0 +1,125 @@
+package com.quiz.quizapp.domain.jdbc;
+
+import com.quiz.quizapp.api.dto.RankingRowResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code leaderboard_entries}: one row per player and quiz holding their best finished attempt,
+ * so a quiz replayed many times by the same people ranks players rather than attempts.
+ */
+@Repository
+public class BestScoreJdbcDao {
+
+    // A newer result replaces the stored one only if it ranks ahead of it (score desc, then
+    // earlier finish); that keeps the upsert order-independent, so finishes and the backfill mix
+    private static final String UPSERT = """
+            on conflict (quiz_id, nickname_key) do update
+            set nickname = excluded.nickname,
+                attempt_id = excluded.attempt_id,
+                score = excluded.score,
+                finished_at = excluded.finished_at
+            where excluded.score > leaderboard_entries.score
+               or (excluded.score = leaderboard_entries.score
+                   and excluded.finished_at < leaderboard_entries.finished_at)
+            """;
+
+    // Each player's best finished attempt among the selected ones, in the shape of the table
+    private static final String BEST_ATTEMPTS = """
+            insert into leaderboard_entries(quiz_id, nickname_key, nickname, attempt_id, score, finished_at)
+            select distinct on (quiz_id, lower(btrim(nickname)))
+                   quiz_id, lower(btrim(nickname)), nickname, id, score, finished_at
+            from attempts
+            """;
+    private static final String BEST_ORDER = """
+            order by quiz_id, lower(btrim(nickname)), score desc, finished_at asc, id asc
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BestScoreJdbcDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Keeps the attempt as the player's entry if it beats the one stored (or there is none);
+     * returns whether it did.
+     */
+    public boolean record(long quizId, long attemptId, String nickname, int score, OffsetDateTime finishedAt) {
+        return jdbcTemplate.update("""
+                insert into leaderboard_entries(quiz_id, nickname_key, nickname, attempt_id, score, finished_at)
+                values (?, lower(btrim(?)), ?, ?, ?, ?)
+                """ + UPSERT, quizId, nickname, nickname, attemptId, score, finishedAt) > 0;
+    }
+
+    /** The best {@code limit} players of the quiz, read off idx_leaderboard_entries_ranking. */
+    public List<RankingRowResponse> top(long quizId, int limit) {
+        return jdbcTemplate.query("""
+                select nickname, score
+                from leaderboard_entries
+                where quiz_id = ?
+                order by score desc, finished_at asc, attempt_id asc
+                limit ?
+                """, (rs, n) -> new RankingRowResponse(rs.getString("nickname"), rs.getInt("score")), quizId, limit);
+    }
+
+    /** The same ranking computed from attempts, for while the backfill hasn't finished. */
+    public List<RankingRowResponse> topFromAttempts(long quizId, int limit) {
+        return jdbcTemplate.query("""
+                select nickname, score
+                from (
+                    select distinct on (lower(btrim(nickname))) id, nickname, score, finished_at
+                    from attempts
+                    where quiz_id = ? and finished_at is not null
+                    order by lower(btrim(nickname)), score desc, finished_at asc, id asc
+                ) best
+                order by score desc, finished_at asc, id asc
+                limit ?
+                """, (rs, n) -> new RankingRowResponse(rs.getString("nickname"), rs.getInt("score")), quizId, limit);
+    }
+
+    /** Nicknames of the players with an entry for the quiz. */
+    public List<String> players(long quizId) {
+        return jdbcTemplate.queryForList(
+                "select nickname from leaderboard_entries where quiz_id = ?", String.class, quizId);
+    }
+
+    /** Replaces the quiz's entries with ones computed afresh, e.g. after its scores changed. */
+    public void rebuild(long quizId) {
+        jdbcTemplate.update("delete from leaderboard_entries where quiz_id = ?", quizId);
+        jdbcTemplate.update(BEST_ATTEMPTS + """
+                where quiz_id = ? and finished_at is not null
+                """ + BEST_ORDER, quizId);
+    }
+
+    /** Merges the best finished attempts with ids in {@code (afterId, toId]} into the table. */
+    public int backfill(long afterId, long toId) {
+        return jdbcTemplate.update(BEST_ATTEMPTS + """
+                where id > ? and id <= ? and finished_at is not null
+                """ + BEST_ORDER + UPSERT, afterId, toId);
+    }
+
+    public long maxAttemptId() {
+        Long id = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from attempts", Long.class);
+        return id == null ? 0 : id;
+    }
+
+    /** Where the backfill got to; empty once it has completed. */
+    public Optional<Long> backfillPosition() {
+        return jdbcTemplate.query(
+                "select last_attempt_id from leaderboard_backfill where id = 1 and completed_at is null",
+                (rs, n) -> rs.getLong(1)).stream().findFirst();
+    }
+
+    public void saveBackfillPosition(long lastAttemptId) {
+        jdbcTemplate.update("update leaderboard_backfill set last_attempt_id = ? where id = 1", lastAttemptId);
+    }
+
+    public void completeBackfill() {
+        jdbcTemplate.update("update leaderboard_backfill set completed_at = now() where id = 1");
+    }
+}
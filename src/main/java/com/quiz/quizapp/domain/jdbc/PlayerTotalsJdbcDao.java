@@ -0,0 +1,119 @@
+package com.quiz.quizapp.domain.jdbc;
+
+import com.quiz.quizapp.domain.ranking.PlayerMetric;
+import com.quiz.quizapp.domain.ranking.PlayerStanding;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@code player_totals}: each player's best scores summed across quizzes. Every write recomputes
+ * the players it touches from {@code leaderboard_entries}, so it's idempotent and a missed update
+ * is fixed by the next one (or a rebuild).
+ */
+@Repository
+public class PlayerTotalsJdbcDao {
+
+    private static final RowMapper<PlayerStanding> STANDING_MAPPER =
+            (rs, n) -> new PlayerStanding(
+                    rs.getString("nickname_key"),
+                    rs.getString("nickname"),
+                    rs.getLong("total_score"),
+                    rs.getInt("quizzes"),
+                    rs.getDouble("average_score")
+            );
+
+    // Upserts the totals of the players the caller's "where" picks, in key order so that two
+    // writers lock shared rows in the same order
+    private static final String RECOMPUTE = """
+            insert into player_totals(nickname_key, nickname, total_score, quizzes)
+            select nickname_key, max(nickname), sum(score), count(*)
+            from leaderboard_entries
+            %s
+            group by nickname_key
+            order by nickname_key
+            on conflict (nickname_key) do update
+            set nickname = excluded.nickname,
+                total_score = excluded.total_score,
+                quizzes = excluded.quizzes,
+                updated_at = now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlayerTotalsJdbcDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Recomputes the named players' totals and returns them; players without entries are left out. */
+    public List<PlayerStanding> refresh(Collection<String> nicknames) {
+        if (nicknames.isEmpty()) return List.of();
+        String sql = RECOMPUTE.formatted("where nickname_key in (select lower(btrim(n)) from unnest(?) n)")
+                + "returning nickname_key, nickname, total_score, quizzes, average_score";
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("text", nicknames.toArray()));
+            return ps;
+        }, STANDING_MAPPER);
+    }
+
+    /** Deletes the totals of named players who have no entries any more; returns their keys. */
+    public List<String> removeEmpty(Collection<String> nicknames) {
+        if (nicknames.isEmpty()) return List.of();
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    delete from player_totals t
+                    where t.nickname_key in (select lower(btrim(n)) from unnest(?) n)
+                      and not exists (select 1 from leaderboard_entries e where e.nickname_key = t.nickname_key)
+                    returning t.nickname_key
+                    """);
+            ps.setArray(1, con.createArrayOf("text", nicknames.toArray()));
+            return ps;
+        }, (rs, n) -> rs.getString(1));
+    }
+
+    /** The best {@code limit} players by {@code metric}, read off that metric's index. */
+    public List<PlayerStanding> top(PlayerMetric metric, int limit) {
+        String column = switch (metric) {
+            case TOTAL -> "total_score";
+            case AVERAGE -> "average_score";
+        };
+        return jdbcTemplate.query("""
+                select nickname_key, nickname, total_score, quizzes, average_score
+                from player_totals
+                order by %s desc, nickname_key
+                limit ?
+                """.formatted(column), STANDING_MAPPER, limit);
+    }
+
+    /** Up to {@code limit} player keys after {@code afterKey} (from the first when null), in order. */
+    public List<String> playerKeysAfter(String afterKey, int limit) {
+        return jdbcTemplate.queryForList("""
+                select nickname_key
+                from leaderboard_entries
+                where ?::text is null or nickname_key > ?
+                group by nickname_key
+                order by nickname_key
+                limit ?
+                """, String.class, afterKey, afterKey, limit);
+    }
+
+    /**
+     * Rebuilds the totals of every player keyed after {@code afterKey} up to {@code upToKey}
+     * (to the end when null), dropping totals of players in that range who have no entries.
+     */
+    public void rebuildRange(String afterKey, String upToKey) {
+        String range = "(?::text is null or nickname_key > ?) and (?::text is null or nickname_key <= ?)";
+        Object[] args = {afterKey, afterKey, upToKey, upToKey};
+        jdbcTemplate.update(RECOMPUTE.formatted("where " + range), args);
+        jdbcTemplate.update("""
+                delete from player_totals t
+                where %s
+                  and not exists (select 1 from leaderboard_entries e where e.nickname_key = t.nickname_key)
+                """.formatted(range.replace("nickname_key", "t.nickname_key")), args);
+    }
+}
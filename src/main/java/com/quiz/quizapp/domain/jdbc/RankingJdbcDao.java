@@ -1,14 +1,58 @@
 package com.quiz.quizapp.domain.jdbc;
 
 import com.quiz.quizapp.api.dto.RankingRowResponse;
+import com.quiz.quizapp.domain.ranking.LeaderboardEntry;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public class RankingJdbcDao {
 
+    // Ranking order is score desc, finished_at asc, id asc, the order of idx_attempts_ranking.
+    // These pick the rows on either side of a key; the leading score bound is what the index
+    // scan starts from, the rest settles ties
+    private static final String AHEAD = """
+            and score >= ? and (score > ? or (finished_at < ? or (finished_at = ? and id < ?)))
+            """;
+    private static final String BEHIND = """
+            and score <= ? and (score < ? or (finished_at > ? or (finished_at = ? and id > ?)))
+            """;
+
+    private static final String FINISHED = """
+            from attempts
+            where quiz_id = ? and finished_at is not null
+            """;
+
+    static final String LEADERBOARD_SQL = "select id, nickname, score, finished_at\n" + FINISHED + """
+            order by score desc, finished_at asc, id asc
+            limit ?
+            """;
+    static final String AFTER_SQL = "select id, nickname, score, finished_at\n" + FINISHED + BEHIND + """
+            order by score desc, finished_at asc, id asc
+            limit ?
+            """;
+    static final String BEFORE_SQL = "select id, nickname, score, finished_at\n" + FINISHED + AHEAD + """
+            order by score asc, finished_at desc, id desc
+            limit ?
+            """;
+    static final String COUNT_AHEAD_SQL = "select count(*)\n" + FINISHED + AHEAD;
+
+    private static final RowMapper<LeaderboardEntry> ENTRY_MAPPER =
+            (rs, n) -> new LeaderboardEntry(
+                    rs.getLong("id"),
+                    rs.getString("nickname"),
+                    rs.getInt("score"),
+                    rs.getObject("finished_at", OffsetDateTime.class)
+            );
+
     private final JdbcTemplate jdbcTemplate;
 
     public RankingJdbcDao(JdbcTemplate jdbcTemplate) {
@@ -20,7 +64,7 @@ public class RankingJdbcDao {
             select nickname, score
             from attempts
             where quiz_id = ? and finished_at is not null
-            order by score desc, finished_at asc
+            order by score desc, finished_at asc, id asc
             limit ?
             """;
 
@@ -31,4 +75,72 @@ public class RankingJdbcDao {
                 limit
         );
     }
+
+    /** The best {@code limit} finished attempts in leaderboard order, to fill an in-memory board. */
+    public List<LeaderboardEntry> leaderboard(long quizId, int limit) {
+        return jdbcTemplate.query(LEADERBOARD_SQL, ENTRY_MAPPER, quizId, limit);
+    }
+
+    /**
+     * The best {@code perDay} attempts of each calendar day (in {@code zone}) finished since
+     * {@code since}, in no particular order; fills the windowed leaderboards.
+     */
+    public List<LeaderboardEntry> dailyTop(long quizId, OffsetDateTime since, String zone, int perDay) {
+        return jdbcTemplate.query("""
+                select id, nickname, score, finished_at
+                from (
+                    select id, nickname, score, finished_at,
+                           row_number() over (
+                               partition by (finished_at at time zone ?)::date
+                               order by score desc, finished_at asc, id asc
+                           ) as pos
+                    from attempts
+                    where quiz_id = ? and finished_at >= ?
+                ) ranked
+                where pos <= ?
+                """, ENTRY_MAPPER, zone, quizId, since, perDay);
+    }
+
+    public long countFinished(long quizId) {
+        Long n = jdbcTemplate.queryForObject("select count(*)\n" + FINISHED, Long.class, quizId);
+        return n == null ? 0 : n;
+    }
+
+    public Optional<LeaderboardEntry> findFinished(long quizId, long attemptId) {
+        return jdbcTemplate.query("""
+                select id, nickname, score, finished_at
+                from attempts
+                where id = ? and quiz_id = ? and finished_at is not null
+                """, ENTRY_MAPPER, attemptId, quizId).stream().findFirst();
+    }
+
+    /** How many finished attempts rank ahead of {@code entry}. */
+    public long countAhead(long quizId, LeaderboardEntry entry) {
+        Long n = jdbcTemplate.queryForObject(COUNT_AHEAD_SQL, Long.class, keysetArgs(quizId, entry));
+        return n == null ? 0 : n;
+    }
+
+    /** Keyset page: up to {@code limit} attempts ranked after {@code cursor}, or from the top when null. */
+    public List<LeaderboardEntry> after(long quizId, LeaderboardEntry cursor, int limit) {
+        if (cursor == null) return leaderboard(quizId, limit);
+        return jdbcTemplate.query(AFTER_SQL, ENTRY_MAPPER, append(keysetArgs(quizId, cursor), limit));
+    }
+
+    /** Up to {@code limit} attempts ranked right before {@code entry}, in ranking order. */
+    public List<LeaderboardEntry> before(long quizId, LeaderboardEntry entry, int limit) {
+        List<LeaderboardEntry> rows = new ArrayList<>(
+                jdbcTemplate.query(BEFORE_SQL, ENTRY_MAPPER, append(keysetArgs(quizId, entry), limit)));
+        Collections.reverse(rows);
+        return rows;
+    }
+
+    private static Object[] keysetArgs(long quizId, LeaderboardEntry e) {
+        return new Object[]{quizId, e.score(), e.score(), e.finishedAt(), e.finishedAt(), e.attemptId()};
+    }
+
+    private static Object[] append(Object[] args, Object last) {
+        Object[] out = Arrays.copyOf(args, args.length + 1);
+        out[args.length] = last;
+        return out;
+    }
 }
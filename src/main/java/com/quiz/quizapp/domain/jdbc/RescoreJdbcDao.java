@@ -0,0 +1,182 @@
+package com.quiz.quizapp.domain.jdbc;
+
+import com.quiz.quizapp.domain.dto.RescoreJobInfo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Repository
+public class RescoreJdbcDao {
+
+    private static final RowMapper<RescoreJobInfo> JOB_MAPPER =
+            (rs, rowNum) -> new RescoreJobInfo(
+                    rs.getLong("id"),
+                    rs.getLong("quiz_id"),
+                    rs.getString("status"),
+                    rs.getLong("total_answers"),
+                    rs.getLong("processed_answers"),
+                    rs.getLong("changed_answers"),
+                    rs.getLong("last_question_id"),
+                    rs.getLong("last_answer_id"),
+                    rs.getInt("updated_attempts"),
+                    rs.getString("error"),
+                    rs.getObject("created_at", OffsetDateTime.class),
+                    rs.getObject("finished_at", OffsetDateTime.class)
+            );
+
+    /** One stored answer as the re-score job streams it. */
+    public record AnswerRow(long id, long questionId, String answerJson, boolean correct, int awardedPoints) {}
+
+    /** New verdict for one answer. */
+    public record AnswerUpdate(long id, boolean correct, int awardedPoints) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RescoreJdbcDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Inserts a RUNNING job; fails with a duplicate key if the quiz already has one running. */
+    public long createJob(long quizId, long totalAnswers) {
+        var keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "insert into rescore_jobs(quiz_id, status, total_answers) values (?, ?, ?)",
+                    new String[]{"id"});
+            ps.setLong(1, quizId);
+            ps.setString(2, RescoreJobInfo.RUNNING);
+            ps.setLong(3, totalAnswers);
+            return ps;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+
+    public Optional<RescoreJobInfo> findJob(long jobId) {
+        return jdbcTemplate.query("select * from rescore_jobs where id = ?", JOB_MAPPER, jobId)
+                .stream().findFirst();
+    }
+
+    public Optional<RescoreJobInfo> findRunningJob(long quizId) {
+        return jdbcTemplate.query("select * from rescore_jobs where quiz_id = ? and status = ?",
+                JOB_MAPPER, quizId, RescoreJobInfo.RUNNING).stream().findFirst();
+    }
+
+    public List<RescoreJobInfo> findRunningJobs() {
+        return jdbcTemplate.query("select * from rescore_jobs where status = ? order by id",
+                JOB_MAPPER, RescoreJobInfo.RUNNING);
+    }
+
+    public long countAnswers(List<Long> questionIds) {
+        if (questionIds.isEmpty()) return 0;
+        Long n = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("select count(*) from attempt_answers where question_id = any(?)");
+            ps.setArray(1, con.createArrayOf("bigint", questionIds.toArray()));
+            return ps;
+        }, rs -> rs.next() ? rs.getLong(1) : 0L);
+        return n == null ? 0 : n;
+    }
+
+    /**
+     * Streams the answers to {@code questionId} with an id above {@code afterId}, in id order,
+     * through a server-side cursor. One question at a time, so the (question_id, id) index hands
+     * the rows over already sorted. The transaction only exists to keep the cursor open.
+     */
+    @Transactional(readOnly = true)
+    public void streamAnswers(long questionId, long afterId, int fetchSize, Consumer<AnswerRow> consumer) {
+        String sql = """
+            select id, question_id, answer::text as answer, is_correct, awarded_points
+            from attempt_answers
+            where question_id = ? and id > ?
+            order by id
+            """;
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, questionId);
+            ps.setLong(2, afterId);
+            return ps;
+        }, rs -> {
+            consumer.accept(new AnswerRow(
+                    rs.getLong("id"),
+                    rs.getLong("question_id"),
+                    rs.getString("answer"),
+                    rs.getBoolean("is_correct"),
+                    rs.getInt("awarded_points")
+            ));
+        });
+    }
+
+    public void updateAnswers(List<AnswerUpdate> updates) {
+        if (updates.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "update attempt_answers set is_correct = ?, awarded_points = ? where id = ?",
+                updates, updates.size(), (ps, u) -> {
+                    ps.setBoolean(1, u.correct());
+                    ps.setInt(2, u.awardedPoints());
+                    ps.setLong(3, u.id());
+                });
+    }
+
+    public void saveProgress(long jobId, long lastQuestionId, long lastAnswerId, long processedAnswers, long changedAnswers) {
+        jdbcTemplate.update("""
+            update rescore_jobs
+            set last_question_id = ?, last_answer_id = ?, processed_answers = ?, changed_answers = ?, updated_at = now()
+            where id = ?
+            """, lastQuestionId, lastAnswerId, processedAnswers, changedAnswers, jobId);
+    }
+
+    /** Sets every finished attempt's score to the sum of its answers, in one statement. */
+    public int recomputeScores(long quizId) {
+        return jdbcTemplate.update("""
+            update attempts a
+            set score = s.total
+            from (
+                select aa.attempt_id, sum(aa.awarded_points)::int as total
+                from attempt_answers aa
+                join attempts qa on qa.id = aa.attempt_id
+                where qa.quiz_id = ?
+                group by aa.attempt_id
+            ) s
+            where a.id = s.attempt_id
+              and a.finished_at is not null
+              and a.score <> s.total
+            """, quizId);
+    }
+
+    public void complete(long jobId, int updatedAttempts) {
+        jdbcTemplate.update("""
+            update rescore_jobs
+            set status = ?, updated_attempts = ?, error = null, updated_at = now(), finished_at = now()
+            where id = ?
+            """, RescoreJobInfo.COMPLETED, updatedAttempts, jobId);
+    }
+
+    public void fail(long jobId, String error) {
+        jdbcTemplate.update("""
+            update rescore_jobs
+            set status = ?, error = ?, updated_at = now(), finished_at = now()
+            where id = ?
+            """, RescoreJobInfo.FAILED, error, jobId);
+    }
+
+    /**
+     * Puts a failed job back to RUNNING; false if it wasn't failed. Fails with a duplicate key if
+     * another job is running for the same quiz by now.
+     */
+    public boolean reopen(long jobId) {
+        return jdbcTemplate.update("""
+            update rescore_jobs
+            set status = ?, error = null, updated_at = now(), finished_at = null
+            where id = ? and status = ?
+            """, RescoreJobInfo.RUNNING, jobId, RescoreJobInfo.FAILED) == 1;
+    }
+}
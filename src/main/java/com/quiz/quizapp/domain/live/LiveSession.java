@@ -0,0 +1,204 @@
+package com.quiz.quizapp.domain.live;
+
+import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot.PlayQuestion;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * One hosted game. The host moves it LOBBY, then QUESTION_OPEN / QUESTION_CLOSED once per
+ * question, then ENDED; players answer whichever question is open.
+ *
+ * <p>Host moves are rare and synchronized. Answers arrive from hundreds of players at once and
+ * take no lock: a player's slot for the question is claimed with a CAS (first answer counts) and
+ * the question's totals are {@link LongAdder}s. An answer racing the host's close may still count.
+ */
+public final class LiveSession {
+
+    public enum Status { LOBBY, QUESTION_OPEN, QUESTION_CLOSED, ENDED }
+
+    public record Answer(long questionId, String answerJson, boolean correct, int awardedPoints) {}
+
+    /** Totals of one question, as shown when it closes. */
+    public record QuestionResult(int index, long questionId, long answered, long correct) {}
+
+    public record Standing(String nickname, int score) {}
+
+    public static final class Player {
+
+        private final String token;
+        private final String nickname;
+        private final OffsetDateTime joinedAt;
+        private final AtomicReferenceArray<Answer> answers;
+
+        Player(String token, String nickname, int questionCount) {
+            this.token = token;
+            this.nickname = nickname;
+            this.joinedAt = OffsetDateTime.now();
+            this.answers = new AtomicReferenceArray<>(questionCount);
+        }
+
+        public String token() { return token; }
+        public String nickname() { return nickname; }
+        public OffsetDateTime joinedAt() { return joinedAt; }
+
+        public List<Answer> answers() {
+            List<Answer> out = new ArrayList<>();
+            for (int i = 0; i < answers.length(); i++) {
+                Answer a = answers.get(i);
+                if (a != null) out.add(a);
+            }
+            return out;
+        }
+
+        public int score() {
+            int total = 0;
+            for (int i = 0; i < answers.length(); i++) {
+                Answer a = answers.get(i);
+                if (a != null) total += a.awardedPoints();
+            }
+            return total;
+        }
+    }
+
+    private final String id;
+    private final long quizId;
+    private final String title;
+    private final boolean negativePointsEnabled;
+    private final QuizPlaySnapshot snapshot;
+    private final Map<String, Player> players = new ConcurrentHashMap<>();
+    private final LongAdder[] answered;
+    private final LongAdder[] correct;
+
+    private volatile Status status = Status.LOBBY;
+    private volatile int current = -1;
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    public LiveSession(String id, long quizId, String title, boolean negativePointsEnabled, QuizPlaySnapshot snapshot) {
+        this.id = id;
+        this.quizId = quizId;
+        this.title = title;
+        this.negativePointsEnabled = negativePointsEnabled;
+        this.snapshot = snapshot;
+        int n = snapshot.questions().size();
+        this.answered = new LongAdder[n];
+        this.correct = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            answered[i] = new LongAdder();
+            correct[i] = new LongAdder();
+        }
+    }
+
+    public Player join(String nickname, int maxPlayers) {
+        if (status == Status.ENDED) throw new IllegalStateException("Session has ended");
+        // Approximate under concurrent joins, which is fine for a capacity guard
+        if (players.size() >= maxPlayers) throw new IllegalStateException("Session is full");
+
+        Player p = new Player(UUID.randomUUID().toString(), nickname, answered.length);
+        players.put(p.token(), p);
+        touch();
+        return p;
+    }
+
+    /** Opens the next question; the current one must be closed first. Returns its index. */
+    public synchronized int openNext() {
+        if (status == Status.ENDED) throw new IllegalStateException("Session has ended");
+        if (status == Status.QUESTION_OPEN) throw new IllegalStateException("Current question is still open");
+        if (current + 1 >= answered.length) throw new IllegalStateException("No more questions");
+
+        current++;
+        status = Status.QUESTION_OPEN;
+        touch();
+        return current;
+    }
+
+    public synchronized QuestionResult close() {
+        if (status != Status.QUESTION_OPEN) throw new IllegalStateException("No question is open");
+        status = Status.QUESTION_CLOSED;
+        touch();
+        return result(current);
+    }
+
+    /** Ends the game; no answer or join is accepted afterwards. */
+    public synchronized void end() {
+        if (status == Status.ENDED) throw new IllegalStateException("Session has ended");
+        status = Status.ENDED;
+        touch();
+    }
+
+    public Collection<Player> players() {
+        return List.copyOf(players.values());
+    }
+
+    /** Records the player's answer to the open question; the first answer per question counts. */
+    public Answer answer(String playerToken, long questionId, String answerJson,
+                         BiPredicate<CompiledAnswerKey, String> isCorrect) {
+        Player player = players.get(playerToken);
+        if (player == null) throw new ResourceNotFoundException("Player not found in session " + id);
+
+        // Status before index: openNext() moves the index first, so this never pairs an open status
+        // with the previous question
+        boolean open = status == Status.QUESTION_OPEN;
+        int index = current;
+        if (!open || snapshot.questions().get(index).id() != questionId) {
+            throw new IllegalStateException("Question is not open");
+        }
+        if (player.answers.get(index) != null) throw new IllegalStateException("Question already answered");
+
+        PlayQuestion q = snapshot.question(questionId);
+        boolean ok = isCorrect.test(q.key(), answerJson);
+        int awarded = ok ? q.points() : (negativePointsEnabled ? -q.points() : 0);
+        Answer answer = new Answer(questionId, answerJson, ok, awarded);
+
+        if (!player.answers.compareAndSet(index, null, answer)) {
+            throw new IllegalStateException("Question already answered");
+        }
+        answered[index].increment();
+        if (ok) correct[index].increment();
+        return answer;
+    }
+
+    /** Highest scores first; ties keep no particular order. */
+    public List<Standing> standings(int limit) {
+        return players.values().stream()
+                .map(p -> new Standing(p.nickname(), p.score()))
+                .sorted(Comparator.comparingInt(Standing::score).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public QuestionResult result(int index) {
+        long questionId = snapshot.questions().get(index).id();
+        return new QuestionResult(index, questionId, answered[index].sum(), correct[index].sum());
+    }
+
+    /** The open (or last closed) question, or null before the first one. */
+    public QuestionForPlayDto currentQuestion() {
+        int index = current;
+        return index < 0 ? null : snapshot.questions().get(index);
+    }
+
+    public String id() { return id; }
+    public long quizId() { return quizId; }
+    public String title() { return title; }
+    public Status status() { return status; }
+    public int currentIndex() { return current; }
+    public int questionCount() { return answered.length; }
+    public int playerCount() { return players.size(); }
+
+    long idleNanos() {
+        return System.nanoTime() - lastActivityNanos;
+    }
+
+    private void touch() {
+        lastActivityNanos = System.nanoTime();
+    }
+}
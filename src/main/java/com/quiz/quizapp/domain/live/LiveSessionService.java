@@ -0,0 +1,261 @@
+package com.quiz.quizapp.domain.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.LiveSessionInfo;
+import com.quiz.quizapp.domain.entity.AttemptEntity;
+import com.quiz.quizapp.domain.entity.QuizEntity;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao.NewAnswer;
+import com.quiz.quizapp.domain.live.LiveSession.Player;
+import com.quiz.quizapp.domain.live.LiveSession.QuestionResult;
+import com.quiz.quizapp.domain.live.LiveSession.Standing;
+import com.quiz.quizapp.domain.play.AnswerJson;
+import com.quiz.quizapp.domain.play.QuizSnapshotCache;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
+import com.quiz.quizapp.domain.repository.AttemptRepository;
+import com.quiz.quizapp.domain.repository.QuizRepository;
+import com.quiz.quizapp.domain.service.ScoringService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.SecureRandom;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosted live games. Sessions live in memory only: players join with a short code, the host
+ * opens and closes questions, and every change is pushed to the session's subscribers through
+ * {@link SseFanOut}. Nothing is written while the game runs; when it ends, each player becomes a
+ * finished attempt, all stored in one transaction (batched attempt inserts, then one answer batch).
+ */
+@Service
+public class LiveSessionService {
+
+    private static final String CODE_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int STANDINGS_SHOWN = 10;
+
+    private final QuizRepository quizRepository;
+    private final AttemptRepository attemptRepository;
+    private final AttemptAnswerJdbcDao attemptAnswerJdbcDao;
+    private final QuizSnapshotCache quizSnapshotCache;
+    private final ScoringService scoringService;
+    private final LeaderboardCache leaderboardCache;
+    private final SseFanOut fanOut;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate writeTx;
+    private final int maxPlayers;
+    private final long idleNanos;
+
+    private final Map<String, LiveSession> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final ScheduledExecutorService reaper =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("live-reaper").daemon().factory());
+
+    public LiveSessionService(
+            QuizRepository quizRepository,
+            AttemptRepository attemptRepository,
+            AttemptAnswerJdbcDao attemptAnswerJdbcDao,
+            QuizSnapshotCache quizSnapshotCache,
+            ScoringService scoringService,
+            LeaderboardCache leaderboardCache,
+            SseFanOut fanOut,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.live.max-players:5000}") int maxPlayers,
+            @Value("${app.live.idle-minutes:120}") long idleMinutes
+    ) {
+        this.quizRepository = quizRepository;
+        this.attemptRepository = attemptRepository;
+        this.attemptAnswerJdbcDao = attemptAnswerJdbcDao;
+        this.quizSnapshotCache = quizSnapshotCache;
+        this.scoringService = scoringService;
+        this.leaderboardCache = leaderboardCache;
+        this.fanOut = fanOut;
+        this.objectMapper = objectMapper;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.maxPlayers = Math.max(1, maxPlayers);
+        this.idleNanos = TimeUnit.MINUTES.toNanos(Math.max(1, idleMinutes));
+        reaper.scheduleWithFixedDelay(this::endIdleSessions, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public LiveSessionInfo create(long quizId) {
+        QuizEntity quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz not found: " + quizId));
+        var snapshot = quizSnapshotCache.get(quizId);
+        if (snapshot.questions().isEmpty()) throw new IllegalStateException("Quiz has no questions");
+
+        while (true) {
+            String code = newCode();
+            var session = new LiveSession(code, quizId, quiz.getTitle(), quiz.isNegativePointsEnabled(), snapshot);
+            if (sessions.putIfAbsent(code, session) == null) return info(session);
+        }
+    }
+
+    public LiveSessionInfo get(String sessionId) {
+        return info(session(sessionId));
+    }
+
+    public Player join(String sessionId, String nickname) {
+        LiveSession session = session(sessionId);
+        String cleaned = nickname == null ? "" : nickname.trim();
+        if (cleaned.isEmpty()) throw new IllegalArgumentException("Nickname is required");
+        return session.join(cleaned, maxPlayers);
+    }
+
+    /** Event stream of the session; starts with its current state. */
+    public SseEmitter subscribe(String sessionId) {
+        LiveSession session = session(sessionId);
+        return fanOut.subscribe(channel(session.id()), info(session));
+    }
+
+    /** Opens the next question, closing the open one first. */
+    public LiveSessionInfo next(String sessionId) {
+        LiveSession session = session(sessionId);
+        // Published under the session's lock too, so subscribers get host moves in order
+        synchronized (session) {
+            if (session.status() == LiveSession.Status.QUESTION_OPEN) publishClosed(session, session.close());
+            session.openNext();
+            LiveSessionInfo info = info(session);
+            fanOut.publish(channel(session.id()), "question", info);
+            return info;
+        }
+    }
+
+    public QuestionResult close(String sessionId) {
+        LiveSession session = session(sessionId);
+        synchronized (session) {
+            QuestionResult result = session.close();
+            publishClosed(session, result);
+            return result;
+        }
+    }
+
+    public void answer(String sessionId, String playerToken, long questionId, String answerJson) {
+        if (!AnswerJson.isWellFormed(objectMapper, answerJson)) {
+            throw new IllegalArgumentException("Invalid answer JSON");
+        }
+        session(sessionId).answer(playerToken, questionId, answerJson, scoringService::isCorrect);
+    }
+
+    /**
+     * Ends the game and stores every player as a finished attempt. If storing fails the session
+     * stays (ended) in memory, so ending it again retries the write.
+     */
+    public List<Standing> end(String sessionId) {
+        LiveSession session = session(sessionId);
+        synchronized (session) {
+            // Lost a race with another end() that got the lock first and already stored it
+            if (sessions.get(session.id()) != session) throw new IllegalStateException("Session has ended");
+
+            if (session.status() == LiveSession.Status.QUESTION_OPEN) publishClosed(session, session.close());
+            if (session.status() != LiveSession.Status.ENDED) session.end();
+            persist(session, session.players());
+            sessions.remove(session.id());
+        }
+
+        List<Standing> standings = session.standings(STANDINGS_SHOWN);
+        fanOut.publish(channel(session.id()), "ended", standings);
+        fanOut.close(channel(session.id()));
+        return standings;
+    }
+
+    int sessionCount() {
+        return sessions.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reaper.shutdownNow();
+        // Games still running are stored as they stand rather than lost with the process
+        endSessions(0);
+    }
+
+    private void persist(LiveSession session, Collection<Player> players) {
+        if (players.isEmpty()) return;
+        OffsetDateTime now = OffsetDateTime.now();
+
+        writeTx.executeWithoutResult(status -> {
+            QuizEntity quiz = quizRepository.getReferenceById(session.quizId());
+            List<AttemptEntity> attempts = new ArrayList<>(players.size());
+            for (Player p : players) {
+                var attempt = new AttemptEntity(quiz, p.nickname(), p.joinedAt());
+                attempt.setScore(p.score());
+                attempt.finishNow();
+                attempts.add(attempt);
+            }
+            // Flushed so the answer batch below (plain JDBC, same transaction) sees the attempts
+            List<AttemptEntity> saved = attemptRepository.saveAllAndFlush(attempts);
+
+            Map<Long, List<NewAnswer>> answers = new HashMap<>();
+            Iterator<AttemptEntity> it = saved.iterator();
+            for (Player p : players) {
+                answers.put(it.next().getId(), p.answers().stream()
+                        .map(a -> new NewAnswer(a.questionId(), a.answerJson(), a.correct(), a.awardedPoints()))
+                        .toList());
+            }
+            attemptAnswerJdbcDao.saveAll(answers, now);
+
+            for (AttemptEntity a : saved) {
+                leaderboardCache.record(session.quizId(), a.getId(), a.getNickname(), a.getScore(), a.getFinishedAt());
+            }
+        });
+    }
+
+    private void publishClosed(LiveSession session, QuestionResult result) {
+        fanOut.publish(channel(session.id()), "closed", result);
+    }
+
+    // Abandoned by the host: results so far are kept rather than dropped
+    private void endIdleSessions() {
+        endSessions(idleNanos);
+    }
+
+    private void endSessions(long idleAtLeastNanos) {
+        for (LiveSession session : List.copyOf(sessions.values())) {
+            if (session.idleNanos() < idleAtLeastNanos) continue;
+            try {
+                end(session.id());
+            } catch (RuntimeException e) {
+                // Left for the next round
+            }
+        }
+    }
+
+    private LiveSession session(String sessionId) {
+        LiveSession session = sessionId == null ? null : sessions.get(sessionId.toUpperCase(Locale.ROOT));
+        if (session == null) throw new ResourceNotFoundException("Live session not found: " + sessionId);
+        return session;
+    }
+
+    private String newCode() {
+        char[] code = new char[6];
+        for (int i = 0; i < code.length; i++) code[i] = CODE_CHARS.charAt(random.nextInt(CODE_CHARS.length()));
+        return new String(code);
+    }
+
+    private static String channel(String sessionId) {
+        return "live:" + sessionId;
+    }
+
+    private static LiveSessionInfo info(LiveSession s) {
+        return new LiveSessionInfo(
+                s.id(),
+                s.quizId(),
+                s.title(),
+                s.status().name(),
+                s.currentIndex(),
+                s.questionCount(),
+                s.playerCount(),
+                s.currentQuestion()
+        );
+    }
+}
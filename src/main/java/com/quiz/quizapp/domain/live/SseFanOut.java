@@ -0,0 +1,147 @@
+package com.quiz.quizapp.domain.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-sent events to every subscriber of a channel. An event is serialised once and the same
+ * frame goes to all subscribers. Each subscriber has its own queue, drained by at most one
+ * virtual thread at a time, so a slow client only delays itself and still gets events in order.
+ */
+@Component
+public class SseFanOut {
+
+    private static final Object CLOSE = new Object();
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Set<Subscriber>> channels = new ConcurrentHashMap<>();
+
+    public SseFanOut(ObjectMapper objectMapper, @Value("${app.live.emitter-timeout-ms:3600000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /** A new subscriber to {@code channel}; {@code initial} (if not null) is sent to it first, as a "state" event. */
+    public SseEmitter subscribe(String channel, Object initial) {
+        return subscribe(channel, new SseEmitter(timeoutMs), initial);
+    }
+
+    SseEmitter subscribe(String channel, SseEmitter emitter, Object initial) {
+        Subscriber s = new Subscriber(channel, emitter);
+        emitter.onCompletion(s::remove);
+        emitter.onTimeout(s::remove);
+        emitter.onError(e -> s.remove());
+
+        channels.computeIfAbsent(channel, c -> ConcurrentHashMap.newKeySet()).add(s);
+        if (initial != null) s.offer(frame("state", initial));
+        return emitter;
+    }
+
+    /** Sends the event to every current subscriber of the channel. */
+    public void publish(String channel, String event, Object data) {
+        Set<Subscriber> subscribers = channels.get(channel);
+        if (subscribers == null || subscribers.isEmpty()) return;
+
+        Set<DataWithMediaType> frame = frame(event, data);
+        for (Subscriber s : subscribers) {
+            s.offer(frame);
+        }
+    }
+
+    /** Ends every subscription of the channel once its queued events are sent. */
+    public void close(String channel) {
+        Set<Subscriber> subscribers = channels.remove(channel);
+        if (subscribers == null) return;
+        for (Subscriber s : subscribers) {
+            s.offer(CLOSE);
+        }
+    }
+
+    public int subscriberCount(String channel) {
+        Set<Subscriber> subscribers = channels.get(channel);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        channels.keySet().forEach(this::close);
+        senders.shutdown();
+    }
+
+    private Set<DataWithMediaType> frame(String event, Object data) {
+        try {
+            String json = objectMapper.writeValueAsString(data);
+            // Built once and shared, never modified; the parts are ordered, so no Set.copyOf
+            return SseEmitter.event().name(event).data(json, MediaType.APPLICATION_JSON).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event not serialisable: " + event, e);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final String channel;
+        private final SseEmitter emitter;
+        private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean dead;
+
+        Subscriber(String channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        void offer(Object item) {
+            if (dead) return;
+            queue.add(item);
+            if (draining.compareAndSet(false, true)) senders.execute(this::drain);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            do {
+                for (Object item; (item = queue.poll()) != null; ) {
+                    if (dead) return;
+                    if (item == CLOSE) {
+                        dead = true;
+                        emitter.complete();
+                        return;
+                    }
+                    try {
+                        emitter.send((Set<DataWithMediaType>) item);
+                    } catch (Exception e) {
+                        // Client went away; the emitter's error callback may not fire for a write failure
+                        remove();
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An offer between the last poll and the reset saw draining=true and left the item for us
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void remove() {
+            dead = true;
+            queue.clear();
+            Set<Subscriber> subscribers = channels.get(channel);
+            if (subscribers != null) subscribers.remove(this);
+        }
+    }
+}
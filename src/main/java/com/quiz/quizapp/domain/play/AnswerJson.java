@@ -0,0 +1,50 @@
+package com.quiz.quizapp.domain.play;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** Checks on answer documents that are stored before being scored. */
+public final class AnswerJson {
+
+    private AnswerJson() {}
+
+    /**
+     * True for exactly one well-formed JSON value that Postgres {@code jsonb} accepts too. Answers
+     * written to the database later (in a batch) are checked up front, since one document the
+     * jsonb cast rejects fails the batch. Beyond JSON itself that cast refuses NUL characters and
+     * unpaired surrogates in strings, escaped or not.
+     */
+    public static boolean isWellFormed(ObjectMapper objectMapper, String json) {
+        try (JsonParser p = objectMapper.createParser(json)) {
+            JsonToken t = p.nextToken();
+            if (t == null) return false;
+            int depth = 0;
+            do {
+                if ((t == JsonToken.FIELD_NAME || t == JsonToken.VALUE_STRING)
+                        && !storable(p.getTextCharacters(), p.getTextOffset(), p.getTextLength())) {
+                    return false;
+                }
+                if (t.isStructStart()) depth++;
+                else if (t.isStructEnd()) depth--;
+            } while (depth > 0 && (t = p.nextToken()) != null);
+            return depth == 0 && p.nextToken() == null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean storable(char[] buf, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = buf[i];
+            if (c == '\0') return false;
+            if (Character.isHighSurrogate(c)) {
+                if (i + 1 == end || !Character.isLowSurrogate(buf[i + 1])) return false;
+                i++;
+            } else if (Character.isLowSurrogate(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
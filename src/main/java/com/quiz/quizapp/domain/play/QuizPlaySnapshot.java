@@ -0,0 +1,63 @@
+package com.quiz.quizapp.domain.play;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import com.quiz.quizapp.domain.entity.QuestionEntity;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Everything playing and scoring a quiz needs from its questions, read once per quiz version:
+ * the play DTOs in id order, the parsed options and the compiled answer keys. Immutable, so one
+ * instance is shared by every attempt of the quiz.
+ */
+public record QuizPlaySnapshot(
+        long quizId,
+        long version,
+        List<QuestionForPlayDto> questions,
+        Map<Long, PlayQuestion> byId,
+        Map<Long, List<String>> optionsByQuestionId
+) {
+
+    /** One question as scoring sees it. */
+    public record PlayQuestion(long id, int points, CompiledAnswerKey key) {}
+
+    public static QuizPlaySnapshot build(long quizId, long version, List<QuestionEntity> questions,
+                                         Function<QuestionEntity, CompiledAnswerKey> keys, ObjectMapper objectMapper) {
+        List<QuestionForPlayDto> dtos = new ArrayList<>(questions.size());
+        Map<Long, PlayQuestion> byId = new HashMap<>();
+        Map<Long, List<String>> options = new HashMap<>();
+
+        for (QuestionEntity q : questions) {
+            dtos.add(new QuestionForPlayDto(q.getId(), q.getType(), q.getPrompt(), q.getPoints(), q.getOptions()));
+            byId.put(q.getId(), new PlayQuestion(q.getId(), q.getPoints(), keys.apply(q)));
+
+            List<String> parsed = parseOptions(objectMapper, q.getOptions());
+            if (parsed != null) options.put(q.getId(), parsed);
+        }
+        return new QuizPlaySnapshot(quizId, version, List.copyOf(dtos), Map.copyOf(byId), Map.copyOf(options));
+    }
+
+    public PlayQuestion question(long questionId) {
+        return byId.get(questionId);
+    }
+
+    /** Options as shown to players, or null when the question has none or they aren't a JSON array. */
+    public static List<String> parseOptions(ObjectMapper objectMapper, String optionsJson) {
+        if (optionsJson == null || optionsJson.isBlank()) return null;
+        try {
+            JsonNode node = objectMapper.readTree(optionsJson);
+            if (!node.isArray()) return null;
+
+            List<String> list = new ArrayList<>(node.size());
+            node.forEach(n -> list.add(n.asText()));
+            return List.copyOf(list);
+        } catch (Exception e) {
+            // Unreadable options are not shown, as before
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.quiz.quizapp.domain.play;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.repository.QuestionRepository;
+import com.quiz.quizapp.domain.scoring.AnswerKeyCache;
+import com.quiz.quizapp.domain.service.QuizVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * LRU cache of {@link QuizPlaySnapshot}s, one per quiz. An entry is used while its version is
+ * still the quiz's current one in {@link QuizVersions}; any write bumps that, and the next
+ * reader loads a fresh snapshot.
+ *
+ * <p>Loads are single-flight: when a whole class opens the same quiz at once, the first request
+ * reads the questions and everyone else waits for that result instead of querying too.
+ */
+@Component
+public class QuizSnapshotCache {
+
+    private final QuestionRepository questionRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final ObjectMapper objectMapper;
+    private final QuizVersions quizVersions;
+    private final Map<Long, Entry> entries;
+
+    public QuizSnapshotCache(
+            QuestionRepository questionRepository,
+            AnswerKeyCache answerKeyCache,
+            ObjectMapper objectMapper,
+            QuizVersions quizVersions,
+            @Value("${app.play.snapshot-cache.max-entries:500}") int maxEntries
+    ) {
+        this.questionRepository = questionRepository;
+        this.answerKeyCache = answerKeyCache;
+        this.objectMapper = objectMapper;
+        this.quizVersions = quizVersions;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > Math.max(1, maxEntries);
+            }
+        };
+    }
+
+    public QuizPlaySnapshot get(long quizId) {
+        long version = quizVersions.current(quizId);
+        Entry entry;
+        boolean loader = false;
+
+        synchronized (entries) {
+            entry = entries.get(quizId);
+            // A newer entry than the version we read is fine too: it's at least as fresh
+            if (entry == null || entry.version < version) {
+                entry = new Entry(version, new CompletableFuture<>());
+                entries.put(quizId, entry);
+                loader = true;
+            }
+        }
+
+        if (loader) {
+            try {
+                entry.snapshot.complete(load(quizId, version));
+            } catch (RuntimeException e) {
+                // Don't cache the failure; waiters get it, the next caller retries
+                synchronized (entries) {
+                    entries.remove(quizId, entry);
+                }
+                entry.snapshot.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return entry.snapshot.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    public void evict(long quizId) {
+        synchronized (entries) {
+            entries.remove(quizId);
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private QuizPlaySnapshot load(long quizId, long version) {
+        var questions = questionRepository.findByQuiz_Id(quizId, Pageable.unpaged(Sort.by("id"))).getContent();
+        return QuizPlaySnapshot.build(quizId, version, questions, answerKeyCache::get, objectMapper);
+    }
+
+    private record Entry(long version, CompletableFuture<QuizPlaySnapshot> snapshot) {}
+}
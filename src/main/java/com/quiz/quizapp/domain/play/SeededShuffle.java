@@ -0,0 +1,46 @@
+package com.quiz.quizapp.domain.play;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic shuffles derived from an attempt's seed. The shared snapshot lists stay in their
+ * canonical order; each attempt sees a permutation of them that is the same on every request.
+ * {@link SplittableRandom}'s sequence is fixed by its spec, so the order also survives restarts.
+ */
+public final class SeededShuffle {
+
+    private SeededShuffle() {}
+
+    /** Fisher-Yates permutation of {@code [0, n)} for the seed. */
+    public static int[] permutation(long seed, int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    /** A new list with {@code items} in the seed's order; {@code items} is left untouched. */
+    public static <T> List<T> apply(List<T> items, long seed) {
+        if (items.size() < 2) return items;
+
+        int[] order = permutation(seed, items.size());
+        List<T> out = new ArrayList<>(items.size());
+        for (int i : order) out.add(items.get(i));
+        return out;
+    }
+
+    /** Seed for one question's options, so each question of an attempt gets its own order. */
+    public static long optionSeed(long attemptSeed, long questionId) {
+        // Constant from SplitMix64: spreads nearby question ids far apart
+        return attemptSeed ^ (questionId * 0x9E3779B97F4A7C15L);
+    }
+}
@@ -0,0 +1,36 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import com.quiz.quizapp.domain.scoring.TextNormaliser;
+import org.springframework.util.MultiValueMap;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/** One text per blank; key {"values": [...], "maxTypos": n?}, compared in order after normalisation. */
+final class FillBlanksType implements QuestionTypeHandler {
+
+    @Override
+    public CompiledAnswerKey compileKey(JsonNode key) {
+        return new CompiledAnswerKey.NormalisedList(
+                KeyValues.toList(key.get("values")).stream().map(TextNormaliser::normalise).toList(),
+                KeyValues.maxTypos(key));
+    }
+
+    @Override
+    public String answerJsonFromForm(long questionId, MultiValueMap<String, String> params, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        var values = new ArrayList<String>();
+        for (int i = 0; ; i++) {
+            String v = params.getFirst(FormValues.field(questionId, String.valueOf(i)));
+            if (v == null) break;
+            if (v.isBlank()) return null;
+            values.add(v);
+        }
+        if (values.isEmpty()) return null;
+        return objectMapper.writeValueAsString(Map.of("values", values));
+    }
+}
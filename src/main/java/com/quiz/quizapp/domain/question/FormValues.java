@@ -0,0 +1,29 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Map;
+
+/** Play-form reading shared by the type handlers. Fields are named {@code q_<questionId>[_suffix]}. */
+final class FormValues {
+
+    private FormValues() {}
+
+    static String field(long questionId) {
+        return "q_" + questionId;
+    }
+
+    static String field(long questionId, String suffix) {
+        return "q_" + questionId + "_" + suffix;
+    }
+
+    /** {"value": "..."} from a single non-blank field, or null. */
+    static String singleText(long questionId, MultiValueMap<String, String> params, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        String v = params.getFirst(field(questionId));
+        if (v == null || v.isBlank()) return null;
+        return objectMapper.writeValueAsString(Map.of("value", v));
+    }
+}
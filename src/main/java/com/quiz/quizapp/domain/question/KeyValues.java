@@ -0,0 +1,36 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+
+import java.util.*;
+
+/** Answer-key reading shared by the type handlers. */
+final class KeyValues {
+
+    private KeyValues() {}
+
+    static CompiledAnswerKey exactText(JsonNode key) {
+        JsonNode v = key.get("value");
+        return v == null || v.isNull() ? new CompiledAnswerKey.RejectAll() : new CompiledAnswerKey.ExactText(v.asText());
+    }
+
+    /** Optional {"maxTypos": n} on free-text keys; missing, non-numeric or negative means exact. */
+    static int maxTypos(JsonNode key) {
+        return Math.max(0, key.path("maxTypos").asInt(0));
+    }
+
+    static List<String> toList(JsonNode node) {
+        if (node == null || !node.isArray()) return List.of();
+        List<String> l = new ArrayList<>();
+        node.forEach(n -> l.add(n.asText()));
+        return l;
+    }
+
+    static Map<String, String> toMap(JsonNode node) {
+        if (node == null || !node.isObject()) return Map.of();
+        Map<String, String> m = new LinkedHashMap<>();
+        node.fields().forEachRemaining(e -> m.put(e.getKey(), e.getValue().asText()));
+        return m;
+    }
+}
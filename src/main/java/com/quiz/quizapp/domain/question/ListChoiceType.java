@@ -0,0 +1,22 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import org.springframework.util.MultiValueMap;
+
+/** One option picked from a drop-down list; key {"value": "..."}, matched exactly. */
+final class ListChoiceType implements QuestionTypeHandler {
+
+    @Override
+    public CompiledAnswerKey compileKey(JsonNode key) {
+        return KeyValues.exactText(key);
+    }
+
+    @Override
+    public String answerJsonFromForm(long questionId, MultiValueMap<String, String> params, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        return FormValues.singleText(questionId, params, objectMapper);
+    }
+}
@@ -0,0 +1,44 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import org.springframework.util.MultiValueMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Left items paired with right items ("left=right" per line on the form); key {"pairs": {...}}. */
+final class MatchingType implements QuestionTypeHandler {
+
+    @Override
+    public CompiledAnswerKey compileKey(JsonNode key) {
+        return CompiledAnswerKey.TextMap.of(KeyValues.toMap(key.get("pairs")));
+    }
+
+    @Override
+    public String answerJsonFromForm(long questionId, MultiValueMap<String, String> params, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        String raw = params.getFirst(FormValues.field(questionId, "pairs"));
+        if (raw == null || raw.isBlank()) return null;
+
+        Map<String, String> pairs = new LinkedHashMap<>();
+        for (String line : raw.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isBlank()) continue;
+
+            int idx = trimmed.indexOf('=');
+            if (idx <= 0 || idx == trimmed.length() - 1) return null;
+
+            String left = trimmed.substring(0, idx).trim();
+            String right = trimmed.substring(idx + 1).trim();
+            if (left.isBlank() || right.isBlank()) return null;
+
+            pairs.put(left, right);
+        }
+        if (pairs.isEmpty()) return null;
+
+        return objectMapper.writeValueAsString(Map.of("pairs", pairs));
+    }
+}
@@ -0,0 +1,29 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+import java.util.Map;
+
+/** Several options picked; key {"values": [...]}, compared as a set. */
+final class MultiChoiceType implements QuestionTypeHandler {
+
+    @Override
+    public CompiledAnswerKey compileKey(JsonNode key) {
+        return CompiledAnswerKey.TextSet.of(KeyValues.toList(key.get("values")));
+    }
+
+    @Override
+    public String answerJsonFromForm(long questionId, MultiValueMap<String, String> params, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        List<String> vs = params.get(FormValues.field(questionId));
+        if (vs == null || vs.isEmpty()) return null;
+        var cleaned = vs.stream().filter(s -> s != null && !s.isBlank()).toList();
+        if (cleaned.isEmpty()) return null;
+        return objectMapper.writeValueAsString(Map.of("values", cleaned));
+    }
+}
@@ -0,0 +1,52 @@
+package com.quiz.quizapp.domain.question;
+
+import java.util.*;
+
+/**
+ * Registry of supported question types. {@code questions.type} is resolved to a constant once
+ * (when the answer key is compiled or a question is rendered) and everything after that
+ * dispatches through {@link #handler()}.
+ */
+public enum QuestionType {
+
+    SINGLE_CHOICE(new SingleChoiceType()),
+    MULTI_CHOICE(new MultiChoiceType()),
+    TRUE_FALSE(new TrueFalseType()),
+    SHORT_ANSWER(new ShortAnswerType()),
+    LIST_CHOICE(new ListChoiceType()),
+    FILL_BLANKS(new FillBlanksType()),
+    SORTING(new SortingType()),
+    MATCHING(new MatchingType());
+
+    private static final Map<String, QuestionType> BY_NAME;
+    private static final List<String> NAMES;
+
+    static {
+        Map<String, QuestionType> byName = new HashMap<>();
+        for (QuestionType t : values()) byName.put(t.name(), t);
+        BY_NAME = Map.copyOf(byName);
+        NAMES = Arrays.stream(values()).map(Enum::name).toList();
+    }
+
+    private final QuestionTypeHandler handler;
+
+    QuestionType(QuestionTypeHandler handler) {
+        this.handler = handler;
+    }
+
+    public QuestionTypeHandler handler() {
+        return handler;
+    }
+
+    /** Resolves a stored type name; rows written before types were upper-cased still resolve. */
+    public static Optional<QuestionType> resolve(String name) {
+        if (name == null) return Optional.empty();
+        QuestionType t = BY_NAME.get(name);
+        if (t == null) t = BY_NAME.get(name.trim().toUpperCase(Locale.ROOT));
+        return Optional.ofNullable(t);
+    }
+
+    public static List<String> names() {
+        return NAMES;
+    }
+}
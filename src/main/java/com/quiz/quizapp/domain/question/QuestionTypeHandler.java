@@ -0,0 +1,22 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Everything type-specific about a question: how its answer key is parsed into a matcher
+ * (which then scores streamed answers) and how the play form is turned into answer JSON.
+ * Adding a question type means one implementation plus one {@link QuestionType} constant.
+ */
+public interface QuestionTypeHandler {
+
+    /** Parses {@code questions.answer_key} into the matcher used to score answers. */
+    CompiledAnswerKey compileKey(JsonNode key);
+
+    /** Builds answer JSON from the play form fields of question {@code questionId}; null if unanswered. */
+    String answerJsonFromForm(long questionId, MultiValueMap<String, String> params, ObjectMapper objectMapper)
+            throws JsonProcessingException;
+}
@@ -0,0 +1,25 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import com.quiz.quizapp.domain.scoring.TextNormaliser;
+import org.springframework.util.MultiValueMap;
+
+/** Free text; key {"value": "...", "maxTypos": n?}, compared after normalisation. */
+final class ShortAnswerType implements QuestionTypeHandler {
+
+    @Override
+    public CompiledAnswerKey compileKey(JsonNode key) {
+        JsonNode v = key.get("value");
+        if (v == null || v.isNull()) return new CompiledAnswerKey.RejectAll();
+        return new CompiledAnswerKey.NormalisedText(TextNormaliser.normalise(v.asText()), KeyValues.maxTypos(key));
+    }
+
+    @Override
+    public String answerJsonFromForm(long questionId, MultiValueMap<String, String> params, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        return FormValues.singleText(questionId, params, objectMapper);
+    }
+}
@@ -0,0 +1,33 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/** Options put in order (comma separated on the form); key {"values": [...]}, compared in order. */
+final class SortingType implements QuestionTypeHandler {
+
+    @Override
+    public CompiledAnswerKey compileKey(JsonNode key) {
+        return new CompiledAnswerKey.TextList(List.copyOf(KeyValues.toList(key.get("values"))));
+    }
+
+    @Override
+    public String answerJsonFromForm(long questionId, MultiValueMap<String, String> params, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        String csv = params.getFirst(FormValues.field(questionId, "csv"));
+        if (csv == null || csv.isBlank()) return null;
+        var values = Arrays.stream(csv.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isBlank())
+                .toList();
+        if (values.isEmpty()) return null;
+        return objectMapper.writeValueAsString(Map.of("values", values));
+    }
+}
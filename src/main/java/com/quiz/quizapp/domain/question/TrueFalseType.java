@@ -0,0 +1,27 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Map;
+
+/** Key {"value": true|false}. */
+final class TrueFalseType implements QuestionTypeHandler {
+
+    @Override
+    public CompiledAnswerKey compileKey(JsonNode key) {
+        JsonNode v = key.get("value");
+        return v == null ? new CompiledAnswerKey.RejectAll() : new CompiledAnswerKey.BooleanValue(v.asBoolean());
+    }
+
+    @Override
+    public String answerJsonFromForm(long questionId, MultiValueMap<String, String> params, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        String v = params.getFirst(FormValues.field(questionId));
+        if (v == null || v.isBlank()) return null;
+        return objectMapper.writeValueAsString(Map.of("value", Boolean.parseBoolean(v)));
+    }
+}
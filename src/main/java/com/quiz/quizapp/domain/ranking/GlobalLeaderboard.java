@@ -0,0 +1,90 @@
+package com.quiz.quizapp.domain.ranking;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The best {@code capacity} players by one {@link PlayerMetric}, in a min-heap whose head is the
+ * weakest player on the board: a better newcomer replaces it in O(log k), anyone else is turned
+ * away after one comparison.
+ *
+ * <p>A heap this size can only follow values that go up. When a player on the board drops (their
+ * average fell, or they lost their entries), someone off the board may now rank ahead of them,
+ * so the board marks itself {@link #stale()} and its owner reloads it from {@code player_totals}.
+ */
+public final class GlobalLeaderboard {
+
+    private final PlayerMetric metric;
+    private final int capacity;
+    private final PriorityQueue<PlayerStanding> heap;
+    private final Map<String, PlayerStanding> byPlayer = new HashMap<>();
+    private boolean stale = true;
+
+    public GlobalLeaderboard(PlayerMetric metric, int capacity) {
+        this.metric = metric;
+        this.capacity = Math.max(1, capacity);
+        this.heap = new PriorityQueue<>(metric.order().reversed());
+    }
+
+    public PlayerMetric metric() {
+        return metric;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Replaces the board with rows read in metric order, the best {@code capacity} of them. */
+    public synchronized void load(List<PlayerStanding> rows) {
+        heap.clear();
+        byPlayer.clear();
+        for (PlayerStanding s : rows) offer(s);
+        stale = false;
+    }
+
+    /** Applies a player's recomputed standing. */
+    public synchronized void update(PlayerStanding standing) {
+        PlayerStanding previous = byPlayer.remove(standing.nicknameKey());
+        if (previous != null) {
+            heap.remove(previous);
+            if (metric.order().compare(standing, previous) > 0) stale = true;
+        }
+        offer(standing);
+    }
+
+    /** Takes a player with no finished quizzes left off the board. */
+    public synchronized void remove(String nicknameKey) {
+        PlayerStanding previous = byPlayer.remove(nicknameKey);
+        if (previous != null) {
+            heap.remove(previous);
+            stale = true;
+        }
+    }
+
+    public synchronized void invalidate() {
+        stale = true;
+    }
+
+    public synchronized boolean stale() {
+        return stale;
+    }
+
+    /** The best {@code limit} players, best first. */
+    public synchronized List<PlayerStanding> top(int limit) {
+        List<PlayerStanding> out = new ArrayList<>(heap);
+        out.sort(metric.order());
+        return out.size() > limit ? List.copyOf(out.subList(0, Math.max(0, limit))) : out;
+    }
+
+    private void offer(PlayerStanding s) {
+        if (heap.size() >= capacity) {
+            if (metric.order().compare(s, heap.peek()) >= 0) return;
+            byPlayer.remove(heap.poll().nicknameKey());
+        }
+        heap.add(s);
+        byPlayer.put(s.nicknameKey(), s);
+    }
+}
@@ -0,0 +1,166 @@
+package com.quiz.quizapp.domain.ranking;
+
+import com.quiz.quizapp.domain.jdbc.BestScoreJdbcDao;
+import com.quiz.quizapp.domain.jdbc.RankingJdbcDao;
+import com.quiz.quizapp.domain.service.GlobalRankingService;
+import com.quiz.quizapp.domain.service.QuizVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * LRU cache of {@link QuizLeaderboard}s, one per recently viewed quiz. A board is read from the
+ * database the first time it's needed (single-flight, like the play snapshots) and from then on
+ * kept up to date in place as attempts finish, so ranking reads don't query at all.
+ *
+ * <p>Like the snapshot cache, a board belongs to one {@link QuizVersions} version; a write to the
+ * quiz (a delete included) makes the next reader load afresh. Re-scoring changes finished scores
+ * without touching the quiz, so it {@link #evict}s explicitly.
+ */
+@Component
+public class LeaderboardCache {
+
+    private final RankingJdbcDao rankingJdbcDao;
+    private final BestScoreJdbcDao bestScoreJdbcDao;
+    private final WindowedLeaderboardCache windows;
+    private final GlobalRankingService globalRanking;
+    private final LiveRankingFeed liveFeed;
+    private final QuizVersions quizVersions;
+    private final int maxEntriesPerQuiz;
+    private final Map<Long, Slot> slots;
+
+    public LeaderboardCache(
+            RankingJdbcDao rankingJdbcDao,
+            BestScoreJdbcDao bestScoreJdbcDao,
+            WindowedLeaderboardCache windows,
+            GlobalRankingService globalRanking,
+            LiveRankingFeed liveFeed,
+            QuizVersions quizVersions,
+            @Value("${app.ranking.leaderboard.max-quizzes:100}") int maxQuizzes,
+            @Value("${app.ranking.leaderboard.max-entries-per-quiz:10000}") int maxEntriesPerQuiz
+    ) {
+        this.rankingJdbcDao = rankingJdbcDao;
+        this.bestScoreJdbcDao = bestScoreJdbcDao;
+        this.windows = windows;
+        this.globalRanking = globalRanking;
+        this.liveFeed = liveFeed;
+        this.quizVersions = quizVersions;
+        this.maxEntriesPerQuiz = Math.max(1, maxEntriesPerQuiz);
+        this.slots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest) {
+                return size() > Math.max(1, maxQuizzes);
+            }
+        };
+    }
+
+    /** The quiz's board, loading it if needed. */
+    public QuizLeaderboard get(long quizId) {
+        long version = quizVersions.current(quizId);
+        Slot slot;
+        boolean loader = false;
+
+        synchronized (slots) {
+            slot = slots.get(quizId);
+            if (slot == null || slot.version < version) {
+                slot = new Slot(version, new QuizLeaderboard(maxEntriesPerQuiz), new CompletableFuture<>());
+                slots.put(quizId, slot);
+                loader = true;
+            }
+        }
+
+        if (loader) {
+            try {
+                // One row more than fits tells whether the board holds every finished attempt
+                List<LeaderboardEntry> rows = rankingJdbcDao.leaderboard(quizId, maxEntriesPerQuiz + 1);
+                long finished = rows.size() <= maxEntriesPerQuiz ? rows.size() : rankingJdbcDao.countFinished(quizId);
+                slot.board.load(rows, finished);
+                slot.loaded.complete(null);
+            } catch (RuntimeException e) {
+                synchronized (slots) {
+                    slots.remove(quizId, slot);
+                }
+                slot.loaded.completeExceptionally(e);
+            }
+        }
+
+        try {
+            slot.loaded.join();
+            return slot.board;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Records a finished attempt: upserts the player's best-score entry in the caller's
+     * transaction, and puts the attempt on its quiz's board and windowed boards once that commits
+     * (right away outside one), along with the player's global totals if their best improved.
+     * Quizzes without a board are skipped; their first reader loads it. A result that makes the
+     * top N of a loaded board is reported to the {@link LiveRankingFeed}. Either way the quiz's
+     * results version is bumped on commit.
+     */
+    public void record(long quizId, long attemptId, String nickname, int score, OffsetDateTime finishedAt) {
+        // The database keeps microseconds; truncating here keeps both orders the same
+        var entry = new LeaderboardEntry(attemptId, nickname, score, finishedAt.truncatedTo(ChronoUnit.MICROS));
+        boolean improved = bestScoreJdbcDao.record(quizId, attemptId, nickname, score, entry.finishedAt());
+        Runnable apply = () -> {
+            put(quizId, entry);
+            // Only now: a ranking read before the put must not be cached under the new tag
+            quizVersions.bumpResults(quizId);
+            if (improved) globalRanking.touch(nickname);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    /** Drops the quiz's boards, all-time and windowed, e.g. after its scores changed. */
+    public void evict(long quizId) {
+        synchronized (slots) {
+            slots.remove(quizId);
+        }
+        windows.evict(quizId);
+        quizVersions.bumpResults(quizId);
+    }
+
+    int size() {
+        synchronized (slots) {
+            return slots.size();
+        }
+    }
+
+    private void put(long quizId, LeaderboardEntry entry) {
+        windows.put(quizId, entry);
+        Slot slot;
+        synchronized (slots) {
+            slot = slots.get(quizId);
+        }
+        if (slot == null) return;
+        // Also while the board is loading: the load keeps this entry over its own row
+        int rank = slot.board.put(entry);
+        // A board still loading isn't a ranking to publish yet; subscribers got theirs from the load
+        if (rank >= 0 && rank < liveFeed.topN() && slot.loaded.isDone() && !slot.loaded.isCompletedExceptionally()) {
+            liveFeed.changed(quizId, slot.board);
+        }
+    }
+
+    private record Slot(long version, QuizLeaderboard board, CompletableFuture<Void> loaded) {}
+}
@@ -0,0 +1,14 @@
+package com.quiz.quizapp.domain.ranking;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+
+/** One finished attempt on a leaderboard. */
+public record LeaderboardEntry(long attemptId, String nickname, int score, OffsetDateTime finishedAt) {
+
+    /** Ranking order: best score first, then who finished first; the id breaks exact ties. */
+    public static final Comparator<LeaderboardEntry> ORDER = Comparator
+            .comparingInt(LeaderboardEntry::score).reversed()
+            .thenComparing(LeaderboardEntry::finishedAt, Comparator.comparing(OffsetDateTime::toInstant))
+            .thenComparingLong(LeaderboardEntry::attemptId);
+}
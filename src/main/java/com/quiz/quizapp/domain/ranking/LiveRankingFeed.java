@@ -0,0 +1,129 @@
+package com.quiz.quizapp.domain.ranking;
+
+import com.quiz.quizapp.api.dto.RankedRowResponse;
+import com.quiz.quizapp.api.dto.RankingDeltaResponse;
+import com.quiz.quizapp.domain.live.SseFanOut;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live top-N of each quiz over server-sent events, so a ranking page open during an exam follows
+ * finishes instead of reloading. Subscribers of a quiz share one {@link SseFanOut} channel (sent on
+ * virtual threads); {@link LeaderboardCache} reports finishes that land in the top N, and those
+ * are coalesced into at most one "delta" per {@code app.ranking.live.coalesce-ms} holding only the
+ * ranks that changed since the last one.
+ */
+@Component
+public class LiveRankingFeed {
+
+    private final SseFanOut fanOut;
+    private final int topN;
+    private final long coalesceMs;
+    private final Map<Long, Feed> feeds = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("live-ranking").daemon().factory());
+
+    public LiveRankingFeed(
+            SseFanOut fanOut,
+            @Value("${app.ranking.live.top-n:10}") int topN,
+            @Value("${app.ranking.live.coalesce-ms:500}") long coalesceMs
+    ) {
+        this.fanOut = fanOut;
+        this.topN = Math.max(1, topN);
+        this.coalesceMs = Math.max(0, coalesceMs);
+    }
+
+    public int topN() {
+        return topN;
+    }
+
+    /** A new subscriber to the quiz's ranking; {@code top} is sent to it first, as a "state" event. */
+    public SseEmitter subscribe(long quizId, List<LeaderboardEntry> top) {
+        List<RankedRowResponse> rows = rows(top);
+        Feed feed = feeds.computeIfAbsent(quizId, id -> new Feed());
+        synchronized (feed) {
+            if (feed.published == null) feed.published = rows;
+        }
+        return fanOut.subscribe(channel(quizId), new RankingDeltaResponse(rows.size(), rows));
+    }
+
+    /** The quiz's top N changed on {@code board}; pushed once the coalescing interval allows. */
+    void changed(long quizId, QuizLeaderboard board) {
+        if (fanOut.subscriberCount(channel(quizId)) == 0) {
+            feeds.remove(quizId);
+            return;
+        }
+        Feed feed = feeds.computeIfAbsent(quizId, id -> new Feed());
+        synchronized (feed) {
+            feed.board = board;
+            if (feed.scheduled) return;
+            feed.scheduled = true;
+            long wait = feed.lastPushNanos == 0 ? 0
+                    : Math.max(0, coalesceMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - feed.lastPushNanos));
+            timer.schedule(() -> push(quizId, feed), wait, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    int feedCount() {
+        return feeds.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private void push(long quizId, Feed feed) {
+        QuizLeaderboard board;
+        List<RankedRowResponse> previous;
+        synchronized (feed) {
+            feed.scheduled = false;
+            feed.lastPushNanos = System.nanoTime();
+            board = feed.board;
+            previous = feed.published;
+        }
+        List<LeaderboardEntry> top = board.top(topN);
+        if (top == null) return;
+
+        List<RankedRowResponse> rows = rows(top);
+        List<RankedRowResponse> changed = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (previous == null || i >= previous.size() || !previous.get(i).equals(rows.get(i))) changed.add(rows.get(i));
+        }
+        synchronized (feed) {
+            feed.published = rows;
+        }
+        if (changed.isEmpty() && previous != null && previous.size() == rows.size()) return;
+        fanOut.publish(channel(quizId), "delta", new RankingDeltaResponse(rows.size(), changed));
+    }
+
+    private static List<RankedRowResponse> rows(List<LeaderboardEntry> top) {
+        List<RankedRowResponse> rows = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            LeaderboardEntry e = top.get(i);
+            rows.add(new RankedRowResponse(i + 1, e.nickname(), e.score()));
+        }
+        return rows;
+    }
+
+    private static String channel(long quizId) {
+        return "ranking:" + quizId;
+    }
+
+    private static final class Feed {
+        private QuizLeaderboard board;
+        private List<RankedRowResponse> published;
+        private boolean scheduled;
+        private long lastPushNanos;
+    }
+}
@@ -0,0 +1,30 @@
+package com.quiz.quizapp.domain.ranking;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/** What the global leaderboard ranks players by. */
+public enum PlayerMetric {
+
+    TOTAL(Comparator.comparingLong(PlayerStanding::totalScore)),
+    AVERAGE(Comparator.comparingDouble(PlayerStanding::averageScore));
+
+    private final Comparator<PlayerStanding> order;
+
+    PlayerMetric(Comparator<PlayerStanding> byValue) {
+        // Best first; the nickname key keeps ties in a stable order
+        this.order = byValue.reversed().thenComparing(PlayerStanding::nicknameKey);
+    }
+
+    public Comparator<PlayerStanding> order() {
+        return order;
+    }
+
+    public static PlayerMetric parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("metric must be total or average");
+        }
+    }
+}
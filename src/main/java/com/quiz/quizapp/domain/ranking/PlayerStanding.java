@@ -0,0 +1,4 @@
+package com.quiz.quizapp.domain.ranking;
+
+/** A player's site-wide standing: their best score on each quiz they finished, summed. */
+public record PlayerStanding(String nicknameKey, String nickname, long totalScore, int quizzes, double averageScore) {}
@@ -0,0 +1,164 @@
+package com.quiz.quizapp.domain.ranking;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranked finished attempts of one quiz, kept in an order-statistics tree. Holds at most
+ * {@code capacity} entries, the best ones; once anything had to be left out the board is
+ * {@link #truncated()} and only answers for the positions it still holds.
+ *
+ * <p>Readers share a read lock, so a ranking page opened by a whole class at once doesn't queue
+ * behind itself; only a finishing attempt takes the write lock, briefly.
+ */
+public final class QuizLeaderboard {
+
+    private final int capacity;
+    private final RankTree<LeaderboardEntry> tree = new RankTree<>(LeaderboardEntry.ORDER);
+    private final Map<Long, LeaderboardEntry> byAttempt = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean truncated;
+    private long total;
+
+    public QuizLeaderboard(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Adds the attempt, or moves it if it's already on the board with another result. Returns its
+     * rank from 0, or -1 when the board is full of better results and left it out.
+     */
+    public int put(LeaderboardEntry entry) {
+        lock.writeLock().lock();
+        try {
+            LeaderboardEntry previous = byAttempt.remove(entry.attemptId());
+            if (previous != null) {
+                tree.remove(previous);
+            } else {
+                total++;
+            }
+            return insert(entry) ? tree.rank(entry) : -1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds rows read from the database, skipping attempts already on the board (those came in
+     * while the rows were being read and are at least as fresh). {@code finishedCount} is how many
+     * finished attempts the quiz has in the database; more than the rows means they're the best
+     * ones only.
+     */
+    public void load(Collection<LeaderboardEntry> entries, long finishedCount) {
+        lock.writeLock().lock();
+        try {
+            if (entries.size() < finishedCount) truncated = true;
+            Set<Long> loaded = new HashSet<>();
+            for (LeaderboardEntry e : entries) loaded.add(e.attemptId());
+            // Finished while the rows were read and not among them. Exact unless truncated, where
+            // such an attempt may still be in the count; close enough for a percentile
+            long extra = byAttempt.keySet().stream().filter(id -> !loaded.contains(id)).count();
+            total = finishedCount + extra;
+
+            for (LeaderboardEntry e : entries) {
+                if (!byAttempt.containsKey(e.attemptId())) insert(e);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** The best {@code limit} entries, or null when the board can't tell (it was truncated). */
+    public List<LeaderboardEntry> top(int limit) {
+        return after(null, limit);
+    }
+
+    /**
+     * Up to {@code limit} entries ranked after {@code cursor} (from the top when null), found by
+     * rank in O(log n) rather than by skipping. Null when the page reaches past what a truncated
+     * board holds.
+     */
+    public List<LeaderboardEntry> after(LeaderboardEntry cursor, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = cursor == null ? 0 : tree.rank(cursor) + (tree.contains(cursor) ? 1 : 0);
+            if (truncated && from + limit > tree.size()) return null;
+            return tree.range(from, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The attempt's rank with up to {@code around} entries on either side. Null when it isn't on
+     * the board, or sits so close to the end of a truncated board that its neighbours below
+     * aren't all there.
+     */
+    public RankPosition position(long attemptId, int around) {
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = byAttempt.get(attemptId);
+            if (entry == null) return null;
+            int at = tree.rank(entry);
+            if (truncated && at + around >= tree.size()) return null;
+
+            int from = Math.max(0, at - around);
+            return new RankPosition(
+                    at + 1,
+                    Math.max(total, tree.size()),
+                    tree.range(from, at - from),
+                    entry,
+                    tree.range(at + 1, around)
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Finished attempts of the quiz, including any the board doesn't hold. */
+    public long total() {
+        lock.readLock().lock();
+        try {
+            return Math.max(total, tree.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean truncated() {
+        lock.readLock().lock();
+        try {
+            return truncated;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean insert(LeaderboardEntry entry) {
+        if (tree.size() >= capacity) {
+            truncated = true;
+            LeaderboardEntry worst = tree.last();
+            if (LeaderboardEntry.ORDER.compare(entry, worst) > 0) return false;
+            tree.remove(worst);
+            byAttempt.remove(worst.attemptId());
+        }
+        tree.add(entry);
+        byAttempt.put(entry.attemptId(), entry);
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.quiz.quizapp.domain.ranking;
+
+import java.util.List;
+
+/** Where an attempt stands on its quiz's leaderboard, with its neighbours in order. */
+public record RankPosition(
+        long rank,
+        long total,
+        List<LeaderboardEntry> above,
+        LeaderboardEntry entry,
+        List<LeaderboardEntry> below
+) {
+
+    /** Share of the quiz's finished attempts this one ranks level with or ahead of, 0-100. */
+    public double percentile() {
+        return total == 0 ? 0 : 100.0 * (total - rank + 1) / total;
+    }
+}
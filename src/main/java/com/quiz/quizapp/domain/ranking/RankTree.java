@@ -0,0 +1,187 @@
+package com.quiz.quizapp.domain.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistics tree: a treap whose nodes know their subtree size, so inserts, removals,
+ * "what position is this value at" and "which value is at position i" are all O(log n).
+ * Not thread-safe; {@link QuizLeaderboard} guards it.
+ */
+final class RankTree<T> {
+
+    private final Comparator<? super T> order;
+    private Node<T> root;
+
+    RankTree(Comparator<? super T> order) {
+        this.order = order;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    /** Adds the value unless an equal one is already there. */
+    boolean add(T value) {
+        if (contains(value)) return false;
+        root = insert(root, new Node<>(value));
+        return true;
+    }
+
+    boolean remove(T value) {
+        int before = size(root);
+        root = delete(root, value);
+        return size(root) < before;
+    }
+
+    boolean contains(T value) {
+        Node<T> n = root;
+        while (n != null) {
+            int c = order.compare(value, n.value);
+            if (c == 0) return true;
+            n = c < 0 ? n.left : n.right;
+        }
+        return false;
+    }
+
+    /** How many values order before {@code value}; its 0-based position when present. */
+    int rank(T value) {
+        int rank = 0;
+        Node<T> n = root;
+        while (n != null) {
+            int c = order.compare(value, n.value);
+            if (c <= 0) {
+                if (c == 0) return rank + size(n.left);
+                n = n.left;
+            } else {
+                rank += size(n.left) + 1;
+                n = n.right;
+            }
+        }
+        return rank;
+    }
+
+    /** The value at 0-based {@code index}. */
+    T get(int index) {
+        if (index < 0 || index >= size(root)) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Node<T> n = root;
+        while (true) {
+            int left = size(n.left);
+            if (index < left) {
+                n = n.left;
+            } else if (index == left) {
+                return n.value;
+            } else {
+                index -= left + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    /** Up to {@code count} values in order, starting at position {@code from}. */
+    List<T> range(int from, int count) {
+        int to = Math.min(size(root), from + Math.max(0, count));
+        List<T> out = new ArrayList<>(Math.max(0, to - from));
+        collect(root, Math.max(0, from), to, 0, out);
+        return out;
+    }
+
+    T last() {
+        Node<T> n = root;
+        if (n == null) return null;
+        while (n.right != null) n = n.right;
+        return n.value;
+    }
+
+    // In-order walk that skips subtrees entirely outside [from, to)
+    private void collect(Node<T> n, int from, int to, int offset, List<T> out) {
+        if (n == null || from >= to) return;
+        int at = offset + size(n.left);
+        if (from < at) collect(n.left, from, to, offset, out);
+        if (from <= at && at < to) out.add(n.value);
+        if (at + 1 < to) collect(n.right, from, to, at + 1, out);
+    }
+
+    private Node<T> insert(Node<T> n, Node<T> node) {
+        if (n == null) return node;
+        if (node.priority > n.priority) {
+            split(n, node.value, node);
+            return node.update();
+        }
+        if (order.compare(node.value, n.value) < 0) {
+            n.left = insert(n.left, node);
+        } else {
+            n.right = insert(n.right, node);
+        }
+        return n.update();
+    }
+
+    // Splits n into the values before key (into out.left) and after it (into out.right)
+    private void split(Node<T> n, T key, Node<T> out) {
+        if (n == null) {
+            out.left = null;
+            out.right = null;
+            return;
+        }
+        Node<T> parts = new Node<>(null);
+        if (order.compare(n.value, key) < 0) {
+            split(n.right, key, parts);
+            n.right = parts.left;
+            out.left = n.update();
+            out.right = parts.right;
+        } else {
+            split(n.left, key, parts);
+            n.left = parts.right;
+            out.left = parts.left;
+            out.right = n.update();
+        }
+    }
+
+    private Node<T> delete(Node<T> n, T value) {
+        if (n == null) return null;
+        int c = order.compare(value, n.value);
+        if (c == 0) return merge(n.left, n.right);
+        if (c < 0) {
+            n.left = delete(n.left, value);
+        } else {
+            n.right = delete(n.right, value);
+        }
+        return n.update();
+    }
+
+    private Node<T> merge(Node<T> a, Node<T> b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return a.update();
+        }
+        b.left = merge(a, b.left);
+        return b.update();
+    }
+
+    private static int size(Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static final class Node<T> {
+        final T value;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        int size = 1;
+        Node<T> left;
+        Node<T> right;
+
+        Node(T value) {
+            this.value = value;
+        }
+
+        Node<T> update() {
+            size = 1 + size(left) + size(right);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.quiz.quizapp.domain.ranking;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for ranking pages: the (score, finished_at, id) of the last entry shown.
+ * Clients pass it back as is; it only has to sort, so the nickname isn't part of it.
+ */
+public final class RankingCursor {
+
+    private RankingCursor() {}
+
+    public static String encode(LeaderboardEntry last) {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, last.finishedAt().toInstant());
+        String raw = last.score() + ":" + micros + ":" + last.attemptId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** The entry the cursor points at (without nickname); null for a null or blank cursor. */
+    public static LeaderboardEntry decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) throw new IllegalArgumentException("Invalid ranking cursor");
+            OffsetDateTime finishedAt = Instant.EPOCH.plus(Long.parseLong(parts[1]), ChronoUnit.MICROS)
+                    .atOffset(ZoneOffset.UTC);
+            // Never minted from a real row, and the database may not hold it
+            if (finishedAt.getYear() < 1 || finishedAt.getYear() > 9999) {
+                throw new IllegalArgumentException("Invalid ranking cursor");
+            }
+            return new LeaderboardEntry(Long.parseLong(parts[2]), null, Integer.parseInt(parts[0]), finishedAt);
+        } catch (IllegalArgumentException | DateTimeException | ArithmeticException e) {
+            // NumberFormatException, bad Base64 and out-of-range times included
+            throw new IllegalArgumentException("Invalid ranking cursor");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.quiz.quizapp.domain.ranking;
+
+import java.util.List;
+
+/** One keyset page of a ranking; {@code nextCursor} is null on the last page. */
+public record RankingPage(List<LeaderboardEntry> entries, String nextCursor) {}
@@ -0,0 +1,32 @@
+package com.quiz.quizapp.domain.ranking;
+
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * The best {@code k} entries offered so far, in leaderboard order. Offering the same attempt
+ * again is a no-op, so a load and a concurrent finish can both offer it. Not thread-safe.
+ */
+final class TopK {
+
+    private final int k;
+    private final TreeSet<LeaderboardEntry> entries = new TreeSet<>(LeaderboardEntry.ORDER);
+
+    TopK(int k) {
+        this.k = Math.max(1, k);
+    }
+
+    void offer(LeaderboardEntry entry) {
+        if (entries.size() >= k && LeaderboardEntry.ORDER.compare(entry, entries.last()) > 0) return;
+        entries.add(entry);
+        if (entries.size() > k) entries.pollLast();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    Iterator<LeaderboardEntry> iterator() {
+        return entries.iterator();
+    }
+}
@@ -0,0 +1,70 @@
+package com.quiz.quizapp.domain.ranking;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * One quiz's recent results as a ring of day buckets, each a {@link TopK}. A day's bucket sits at
+ * {@code day mod days}; the first result of a new day simply takes over the slot of the day that
+ * just fell out of the retention, so expiry is O(1) and nothing has to sweep.
+ *
+ * <p>A window is read by merging its days' buckets, which costs the same however many attempts
+ * the quiz has had: at most {@code days} buckets of {@code k} entries each. Since every bucket
+ * keeps its own best {@code k}, the merged top {@code k} of any window is exact.
+ */
+final class WindowedLeaderboard {
+
+    private final Bucket[] ring;
+    private final int k;
+
+    WindowedLeaderboard(int days, int k) {
+        this.ring = new Bucket[Math.max(1, days)];
+        this.k = Math.max(1, k);
+    }
+
+    /** Adds a result finished on {@code day} (epoch day); ignored if that's before the retention. */
+    synchronized void put(long day, LeaderboardEntry entry) {
+        int i = (int) Math.floorMod(day, (long) ring.length);
+        Bucket b = ring[i];
+        if (b == null || b.day < day) {
+            b = new Bucket(day, new TopK(k));
+            ring[i] = b;
+        } else if (b.day > day) {
+            return;
+        }
+        b.top.offer(entry);
+    }
+
+    /** The best {@code limit} results (at most {@code k}) finished on days {@code from..to}, inclusive. */
+    synchronized List<LeaderboardEntry> top(long from, long to, int limit) {
+        int n = Math.min(limit, k);
+        long first = Math.max(from, to - ring.length + 1);
+
+        // k-way merge over the buckets' own order
+        PriorityQueue<Head> heads = new PriorityQueue<>((a, b) -> LeaderboardEntry.ORDER.compare(a.entry, b.entry));
+        for (long day = first; day <= to; day++) {
+            Bucket b = ring[(int) Math.floorMod(day, (long) ring.length)];
+            if (b == null || b.day != day) continue;
+            Iterator<LeaderboardEntry> it = b.top.iterator();
+            if (it.hasNext()) heads.add(new Head(it.next(), it));
+        }
+
+        List<LeaderboardEntry> out = new ArrayList<>(n);
+        while (out.size() < n && !heads.isEmpty()) {
+            Head h = heads.poll();
+            out.add(h.entry);
+            if (h.rest.hasNext()) heads.add(new Head(h.rest.next(), h.rest));
+        }
+        return out;
+    }
+
+    int days() {
+        return ring.length;
+    }
+
+    private record Bucket(long day, TopK top) {}
+
+    private record Head(LeaderboardEntry entry, Iterator<LeaderboardEntry> rest) {}
+}
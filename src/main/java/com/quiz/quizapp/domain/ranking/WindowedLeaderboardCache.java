@@ -0,0 +1,140 @@
+package com.quiz.quizapp.domain.ranking;
+
+import com.quiz.quizapp.domain.jdbc.RankingJdbcDao;
+import com.quiz.quizapp.domain.service.QuizVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * LRU cache of {@link WindowedLeaderboard}s for today, this week and custom day ranges within the
+ * retention. Loaded per quiz on first use (single-flight, like {@link LeaderboardCache}), one
+ * query giving each retained day's best results; {@link LeaderboardCache#record} keeps them
+ * current after that. Days are calendar days in {@code app.ranking.windows.zone}.
+ */
+@Component
+public class WindowedLeaderboardCache {
+
+    private final RankingJdbcDao rankingJdbcDao;
+    private final QuizVersions quizVersions;
+    private final ZoneId zone;
+    private final int retentionDays;
+    private final int entriesPerDay;
+    private final Map<Long, Slot> slots;
+
+    public WindowedLeaderboardCache(
+            RankingJdbcDao rankingJdbcDao,
+            QuizVersions quizVersions,
+            @Value("${app.ranking.windows.zone:UTC}") String zone,
+            @Value("${app.ranking.windows.retention-days:35}") int retentionDays,
+            @Value("${app.ranking.windows.entries-per-day:100}") int entriesPerDay,
+            @Value("${app.ranking.windows.max-quizzes:100}") int maxQuizzes
+    ) {
+        this.rankingJdbcDao = rankingJdbcDao;
+        this.quizVersions = quizVersions;
+        this.zone = ZoneId.of(zone);
+        // A week needs up to 7 days whatever the setting
+        this.retentionDays = Math.max(7, retentionDays);
+        this.entriesPerDay = Math.max(1, entriesPerDay);
+        this.slots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest) {
+                return size() > Math.max(1, maxQuizzes);
+            }
+        };
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    /** Monday of the current week. */
+    public LocalDate weekStart() {
+        return today().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /** The earliest day a window may start on. */
+    public LocalDate retainedSince() {
+        return today().minusDays(retentionDays - 1);
+    }
+
+    /** The best {@code limit} results finished on days {@code from..to}, both inclusive. */
+    public List<LeaderboardEntry> top(long quizId, LocalDate from, LocalDate to, int limit) {
+        return board(quizId).top(from.toEpochDay(), to.toEpochDay(), limit);
+    }
+
+    /** Adds a finished attempt to its day; quizzes without a board are left to their first reader. */
+    void put(long quizId, LeaderboardEntry entry) {
+        Slot slot;
+        synchronized (slots) {
+            slot = slots.get(quizId);
+        }
+        if (slot != null) slot.board.put(day(entry.finishedAt()), entry);
+    }
+
+    public void evict(long quizId) {
+        synchronized (slots) {
+            slots.remove(quizId);
+        }
+    }
+
+    int size() {
+        synchronized (slots) {
+            return slots.size();
+        }
+    }
+
+    private WindowedLeaderboard board(long quizId) {
+        long version = quizVersions.current(quizId);
+        Slot slot;
+        boolean loader = false;
+
+        synchronized (slots) {
+            slot = slots.get(quizId);
+            if (slot == null || slot.version < version) {
+                slot = new Slot(version, new WindowedLeaderboard(retentionDays, entriesPerDay), new CompletableFuture<>());
+                slots.put(quizId, slot);
+                loader = true;
+            }
+        }
+
+        if (loader) {
+            try {
+                OffsetDateTime since = retainedSince().atStartOfDay(zone).toOffsetDateTime();
+                for (LeaderboardEntry e : rankingJdbcDao.dailyTop(quizId, since, zone.getId(), entriesPerDay)) {
+                    slot.board.put(day(e.finishedAt()), e);
+                }
+                slot.loaded.complete(null);
+            } catch (RuntimeException e) {
+                synchronized (slots) {
+                    slots.remove(quizId, slot);
+                }
+                slot.loaded.completeExceptionally(e);
+            }
+        }
+
+        try {
+            slot.loaded.join();
+            return slot.board;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private long day(OffsetDateTime at) {
+        return at.atZoneSameInstant(zone).toLocalDate().toEpochDay();
+    }
+
+    private record Slot(long version, WindowedLeaderboard board, CompletableFuture<Void> loaded) {}
+}
@@ -1,13 +1,40 @@
 package com.quiz.quizapp.domain.repository;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 
 import com.quiz.quizapp.domain.entity.AttemptEntity;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AttemptRepository extends JpaRepository<AttemptEntity, Long> {
 
     @EntityGraph(attributePaths = "quiz")
     Optional<AttemptEntity> findWithQuizById(Long id);
+
+    /**
+     * Finishes the attempt if it's still open. Of concurrent callers exactly one gets 1; the rest
+     * wait for its commit on the row lock and get 0. Loaded entities aren't updated, see
+     * {@link AttemptEntity#markFinished}.
+     */
+    @Modifying
+    @Query("update AttemptEntity a set a.finishedAt = :finishedAt, a.submitKey = :submitKey"
+            + " where a.id = :id and a.finishedAt is null")
+    int claimFinish(
+            @Param("id") long id,
+            @Param("finishedAt") OffsetDateTime finishedAt,
+            @Param("submitKey") String submitKey
+    );
+
+    /** Current score and submit key, read from the table rather than the persistence context. */
+    @Query("select a.score as score, a.submitKey as submitKey from AttemptEntity a where a.id = :id")
+    Optional<FinishedAttempt> findFinishedById(@Param("id") long id);
+
+    interface FinishedAttempt {
+        int getScore();
+        String getSubmitKey();
+    }
 }
@@ -1,10 +1,15 @@
 package com.quiz.quizapp.domain.repository;
 
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.entity.QuizEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
 
 public interface QuizRepository extends JpaRepository<QuizEntity, Long> {
 
@@ -19,4 +24,32 @@ public interface QuizRepository extends JpaRepository<QuizEntity, Long> {
         order by q.createdAt desc
     """)
     Page<QuizEntity> findNegativePointsEnabled(Pageable pageable);
+
+    // Keyset listing, newest first, read off idx_quizzes_listing. A Slice fetches one row more
+    // than the page instead of counting
+    @Query("""
+        select q
+        from QuizEntity q
+        order by q.createdAt desc, q.id desc
+    """)
+    Slice<QuizEntity> findNewest(Pageable pageable);
+
+    // The leading bound on created_at alone is what lets the index seek to the cursor
+    @Query("""
+        select q
+        from QuizEntity q
+        where q.createdAt <= :createdAt
+          and (q.createdAt < :createdAt or q.id < :id)
+        order by q.createdAt desc, q.id desc
+    """)
+    Slice<QuizEntity> findOlderThan(
+            @Param("createdAt") OffsetDateTime createdAt,
+            @Param("id") long id,
+            Pageable pageable
+    );
+
+    /** The page of the newest quizzes after {@code after}, or the first page when it's null. */
+    default Slice<QuizEntity> findPageAfter(QuizCursor after, Pageable pageable) {
+        return after == null ? findNewest(pageable) : findOlderThan(after.createdAt(), after.id(), pageable);
+    }
 }
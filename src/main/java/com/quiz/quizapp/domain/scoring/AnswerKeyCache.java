@@ -0,0 +1,98 @@
+package com.quiz.quizapp.domain.scoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.entity.QuestionEntity;
+import com.quiz.quizapp.domain.question.QuestionType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Compiles answer keys into {@link CompiledAnswerKey} matchers and caches them by question id.
+ * Each entry remembers the content it was built from, so an edited question is recompiled even
+ * if nobody evicted it. Beyond {@code max-entries} the least recently scored question goes first.
+ */
+@Component
+public class AnswerKeyCache {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Entry> entries;
+
+    public AnswerKeyCache(ObjectMapper objectMapper,
+                          @Value("${app.scoring.answer-key-cache.max-entries:10000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > Math.max(1, maxEntries);
+            }
+        };
+    }
+
+    public CompiledAnswerKey get(QuestionEntity q) {
+        Long id = q.getId();
+        String type = q.getType();
+        String answerKey = q.getAnswerKey();
+
+        // Transient questions (tests, previews) have nothing stable to cache against
+        if (id == null) return compile(type, answerKey);
+
+        long version = contentVersion(type, answerKey);
+        Entry e;
+        synchronized (entries) {
+            e = entries.get(id);
+        }
+        if (e != null && e.version == version
+                && Objects.equals(e.type, type) && Objects.equals(e.answerKey, answerKey)) {
+            return e.compiled;
+        }
+
+        // Compiled outside the lock; two threads racing on one question just both compile it
+        CompiledAnswerKey compiled = compile(type, answerKey);
+        synchronized (entries) {
+            entries.put(id, new Entry(version, type, answerKey, compiled));
+        }
+        return compiled;
+    }
+
+    public void evict(Long questionId) {
+        if (questionId == null) return;
+        synchronized (entries) {
+            entries.remove(questionId);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    CompiledAnswerKey compile(String type, String answerKeyJson) {
+        Optional<QuestionType> resolved = QuestionType.resolve(type);
+        if (resolved.isEmpty() || answerKeyJson == null) return new CompiledAnswerKey.RejectAll();
+
+        try {
+            return resolved.get().handler().compileKey(objectMapper.readTree(answerKeyJson));
+        } catch (Exception e) {
+            // Malformed key => nothing can be correct, same as before compilation existed
+            return new CompiledAnswerKey.RejectAll();
+        }
+    }
+
+    private static long contentVersion(String type, String answerKey) {
+        return ((long) Objects.hashCode(type) << 32) ^ (Objects.hashCode(answerKey) & 0xffffffffL);
+    }
+
+    private record Entry(long version, String type, String answerKey, CompiledAnswerKey compiled) {}
+}
@@ -0,0 +1,68 @@
+package com.quiz.quizapp.domain.scoring;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread bit sets and buffers reused across scored answers, so set and map comparisons don't
+ * allocate a collection per answer. Callers must {@link #reset(int)} before using the bit sets.
+ */
+final class AnswerScratch {
+
+    private static final ThreadLocal<AnswerScratch> LOCAL = ThreadLocal.withInitial(AnswerScratch::new);
+
+    private long[] seen = new long[1];
+    private long[] ok = new long[1];
+    private int words;
+    private char[] chars = new char[64];
+    private final int[][] rows = {new int[64], new int[64]};
+
+    static AnswerScratch get() {
+        return LOCAL.get();
+    }
+
+    void reset(int bits) {
+        words = Math.max(1, (bits + 63) >>> 6);
+        if (seen.length < words) {
+            seen = new long[words];
+            ok = new long[words];
+        } else {
+            Arrays.fill(seen, 0, words, 0L);
+            Arrays.fill(ok, 0, words, 0L);
+        }
+    }
+
+    /** Marks {@code i} as seen; returns true if it wasn't before. */
+    boolean markSeen(int i) {
+        long mask = 1L << i;
+        int w = i >>> 6;
+        boolean fresh = (seen[w] & mask) == 0;
+        seen[w] |= mask;
+        return fresh;
+    }
+
+    void setOk(int i, boolean value) {
+        long mask = 1L << i;
+        int w = i >>> 6;
+        if (value) ok[w] |= mask;
+        else ok[w] &= ~mask;
+    }
+
+    boolean allOk(int bits) {
+        for (int i = 0; i < bits; i++) {
+            if ((ok[i >>> 6] & (1L << i)) == 0) return false;
+        }
+        return true;
+    }
+
+    /** A buffer of at least {@code length} chars; contents are undefined. */
+    char[] chars(int length) {
+        if (chars.length < length) chars = new char[Math.max(length, chars.length * 2)];
+        return chars;
+    }
+
+    /** One of two int rows of at least {@code length}; contents are undefined. */
+    int[] row(int which, int length) {
+        if (rows[which].length < length) rows[which] = new int[Math.max(length, rows[which].length * 2)];
+        return rows[which];
+    }
+}
@@ -0,0 +1,122 @@
+package com.quiz.quizapp.domain.scoring;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-level equivalents of the {@code JsonNode} coercions the scorer used to rely on,
+ * so streamed answers compare exactly like tree-parsed ones did.
+ */
+final class AnswerTokens {
+
+    private static final int LINEAR_SCAN_MAX = 24;
+
+    private AnswerTokens() {}
+
+    /** Same text {@code JsonNode.asText()} would give for the value at the current token; consumes it. */
+    static String asText(JsonParser p) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == null) return "";
+        return switch (t) {
+            case VALUE_STRING -> p.getText();
+            case VALUE_NUMBER_INT -> p.getNumberValue().toString();
+            case VALUE_NUMBER_FLOAT -> Double.toString(p.getDoubleValue());
+            case VALUE_TRUE -> "true";
+            case VALUE_FALSE -> "false";
+            case VALUE_NULL -> "null";
+            case START_OBJECT, START_ARRAY -> {
+                p.skipChildren();
+                yield "";
+            }
+            default -> "";
+        };
+    }
+
+    /** Same result as {@code JsonNode.asBoolean()} for the value at the current token; consumes it. */
+    static boolean asBoolean(JsonParser p) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == null) return false;
+        return switch (t) {
+            case VALUE_TRUE -> true;
+            case VALUE_STRING -> "true".equals(p.getText().trim());
+            case VALUE_NUMBER_INT -> p.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                    ? p.getBigIntegerValue().signum() != 0
+                    : p.getLongValue() != 0;
+            case START_OBJECT, START_ARRAY -> {
+                p.skipChildren();
+                yield false;
+            }
+            default -> false;
+        };
+    }
+
+    /** Whether the value at the current token reads as {@code expected}; consumes it. */
+    static boolean textEquals(JsonParser p, String expected) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_STRING) {
+            return regionEquals(expected, p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        }
+        return expected.equals(asText(p));
+    }
+
+    /**
+     * Whether the value at the current token normalises to {@code normalised}, or, when
+     * {@code maxTypos} is positive, comes within that many edits of it; consumes it. The exact
+     * comparison runs first and needs no copy, so tolerance only costs anything on a miss.
+     */
+    static boolean normalisedEquals(JsonParser p, String normalised, int maxTypos) throws IOException {
+        char[] buf;
+        int off;
+        int len;
+        if (p.currentToken() == JsonToken.VALUE_STRING) {
+            buf = p.getTextCharacters();
+            off = p.getTextOffset();
+            len = p.getTextLength();
+        } else {
+            buf = asText(p).toCharArray();
+            off = 0;
+            len = buf.length;
+        }
+        if (TextNormaliser.matches(normalised, buf, off, len)) return true;
+        if (maxTypos <= 0) return false;
+
+        char[] folded = AnswerScratch.get().chars(len);
+        int n = TextNormaliser.fold(buf, off, len, folded);
+        return BoundedLevenshtein.within(normalised, folded, n, maxTypos);
+    }
+
+    /**
+     * Position of the value at the current token within {@code candidates}, or -1; consumes it.
+     * Small candidate lists are scanned straight off the parser buffer, larger ones go through
+     * {@code index}.
+     */
+    static int indexOf(JsonParser p, List<String> candidates, Map<String, Integer> index) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_STRING && candidates.size() <= LINEAR_SCAN_MAX) {
+            char[] buf = p.getTextCharacters();
+            int off = p.getTextOffset();
+            int len = p.getTextLength();
+            for (int i = 0; i < candidates.size(); i++) {
+                if (regionEquals(candidates.get(i), buf, off, len)) return i;
+            }
+            return -1;
+        }
+        Integer i = index.get(asText(p));
+        return i == null ? -1 : i;
+    }
+
+    static boolean regionEquals(String s, char[] buf, int off, int len) {
+        if (s.length() != len) return false;
+        for (int i = 0; i < len; i++) {
+            if (s.charAt(i) != buf[off + i]) return false;
+        }
+        return true;
+    }
+
+    /** Consumes the value at the current token, whatever it is. */
+    static void skip(JsonParser p) throws IOException {
+        p.skipChildren();
+    }
+}
@@ -0,0 +1,51 @@
+package com.quiz.quizapp.domain.scoring;
+
+/**
+ * Edit distance capped at a small bound. Only the diagonal band of width {@code 2 * max + 1}
+ * is filled in, and the scan stops as soon as a whole row is over the bound, so a wrong answer
+ * costs about {@code O(max * length)} and usually much less.
+ */
+final class BoundedLevenshtein {
+
+    private BoundedLevenshtein() {}
+
+    /**
+     * Whether {@code a} and {@code b[0, bLen)} are at most {@code max} insertions, deletions or
+     * substitutions apart. An empty side only matches an empty side: a blank answer is no typo of
+     * a key, however short the key and generous the tolerance.
+     */
+    static boolean within(String a, char[] b, int bLen, int max) {
+        int m = a.length();
+        if (m == 0 || bLen == 0) return m == bLen;
+        if (Math.abs(m - bLen) > max) return false;
+
+        int over = max + 1;
+        AnswerScratch scratch = AnswerScratch.get();
+        int[] prev = scratch.row(0, bLen + 1);
+        int[] cur = scratch.row(1, bLen + 1);
+        for (int j = 0; j <= bLen; j++) prev[j] = Math.min(j, over);
+
+        for (int i = 1; i <= m; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(bLen, i + max);
+            cur[from - 1] = from == 1 ? Math.min(i, over) : over;
+            int rowMin = cur[from - 1];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int v = prev[j - 1] + (ca == b[j - 1] ? 0 : 1);
+                v = Math.min(v, prev[j] + 1);
+                v = Math.min(v, cur[j - 1] + 1);
+                cur[j] = Math.min(v, over);
+                if (v < rowMin) rowMin = v;
+            }
+            // Cells right of the band are read by the next row and must count as too far
+            if (to < bLen) cur[to + 1] = over;
+            if (rowMin > max) return false;
+
+            int[] t = prev;
+            prev = cur;
+            cur = t;
+        }
+        return prev[bLen] <= max;
+    }
+}
@@ -0,0 +1,231 @@
+package com.quiz.quizapp.domain.scoring;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Immutable, pre-parsed form of {@code questions.answer_key}. Built once per question content
+ * by {@link AnswerKeyCache}; answers are then compared straight off a streaming parser, without
+ * building a tree or copying them into collections.
+ */
+public sealed interface CompiledAnswerKey {
+
+    /** Top-level answer field this key is compared against. */
+    String field();
+
+    /** Result when the answer has no such field or isn't a JSON object. */
+    boolean matchesMissing();
+
+    /** Compares the value at the parser's current token. Must consume the whole value. */
+    boolean matchesValue(JsonParser p) throws IOException;
+
+    /**
+     * Reads one answer document. The whole root value is consumed, so malformed JSON anywhere in
+     * it still fails, and a repeated field wins the same way it did in a tree (last one).
+     */
+    default boolean matches(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            AnswerTokens.skip(p);
+            return matchesMissing();
+        }
+
+        String field = field();
+        boolean found = false;
+        boolean result = false;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            if (field.equals(name)) {
+                result = matchesValue(p);
+                found = true;
+            } else {
+                AnswerTokens.skip(p);
+            }
+        }
+        return found ? result : matchesMissing();
+    }
+
+    /** SINGLE_CHOICE / LIST_CHOICE: exact text match on "value". */
+    record ExactText(String value) implements CompiledAnswerKey {
+        @Override public String field() { return "value"; }
+        @Override public boolean matchesMissing() { return false; }
+
+        @Override
+        public boolean matchesValue(JsonParser p) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NULL) return false;
+            return AnswerTokens.textEquals(p, value);
+        }
+    }
+
+    /** TRUE_FALSE: "value" coerced to boolean, like {@code JsonNode.asBoolean()}. */
+    record BooleanValue(boolean value) implements CompiledAnswerKey {
+        @Override public String field() { return "value"; }
+        @Override public boolean matchesMissing() { return false; }
+
+        @Override
+        public boolean matchesValue(JsonParser p) throws IOException {
+            return AnswerTokens.asBoolean(p) == value;
+        }
+    }
+
+    /** SHORT_ANSWER: key stored already normalised; {@code maxTypos} edits are forgiven. */
+    record NormalisedText(String normalised, int maxTypos) implements CompiledAnswerKey {
+        @Override public String field() { return "value"; }
+        @Override public boolean matchesMissing() { return false; }
+
+        @Override
+        public boolean matchesValue(JsonParser p) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NULL) return false;
+            return AnswerTokens.normalisedEquals(p, normalised, maxTypos);
+        }
+    }
+
+    /** MULTI_CHOICE: order-insensitive set of "values". */
+    record TextSet(List<String> values, Map<String, Integer> index) implements CompiledAnswerKey {
+
+        public static TextSet of(Collection<String> values) {
+            List<String> distinct = List.copyOf(new LinkedHashSet<>(values));
+            return new TextSet(distinct, indexOf(distinct));
+        }
+
+        @Override public String field() { return "values"; }
+        @Override public boolean matchesMissing() { return values.isEmpty(); }
+
+        @Override
+        public boolean matchesValue(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) {
+                AnswerTokens.skip(p);
+                return values.isEmpty();
+            }
+
+            AnswerScratch scratch = AnswerScratch.get();
+            scratch.reset(values.size());
+            int distinct = 0;
+            boolean mismatch = false;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (mismatch) {
+                    AnswerTokens.skip(p);
+                    continue;
+                }
+                int i = AnswerTokens.indexOf(p, values, index);
+                if (i < 0) mismatch = true;
+                else if (scratch.markSeen(i)) distinct++;
+            }
+            return !mismatch && distinct == values.size();
+        }
+    }
+
+    /** SORTING: ordered list of "values". */
+    record TextList(List<String> values) implements CompiledAnswerKey {
+        @Override public String field() { return "values"; }
+        @Override public boolean matchesMissing() { return values.isEmpty(); }
+
+        @Override
+        public boolean matchesValue(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) {
+                AnswerTokens.skip(p);
+                return values.isEmpty();
+            }
+
+            int i = 0;
+            boolean mismatch = false;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (mismatch || i >= values.size()) {
+                    mismatch = true;
+                    AnswerTokens.skip(p);
+                } else if (!AnswerTokens.textEquals(p, values.get(i))) {
+                    mismatch = true;
+                }
+                i++;
+            }
+            return !mismatch && i == values.size();
+        }
+    }
+
+    /** FILL_BLANKS: ordered list of "values", each stored already normalised; {@code maxTypos} applies per blank. */
+    record NormalisedList(List<String> values, int maxTypos) implements CompiledAnswerKey {
+        @Override public String field() { return "values"; }
+        @Override public boolean matchesMissing() { return values.isEmpty(); }
+
+        @Override
+        public boolean matchesValue(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) {
+                AnswerTokens.skip(p);
+                return values.isEmpty();
+            }
+
+            int i = 0;
+            boolean mismatch = false;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (mismatch || i >= values.size()) {
+                    mismatch = true;
+                    AnswerTokens.skip(p);
+                } else if (!AnswerTokens.normalisedEquals(p, values.get(i), maxTypos)) {
+                    mismatch = true;
+                }
+                i++;
+            }
+            return !mismatch && i == values.size();
+        }
+    }
+
+    /** MATCHING: exact map of "pairs". */
+    record TextMap(List<String> keys, List<String> values, Map<String, Integer> index) implements CompiledAnswerKey {
+
+        public static TextMap of(Map<String, String> pairs) {
+            List<String> keys = List.copyOf(pairs.keySet());
+            List<String> values = keys.stream().map(pairs::get).toList();
+            return new TextMap(keys, values, indexOf(keys));
+        }
+
+        @Override public String field() { return "pairs"; }
+        @Override public boolean matchesMissing() { return keys.isEmpty(); }
+
+        @Override
+        public boolean matchesValue(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                AnswerTokens.skip(p);
+                return keys.isEmpty();
+            }
+
+            AnswerScratch scratch = AnswerScratch.get();
+            scratch.reset(keys.size());
+            int distinct = 0;
+            boolean mismatch = false;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                Integer i = index.get(p.currentName());
+                p.nextToken();
+                if (mismatch || i == null) {
+                    mismatch = true;
+                    AnswerTokens.skip(p);
+                    continue;
+                }
+                if (scratch.markSeen(i)) distinct++;
+                // A repeated pair overrides the earlier one, as it would in a map
+                scratch.setOk(i, AnswerTokens.textEquals(p, values.get(i)));
+            }
+            return !mismatch && distinct == keys.size() && scratch.allOk(keys.size());
+        }
+    }
+
+    /** Unknown type or malformed key: nothing is ever correct. */
+    record RejectAll() implements CompiledAnswerKey {
+        @Override public String field() { return ""; }
+        @Override public boolean matchesMissing() { return false; }
+
+        @Override
+        public boolean matchesValue(JsonParser p) throws IOException {
+            AnswerTokens.skip(p);
+            return false;
+        }
+    }
+
+    private static Map<String, Integer> indexOf(List<String> values) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) index.put(values.get(i), i);
+        return Map.copyOf(index);
+    }
+}
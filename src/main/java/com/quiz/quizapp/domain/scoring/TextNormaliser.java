@@ -0,0 +1,115 @@
+package com.quiz.quizapp.domain.scoring;
+
+import java.text.Normalizer;
+
+/**
+ * Normalisation applied to free-text answers (SHORT_ANSWER, FILL_BLANKS) before comparing:
+ * trimmed, whitespace runs collapsed to one space, case and diacritics folded ("Łódź " reads as
+ * "lodz"). Keys are normalised once with {@link #normalise(String)}; answers are compared against
+ * them char by char, without building the normalised string.
+ */
+public final class TextNormaliser {
+
+    private static final char SKIP = '\uFFFF';
+    private static final int TABLE_SIZE = 0x0400;
+    private static final char[] FOLD = buildFoldTable();
+
+    private TextNormaliser() {}
+
+    public static String normalise(String s) {
+        if (s == null) return "";
+        char[] chars = s.toCharArray();
+        int n = fold(chars, 0, chars.length, chars);
+        return new String(chars, 0, n);
+    }
+
+    /**
+     * Writes the normalised form of {@code buf[off, off + len)} into {@code out} and returns its
+     * length, which is never more than {@code len}. {@code out} may be {@code buf} itself.
+     */
+    static int fold(char[] buf, int off, int len, char[] out) {
+        int n = 0;
+        boolean pendingSpace = false;
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = buf[i];
+            if (isSpace(c)) {
+                pendingSpace = n > 0;
+                continue;
+            }
+            char f = fold(c);
+            if (f == SKIP) continue;
+            if (pendingSpace) {
+                out[n++] = ' ';
+                pendingSpace = false;
+            }
+            out[n++] = f;
+        }
+        return n;
+    }
+
+    /** Whether {@code buf[off, off + len)} normalises to {@code normalised}; stops at the first difference. */
+    static boolean matches(String normalised, char[] buf, int off, int len) {
+        int n = 0;
+        int expected = normalised.length();
+        boolean pendingSpace = false;
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = buf[i];
+            if (isSpace(c)) {
+                pendingSpace = n > 0;
+                continue;
+            }
+            char f = fold(c);
+            if (f == SKIP) continue;
+            if (pendingSpace) {
+                if (n >= expected || normalised.charAt(n++) != ' ') return false;
+                pendingSpace = false;
+            }
+            if (n >= expected || normalised.charAt(n++) != f) return false;
+        }
+        return n == expected;
+    }
+
+    private static boolean isSpace(char c) {
+        return c <= ' ' || (c >= 0x80 && Character.isSpaceChar(c));
+    }
+
+    private static char fold(char c) {
+        if (c < 0x80) return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        if (isCombiningMark(c)) return SKIP;
+        if (c < TABLE_SIZE) return FOLD[c];
+        return Character.toLowerCase(c);
+    }
+
+    // Diacritics typed as separate combining characters (already-decomposed input)
+    private static boolean isCombiningMark(char c) {
+        return (c >= 0x0300 && c <= 0x036F) || (c >= 0x1AB0 && c <= 0x1AFF) || (c >= 0x1DC0 && c <= 0x1DFF)
+                || (c >= 0x20D0 && c <= 0x20FF) || (c >= 0xFE20 && c <= 0xFE2F);
+    }
+
+    /**
+     * Latin-1, Latin Extended-A/B and Greek: lower case, then the base letter of the canonical
+     * decomposition. Cyrillic is left out on purpose, where e.g. й is a letter of its own.
+     */
+    private static char[] buildFoldTable() {
+        char[] table = new char[TABLE_SIZE];
+        for (char c = 0; c < TABLE_SIZE; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(Character.toLowerCase(c)), Normalizer.Form.NFD);
+            table[c] = Character.toLowerCase(decomposed.charAt(0));
+        }
+        // Letters with a stroke or bar have no decomposition, but are still read as the plain letter
+        table['ł'] = 'l';
+        table['đ'] = 'd';
+        table['ø'] = 'o';
+        table['ħ'] = 'h';
+        table['ŧ'] = 't';
+        table['ı'] = 'i';
+        table['ƀ'] = 'b';
+        table['ƶ'] = 'z';
+        table['ǥ'] = 'g';
+        for (char c = 0; c < TABLE_SIZE; c++) {
+            char f = table[c];
+            if (f < TABLE_SIZE) table[c] = table[f];
+        }
+        return table;
+    }
+}
@@ -0,0 +1,248 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao.DraftAnswer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind buffer for saved-as-you-go answers. Edits are kept per attempt and question, so
+ * repeated saves of the same question collapse into one pending value, and everything pending is
+ * written as one batch of upserts every {@code flush-interval-ms}, or sooner once
+ * {@code max-pending} answers are waiting.
+ *
+ * <p>Each attempt's entry also caches what a save needs to check (quiz, deadline), so a save
+ * doesn't read the attempt again either.
+ *
+ * <p>A failed batch is written again row by row: a row the database rejects is dropped, so it
+ * can't hold up everyone else's saves; on any other failure the rest stays pending.
+ */
+@Component
+public class AnswerDraftBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(AnswerDraftBuffer.class);
+
+    // Entries of attempts nobody saved for in this long are dropped (reloaded on the next save)
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    /** What a save has to check, read once per attempt. */
+    public record AttemptState(long quizId, OffsetDateTime deadline) {}
+
+    private final AttemptAnswerJdbcDao attemptAnswerJdbcDao;
+    private final int maxPending;
+    private final Map<Long, Draft> drafts = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    // Held for a whole flush; closing an attempt takes it too, so no drained answer is in flight then
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("answer-flush").daemon().factory());
+
+    public AnswerDraftBuffer(
+            AttemptAnswerJdbcDao attemptAnswerJdbcDao,
+            @Value("${app.answers.draft-buffer.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${app.answers.draft-buffer.max-pending:500}") int maxPending
+    ) {
+        this.attemptAnswerJdbcDao = attemptAnswerJdbcDao;
+        this.maxPending = Math.max(1, maxPending);
+        long interval = Math.max(10, flushIntervalMs);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /** The attempt's cached state, loaded with {@code loader} on first use. */
+    public AttemptState state(long attemptId, Supplier<AttemptState> loader) {
+        Draft d = drafts.get(attemptId);
+        if (d == null) {
+            // Loaded outside the map so a slow read doesn't block other attempts
+            Draft loaded = new Draft(loader.get());
+            d = drafts.putIfAbsent(attemptId, loaded);
+            if (d == null) d = loaded;
+        }
+        synchronized (d) {
+            if (d.closed) throw new IllegalStateException("Attempt already finished");
+            d.lastWrite = System.nanoTime();
+            if (d.state != null) return d.state;
+        }
+        // An entry reopened after a rolled-back close may have been only a marker, without state
+        AttemptState loaded = loader.get();
+        synchronized (d) {
+            if (d.state == null) d.state = loaded;
+            return d.state;
+        }
+    }
+
+    /** Buffers the latest value for one question; replaces an earlier pending value for it. */
+    public void put(long attemptId, long questionId, String answerJson) {
+        Draft d = drafts.get(attemptId);
+        if (d == null) throw new IllegalStateException("No saved state for attempt " + attemptId);
+
+        boolean added;
+        synchronized (d) {
+            if (d.closed) throw new IllegalStateException("Attempt already finished");
+            added = d.pending.put(questionId, answerJson) == null;
+            d.lastWrite = System.nanoTime();
+        }
+        if (added && pending.incrementAndGet() >= maxPending && flushQueued.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Takes the attempt's pending answers for the final submit and rejects any later save. Waits
+     * for a flush in progress, so what's returned plus what's in the table is complete.
+     *
+     * <p>Inside a transaction the close only sticks if it commits: on rollback the answers are
+     * put back and the attempt takes saves again, so a retried submit still scores them.
+     */
+    public Map<Long, String> close(long attemptId) {
+        Map<Long, String> out;
+        synchronized (flushLock) {
+            // Left behind as a marker, so a save racing the submit can't start a new entry
+            Draft d = drafts.computeIfAbsent(attemptId, id -> new Draft(null));
+            synchronized (d) {
+                d.closed = true;
+                d.lastWrite = System.nanoTime();
+                out = new LinkedHashMap<>(d.pending);
+                pending.addAndGet(-d.pending.size());
+                d.pending.clear();
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<Long, String> taken = Map.copyOf(out);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) reopen(attemptId, taken);
+                }
+            });
+        }
+        return out;
+    }
+
+    /**
+     * Undoes a {@link #close}: puts the answers it took back (unless newer ones are pending) and
+     * takes saves for the attempt again.
+     */
+    void reopen(long attemptId, Map<Long, String> answers) {
+        Draft d = drafts.computeIfAbsent(attemptId, id -> new Draft(null));
+        boolean flushNow;
+        synchronized (d) {
+            d.closed = false;
+            d.lastWrite = System.nanoTime();
+            int added = 0;
+            for (Map.Entry<Long, String> a : answers.entrySet()) {
+                if (d.pending.putIfAbsent(a.getKey(), a.getValue()) == null) added++;
+            }
+            flushNow = pending.addAndGet(added) >= maxPending;
+        }
+        if (flushNow && flushQueued.compareAndSet(false, true)) flusher.execute(this::flushQuietly);
+    }
+
+    /**
+     * Writes everything pending as one batch. If that fails the rows are written one at a time,
+     * dropping any the database rejects; answers not written stay pending for the next try.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            flushQueued.set(false);
+            List<DraftAnswer> batch = new ArrayList<>();
+            long now = System.nanoTime();
+
+            for (Iterator<Map.Entry<Long, Draft>> it = drafts.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Long, Draft> e = it.next();
+                Draft d = e.getValue();
+                synchronized (d) {
+                    if (d.pending.isEmpty()) {
+                        if (now - d.lastWrite > IDLE_NANOS) it.remove();
+                        continue;
+                    }
+                    d.pending.forEach((questionId, json) -> batch.add(new DraftAnswer(e.getKey(), questionId, json)));
+                    d.pending.clear();
+                }
+            }
+            if (batch.isEmpty()) return;
+            pending.addAndGet(-batch.size());
+
+            OffsetDateTime writtenAt = OffsetDateTime.now();
+            try {
+                attemptAnswerJdbcDao.upsertDrafts(batch, writtenAt);
+            } catch (RuntimeException ex) {
+                writeOneByOne(batch, writtenAt);
+            }
+        }
+    }
+
+    int pendingCount() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Kept pending; retried on the next tick. Not rethrown: that would cancel the schedule
+        }
+    }
+
+    private void writeOneByOne(List<DraftAnswer> batch, OffsetDateTime writtenAt) {
+        for (int i = 0; i < batch.size(); i++) {
+            DraftAnswer a = batch.get(i);
+            try {
+                attemptAnswerJdbcDao.upsertDrafts(List.of(a), writtenAt);
+            } catch (DataIntegrityViolationException ex) {
+                // Retrying can't help this one; the attempt's submit still carries its final answers
+                log.warn("Dropped draft answer of attempt {} to question {}: {}",
+                        a.attemptId(), a.questionId(), ex.getMostSpecificCause().getMessage());
+            } catch (RuntimeException ex) {
+                requeue(batch.subList(i, batch.size()));
+                throw ex;
+            }
+        }
+    }
+
+    // Puts a failed batch back, unless a newer edit arrived meanwhile or the attempt got closed
+    private void requeue(List<DraftAnswer> batch) {
+        for (DraftAnswer a : batch) {
+            Draft d = drafts.get(a.attemptId());
+            if (d == null) continue;
+            synchronized (d) {
+                if (!d.closed && d.pending.putIfAbsent(a.questionId(), a.answerJson()) == null) {
+                    pending.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static final class Draft {
+        AttemptState state;
+        final Map<Long, String> pending = new LinkedHashMap<>();
+        boolean closed;
+        long lastWrite = System.nanoTime();
+
+        Draft(AttemptState state) {
+            this.state = state;
+        }
+    }
+}
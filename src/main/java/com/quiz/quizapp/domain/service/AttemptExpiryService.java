@@ -0,0 +1,262 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao.NewAnswer;
+import com.quiz.quizapp.domain.jdbc.AttemptExpiryJdbcDao;
+import com.quiz.quizapp.domain.jdbc.AttemptExpiryJdbcDao.FinalScore;
+import com.quiz.quizapp.domain.jdbc.AttemptExpiryJdbcDao.OpenAttempt;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot.PlayQuestion;
+import com.quiz.quizapp.domain.play.QuizSnapshotCache;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finishes time-limited attempts nobody submitted. Deadlines sit in a priority queue (filled by
+ * {@link AttemptService#start} and, on startup, from one query over the open-attempts index); a
+ * tick pops the due ones and finishes them in batches, scoring whatever answers were saved.
+ *
+ * <p>The database stays authoritative: each batch re-reads the attempts, so ones submitted
+ * meanwhile are skipped and ones whose quiz got a longer limit go back into the queue.
+ *
+ * <p>A batch that fails is tried again in halves, down to single attempts, so one attempt that
+ * can't be finished holds up nobody else; what still fails goes back into the queue with a
+ * growing delay.
+ */
+@Service
+public class AttemptExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptExpiryService.class);
+    private static final long MAX_BACKOFF_MS = 60_000;
+
+    private final AttemptExpiryJdbcDao attemptExpiryJdbcDao;
+    private final AttemptAnswerJdbcDao attemptAnswerJdbcDao;
+    private final AnswerDraftBuffer answerDraftBuffer;
+    private final QuizSnapshotCache quizSnapshotCache;
+    private final ScoringService scoringService;
+    private final LeaderboardCache leaderboardCache;
+    private final TransactionTemplate writeTx;
+    private final long tickMs;
+    private final long graceMillis;
+    private final int batchSize;
+
+    private final PriorityQueue<Due> queue = new PriorityQueue<>();
+    private final ScheduledExecutorService sweeper =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("attempt-expiry").daemon().factory());
+
+    public AttemptExpiryService(
+            AttemptExpiryJdbcDao attemptExpiryJdbcDao,
+            AttemptAnswerJdbcDao attemptAnswerJdbcDao,
+            AnswerDraftBuffer answerDraftBuffer,
+            QuizSnapshotCache quizSnapshotCache,
+            ScoringService scoringService,
+            LeaderboardCache leaderboardCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.attempts.expiry.tick-ms:1000}") long tickMs,
+            @Value("${app.attempts.expiry.grace-ms:2000}") long graceMillis,
+            @Value("${app.attempts.expiry.batch-size:500}") int batchSize
+    ) {
+        this.attemptExpiryJdbcDao = attemptExpiryJdbcDao;
+        this.attemptAnswerJdbcDao = attemptAnswerJdbcDao;
+        this.answerDraftBuffer = answerDraftBuffer;
+        this.quizSnapshotCache = quizSnapshotCache;
+        this.scoringService = scoringService;
+        this.leaderboardCache = leaderboardCache;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        // A submit racing the deadline gets this long to land before the sweeper takes over
+        this.graceMillis = Math.max(0, graceMillis);
+        this.batchSize = Math.max(1, batchSize);
+        this.tickMs = Math.max(10, tickMs);
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, this.tickMs, this.tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Schedules the attempt to be finished once {@code deadline} has passed. */
+    public void track(long attemptId, OffsetDateTime deadline) {
+        synchronized (queue) {
+            queue.add(new Due(deadline.toInstant().toEpochMilli(), attemptId, 0));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuild() {
+        List<OpenAttempt> open;
+        try {
+            open = attemptExpiryJdbcDao.findOpenTimedAttempts();
+        } catch (DataAccessException e) {
+            // No schema (e.g. a test context without migrations): nothing to track
+            return;
+        }
+        synchronized (queue) {
+            for (OpenAttempt a : open) {
+                queue.add(new Due(a.deadline().toInstant().toEpochMilli(), a.id(), 0));
+            }
+        }
+    }
+
+    /** Finishes every attempt that's due, a batch at a time; returns how many were finished. */
+    public int sweep() {
+        int finished = 0;
+        for (List<Due> batch; !(batch = pollDue(System.currentTimeMillis() - graceMillis)).isEmpty(); ) {
+            finished += expireOrSplit(batch);
+        }
+        return finished;
+    }
+
+    int size() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Nothing is lost: the queue is rebuilt from the database on the next start
+        sweeper.shutdownNow();
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            // Requeued with a backoff. Not rethrown: that would cancel the schedule for good
+        }
+    }
+
+    private List<Due> pollDue(long dueBy) {
+        synchronized (queue) {
+            List<Due> due = new ArrayList<>();
+            while (due.size() < batchSize && !queue.isEmpty() && queue.peek().atMillis() <= dueBy) {
+                due.add(queue.poll());
+            }
+            return due;
+        }
+    }
+
+    // The database being unreachable isn't any attempt's fault: not split, the sweep stops there
+    private int expireOrSplit(List<Due> batch) {
+        try {
+            return expire(batch.stream().map(Due::attemptId).toList());
+        } catch (RuntimeException e) {
+            if (unavailable(e)) {
+                retryLater(batch);
+                throw e;
+            }
+            if (batch.size() == 1) {
+                log.warn("Could not expire attempt {}; retried later", batch.getFirst().attemptId(), e);
+                retryLater(batch);
+                return 0;
+            }
+            int half = batch.size() / 2;
+            return expireOrSplit(batch.subList(0, half)) + expireOrSplit(batch.subList(half, batch.size()));
+        }
+    }
+
+    private static boolean unavailable(RuntimeException e) {
+        return e instanceof TransactionException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException;
+    }
+
+    private void retryLater(List<Due> batch) {
+        long now = System.currentTimeMillis();
+        synchronized (queue) {
+            for (Due d : batch) {
+                int failures = d.failures() + 1;
+                long delay = Math.min(MAX_BACKOFF_MS, tickMs << Math.min(failures, 16));
+                queue.add(new Due(now + delay, d.attemptId(), failures));
+            }
+        }
+    }
+
+    private int expire(List<Long> attemptIds) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OpenAttempt> expired = new ArrayList<>();
+        for (OpenAttempt a : attemptExpiryJdbcDao.findOpen(attemptIds)) {
+            if (a.deadline() == null) continue; // the quiz has no time limit any more
+            if (a.deadline().isAfter(now)) {
+                track(a.id(), a.deadline());
+            } else {
+                expired.add(a);
+            }
+        }
+        if (expired.isEmpty()) return 0;
+
+        Map<Long, Map<Long, String>> buffered = new HashMap<>();
+        List<Long> finished = writeTx.execute(status -> {
+            // Closing first stops further saves; whatever was still buffered is scored with the rest.
+            // Closed inside the transaction, so a rollback hands the buffered answers back
+            Map<Long, Map<Long, String>> saved =
+                    attemptAnswerJdbcDao.findAnswers(expired.stream().map(OpenAttempt::id).toList());
+            for (OpenAttempt a : expired) {
+                Map<Long, String> drafts = answerDraftBuffer.close(a.id());
+                buffered.put(a.id(), drafts);
+                if (!drafts.isEmpty()) saved.computeIfAbsent(a.id(), id -> new LinkedHashMap<>()).putAll(drafts);
+            }
+
+            List<FinalScore> scores = new ArrayList<>(expired.size());
+            Map<Long, List<NewAnswer>> answers = new HashMap<>();
+            for (OpenAttempt a : expired) {
+                Map<Long, String> answerJsons = saved.getOrDefault(a.id(), Map.of());
+                QuizPlaySnapshot snapshot = answerJsons.isEmpty() ? null : quizSnapshotCache.get(a.quizId());
+                List<NewAnswer> scored = new ArrayList<>(answerJsons.size());
+                int total = 0;
+
+                for (var e : answerJsons.entrySet()) {
+                    PlayQuestion q = snapshot.question(e.getKey());
+                    if (q == null) continue; // question removed since
+
+                    boolean correct = scoringService.isCorrect(q.key(), e.getValue());
+                    int awarded = correct ? q.points() : (a.negativePointsEnabled() ? -q.points() : 0);
+                    scored.add(new NewAnswer(q.id(), e.getValue(), correct, awarded));
+                    total += awarded;
+                }
+                scores.add(new FinalScore(a.id(), total));
+                answers.put(a.id(), scored);
+            }
+
+            // The finish claims lock the rows first; answers are only written for attempts won here
+            List<Long> claimed = attemptExpiryJdbcDao.finish(scores, now);
+            answers.keySet().retainAll(claimed);
+            attemptAnswerJdbcDao.saveAll(answers, now);
+
+            Set<Long> won = new HashSet<>(claimed);
+            for (int i = 0; i < expired.size(); i++) {
+                OpenAttempt a = expired.get(i);
+                if (won.contains(a.id())) {
+                    leaderboardCache.record(a.quizId(), a.id(), a.nickname(), scores.get(i).score(), now);
+                }
+            }
+            return claimed;
+        });
+
+        // Attempts finished by someone else meanwhile weren't ours to close: their drafts go back
+        buffered.keySet().removeAll(finished);
+        buffered.forEach(answerDraftBuffer::reopen);
+        return finished.size();
+    }
+
+    private record Due(long atMillis, long attemptId, int failures) implements Comparable<Due> {
+        @Override
+        public int compareTo(Due o) {
+            return Long.compare(atMillis, o.atMillis);
+        }
+    }
+}
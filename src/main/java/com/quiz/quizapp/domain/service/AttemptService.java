@@ -3,20 +3,34 @@ package com.quiz.quizapp.domain.service;
 import com.quiz.quizapp.common.ResourceNotFoundException;
 import com.quiz.quizapp.domain.dto.AttemptInfo;
 import com.quiz.quizapp.domain.entity.AttemptEntity;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
 import com.quiz.quizapp.domain.repository.AttemptRepository;
 import com.quiz.quizapp.domain.repository.QuizRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 public class AttemptService {
 
     private final QuizRepository quizRepository;
     private final AttemptRepository attemptRepository;
+    private final AttemptExpiryService attemptExpiryService;
+    private final LeaderboardCache leaderboardCache;
 
-    public AttemptService(QuizRepository quizRepository, AttemptRepository attemptRepository) {
+    public AttemptService(
+            QuizRepository quizRepository,
+            AttemptRepository attemptRepository,
+            AttemptExpiryService attemptExpiryService,
+            LeaderboardCache leaderboardCache
+    ) {
         this.quizRepository = quizRepository;
         this.attemptRepository = attemptRepository;
+        this.attemptExpiryService = attemptExpiryService;
+        this.leaderboardCache = leaderboardCache;
     }
 
     @Transactional
@@ -24,22 +38,58 @@ public class AttemptService {
         var quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new ResourceNotFoundException("Quiz not found: " + quizId));
 
-        String cleanedNickname = nickname == null ? "" : nickname.trim();
-        AttemptEntity attempt = new AttemptEntity(quiz, cleanedNickname);
+        AttemptEntity attempt = new AttemptEntity(quiz, cleanNickname(nickname));
         AttemptEntity saved = attemptRepository.save(attempt);
+        trackDeadline(saved);
         return toInfo(saved);
     }
 
+    /**
+     * Starts one attempt per nickname, in order, in one transaction. The quiz is read once and the
+     * inserts go out as JDBC batches (pooled ids, so no round trip per row for the id either).
+     */
+    @Transactional
+    public List<AttemptInfo> startAll(long quizId, List<String> nicknames) {
+        var quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz not found: " + quizId));
+
+        List<AttemptEntity> attempts = new ArrayList<>(nicknames.size());
+        for (String nickname : nicknames) {
+            attempts.add(new AttemptEntity(quiz, cleanNickname(nickname)));
+        }
+
+        List<AttemptEntity> saved = attemptRepository.saveAll(attempts);
+        saved.forEach(this::trackDeadline);
+        return saved.stream().map(this::toInfo).toList();
+    }
+
     @Transactional
     public AttemptInfo finish(long attemptId, int score) {
         var attempt = attemptRepository.findById(attemptId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attempt not found: " + attemptId));
 
+        OffsetDateTime finishedAt = OffsetDateTime.now();
+        if (attemptRepository.claimFinish(attemptId, finishedAt, null) == 0) {
+            throw new IllegalStateException("Attempt already finished");
+        }
+        attempt.markFinished(finishedAt, null);
         attempt.setScore(score);
-        attempt.finishNow();
+        leaderboardCache.record(attempt.getQuiz().getId(), attemptId, attempt.getNickname(), score, finishedAt);
         return toInfo(attempt);
     }
 
+    private static String cleanNickname(String nickname) {
+        return nickname == null ? "" : nickname.trim();
+    }
+
+    private void trackDeadline(AttemptEntity attempt) {
+        Integer limitSeconds = attempt.getQuiz().getTimeLimitSeconds();
+        if (limitSeconds != null && limitSeconds > 0) {
+            // A rolled-back start just leaves a queue entry that finds no open attempt
+            attemptExpiryService.track(attempt.getId(), attempt.getStartedAt().plusSeconds(limitSeconds.longValue()));
+        }
+    }
+
     private AttemptInfo toInfo(AttemptEntity a) {
         return new AttemptInfo(
                 a.getId(),
@@ -5,6 +5,7 @@ import com.quiz.quizapp.common.ResourceNotFoundException;
 import com.quiz.quizapp.domain.entity.QuestionEntity;
 import com.quiz.quizapp.domain.repository.QuestionRepository;
 import com.quiz.quizapp.domain.repository.QuizRepository;
+import com.quiz.quizapp.domain.scoring.AnswerKeyCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,11 +15,17 @@ public class CreatorQuestionService {
     private final QuizRepository quizRepository;
     private final QuestionRepository questionRepository;
     private final ObjectMapper objectMapper;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizVersions quizVersions;
 
-    public CreatorQuestionService(QuizRepository quizRepository, QuestionRepository questionRepository, ObjectMapper objectMapper) {
+    public CreatorQuestionService(QuizRepository quizRepository, QuestionRepository questionRepository,
+                                  ObjectMapper objectMapper, AnswerKeyCache answerKeyCache,
+                                  QuizVersions quizVersions) {
         this.quizRepository = quizRepository;
         this.questionRepository = questionRepository;
         this.objectMapper = objectMapper;
+        this.answerKeyCache = answerKeyCache;
+        this.quizVersions = quizVersions;
     }
 
     @Transactional
@@ -39,6 +46,9 @@ public class CreatorQuestionService {
         q.setAnswerKey(answerKeyJson.trim());
 
         questionRepository.save(q);
+        // Never serve a compiled key that predates this write
+        answerKeyCache.evict(q.getId());
+        quizVersions.bump(quizId);
     }
 
     private void validateJsonOrEmpty(String json) {
@@ -2,15 +2,24 @@ package com.quiz.quizapp.domain.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.AttemptQuestions;
 import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
 import com.quiz.quizapp.domain.dto.SubmitAnswersCommand;
 import com.quiz.quizapp.domain.dto.SubmitOutcome;
-import com.quiz.quizapp.domain.entity.AttemptAnswerEntity;
-import com.quiz.quizapp.domain.repository.AttemptAnswerRepository;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao.NewAnswer;
+import com.quiz.quizapp.domain.play.AnswerJson;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot.PlayQuestion;
+import com.quiz.quizapp.domain.play.QuizSnapshotCache;
+import com.quiz.quizapp.domain.play.SeededShuffle;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
 import com.quiz.quizapp.domain.repository.AttemptRepository;
 import com.quiz.quizapp.domain.repository.QuestionRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -18,28 +27,51 @@ import java.util.*;
 @Service
 public class GameplayService {
 
+    private static final int MAX_SUBMIT_KEY_LENGTH = 100;
+
     private final AttemptRepository attemptRepository;
     private final QuestionRepository questionRepository;
-    private final AttemptAnswerRepository attemptAnswerRepository;
+    private final AttemptAnswerJdbcDao attemptAnswerJdbcDao;
+    private final AnswerDraftBuffer answerDraftBuffer;
     private final ScoringService scoringService;
+    private final QuizSnapshotCache quizSnapshotCache;
     private final ObjectMapper objectMapper;
+    private final SubmitOutcomeCache submitOutcomeCache;
+    private final LeaderboardCache leaderboardCache;
+    private final TransactionTemplate writeTx;
 
     public GameplayService(
             AttemptRepository attemptRepository,
             QuestionRepository questionRepository,
-            AttemptAnswerRepository attemptAnswerRepository,
+            AttemptAnswerJdbcDao attemptAnswerJdbcDao,
+            AnswerDraftBuffer answerDraftBuffer,
             ScoringService scoringService,
-            ObjectMapper objectMapper
+            QuizSnapshotCache quizSnapshotCache,
+            ObjectMapper objectMapper,
+            SubmitOutcomeCache submitOutcomeCache,
+            LeaderboardCache leaderboardCache,
+            PlatformTransactionManager transactionManager
     ) {
         this.attemptRepository = attemptRepository;
         this.questionRepository = questionRepository;
-        this.attemptAnswerRepository = attemptAnswerRepository;
+        this.attemptAnswerJdbcDao = attemptAnswerJdbcDao;
+        this.answerDraftBuffer = answerDraftBuffer;
         this.scoringService = scoringService;
+        this.quizSnapshotCache = quizSnapshotCache;
         this.objectMapper = objectMapper;
+        this.submitOutcomeCache = submitOutcomeCache;
+        this.leaderboardCache = leaderboardCache;
+        this.writeTx = new TransactionTemplate(transactionManager);
     }
 
     @Transactional(readOnly = true)
     public List<QuestionForPlayDto> questionsForAttempt(long attemptId) {
+        return attemptQuestions(attemptId).questions();
+    }
+
+    /** {@link #questionsForAttempt} with the quiz and version of the snapshot they came from. */
+    @Transactional(readOnly = true)
+    public AttemptQuestions attemptQuestions(long attemptId) {
         var attempt = attemptRepository.findById(attemptId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attempt not found: " + attemptId));
 
@@ -48,27 +80,82 @@ public class GameplayService {
         }
 
         var quiz = attempt.getQuiz();
-        var page = questionRepository.findByQuiz_Id(quiz.getId(), org.springframework.data.domain.Pageable.unpaged());
+        QuizPlaySnapshot snapshot = quizSnapshotCache.get(quiz.getId());
+        List<QuestionForPlayDto> questions = snapshot.questions();
 
-        List<QuestionForPlayDto> questions = page.getContent().stream()
-                .map(q -> new QuestionForPlayDto(q.getId(), q.getType(), q.getPrompt(), q.getPoints(), q.getOptions()))
-                .toList();
+        // Same order on every request of this attempt; the shared snapshot list isn't touched
+        return new AttemptQuestions(
+                quiz.getId(),
+                snapshot.version(),
+                quiz.isRandomiseQuestions() ? SeededShuffle.apply(questions, attempt.getShuffleSeed()) : questions
+        );
+    }
+
+    /** The quiz's questions in their stored order, from the cached snapshot. */
+    public List<QuestionForPlayDto> questionsForQuiz(long quizId) {
+        return quizSnapshotCache.get(quizId).questions();
+    }
 
-        if (quiz.isRandomiseQuestions()) {
-            List<QuestionForPlayDto> shuffled = new ArrayList<>(questions);
-            Collections.shuffle(shuffled);
-            return shuffled;
+    /**
+     * Saves one answer before the final submit. It's buffered and written in the background, so
+     * neither the attempt nor the questions are read from the database on each save.
+     */
+    public void saveAnswer(long attemptId, long questionId, String answerJson) {
+        var state = answerDraftBuffer.state(attemptId, () -> loadAttemptState(attemptId));
+
+        if (state.deadline() != null && OffsetDateTime.now().isAfter(state.deadline())) {
+            throw new IllegalStateException("Time limit exceeded");
+        }
+        if (quizSnapshotCache.get(state.quizId()).question(questionId) == null) {
+            throw unknownQuestion(questionId);
+        }
+        if (!AnswerJson.isWellFormed(objectMapper, answerJson)) {
+            throw new IllegalArgumentException("Invalid answer JSON");
         }
 
-        return questions;
+        answerDraftBuffer.put(attemptId, questionId, answerJson);
     }
 
-    @Transactional
     public SubmitOutcome submitAndFinish(long attemptId, SubmitAnswersCommand req) {
+        return submitAndFinish(attemptId, null, req);
+    }
+
+    /**
+     * Scores and finishes the attempt. Answers saved earlier through {@link #saveAnswer} are
+     * included; an answer in {@code req} replaces the saved one for its question.
+     *
+     * <p>Submits are idempotent per key ({@code idempotencyKey}, or the attempt id without one):
+     * repeating a submit that already finished the attempt returns its original outcome, from
+     * {@link SubmitOutcomeCache} when still cached and otherwise from the attempt row.
+     */
+    public SubmitOutcome submitAndFinish(long attemptId, String idempotencyKey, SubmitAnswersCommand req) {
+        String submitKey = idempotencyKey == null || idempotencyKey.isBlank()
+                ? String.valueOf(attemptId)
+                : idempotencyKey.strip();
+        if (submitKey.length() > MAX_SUBMIT_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key longer than " + MAX_SUBMIT_KEY_LENGTH);
+        }
+
+        // Checked before the transaction, so a replay doesn't even take a connection
+        SubmitOutcomeCache.Entry cached = submitOutcomeCache.get(attemptId);
+        if (cached != null) {
+            if (cached.submitKey().equals(submitKey)) return cached.outcome();
+            throw new IllegalStateException("Attempt already finished");
+        }
+
+        SubmitOutcome outcome = writeTx.execute(status -> finish(attemptId, submitKey, req));
+        submitOutcomeCache.put(submitKey, outcome);
+        return outcome;
+    }
+
+    private SubmitOutcome finish(long attemptId, String submitKey, SubmitAnswersCommand req) {
         var attempt = attemptRepository.findById(attemptId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attempt not found: " + attemptId));
 
         if (attempt.getFinishedAt() != null) {
+            if (submitKey.equals(attempt.getSubmitKey())) {
+                return new SubmitOutcome(attempt.getId(), attempt.getScore());
+            }
             throw new IllegalStateException("Attempt already finished");
         }
 
@@ -83,27 +170,88 @@ public class GameplayService {
             }
         }
 
-        int total = 0;
+        checkSubmitted(req, quiz.getId());
+
+        // Claim the attempt before scoring anything: of concurrent submits only one gets the row
+        OffsetDateTime finishedAt = OffsetDateTime.now();
+        if (attemptRepository.claimFinish(attemptId, finishedAt, submitKey) == 0) {
+            // The winner has committed by now; a retry of that same submit gets its result
+            return attemptRepository.findFinishedById(attemptId)
+                    .filter(f -> submitKey.equals(f.getSubmitKey()))
+                    .map(f -> new SubmitOutcome(attemptId, f.getScore()))
+                    .orElseThrow(() -> new IllegalStateException("Attempt already finished"));
+        }
+        attempt.markFinished(finishedAt, submitKey);
 
+        // Saved answers: flushed ones from the table, then whatever is still buffered on top
+        Map<Long, String> answerJsons = new LinkedHashMap<>(attemptAnswerJdbcDao.findAnswers(attemptId));
+        answerJsons.putAll(answerDraftBuffer.close(attemptId));
         for (var ansReq : req.answers()) {
-            var q = questionRepository.findById(ansReq.questionId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Question not found: " + ansReq.questionId()));
+            answerJsons.put(ansReq.questionId(), ansReq.answerJson());
+        }
 
-            if (!Objects.equals(q.getQuiz().getId(), quiz.getId())) {
-                throw new IllegalArgumentException("Question does not belong to quiz");
-            }
+        int total = 0;
+        List<NewAnswer> answers = new ArrayList<>(answerJsons.size());
+        QuizPlaySnapshot snapshot = answerJsons.isEmpty() ? null : quizSnapshotCache.get(quiz.getId());
+
+        for (var e : answerJsons.entrySet()) {
+            PlayQuestion q = snapshot.question(e.getKey());
+            if (q == null) continue; // saved for a question that has been removed since
 
-            boolean correct = scoringService.isCorrect(q, ansReq.answerJson());
-            int points = q.getPoints();
+            boolean correct = scoringService.isCorrect(q.key(), e.getValue());
+            int points = q.points();
             int awarded = correct ? points : (negativeEnabled ? -points : 0);
 
-            attemptAnswerRepository.save(new AttemptAnswerEntity(attempt, q, ansReq.answerJson(), correct, awarded));
+            answers.add(new NewAnswer(q.id(), e.getValue(), correct, awarded));
             total += awarded;
         }
 
+        attemptAnswerJdbcDao.saveAll(attempt.getId(), answers, OffsetDateTime.now());
+
         attempt.setScore(total);
-        attempt.finishNow();
+        leaderboardCache.record(quiz.getId(), attempt.getId(), attempt.getNickname(), total, finishedAt);
 
         return new SubmitOutcome(attempt.getId(), attempt.getScore());
     }
+
+    /** Every submitted question once, and part of the quiz (checked against the cached snapshot). */
+    private void checkSubmitted(SubmitAnswersCommand req, long quizId) {
+        Set<Long> ids = new HashSet<>();
+        for (var ansReq : req.answers()) {
+            if (!ids.add(ansReq.questionId())) {
+                throw new IllegalArgumentException("Question answered more than once: " + ansReq.questionId());
+            }
+        }
+        if (ids.isEmpty()) return;
+
+        QuizPlaySnapshot snapshot = quizSnapshotCache.get(quizId);
+        for (var ansReq : req.answers()) {
+            if (snapshot.question(ansReq.questionId()) == null) {
+                throw unknownQuestion(ansReq.questionId());
+            }
+        }
+    }
+
+    private AnswerDraftBuffer.AttemptState loadAttemptState(long attemptId) {
+        var attempt = attemptRepository.findWithQuizById(attemptId)
+                .orElseThrow(() -> new ResourceNotFoundException("Attempt not found: " + attemptId));
+
+        if (attempt.getFinishedAt() != null) {
+            throw new IllegalStateException("Attempt already finished");
+        }
+
+        var quiz = attempt.getQuiz();
+        Integer limitSeconds = quiz.getTimeLimitSeconds();
+        OffsetDateTime deadline = limitSeconds != null && limitSeconds > 0
+                ? attempt.getStartedAt().plusSeconds(limitSeconds.longValue())
+                : null;
+        return new AnswerDraftBuffer.AttemptState(quiz.getId(), deadline);
+    }
+
+    // Only reached on bad input, so the database is asked just to pick the right error
+    private RuntimeException unknownQuestion(long questionId) {
+        return questionRepository.findById(questionId)
+                .<RuntimeException>map(q -> new IllegalArgumentException("Question does not belong to quiz"))
+                .orElseGet(() -> new ResourceNotFoundException("Question not found: " + questionId));
+    }
 }
@@ -0,0 +1,144 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.jdbc.PlayerTotalsJdbcDao;
+import com.quiz.quizapp.domain.ranking.GlobalLeaderboard;
+import com.quiz.quizapp.domain.ranking.PlayerMetric;
+import com.quiz.quizapp.domain.ranking.PlayerStanding;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Site-wide "top players" board. A finish that improves a player's best score on a quiz marks
+ * the player dirty; a flusher recomputes the dirty players' totals in {@code player_totals} a
+ * batch at a time and feeds them to one {@link GlobalLeaderboard} heap per metric, which reads
+ * are served from. A board that can't follow a change reloads from the table's index.
+ *
+ * <p>Players still dirty when the process stops are caught up by {@link #rebuild}, which
+ * recomputes every player from {@code leaderboard_entries} in key ranges and runs after the
+ * best-score backfill on every start.
+ */
+@Service
+public class GlobalRankingService {
+
+    private final PlayerTotalsJdbcDao playerTotalsJdbcDao;
+    private final TransactionTemplate writeTx;
+    private final int rebuildBatchSize;
+    private final Map<PlayerMetric, GlobalLeaderboard> boards = new EnumMap<>(PlayerMetric.class);
+
+    private final Set<String> dirty = new HashSet<>();
+    private final ScheduledExecutorService flusher =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("global-ranking").daemon().factory());
+
+    public GlobalRankingService(
+            PlayerTotalsJdbcDao playerTotalsJdbcDao,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.ranking.global.max-players:100}") int maxPlayers,
+            @Value("${app.ranking.global.flush-ms:1000}") long flushMs,
+            @Value("${app.ranking.global.rebuild-batch-size:1000}") int rebuildBatchSize
+    ) {
+        this.playerTotalsJdbcDao = playerTotalsJdbcDao;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.rebuildBatchSize = Math.max(1, rebuildBatchSize);
+        for (PlayerMetric m : PlayerMetric.values()) boards.put(m, new GlobalLeaderboard(m, maxPlayers));
+        long tick = Math.max(10, flushMs);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /** Marks the player's totals as needing a recompute (their best on some quiz changed). */
+    public void touch(String nickname) {
+        synchronized (dirty) {
+            dirty.add(nickname);
+        }
+    }
+
+    public void touchAll(Collection<String> nicknames) {
+        synchronized (dirty) {
+            dirty.addAll(nicknames);
+        }
+    }
+
+    /** The best {@code limit} players by {@code metric}, at most the board's capacity. */
+    public List<PlayerStanding> top(PlayerMetric metric, int limit) {
+        GlobalLeaderboard board = boards.get(metric);
+        synchronized (boards) {
+            if (board.stale()) board.load(playerTotalsJdbcDao.top(metric, board.capacity()));
+        }
+        return board.top(Math.min(limit, board.capacity()));
+    }
+
+    /** Recomputes the dirty players; returns how many were written. */
+    public int flush() {
+        // Sorted, so concurrent writers of player_totals lock rows in the same order
+        List<String> batch;
+        synchronized (dirty) {
+            if (dirty.isEmpty()) return 0;
+            batch = new ArrayList<>(new TreeSet<>(dirty));
+            dirty.clear();
+        }
+
+        Result result;
+        try {
+            result = writeTx.execute(status -> new Result(
+                    playerTotalsJdbcDao.refresh(batch), playerTotalsJdbcDao.removeEmpty(batch)));
+        } catch (RuntimeException e) {
+            touchAll(batch);
+            throw e;
+        }
+
+        synchronized (boards) {
+            for (GlobalLeaderboard board : boards.values()) {
+                result.updated.forEach(board::update);
+                result.removed.forEach(board::remove);
+            }
+        }
+        return result.updated.size();
+    }
+
+    /** Recomputes every player's totals from their best-score entries, a key range at a time. */
+    public void rebuild() {
+        String after = null;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<String> keys = playerTotalsJdbcDao.playerKeysAfter(after, rebuildBatchSize);
+            String upTo = keys.size() < rebuildBatchSize ? null : keys.getLast();
+            String from = after;
+            writeTx.executeWithoutResult(status -> playerTotalsJdbcDao.rebuildRange(from, upTo));
+            if (upTo == null) break;
+            after = upTo;
+        }
+        synchronized (boards) {
+            boards.values().forEach(GlobalLeaderboard::invalidate);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        // Best effort; whatever doesn't make it is caught up by the rebuild on next start
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Put back by flush(), retried on the next tick
+        }
+    }
+
+    private record Result(List<PlayerStanding> updated, List<String> removed) {}
+}
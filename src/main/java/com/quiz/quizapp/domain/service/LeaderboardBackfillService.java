@@ -0,0 +1,101 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.jdbc.BestScoreJdbcDao;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fills {@code leaderboard_entries} from the attempts that finished before it existed. Walks
+ * attempt ids in fixed-size ranges, one short transaction each, saving the position with every
+ * batch so a restart carries on where it stopped. Attempts finishing meanwhile are upserted on
+ * finish already; both writes keep the better result, so their order doesn't matter.
+ *
+ * <p>Once the table is complete (on every start), the global player totals derived from it are
+ * rebuilt too, catching up anything the {@link GlobalRankingService} flusher didn't get to.
+ */
+@Service
+public class LeaderboardBackfillService {
+
+    private final BestScoreJdbcDao bestScoreJdbcDao;
+    private final GlobalRankingService globalRanking;
+    private final TransactionTemplate writeTx;
+    private final int batchSize;
+    private final ExecutorService runner =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("leaderboard-backfill").daemon().factory());
+
+    private volatile boolean complete;
+
+    public LeaderboardBackfillService(
+            BestScoreJdbcDao bestScoreJdbcDao,
+            GlobalRankingService globalRanking,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.ranking.backfill.batch-size:5000}") int batchSize
+    ) {
+        this.bestScoreJdbcDao = bestScoreJdbcDao;
+        this.globalRanking = globalRanking;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /** Whether the table holds every finished attempt's player; until then it may miss some. */
+    public boolean complete() {
+        return complete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        Optional<Long> position;
+        try {
+            position = bestScoreJdbcDao.backfillPosition();
+        } catch (DataAccessException e) {
+            // No table (e.g. a test context without migrations): nothing to fill
+            return;
+        }
+        if (position.isEmpty()) complete = true;
+        runner.execute(() -> {
+            try {
+                if (position.isPresent()) run(position.get());
+                if (complete) globalRanking.rebuild();
+            } catch (RuntimeException e) {
+                // Left incomplete; the next start resumes from the saved position
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    /** Backfills every attempt id above {@code afterId} that exists now; returns the rows written. */
+    long run(long afterId) {
+        long upTo = bestScoreJdbcDao.maxAttemptId();
+        long written = 0;
+        for (long from = afterId; from < upTo && !Thread.currentThread().isInterrupted(); ) {
+            long after = from;
+            long to = Math.min(upTo, from + batchSize);
+            Integer n = writeTx.execute(status -> {
+                int rows = bestScoreJdbcDao.backfill(after, to);
+                bestScoreJdbcDao.saveBackfillPosition(to);
+                return rows;
+            });
+            written += n == null ? 0 : n;
+            from = to;
+        }
+        if (Thread.currentThread().isInterrupted()) return written;
+
+        bestScoreJdbcDao.completeBackfill();
+        complete = true;
+        return written;
+    }
+}
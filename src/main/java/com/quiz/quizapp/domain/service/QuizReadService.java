@@ -1,10 +1,11 @@
 package com.quiz.quizapp.domain.service;
 
 import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.entity.QuizEntity;
 import com.quiz.quizapp.domain.repository.QuizRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,9 +18,10 @@ public class QuizReadService {
         this.quizRepository = quizRepository;
     }
 
+    /** Up to {@code size} quizzes, newest first, after {@code after} (from the newest when null). */
     @Transactional(readOnly = true)
-    public Page<QuizEntity> list(Pageable pageable) {
-        return quizRepository.findAll(pageable);
+    public Slice<QuizEntity> list(QuizCursor after, int size) {
+        return quizRepository.findPageAfter(after, PageRequest.of(0, Math.clamp(size, 1, QuizService.MAX_PAGE_SIZE)));
     }
 
     @Transactional(readOnly = true)
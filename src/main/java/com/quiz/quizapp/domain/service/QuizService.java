@@ -2,27 +2,51 @@ package com.quiz.quizapp.domain.service;
 
 import com.quiz.quizapp.common.ResourceNotFoundException;
 import com.quiz.quizapp.domain.dto.QuizCreateCommand;
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.dto.QuizInfo;
 import com.quiz.quizapp.domain.dto.QuizUpdateCommand;
 import com.quiz.quizapp.domain.entity.QuizEntity;
+import com.quiz.quizapp.domain.jdbc.BestScoreJdbcDao;
 import com.quiz.quizapp.domain.repository.QuizRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
 
 @Service
 public class QuizService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final QuizRepository quizRepository;
+    private final QuizVersions quizVersions;
+    private final BestScoreJdbcDao bestScoreJdbcDao;
+    private final GlobalRankingService globalRanking;
 
-    public QuizService(QuizRepository quizRepository) {
+    public QuizService(
+            QuizRepository quizRepository,
+            QuizVersions quizVersions,
+            BestScoreJdbcDao bestScoreJdbcDao,
+            GlobalRankingService globalRanking
+    ) {
         this.quizRepository = quizRepository;
+        this.quizVersions = quizVersions;
+        this.bestScoreJdbcDao = bestScoreJdbcDao;
+        this.globalRanking = globalRanking;
     }
 
+    /**
+     * Up to {@code size} quizzes, newest first, after {@code after} (from the newest when null).
+     * Seeks past the cursor and never counts, so a deep page costs the same as the first.
+     */
     @Transactional(readOnly = true)
-    public Page<QuizInfo> list(Pageable pageable) {
-        return quizRepository.findAll(pageable).map(this::toInfo);
+    public Slice<QuizInfo> list(QuizCursor after, int size) {
+        return quizRepository.findPageAfter(after, PageRequest.of(0, Math.clamp(size, 1, MAX_PAGE_SIZE)))
+                .map(this::toInfo);
     }
 
     @Transactional(readOnly = true)
@@ -57,6 +81,7 @@ public class QuizService {
         q.setNegativePointsEnabled(cmd.negativePointsEnabled());
 
         QuizEntity saved = quizRepository.save(q);
+        quizVersions.bump(id);
         return toInfo(saved);
     }
 
@@ -65,7 +90,21 @@ public class QuizService {
         if (!quizRepository.existsById(id)) {
             throw new ResourceNotFoundException("Quiz not found: " + id);
         }
+        // Read before the cascade takes the quiz's best-score entries with it
+        List<String> players = bestScoreJdbcDao.players(id);
         quizRepository.deleteById(id);
+        quizVersions.bump(id);
+        // Their totals lose this quiz; worked out again once the delete is visible
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            globalRanking.touchAll(players);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                globalRanking.touchAll(players);
+            }
+        });
     }
 
     private QuizInfo toInfo(QuizEntity q) {
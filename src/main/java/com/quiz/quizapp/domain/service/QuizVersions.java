@@ -0,0 +1,78 @@
+package com.quiz.quizapp.domain.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory content version per quiz, bumped by every write to the quiz or its questions. Caches
+ * of quiz content compare against it instead of being evicted one by one.
+ *
+ * <p>A second counter, the results version, is bumped when the quiz's finished results change
+ * (an attempt finishing, a re-score). Both only ever grow within one {@link #epoch}, the time this
+ * process started, so together they identify what a response was built from.
+ *
+ * <p>Only writes made through this process bump it, which is why the app runs as a single
+ * instance per database; {@link SingleInstanceGuard} refuses to start a second one.
+ */
+@Component
+public class QuizVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> results = new ConcurrentHashMap<>();
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public long current(long quizId) {
+        return get(versions, quizId);
+    }
+
+    public long results(long quizId) {
+        return get(results, quizId);
+    }
+
+    /**
+     * Bumps the version once the current transaction commits (right away outside one), so nobody
+     * can cache the pre-commit content under the new version.
+     */
+    public void bump(long quizId) {
+        afterCommit(versions, quizId);
+    }
+
+    /**
+     * Bumps the results version right away. Callers bump once the new results are what readers
+     * get (after the commit and the cache update), so no tag names results not served yet.
+     */
+    public void bumpResults(long quizId) {
+        increment(results, quizId);
+    }
+
+    private static long get(Map<Long, AtomicLong> counters, long quizId) {
+        AtomicLong v = counters.get(quizId);
+        return v == null ? 0 : v.get();
+    }
+
+    private static void afterCommit(Map<Long, AtomicLong> counters, long quizId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(counters, quizId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment(counters, quizId);
+            }
+        });
+    }
+
+    private static void increment(Map<Long, AtomicLong> counters, long quizId) {
+        counters.computeIfAbsent(quizId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -1,23 +1,154 @@
 package com.quiz.quizapp.domain.service;
 
 import com.quiz.quizapp.api.dto.RankingRowResponse;
+import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.jdbc.BestScoreJdbcDao;
 import com.quiz.quizapp.domain.jdbc.RankingJdbcDao;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
+import com.quiz.quizapp.domain.ranking.LeaderboardEntry;
+import com.quiz.quizapp.domain.ranking.LiveRankingFeed;
+import com.quiz.quizapp.domain.ranking.PlayerMetric;
+import com.quiz.quizapp.domain.ranking.PlayerStanding;
+import com.quiz.quizapp.domain.ranking.QuizLeaderboard;
+import com.quiz.quizapp.domain.ranking.RankPosition;
+import com.quiz.quizapp.domain.ranking.RankingCursor;
+import com.quiz.quizapp.domain.ranking.RankingPage;
+import com.quiz.quizapp.domain.ranking.WindowedLeaderboardCache;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 public class RankingService {
 
+    static final int MAX_AROUND = 50;
+    static final int MAX_PAGE_SIZE = 100;
+
     private final RankingJdbcDao rankingJdbcDao;
+    private final LeaderboardCache leaderboardCache;
+    private final BestScoreJdbcDao bestScoreJdbcDao;
+    private final LeaderboardBackfillService backfill;
+    private final WindowedLeaderboardCache windows;
+    private final GlobalRankingService globalRanking;
+    private final LiveRankingFeed liveFeed;
 
-    public RankingService(RankingJdbcDao rankingJdbcDao) {
+    public RankingService(
+            RankingJdbcDao rankingJdbcDao,
+            LeaderboardCache leaderboardCache,
+            BestScoreJdbcDao bestScoreJdbcDao,
+            LeaderboardBackfillService backfill,
+            WindowedLeaderboardCache windows,
+            GlobalRankingService globalRanking,
+            LiveRankingFeed liveFeed
+    ) {
         this.rankingJdbcDao = rankingJdbcDao;
+        this.leaderboardCache = leaderboardCache;
+        this.bestScoreJdbcDao = bestScoreJdbcDao;
+        this.backfill = backfill;
+        this.windows = windows;
+        this.globalRanking = globalRanking;
+        this.liveFeed = liveFeed;
     }
 
-    @Transactional(readOnly = true)
+    /** Served from the in-memory board; only a limit deeper than a truncated board holds queries. */
     public List<RankingRowResponse> topForQuiz(long quizId, int limit) {
-        return rankingJdbcDao.topForQuiz(quizId, limit);
+        int n = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        List<LeaderboardEntry> top = leaderboardCache.get(quizId).top(n);
+        if (top == null) return rankingJdbcDao.topForQuiz(quizId, n);
+        return top.stream().map(e -> new RankingRowResponse(e.nickname(), e.score())).toList();
+    }
+
+    /** Follows the quiz's top N live, starting from the current one. */
+    public SseEmitter subscribe(long quizId) {
+        int n = liveFeed.topN();
+        List<LeaderboardEntry> top = leaderboardCache.get(quizId).top(n);
+        if (top == null) top = rankingJdbcDao.leaderboard(quizId, n);
+        return liveFeed.subscribe(quizId, top);
+    }
+
+    /**
+     * One row per player, their best result: read from leaderboard_entries, or worked out from the
+     * attempts while the backfill is still filling that table.
+     */
+    public List<RankingRowResponse> bestForQuiz(long quizId, int limit) {
+        int n = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return backfill.complete() ? bestScoreJdbcDao.top(quizId, n) : bestScoreJdbcDao.topFromAttempts(quizId, n);
+    }
+
+    /** Site-wide top players across quizzes, from the in-memory global board. */
+    public List<PlayerStanding> topPlayers(PlayerMetric metric, int limit) {
+        return globalRanking.top(metric, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Best results finished today, this week (since Monday) or on the days {@code from..to}
+     * ({@code period} "custom"), merged from the in-memory day buckets.
+     */
+    public List<RankingRowResponse> windowTop(long quizId, String period, LocalDate from, LocalDate to, int limit) {
+        LocalDate today = windows.today();
+        LocalDate start;
+        LocalDate end = today;
+        switch (period == null ? "" : period.toLowerCase(Locale.ROOT)) {
+            case "today" -> start = today;
+            case "week" -> start = windows.weekStart();
+            case "custom" -> {
+                if (from == null || to == null) throw new IllegalArgumentException("A custom window needs from and to");
+                if (from.isAfter(to)) throw new IllegalArgumentException("from must not be after to");
+                if (from.isBefore(windows.retainedSince())) {
+                    throw new IllegalArgumentException("Windows can start on " + windows.retainedSince() + " at the earliest");
+                }
+                start = from;
+                end = to.isAfter(today) ? today : to;
+            }
+            default -> throw new IllegalArgumentException("period must be today, week or custom");
+        }
+        return windows.top(quizId, start, end, Math.clamp(limit, 1, MAX_PAGE_SIZE)).stream()
+                .map(e -> new RankingRowResponse(e.nickname(), e.score()))
+                .toList();
+    }
+
+    /**
+     * The attempt's rank and percentile with {@code around} neighbours each side, by rank lookup
+     * on the board. Only an attempt past what a truncated board holds is looked up in the table.
+     */
+    public RankPosition position(long quizId, long attemptId, int around) {
+        int k = Math.clamp(around, 0, MAX_AROUND);
+        QuizLeaderboard board = leaderboardCache.get(quizId);
+        RankPosition position = board.position(attemptId, k);
+        if (position != null) return position;
+        if (!board.truncated()) throw finishedAttemptNotFound(attemptId);
+
+        LeaderboardEntry entry = rankingJdbcDao.findFinished(quizId, attemptId)
+                .orElseThrow(() -> finishedAttemptNotFound(attemptId));
+        long rank = rankingJdbcDao.countAhead(quizId, entry) + 1;
+        List<LeaderboardEntry> below = rankingJdbcDao.after(quizId, entry, k);
+        return new RankPosition(
+                rank,
+                Math.max(board.total(), rank + below.size()),
+                rankingJdbcDao.before(quizId, entry, k),
+                entry,
+                below
+        );
+    }
+
+    /** Keyset page of the whole ranking after {@code cursor} (from the top when null or blank). */
+    public RankingPage page(long quizId, String cursor, int size) {
+        int n = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        LeaderboardEntry after = RankingCursor.decode(cursor);
+
+        // One extra row says whether there's a next page
+        List<LeaderboardEntry> rows = leaderboardCache.get(quizId).after(after, n + 1);
+        if (rows == null) rows = rankingJdbcDao.after(quizId, after, n + 1);
+
+        if (rows.size() <= n) return new RankingPage(rows, null);
+        List<LeaderboardEntry> page = rows.subList(0, n);
+        return new RankingPage(List.copyOf(page), RankingCursor.encode(page.getLast()));
+    }
+
+    private static ResourceNotFoundException finishedAttemptNotFound(long attemptId) {
+        return new ResourceNotFoundException("Finished attempt not found in this quiz: " + attemptId);
     }
 }
@@ -0,0 +1,296 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.RescoreJobInfo;
+import com.quiz.quizapp.domain.entity.QuestionEntity;
+import com.quiz.quizapp.domain.jdbc.BestScoreJdbcDao;
+import com.quiz.quizapp.domain.jdbc.RescoreJdbcDao;
+import com.quiz.quizapp.domain.jdbc.RescoreJdbcDao.AnswerRow;
+import com.quiz.quizapp.domain.jdbc.RescoreJdbcDao.AnswerUpdate;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
+import com.quiz.quizapp.domain.repository.QuestionRepository;
+import com.quiz.quizapp.domain.repository.QuizRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Re-scores every stored answer of a quiz against its current answer keys, e.g. after a key was
+ * corrected. Answers are streamed a question at a time in id order through a cursor, scored in
+ * chunks on a bounded pool and written back as batched updates (only the rows whose verdict
+ * changed). Attempt scores are then recomputed in one statement.
+ *
+ * <p>Progress is checkpointed as the (question, answer id) position before which every chunk is
+ * written, so an interrupted job (failure or shutdown) resumes from there instead of starting over.
+ */
+@Service
+public class RescoreService {
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+    private final RescoreJdbcDao rescoreJdbcDao;
+    private final ScoringService scoringService;
+    private final LeaderboardCache leaderboardCache;
+    private final BestScoreJdbcDao bestScoreJdbcDao;
+    private final GlobalRankingService globalRanking;
+    private final TransactionTemplate writeTx;
+    private final int parallelism;
+    private final int chunkSize;
+
+    // One job at a time: each one already keeps `parallelism` workers and a cursor busy
+    private final ExecutorService jobRunner =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("rescore-job").daemon().factory());
+    private final ExecutorService workers;
+
+    public RescoreService(
+            QuizRepository quizRepository,
+            QuestionRepository questionRepository,
+            RescoreJdbcDao rescoreJdbcDao,
+            ScoringService scoringService,
+            LeaderboardCache leaderboardCache,
+            BestScoreJdbcDao bestScoreJdbcDao,
+            GlobalRankingService globalRanking,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.rescore.parallelism:4}") int parallelism,
+            @Value("${app.rescore.chunk-size:1000}") int chunkSize
+    ) {
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.rescoreJdbcDao = rescoreJdbcDao;
+        this.scoringService = scoringService;
+        this.leaderboardCache = leaderboardCache;
+        this.bestScoreJdbcDao = bestScoreJdbcDao;
+        this.globalRanking = globalRanking;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.workers = Executors.newFixedThreadPool(this.parallelism,
+                Thread.ofPlatform().name("rescore-worker-", 0).daemon().factory());
+    }
+
+    /** Starts a job for the quiz, or returns the one already running for it. */
+    public RescoreJobInfo start(long quizId) {
+        if (!quizRepository.existsById(quizId)) {
+            throw new ResourceNotFoundException("Quiz not found: " + quizId);
+        }
+
+        Optional<RescoreJobInfo> running = rescoreJdbcDao.findRunningJob(quizId);
+        if (running.isPresent()) return running.get();
+
+        List<Long> questionIds = questionIds(quizId);
+        long jobId;
+        try {
+            jobId = rescoreJdbcDao.createJob(quizId, rescoreJdbcDao.countAnswers(questionIds));
+        } catch (DuplicateKeyException e) {
+            // Started concurrently by someone else
+            return rescoreJdbcDao.findRunningJob(quizId).orElseThrow(() -> e);
+        }
+
+        jobRunner.execute(() -> run(jobId));
+        return get(quizId, jobId);
+    }
+
+    public RescoreJobInfo get(long quizId, long jobId) {
+        return rescoreJdbcDao.findJob(jobId)
+                .filter(j -> j.quizId() == quizId)
+                .orElseThrow(() -> new ResourceNotFoundException("Re-score job not found: " + jobId));
+    }
+
+    /** Continues a failed job from its last checkpoint. */
+    public RescoreJobInfo resume(long quizId, long jobId) {
+        RescoreJobInfo job = get(quizId, jobId);
+        if (RescoreJobInfo.COMPLETED.equals(job.status())) {
+            throw new IllegalStateException("Re-score job already completed");
+        }
+        if (RescoreJobInfo.RUNNING.equals(job.status())) return job;
+
+        try {
+            if (!rescoreJdbcDao.reopen(jobId)) return get(quizId, jobId);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("Another re-score job is running for this quiz");
+        }
+
+        jobRunner.execute(() -> run(jobId));
+        return get(quizId, jobId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void resumeInterruptedJobs() {
+        List<RescoreJobInfo> interrupted;
+        try {
+            interrupted = rescoreJdbcDao.findRunningJobs();
+        } catch (DataAccessException e) {
+            // No job table (e.g. a test context without migrations): nothing to resume
+            return;
+        }
+        for (RescoreJobInfo job : interrupted) {
+            jobRunner.execute(() -> run(job.id()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Whatever is in flight stays RUNNING and is resumed from its checkpoint on next start
+        jobRunner.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    void run(long jobId) {
+        Optional<RescoreJobInfo> job = rescoreJdbcDao.findJob(jobId);
+        if (job.isEmpty() || !RescoreJobInfo.RUNNING.equals(job.get().status())) return;
+
+        try {
+            int updatedAttempts = rescore(job.get());
+            rescoreJdbcDao.complete(jobId, updatedAttempts);
+        } catch (Exception e) {
+            String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            rescoreJdbcDao.fail(jobId, message.length() > 1000 ? message.substring(0, 1000) : message);
+        }
+    }
+
+    private int rescore(RescoreJobInfo job) {
+        var quiz = quizRepository.findById(job.quizId())
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz not found: " + job.quizId()));
+        boolean negativeEnabled = quiz.isNegativePointsEnabled();
+
+        Map<Long, QuestionEntity> questions = questionRepository.findByQuiz_Id(job.quizId(), Pageable.unpaged())
+                .stream()
+                .collect(Collectors.toMap(QuestionEntity::getId, Function.identity()));
+
+        Checkpoint checkpoint = new Checkpoint(job);
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<AnswerRow> chunk = new ArrayList<>(chunkSize);
+        long[] nextSeq = {0};
+
+        Runnable dispatch = () -> {
+            List<AnswerRow> rows = List.copyOf(chunk);
+            long seq = nextSeq[0]++;
+            chunk.clear();
+            // Backpressure: the cursor waits while enough chunks are queued or being written
+            inFlight.acquireUninterruptibly();
+            try {
+                workers.execute(() -> {
+                    try {
+                        int changed = scoreAndWrite(rows, questions, negativeEnabled);
+                        AnswerRow last = rows.getLast();
+                        checkpoint.done(seq, new ChunkResult(last.questionId(), last.id(), rows.size(), changed));
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                throw e;
+            }
+        };
+
+        try {
+            for (long questionId : questions.keySet().stream().sorted().toList()) {
+                if (questionId < job.lastQuestionId()) continue; // walked before the checkpoint
+                long afterId = questionId == job.lastQuestionId() ? job.lastAnswerId() : 0;
+                rescoreJdbcDao.streamAnswers(questionId, afterId, chunkSize, row -> {
+                    if (failure.get() != null) throw failed(failure.get());
+                    chunk.add(row);
+                    if (chunk.size() == chunkSize) dispatch.run();
+                });
+            }
+            if (!chunk.isEmpty()) dispatch.run();
+        } finally {
+            inFlight.acquireUninterruptibly(parallelism * 2);
+        }
+
+        if (failure.get() != null) throw failed(failure.get());
+        int updated = rescoreJdbcDao.recomputeScores(job.quizId());
+        // Finished scores changed under the board and the best-score entries; the next reader
+        // loads the board again, the entries and their players' totals are worked out afresh
+        leaderboardCache.evict(job.quizId());
+        writeTx.executeWithoutResult(status -> bestScoreJdbcDao.rebuild(job.quizId()));
+        globalRanking.touchAll(bestScoreJdbcDao.players(job.quizId()));
+        return updated;
+    }
+
+    private int scoreAndWrite(List<AnswerRow> rows, Map<Long, QuestionEntity> questions, boolean negativeEnabled) {
+        List<AnswerUpdate> updates = new ArrayList<>();
+        for (AnswerRow row : rows) {
+            QuestionEntity q = questions.get(row.questionId());
+            if (q == null) continue; // not one of the questions this run loaded; left as it is
+            boolean correct = scoringService.isCorrect(q, row.answerJson());
+            int points = q.getPoints();
+            int awarded = correct ? points : (negativeEnabled ? -points : 0);
+
+            if (correct != row.correct() || awarded != row.awardedPoints()) {
+                updates.add(new AnswerUpdate(row.id(), correct, awarded));
+            }
+        }
+        writeTx.executeWithoutResult(status -> rescoreJdbcDao.updateAnswers(updates));
+        return updates.size();
+    }
+
+    private static IllegalStateException failed(Exception cause) {
+        return new IllegalStateException("Re-score failed: " + cause.getMessage(), cause);
+    }
+
+    private List<Long> questionIds(long quizId) {
+        return questionRepository.findByQuiz_Id(quizId, Pageable.unpaged()).stream()
+                .map(QuestionEntity::getId)
+                .toList();
+    }
+
+    /**
+     * Chunks finish out of order; the saved position only moves past a chunk once every chunk
+     * before it is written too, so resuming never skips rows.
+     */
+    private final class Checkpoint {
+
+        private final long jobId;
+        private final SortedMap<Long, ChunkResult> finished = new TreeMap<>();
+        private long nextSeq;
+        private long lastQuestionId;
+        private long lastAnswerId;
+        private long processed;
+        private long changed;
+
+        Checkpoint(RescoreJobInfo job) {
+            this.jobId = job.id();
+            this.lastQuestionId = job.lastQuestionId();
+            this.lastAnswerId = job.lastAnswerId();
+            this.processed = job.processedAnswers();
+            this.changed = job.changedAnswers();
+        }
+
+        synchronized void done(long seq, ChunkResult result) {
+            finished.put(seq, result);
+
+            boolean advanced = false;
+            for (ChunkResult next; (next = finished.remove(nextSeq)) != null; nextSeq++) {
+                lastQuestionId = next.lastQuestionId();
+                lastAnswerId = next.lastAnswerId();
+                processed += next.rows();
+                changed += next.changed();
+                advanced = true;
+            }
+            if (advanced) rescoreJdbcDao.saveProgress(jobId, lastQuestionId, lastAnswerId, processed, changed);
+        }
+    }
+
+    private record ChunkResult(long lastQuestionId, long lastAnswerId, int rows, int changed) {}
+}
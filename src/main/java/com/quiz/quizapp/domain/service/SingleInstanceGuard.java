@@ -0,0 +1,80 @@
+package com.quiz.quizapp.domain.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Refuses to start a second instance against the same database. Much of the app keeps state it
+ * only stays right about by seeing every write itself: {@link QuizVersions} (behind the quiz
+ * snapshots, answer keys and ETags), the leaderboards, the answer draft buffer and the expiry
+ * queue. A second instance would score submits and answer 304s from stale copies, so startup
+ * fails instead.
+ *
+ * <p>Holds a Postgres session advisory lock on one pooled connection for the life of the process.
+ */
+@Component
+public class SingleInstanceGuard {
+
+    // Any fixed number will do, as long as nothing else locks it: "quizapp" in ASCII
+    static final long LOCK_KEY = 0x7175697a617070L;
+
+    private final DataSource dataSource;
+    private final boolean enforce;
+    private Connection held;
+
+    public SingleInstanceGuard(
+            DataSource dataSource,
+            @Value("${app.single-instance.enforce:true}") boolean enforce
+    ) {
+        this.dataSource = dataSource;
+        this.enforce = enforce;
+    }
+
+    @PostConstruct
+    void acquire() throws SQLException {
+        if (!enforce) return;
+        Connection con = dataSource.getConnection();
+        try (PreparedStatement ps = con.prepareStatement("select pg_try_advisory_lock(?)")) {
+            ps.setLong(1, LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next() && rs.getBoolean(1)) {
+                    held = con;
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            con.close();
+            throw e;
+        }
+        con.close();
+        throw new IllegalStateException("Another instance is already running against this database; "
+                + "this app keeps quiz versions, leaderboards and buffers in memory and supports one instance only "
+                + "(app.single-instance.enforce)");
+    }
+
+    @PreDestroy
+    void release() {
+        if (held == null) return;
+        // Unlocked explicitly: closing only hands the connection back to the pool, lock and all
+        try (Connection con = held; PreparedStatement ps = con.prepareStatement("select pg_advisory_unlock(?)")) {
+            ps.setLong(1, LOCK_KEY);
+            ps.execute();
+        } catch (SQLException e) {
+            // The lock goes with the session once the pool closes the connection
+        } finally {
+            held = null;
+        }
+    }
+
+    boolean holdsLock() {
+        return held != null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.dto.SubmitOutcome;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Recently finished submits, by attempt id, with the key they were submitted under. A client
+ * retrying the same submit gets the stored outcome back from here without touching the database;
+ * once an entry is evicted, {@link GameplayService} falls back to the key stored on the attempt.
+ */
+@Component
+public class SubmitOutcomeCache {
+
+    private final Map<Long, Entry> entries;
+
+    public SubmitOutcomeCache(@Value("${app.attempts.submit-cache.max-entries:10000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > Math.max(1, maxEntries);
+            }
+        };
+    }
+
+    /** The stored outcome, or null when this attempt isn't cached. */
+    public Entry get(long attemptId) {
+        synchronized (entries) {
+            return entries.get(attemptId);
+        }
+    }
+
+    public void put(String submitKey, SubmitOutcome outcome) {
+        synchronized (entries) {
+            entries.put(outcome.attemptId(), new Entry(submitKey, outcome));
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public record Entry(String submitKey, SubmitOutcome outcome) {}
+}
@@ -3,7 +3,6 @@ package com.quiz.quizapp.web;
 import com.quiz.quizapp.application.creator.CreatorQuizFacade;
 import com.quiz.quizapp.web.dto.CreateQuizForm;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -21,10 +20,12 @@ public class CreatorQuizController {
     }
 
     @GetMapping
-    public String list(Model model) {
-        var page = creatorQuizFacade.list(PageRequest.of(0, 50));
+    public String list(Model model, @RequestParam(required = false) String after) {
+        var page = creatorQuizFacade.list(after, 50);
 
         model.addAttribute("quizzes", page.getContent());
+        model.addAttribute("after", after);
+        model.addAttribute("nextCursor", creatorQuizFacade.nextCursor(page));
         model.addAttribute("title", "Creator • Quizzes");
 
         model.addAttribute("contentTemplate", "creator/quizzes");
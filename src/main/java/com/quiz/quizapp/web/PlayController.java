@@ -19,8 +19,8 @@ public class PlayController {
     }
 
     @GetMapping
-    public String home(Model model) {
-        model.addAttribute("quizzes", playFacade.listPlayableQuizzes());
+    public String home(Model model, @RequestParam(required = false) String after) {
+        model.addAllAttributes(playFacade.getHomeViewModel(after));
         return "play/home";
     }
 
@@ -54,6 +54,16 @@ public class PlayController {
         return "redirect:/play/quizzes/" + outcome.quizId() + "/ranking";
     }
 
+    @GetMapping("/ranking")
+    public String globalRanking(
+            Model model,
+            @RequestParam(defaultValue = "total") String metric,
+            @RequestParam(defaultValue = "25") int limit
+    ) {
+        model.addAllAttributes(playFacade.getGlobalRankingViewModel(metric, limit));
+        return "play/global-ranking";
+    }
+
     @GetMapping("/quizzes/{quizId}/ranking")
     public String ranking(@PathVariable long quizId, Model model, @RequestParam(defaultValue = "10") int limit) {
         model.addAllAttributes(playFacade.getRankingViewModel(quizId, limit));
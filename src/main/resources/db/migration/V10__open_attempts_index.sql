@@ -0,0 +1,3 @@
+-- Open attempts only: lets the expiry sweeper reload every pending deadline on startup without
+-- scanning finished attempts, and stays small since attempts leave it once finished
+create index idx_attempts_open on attempts(quiz_id, started_at) where finished_at is null;
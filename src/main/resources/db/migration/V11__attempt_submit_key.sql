@@ -0,0 +1,2 @@
+-- Key the finishing submit was sent with, so a retried submit gets its result back
+alter table attempts add column submit_key varchar(100);
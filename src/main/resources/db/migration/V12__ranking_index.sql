@@ -0,0 +1,8 @@
+-- Finished attempts in exactly the ranking order, with the nickname carried along: ranking pages,
+-- rank counts and keyset scans read straight off this index, without a sort or heap fetches.
+-- It replaces idx_attempts_quiz_score, which also held open attempts and stopped at the score
+create index idx_attempts_ranking on attempts(quiz_id, score desc, finished_at asc, id asc)
+    include (nickname)
+    where finished_at is not null;
+
+drop index if exists idx_attempts_quiz_score;
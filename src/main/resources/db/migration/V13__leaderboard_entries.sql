@@ -0,0 +1,26 @@
+-- Each player's best finished attempt per quiz, players told apart by trimmed, lower-cased
+-- nickname. Kept up to date by an upsert on finish; existing attempts are filled in by the
+-- backfill job in batches, tracked in leaderboard_backfill
+create table leaderboard_entries (
+                                     quiz_id bigint not null,
+                                     nickname_key varchar(60) not null,
+                                     nickname varchar(60) not null,
+                                     attempt_id bigint not null references attempts(id) on delete cascade,
+                                     score int not null,
+                                     finished_at timestamptz not null,
+                                     primary key (quiz_id, nickname_key)
+);
+
+create index idx_leaderboard_entries_ranking
+    on leaderboard_entries(quiz_id, score desc, finished_at asc, attempt_id asc)
+    include (nickname);
+
+create index idx_leaderboard_entries_attempt on leaderboard_entries(attempt_id);
+
+create table leaderboard_backfill (
+                                      id int primary key check (id = 1),
+                                      last_attempt_id bigint not null default 0,
+                                      completed_at timestamptz
+);
+
+insert into leaderboard_backfill(id) values (1);
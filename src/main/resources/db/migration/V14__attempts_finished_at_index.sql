@@ -0,0 +1,5 @@
+-- Finished attempts by finish time: loading a quiz's windowed leaderboards reads only the days
+-- still retained instead of every result the quiz ever had
+create index idx_attempts_recent on attempts(quiz_id, finished_at)
+    include (score, nickname)
+    where finished_at is not null;
@@ -0,0 +1,17 @@
+-- Site-wide standing per player (same nickname key as leaderboard_entries): the sum of their
+-- best score on every quiz they finished. Derived from leaderboard_entries, so it can always be
+-- rebuilt from there
+create table player_totals (
+                               nickname_key varchar(60) primary key,
+                               nickname varchar(60) not null,
+                               total_score bigint not null,
+                               quizzes int not null,
+                               average_score numeric(12, 2) generated always as (round(total_score::numeric / greatest(quizzes, 1), 2)) stored,
+                               updated_at timestamptz not null default now()
+);
+
+create index idx_player_totals_total on player_totals(total_score desc, nickname_key);
+create index idx_player_totals_average on player_totals(average_score desc, nickname_key);
+
+-- One player's entries across quizzes, to recompute their totals
+create index idx_leaderboard_entries_player on leaderboard_entries(nickname_key) include (score, nickname);
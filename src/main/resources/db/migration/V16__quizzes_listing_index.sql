@@ -0,0 +1,3 @@
+-- Quiz listings page by (created_at, id), newest first, seeking past the last row shown instead
+-- of counting and skipping; this index serves every page, however deep
+create index idx_quizzes_listing on quizzes(created_at desc, id desc);
@@ -0,0 +1,3 @@
+-- Re-score jobs walk one question at a time; the checkpoint is the (question, answer id) position.
+-- A job checkpointed before this starts its walk over from the first question.
+alter table rescore_jobs add column last_question_id bigint not null default 0;
@@ -0,0 +1,22 @@
+create table rescore_jobs (
+                              id bigserial primary key,
+                              quiz_id bigint not null references quizzes(id) on delete cascade,
+                              status varchar(20) not null,
+                              total_answers bigint not null default 0,
+                              processed_answers bigint not null default 0,
+                              changed_answers bigint not null default 0,
+                              last_answer_id bigint not null default 0,
+                              updated_attempts int not null default 0,
+                              error varchar(1000),
+                              created_at timestamptz not null default now(),
+                              updated_at timestamptz not null default now(),
+                              finished_at timestamptz
+);
+
+create index idx_rescore_jobs_quiz on rescore_jobs(quiz_id, id desc);
+
+-- At most one running job per quiz
+create unique index ux_rescore_jobs_running on rescore_jobs(quiz_id) where status = 'RUNNING';
+
+-- Lets a re-score walk one quiz's answers in id order, and resume from a checkpoint
+create index idx_attempt_answers_question_id on attempt_answers(question_id, id);
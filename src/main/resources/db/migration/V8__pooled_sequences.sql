@@ -0,0 +1,19 @@
+-- Hibernate now draws ids from these sequences with the pooled optimizer: one nextval reserves a
+-- block of `increment` ids ending at the returned value. The increments must equal the
+-- allocationSize of the matching @SequenceGenerator, or schema validation fails on startup.
+-- Plain inserts relying on the column default still work; they just consume a whole block.
+
+alter sequence quizzes_id_seq increment by 50;
+alter sequence questions_id_seq increment by 50;
+alter sequence attempts_id_seq increment by 100;
+alter sequence attempt_answers_id_seq increment by 100;
+
+-- Move each sequence past every existing id, so the first block handed out is entirely unused
+select setval('quizzes_id_seq',
+              greatest(coalesce((select max(id) from quizzes), 0), (select last_value from quizzes_id_seq), 1));
+select setval('questions_id_seq',
+              greatest(coalesce((select max(id) from questions), 0), (select last_value from questions_id_seq), 1));
+select setval('attempts_id_seq',
+              greatest(coalesce((select max(id) from attempts), 0), (select last_value from attempts_id_seq), 1));
+select setval('attempt_answers_id_seq',
+              greatest(coalesce((select max(id) from attempt_answers), 0), (select last_value from attempt_answers_id_seq), 1));
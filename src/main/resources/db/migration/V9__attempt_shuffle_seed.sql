@@ -0,0 +1,5 @@
+-- Seed for the per-attempt question/option order, so the order is stable across page loads
+alter table attempts add column shuffle_seed bigint not null default 0;
+
+-- Existing attempts just need some fixed value
+update attempts set shuffle_seed = id;
@@ -2,28 +2,42 @@ package com.quiz.quizapp.api;
 
 import com.quiz.quizapp.api.dto.RankingRowResponse;
 import com.quiz.quizapp.domain.dto.AttemptInfo;
+import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import com.quiz.quizapp.domain.ranking.LeaderboardEntry;
+import com.quiz.quizapp.domain.ranking.RankPosition;
+import com.quiz.quizapp.domain.ranking.RankingPage;
 import com.quiz.quizapp.domain.service.AttemptService;
+import com.quiz.quizapp.domain.service.GameplayService;
+import com.quiz.quizapp.domain.service.QuizVersions;
 import com.quiz.quizapp.domain.service.RankingService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+@Import({QuizETags.class, QuizVersions.class})
 @WebMvcTest(controllers = AttemptController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class AttemptControllerWebMvcTest {
@@ -35,12 +49,21 @@ class AttemptControllerWebMvcTest {
     @Autowired
     private MockMvc mvc;
 
+    @Autowired
+    private QuizETags quizETags;
+
+    @Autowired
+    private QuizVersions quizVersions;
+
     @MockitoBean
     private AttemptService attemptService;
 
     @MockitoBean
     private RankingService rankingService;
 
+    @MockitoBean
+    private GameplayService gameplayService;
+
     @Test
     void start_returns200AndAttemptIdentifiers() throws Exception {
         when(attemptService.start(eq(QUIZ_ID), eq(NICKNAME)))
@@ -57,6 +80,55 @@ class AttemptControllerWebMvcTest {
         verifyNoMoreInteractions(attemptService, rankingService);
     }
 
+    @Test
+    void startAll_returnsAttemptsInRequestOrderWithoutQuestionsByDefault() throws Exception {
+        when(attemptService.startAll(QUIZ_ID, List.of("a", "b"))).thenReturn(List.of(
+                new AttemptInfo(10L, QUIZ_ID, "a", 0, OffsetDateTime.now(), null),
+                new AttemptInfo(11L, QUIZ_ID, "b", 0, OffsetDateTime.now(), null)));
+
+        mvc.perform(post("/api/v1/quizzes/1/attempts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nicknames\":[\"a\",\"b\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attempts[0].id").value(10))
+                .andExpect(jsonPath("$.attempts[1].nickname").value("b"))
+                .andExpect(jsonPath("$.questions").doesNotExist());
+
+        verifyNoInteractions(gameplayService);
+    }
+
+    @Test
+    void startAll_includesFirstPageOfQuestionsWhenAsked() throws Exception {
+        when(attemptService.startAll(QUIZ_ID, List.of("a"))).thenReturn(List.of(
+                new AttemptInfo(10L, QUIZ_ID, "a", 0, OffsetDateTime.now(), null)));
+        when(gameplayService.questionsForQuiz(QUIZ_ID)).thenReturn(List.of(
+                new QuestionForPlayDto(1L, "TRUE_FALSE", "p1", 1, null),
+                new QuestionForPlayDto(2L, "TRUE_FALSE", "p2", 1, null),
+                new QuestionForPlayDto(3L, "TRUE_FALSE", "p3", 1, null)));
+
+        mvc.perform(post("/api/v1/quizzes/1/attempts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nicknames\":[\"a\"],\"questionPageSize\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.questions.length()").value(2))
+                .andExpect(jsonPath("$.questions[1].prompt").value("p2"))
+                .andExpect(jsonPath("$.totalQuestions").value(3));
+    }
+
+    @Test
+    void startAll_rejectsEmptyOrBlankNicknames() throws Exception {
+        mvc.perform(post("/api/v1/quizzes/1/attempts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nicknames\":[]}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/v1/quizzes/1/attempts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nicknames\":[\"a\",\" \"]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(attemptService);
+    }
+
     @Test
     void finish_returns200AndScore() throws Exception {
         when(attemptService.finish(eq(ATTEMPT_ID), eq(10)))
@@ -79,10 +151,95 @@ class AttemptControllerWebMvcTest {
 
         mvc.perform(get("/api/v1/quizzes/1/ranking?limit=10"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, quizETags.results(QUIZ_ID)))
                 .andExpect(jsonPath("$[0].nickname").value("nick"))
                 .andExpect(jsonPath("$[0].score").value(5));
 
         verify(rankingService).topForQuiz(QUIZ_ID, 10);
         verifyNoMoreInteractions(attemptService, rankingService);
     }
+
+    @Test
+    void ranking_returns304UntilAnAttemptFinishes() throws Exception {
+        String etag = quizETags.results(2L);
+
+        mvc.perform(get("/api/v1/quizzes/2/ranking").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verifyNoInteractions(rankingService);
+
+        quizVersions.bumpResults(2L);
+        when(rankingService.topForQuiz(2L, 10)).thenReturn(List.of());
+        mvc.perform(get("/api/v1/quizzes/2/ranking").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(rankingService).topForQuiz(2L, 10);
+    }
+
+    @Test
+    void attemptRank_returnsRankPercentileAndNeighbours() throws Exception {
+        OffsetDateTime t = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+        var above = new LeaderboardEntry(4L, "bob", 9, t);
+        var self = new LeaderboardEntry(ATTEMPT_ID, NICKNAME, 7, t);
+        when(rankingService.position(QUIZ_ID, ATTEMPT_ID, 1))
+                .thenReturn(new RankPosition(2, 4, List.of(above), self, List.of()));
+
+        mvc.perform(get("/api/v1/quizzes/1/ranking/attempts/9?around=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(2))
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.percentile").value(75.0))
+                .andExpect(jsonPath("$.score").value(7))
+                .andExpect(jsonPath("$.above[0].nickname").value("bob"))
+                .andExpect(jsonPath("$.below").isEmpty());
+    }
+
+    @Test
+    void rankingPage_passesCursorAndReturnsNext() throws Exception {
+        OffsetDateTime t = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+        when(rankingService.page(QUIZ_ID, "abc", 1))
+                .thenReturn(new RankingPage(List.of(new LeaderboardEntry(4L, "bob", 9, t)), "def"));
+
+        mvc.perform(get("/api/v1/quizzes/1/ranking/entries?after=abc&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].attemptId").value(4))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    void rankingPage_returns400ForBadCursor() throws Exception {
+        when(rankingService.page(QUIZ_ID, "bad", 50)).thenThrow(new IllegalArgumentException("Invalid ranking cursor"));
+
+        mvc.perform(get("/api/v1/quizzes/1/ranking/entries?after=bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bestRanking_returnsOneRowPerPlayer() throws Exception {
+        when(rankingService.bestForQuiz(QUIZ_ID, 3)).thenReturn(List.of(new RankingRowResponse(NICKNAME, 8)));
+
+        mvc.perform(get("/api/v1/quizzes/1/ranking/players?limit=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nickname").value("nick"))
+                .andExpect(jsonPath("$[0].score").value(8));
+    }
+
+    @Test
+    void windowRanking_parsesTheCustomRange() throws Exception {
+        when(rankingService.windowTop(QUIZ_ID, "custom", LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 7), 10))
+                .thenReturn(List.of(new RankingRowResponse(NICKNAME, 4)));
+
+        mvc.perform(get("/api/v1/quizzes/1/ranking/window?period=custom&from=2026-10-01&to=2026-10-07"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].score").value(4));
+    }
+
+    @Test
+    void rankingEvents_opensTheLiveStream() throws Exception {
+        when(rankingService.subscribe(QUIZ_ID)).thenReturn(new SseEmitter());
+
+        mvc.perform(get("/api/v1/quizzes/1/ranking/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(rankingService).subscribe(QUIZ_ID);
+    }
 }
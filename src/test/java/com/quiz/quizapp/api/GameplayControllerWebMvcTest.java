@@ -1,12 +1,16 @@
 package com.quiz.quizapp.api;
 
+import com.quiz.quizapp.domain.dto.AttemptQuestions;
 import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
 import com.quiz.quizapp.domain.dto.SubmitOutcome;
 import com.quiz.quizapp.domain.service.GameplayService;
+import com.quiz.quizapp.domain.service.QuizVersions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,14 +19,19 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+@Import({QuizETags.class, QuizVersions.class})
 @WebMvcTest(controllers = GameplayController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class GameplayControllerWebMvcTest {
@@ -32,27 +41,53 @@ class GameplayControllerWebMvcTest {
     @Autowired
     private MockMvc mvc;
 
+    @Autowired
+    private QuizETags quizETags;
+
+    @Autowired
+    private QuizVersions quizVersions;
+
     @MockitoBean
     private GameplayService gameplayService;
 
     @Test
     void questions_returns200AndFirstQuestionMetadata() throws Exception {
-        when(gameplayService.questionsForAttempt(ATTEMPT_ID)).thenReturn(List.of(
+        when(gameplayService.attemptQuestions(ATTEMPT_ID)).thenReturn(new AttemptQuestions(3L, 0, List.of(
                 new QuestionForPlayDto(1L, "SINGLE_CHOICE", "P", 1, "[\"A\",\"B\"]")
-        ));
+        )));
 
         mvc.perform(get("/api/v1/attempts/5/questions"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, quizETags.content(3L)))
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].type").value("SINGLE_CHOICE"));
 
-        verify(gameplayService).questionsForAttempt(ATTEMPT_ID);
+        verify(gameplayService).attemptQuestions(ATTEMPT_ID);
         verifyNoMoreInteractions(gameplayService);
     }
 
+    @Test
+    void questions_returns304ForTheQuizsCurrentTagWithoutCallingTheService() throws Exception {
+        mvc.perform(get("/api/v1/attempts/5/questions").header(HttpHeaders.IF_NONE_MATCH, quizETags.content(3L)))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(gameplayService);
+    }
+
+    @Test
+    void questions_returns200OnceTheQuizChanged() throws Exception {
+        String stale = quizETags.content(4L);
+        quizVersions.bump(4L);
+        when(gameplayService.attemptQuestions(ATTEMPT_ID)).thenReturn(new AttemptQuestions(4L, 1, List.of()));
+
+        mvc.perform(get("/api/v1/attempts/5/questions").header(HttpHeaders.IF_NONE_MATCH, stale))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, quizETags.content(4L)));
+    }
+
     @Test
     void submit_returns200AndOutcomeTotals() throws Exception {
-        when(gameplayService.submitAndFinish(eq(ATTEMPT_ID), any()))
+        when(gameplayService.submitAndFinish(eq(ATTEMPT_ID), isNull(), any()))
                 .thenReturn(new SubmitOutcome(ATTEMPT_ID, 7));
 
         mvc.perform(post("/api/v1/attempts/5/submit")
@@ -68,7 +103,57 @@ class GameplayControllerWebMvcTest {
                 .andExpect(jsonPath("$.attemptId").value(5))
                 .andExpect(jsonPath("$.totalScore").value(7));
 
-        verify(gameplayService).submitAndFinish(eq(ATTEMPT_ID), any());
+        verify(gameplayService).submitAndFinish(eq(ATTEMPT_ID), isNull(), any());
+        verifyNoMoreInteractions(gameplayService);
+    }
+
+    @Test
+    void saveAnswer_returns202AndBuffersAnswer() throws Exception {
+        mvc.perform(put("/api/v1/attempts/5/answers/3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"answerJson": "{\\"value\\":\\"A\\"}"}
+                                """))
+                .andExpect(status().isAccepted());
+
+        verify(gameplayService).saveAnswer(ATTEMPT_ID, 3L, "{\"value\":\"A\"}");
         verifyNoMoreInteractions(gameplayService);
     }
+
+    @Test
+    void saveAnswer_returns400WhenAnswerBlank() throws Exception {
+        mvc.perform(put("/api/v1/attempts/5/answers/3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"answerJson\": \"\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoMoreInteractions(gameplayService);
+    }
+
+    @Test
+    void submit_acceptsEmptyAnswersToSubmitSavedOnes() throws Exception {
+        when(gameplayService.submitAndFinish(eq(ATTEMPT_ID), isNull(), any()))
+                .thenReturn(new SubmitOutcome(ATTEMPT_ID, 3));
+
+        mvc.perform(post("/api/v1/attempts/5/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"answers\": []}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalScore").value(3));
+    }
+
+    @Test
+    void submit_passesIdempotencyKeyHeader() throws Exception {
+        when(gameplayService.submitAndFinish(eq(ATTEMPT_ID), eq("retry-1"), any()))
+                .thenReturn(new SubmitOutcome(ATTEMPT_ID, 4));
+
+        mvc.perform(post("/api/v1/attempts/5/submit")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"answers\": []}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalScore").value(4));
+
+        verify(gameplayService).submitAndFinish(eq(ATTEMPT_ID), eq("retry-1"), any());
+    }
 }
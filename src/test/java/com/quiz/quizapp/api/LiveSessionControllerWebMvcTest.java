@@ -0,0 +1,110 @@
+package com.quiz.quizapp.api;
+
+import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.LiveSessionInfo;
+import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import com.quiz.quizapp.domain.live.LiveSession;
+import com.quiz.quizapp.domain.live.LiveSession.QuestionResult;
+import com.quiz.quizapp.domain.live.LiveSessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = LiveSessionController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class LiveSessionControllerWebMvcTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private LiveSessionService liveSessionService;
+
+    @Test
+    void create_returns201WithLocationAndCode() throws Exception {
+        when(liveSessionService.create(5L)).thenReturn(info("LOBBY", -1, null));
+
+        mvc.perform(post("/api/v1/live/sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quizId\":5}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/v1/live/sessions/ABC234"))
+                .andExpect(jsonPath("$.id").value("ABC234"))
+                .andExpect(jsonPath("$.question").doesNotExist());
+    }
+
+    @Test
+    void next_returnsOpenQuestion() throws Exception {
+        when(liveSessionService.next("ABC234")).thenReturn(
+                info("QUESTION_OPEN", 0, new QuestionForPlayDto(11L, "TRUE_FALSE", "Sky is blue?", 1, null)));
+
+        mvc.perform(post("/api/v1/live/sessions/ABC234/next"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("QUESTION_OPEN"))
+                .andExpect(jsonPath("$.question.prompt").value("Sky is blue?"));
+    }
+
+    @Test
+    void answer_returns204() throws Exception {
+        mvc.perform(put("/api/v1/live/sessions/ABC234/answers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerToken\":\"t\",\"questionId\":11,\"answerJson\":\"{\\\"value\\\":true}\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(liveSessionService).answer("ABC234", "t", 11L, "{\"value\":true}");
+    }
+
+    @Test
+    void answer_returns409WhenQuestionNotOpen() throws Exception {
+        doThrow(new IllegalStateException("Question is not open"))
+                .when(liveSessionService).answer(anyString(), anyString(), anyLong(), anyString());
+
+        mvc.perform(put("/api/v1/live/sessions/ABC234/answers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerToken\":\"t\",\"questionId\":11,\"answerJson\":\"{}\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void join_returns404ForUnknownSession() throws Exception {
+        when(liveSessionService.join("NOPE42", "a")).thenThrow(new ResourceNotFoundException("Live session not found"));
+
+        mvc.perform(post("/api/v1/live/sessions/NOPE42/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nickname\":\"a\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void closeAndEnd_returnTotalsAndStandings() throws Exception {
+        when(liveSessionService.close("ABC234")).thenReturn(new QuestionResult(0, 11L, 40, 31));
+        when(liveSessionService.end("ABC234")).thenReturn(List.of(new LiveSession.Standing("alice", 7)));
+
+        mvc.perform(post("/api/v1/live/sessions/ABC234/close"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.answered").value(40))
+                .andExpect(jsonPath("$.correct").value(31));
+        mvc.perform(post("/api/v1/live/sessions/ABC234/end"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nickname").value("alice"))
+                .andExpect(jsonPath("$[0].score").value(7));
+    }
+
+    private static LiveSessionInfo info(String status, int index, QuestionForPlayDto q) {
+        return new LiveSessionInfo("ABC234", 5L, "Quiz", status, index, 3, 0, q);
+    }
+}
@@ -0,0 +1,53 @@
+package com.quiz.quizapp.api;
+
+import com.quiz.quizapp.domain.ranking.PlayerMetric;
+import com.quiz.quizapp.domain.ranking.PlayerStanding;
+import com.quiz.quizapp.domain.service.RankingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = PlayerRankingController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class PlayerRankingControllerWebMvcTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private RankingService rankingService;
+
+    @Test
+    void players_returnsRankedStandings() throws Exception {
+        when(rankingService.topPlayers(PlayerMetric.AVERAGE, 2)).thenReturn(List.of(
+                new PlayerStanding("ann", "Ann", 90, 3, 30.0),
+                new PlayerStanding("bob", "Bob", 50, 2, 25.0)));
+
+        mvc.perform(get("/api/v1/rankings/players?metric=average&limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[0].nickname").value("Ann"))
+                .andExpect(jsonPath("$[0].averageScore").value(30.0))
+                .andExpect(jsonPath("$[1].rank").value(2))
+                .andExpect(jsonPath("$[1].totalScore").value(50));
+    }
+
+    @Test
+    void players_rejectsUnknownMetric() throws Exception {
+        mvc.perform(get("/api/v1/rankings/players?metric=median"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(rankingService);
+    }
+}
@@ -1,16 +1,20 @@
 package com.quiz.quizapp.api;
 
 import com.quiz.quizapp.domain.dto.QuizCreateCommand;
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.dto.QuizInfo;
 import com.quiz.quizapp.domain.dto.QuizUpdateCommand;
 import com.quiz.quizapp.domain.service.QuizService;
+import com.quiz.quizapp.domain.service.QuizVersions;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,6 +25,7 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -31,6 +36,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+@Import({QuizETags.class, QuizVersions.class})
 @WebMvcTest(controllers = QuizController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class QuizControllerWebMvcTest {
@@ -40,24 +46,52 @@ class QuizControllerWebMvcTest {
     @Autowired
     private MockMvc mvc;
 
+    @Autowired
+    private QuizETags quizETags;
+
+    @Autowired
+    private QuizVersions quizVersions;
+
     @MockitoBean
     private QuizService quizService;
 
     @Test
     void list_returns200AndFirstRowIdentifiers() throws Exception {
         var info = new QuizInfo(QUIZ_ID, "T", "D", false, false, null, false, OffsetDateTime.now());
-        when(quizService.list(any()))
-                .thenReturn(new PageImpl<>(List.of(info), PageRequest.of(0, 20), 1));
+        when(quizService.list(null, 20))
+                .thenReturn(new SliceImpl<>(List.of(info), PageRequest.of(0, 20), false));
 
         mvc.perform(get("/api/v1/quizzes"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content[0].id").value(1))
-                .andExpect(jsonPath("$.content[0].title").value("T"));
+                .andExpect(jsonPath("$.quizzes[0].id").value(1))
+                .andExpect(jsonPath("$.quizzes[0].title").value("T"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
-        verify(quizService).list(any());
+        verify(quizService).list(null, 20);
         verifyNoMoreInteractions(quizService);
     }
 
+    @Test
+    void list_followsTheCursorAndReturnsTheNextOne() throws Exception {
+        var at = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+        var cursor = new QuizCursor(at.plusHours(1), 9L);
+        var info = new QuizInfo(8L, "T", "D", false, false, null, false, at);
+        when(quizService.list(cursor, 1)).thenReturn(new SliceImpl<>(List.of(info), PageRequest.of(0, 1), true));
+
+        mvc.perform(get("/api/v1/quizzes").param("after", cursor.encode()).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quizzes[0].id").value(8))
+                .andExpect(jsonPath("$.nextCursor").value(new QuizCursor(at, 8L).encode()));
+    }
+
+    @Test
+    void list_returns400ForABadCursor() throws Exception {
+        mvc.perform(get("/api/v1/quizzes").param("after", "not a cursor"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(quizService);
+    }
+
     @Test
     void get_returns200AndTitle() throws Exception {
         var info = new QuizInfo(QUIZ_ID, "T", "D", false, false, null, false, OffsetDateTime.now());
@@ -148,4 +182,32 @@ class QuizControllerWebMvcTest {
         mvc.perform(delete("/api/v1/quizzes/1"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void get_returnsAnETagAndThen304UntilTheQuizChanges() throws Exception {
+        var info = new QuizInfo(7L, "T", "D", false, false, null, false, OffsetDateTime.now());
+        when(quizService.get(7L)).thenReturn(info);
+
+        String etag = mvc.perform(get("/api/v1/quizzes/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/api/v1/quizzes/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(quizService).get(7L);
+
+        quizVersions.bump(7L);
+        mvc.perform(get("/api/v1/quizzes/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, quizETags.content(7L)));
+    }
+
+    @Test
+    void get_returns304WithoutCallingTheService() throws Exception {
+        mvc.perform(get("/api/v1/quizzes/8").header(HttpHeaders.IF_NONE_MATCH, quizETags.content(8L)))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(quizService);
+    }
 }
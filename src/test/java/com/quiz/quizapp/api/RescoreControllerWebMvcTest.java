@@ -0,0 +1,79 @@
+package com.quiz.quizapp.api;
+
+import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.RescoreJobInfo;
+import com.quiz.quizapp.domain.service.RescoreService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = RescoreController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class RescoreControllerWebMvcTest {
+
+    private static final long QUIZ_ID = 1L;
+    private static final long JOB_ID = 7L;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private RescoreService rescoreService;
+
+    @Test
+    void start_returns202WithLocationAndProgress() throws Exception {
+        when(rescoreService.start(QUIZ_ID)).thenReturn(job(RescoreJobInfo.RUNNING, 400, 100));
+
+        mvc.perform(post("/api/v1/quizzes/1/rescore-jobs"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/quizzes/1/rescore-jobs/7"))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.percentDone").value(25));
+
+        verify(rescoreService).start(QUIZ_ID);
+    }
+
+    @Test
+    void get_reportsCompletedEmptyJobAsDone() throws Exception {
+        when(rescoreService.get(QUIZ_ID, JOB_ID)).thenReturn(job(RescoreJobInfo.COMPLETED, 0, 0));
+
+        mvc.perform(get("/api/v1/quizzes/1/rescore-jobs/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.percentDone").value(100));
+    }
+
+    @Test
+    void get_returns404WhenJobMissing() throws Exception {
+        when(rescoreService.get(QUIZ_ID, JOB_ID)).thenThrow(new ResourceNotFoundException("Re-score job not found: 7"));
+
+        mvc.perform(get("/api/v1/quizzes/1/rescore-jobs/7"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void resume_returns409WhenAlreadyCompleted() throws Exception {
+        when(rescoreService.resume(QUIZ_ID, JOB_ID)).thenThrow(new IllegalStateException("Re-score job already completed"));
+
+        mvc.perform(post("/api/v1/quizzes/1/rescore-jobs/7/resume"))
+                .andExpect(status().isConflict());
+    }
+
+    private static RescoreJobInfo job(String status, long total, long processed) {
+        return new RescoreJobInfo(JOB_ID, QUIZ_ID, status, total, processed, 3, 0, 0, 0, null,
+                OffsetDateTime.now(), null);
+    }
+}
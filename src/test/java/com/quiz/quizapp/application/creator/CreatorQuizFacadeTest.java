@@ -1,19 +1,22 @@
 package com.quiz.quizapp.application.creator;
 
 import com.quiz.quizapp.domain.dto.QuizCreateCommand;
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.dto.QuizInfo;
 import com.quiz.quizapp.domain.service.QuizService;
 import com.quiz.quizapp.web.dto.CreateQuizForm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 class CreatorQuizFacadeTest {
@@ -28,12 +31,23 @@ class CreatorQuizFacadeTest {
     }
 
     @Test
-    void list_delegatesToQuizService() {
-        when(quizService.list(any())).thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+    void list_decodesTheCursorForQuizService() {
+        var cursor = new QuizCursor(OffsetDateTime.parse("2026-01-01T10:00:00Z"), 3L);
+        when(quizService.list(any(), anyInt())).thenReturn(new SliceImpl<>(List.of()));
 
-        facade.list(PageRequest.of(0, 10));
+        facade.list(cursor.encode(), 10);
 
-        verify(quizService).list(PageRequest.of(0, 10));
+        verify(quizService).list(cursor, 10);
+    }
+
+    @Test
+    void nextCursor_pointsAtTheLastQuizOnlyWhenThereIsMore() {
+        var at = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+        var last = new QuizInfo(4L, "T", "D", false, false, null, false, at);
+
+        assertThat(QuizCursor.decode(facade.nextCursor(new SliceImpl<>(List.of(last), PageRequest.of(0, 1), true))))
+                .isEqualTo(new QuizCursor(at, 4L));
+        assertThat(facade.nextCursor(new SliceImpl<>(List.of(last), PageRequest.of(0, 1), false))).isNull();
     }
 
     @Test
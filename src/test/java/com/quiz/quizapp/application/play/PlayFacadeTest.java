@@ -3,11 +3,16 @@ package com.quiz.quizapp.application.play;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quiz.quizapp.api.dto.RankingRowResponse;
 import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.dto.SubmitAnswerDto;
 import com.quiz.quizapp.domain.dto.SubmitAnswersCommand;
 import com.quiz.quizapp.domain.dto.SubmitOutcome;
 import com.quiz.quizapp.domain.entity.AttemptEntity;
 import com.quiz.quizapp.domain.entity.QuizEntity;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot;
+import com.quiz.quizapp.domain.play.QuizSnapshotCache;
+import com.quiz.quizapp.domain.ranking.PlayerMetric;
+import com.quiz.quizapp.domain.ranking.PlayerStanding;
 import com.quiz.quizapp.domain.service.AttemptReadService;
 import com.quiz.quizapp.domain.service.AttemptService;
 import com.quiz.quizapp.domain.service.GameplayService;
@@ -19,12 +24,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import java.lang.reflect.Field;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -52,6 +58,9 @@ class PlayFacadeTest {
     @Mock
     private RankingService rankingService;
 
+    @Mock
+    private QuizSnapshotCache quizSnapshotCache;
+
     @InjectMocks
     private PlayFacade facade = new PlayFacade(
             quizReadService,
@@ -59,6 +68,7 @@ class PlayFacadeTest {
             attemptService,
             gameplayService,
             rankingService,
+            quizSnapshotCache,
             new ObjectMapper()
     );
 
@@ -70,31 +80,40 @@ class PlayFacadeTest {
                 attemptService,
                 gameplayService,
                 rankingService,
+                quizSnapshotCache,
                 new ObjectMapper()
         );
     }
 
     @Test
-    void listPlayableQuizzes_usesFixedPageRequest() {
+    void getHomeViewModel_readsTheFirstPageWithoutCursor() {
         var quizzes = List.of(new QuizEntity("T1", "D1"), new QuizEntity("T2", "D2"));
-        when(quizReadService.list(any()))
-                .thenReturn(new PageImpl<>(quizzes, PageRequest.of(0, 50), quizzes.size()));
+        when(quizReadService.list(null, PlayFacade.HOME_PAGE_SIZE)).thenReturn(new SliceImpl<>(quizzes));
 
-        facade.listPlayableQuizzes();
+        Map<String, Object> vm = facade.getHomeViewModel(null);
 
-        verify(quizReadService).list(PageRequest.of(0, 50));
+        assertThat((List<?>) vm.get("quizzes")).hasSize(2);
+        assertThat(vm.get("nextCursor")).isNull();
+        verify(quizReadService).list(null, PlayFacade.HOME_PAGE_SIZE);
         verifyNoMoreInteractions(quizReadService);
     }
 
     @Test
-    void listPlayableQuizzes_returnsListSizeMatchingRepositoryPageContent() {
-        var quizzes = List.of(new QuizEntity("T1", "D1"), new QuizEntity("T2", "D2"));
-        when(quizReadService.list(any()))
-                .thenReturn(new PageImpl<>(quizzes, PageRequest.of(0, 50), quizzes.size()));
-
-        List<?> out = facade.listPlayableQuizzes();
-
-        assertThat(out).hasSize(2);
+    void getHomeViewModel_continuesAfterTheCursorAndPointsAtTheNextPage() throws Exception {
+        var at = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+        var cursor = new QuizCursor(at.plusDays(1), 9L);
+        var last = new QuizEntity("T", "D");
+        setEntityId(last, 8L);
+        Field createdAt = QuizEntity.class.getDeclaredField("createdAt");
+        createdAt.setAccessible(true);
+        createdAt.set(last, at);
+        when(quizReadService.list(cursor, PlayFacade.HOME_PAGE_SIZE))
+                .thenReturn(new SliceImpl<>(List.of(last), PageRequest.of(0, PlayFacade.HOME_PAGE_SIZE), true));
+
+        Map<String, Object> vm = facade.getHomeViewModel(cursor.encode());
+
+        assertThat(vm.get("after")).isEqualTo(cursor.encode());
+        assertThat(QuizCursor.decode((String) vm.get("nextCursor"))).isEqualTo(new QuizCursor(at, 8L));
     }
 
     @Test
@@ -132,6 +151,8 @@ class PlayFacadeTest {
                 new QuestionForPlayDto(11L, "SINGLE_CHOICE", "P1", 1, "[\"A\",\"B\"]")
         ));
 
+        when(quizSnapshotCache.get(77L)).thenReturn(snapshot(Map.of()));
+
         Map<String, Object> vm = facade.getAttemptViewModel(1L);
 
         assertThat(vm.get("attempt")).isSameAs(attempt);
@@ -152,6 +173,8 @@ class PlayFacadeTest {
                 new QuestionForPlayDto(11L, "SINGLE_CHOICE", "P1", 1, "[\"A\",\"B\"]")
         ));
 
+        when(quizSnapshotCache.get(77L)).thenReturn(snapshot(Map.of()));
+
         Map<String, Object> vm = facade.getAttemptViewModel(1L);
 
         assertThat(vm.get("quiz")).isSameAs(quiz);
@@ -172,6 +195,8 @@ class PlayFacadeTest {
                 new QuestionForPlayDto(11L, "SINGLE_CHOICE", "P1", 1, "[\"A\",\"B\"]")
         ));
 
+        when(quizSnapshotCache.get(77L)).thenReturn(snapshot(Map.of()));
+
         Map<String, Object> vm = facade.getAttemptViewModel(1L);
 
         assertThat(vm.get("quizTitle")).isEqualTo("QuizTitle");
@@ -192,6 +217,8 @@ class PlayFacadeTest {
                 new QuestionForPlayDto(11L, "SINGLE_CHOICE", "P1", 1, "[\"A\",\"B\"]")
         ));
 
+        when(quizSnapshotCache.get(77L)).thenReturn(snapshot(Map.of()));
+
         Map<String, Object> vm = facade.getAttemptViewModel(1L);
 
         assertThat(vm.get("timeLimitSeconds")).isEqualTo(30);
@@ -212,6 +239,8 @@ class PlayFacadeTest {
                 new QuestionForPlayDto(11L, "SINGLE_CHOICE", "P1", 1, "[\"A\",\"B\"]")
         ));
 
+        when(quizSnapshotCache.get(77L)).thenReturn(snapshot(Map.of()));
+
         Map<String, Object> vm = facade.getAttemptViewModel(1L);
 
         assertThat(vm.get("negativePointsEnabled")).isEqualTo(true);
@@ -230,6 +259,8 @@ class PlayFacadeTest {
                 new QuestionForPlayDto(12L, "SHORT_ANSWER", "P2", 1, null)
         ));
 
+        when(quizSnapshotCache.get(77L)).thenReturn(snapshot(Map.of(11L, List.of("A", "B"))));
+
         Map<String, Object> vm = facade.getAttemptViewModel(1L);
 
         @SuppressWarnings("unchecked")
@@ -249,6 +280,8 @@ class PlayFacadeTest {
                 new QuestionForPlayDto(11L, "SHORT_ANSWER", "P2", 1, null)
         ));
 
+        when(quizSnapshotCache.get(77L)).thenReturn(snapshot(Map.of()));
+
         Map<String, Object> vm = facade.getAttemptViewModel(1L);
 
         @SuppressWarnings("unchecked")
@@ -375,6 +408,20 @@ class PlayFacadeTest {
         Map<String, Object> vm = facade.getRankingViewModel(9L, 10);
 
         assertThat(vm.get("quiz")).isSameAs(quiz);
+        assertThat(vm.get("limit")).isEqualTo(10);
+    }
+
+    @Test
+    void getGlobalRankingViewModel_parsesTheMetric() {
+        List<PlayerStanding> rows = List.of(new PlayerStanding("a", "A", 30, 2, 15.0));
+        when(rankingService.topPlayers(PlayerMetric.AVERAGE, 25)).thenReturn(rows);
+
+        Map<String, Object> vm = facade.getGlobalRankingViewModel("Average", 25);
+
+        assertThat(vm.get("metric")).isEqualTo("average");
+        assertThat(vm.get("rows")).isSameAs(rows);
+        assertThatThrownBy(() -> facade.getGlobalRankingViewModel("median", 25))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
@@ -393,6 +440,37 @@ class PlayFacadeTest {
         assertThat(vm.get("rows")).isSameAs(rows);
     }
 
+    @Test
+    void getAttemptViewModel_shufflesACopyOfTheSharedSnapshotOptionsStablyPerAttempt() throws Exception {
+        QuizEntity quiz = new QuizEntity("QuizTitle", "Desc");
+        setEntityId(quiz, 77L);
+        quiz.setRandomiseAnswers(true);
+
+        AttemptEntity attempt = new AttemptEntity(quiz, "nick");
+        when(attemptReadService.getWithQuizOrThrow(1L)).thenReturn(attempt);
+        when(gameplayService.questionsForAttempt(1L)).thenReturn(List.of(
+                new QuestionForPlayDto(11L, "SINGLE_CHOICE", "P1", 1, "[\"A\",\"B\",\"C\"]")
+        ));
+        List<String> shared = List.of("A", "B", "C");
+        when(quizSnapshotCache.get(77L)).thenReturn(snapshot(Map.of(11L, shared)));
+
+        Map<String, Object> vm = facade.getAttemptViewModel(1L);
+
+        @SuppressWarnings("unchecked")
+        Map<Long, List<String>> options = (Map<Long, List<String>>) vm.get("optionsByQuestionId");
+        assertThat(options.get(11L)).containsExactlyInAnyOrder("A", "B", "C").isNotSameAs(shared);
+        assertThat(shared).containsExactly("A", "B", "C");
+
+        // A refresh shows the same order
+        @SuppressWarnings("unchecked")
+        Map<Long, List<String>> again = (Map<Long, List<String>>) facade.getAttemptViewModel(1L).get("optionsByQuestionId");
+        assertThat(again.get(11L)).isEqualTo(options.get(11L));
+    }
+
+    private static QuizPlaySnapshot snapshot(Map<Long, List<String>> options) {
+        return new QuizPlaySnapshot(77L, 0, List.of(), Map.of(), options);
+    }
+
     private static void setEntityId(Object entity, long id) throws Exception {
         Field f = entity.getClass().getDeclaredField("id");
         f.setAccessible(true);
@@ -0,0 +1,43 @@
+package com.quiz.quizapp.domain.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuizCursorTest {
+
+    @Test
+    void roundTripsTheSortKey() {
+        var at = OffsetDateTime.parse("2026-03-01T12:30:45.123456+02:00");
+
+        QuizCursor decoded = QuizCursor.decode(new QuizCursor(at, 42L).encode());
+
+        assertThat(decoded.createdAt().toInstant()).isEqualTo(at.toInstant());
+        assertThat(decoded.id()).isEqualTo(42L);
+    }
+
+    @Test
+    void blankMeansFromTheNewestAndGarbageIsRejected() {
+        assertThat(QuizCursor.decode(null)).isNull();
+        assertThat(QuizCursor.decode(" ")).isNull();
+        assertThatThrownBy(() -> QuizCursor.decode("bm9wZQ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QuizCursor.decode("***")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void timeOutOfRangeIsRejected() {
+        for (long micros : new long[]{Long.MIN_VALUE, Long.MAX_VALUE}) {
+            String cursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((micros + ":1").getBytes(StandardCharsets.UTF_8));
+
+            assertThatThrownBy(() -> QuizCursor.decode(cursor))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid quiz cursor");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.quiz.quizapp.domain.jdbc;
+
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao.DraftAnswer;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao.NewAnswer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+class AttemptAnswerJdbcDaoIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        r.add("spring.datasource.username", POSTGRES::getUsername);
+        r.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    AttemptAnswerJdbcDao attemptAnswerJdbcDao;
+
+    private long q1;
+    private long q2;
+
+    @BeforeEach
+    void data() {
+        jdbcTemplate.execute("truncate quizzes cascade");
+        long quizId = jdbcTemplate.queryForObject("insert into quizzes(title) values ('Q') returning id", Long.class);
+        q1 = question(quizId);
+        q2 = question(quizId);
+    }
+
+    @Test
+    void upsertDrafts_insertsThenReplacesDraftsInPlace() {
+        long attempt = attempt(false);
+
+        attemptAnswerJdbcDao.upsertDrafts(List.of(
+                new DraftAnswer(attempt, q1, "{\"value\":\"a\"}"),
+                new DraftAnswer(attempt, q2, "{\"value\":\"b\"}")), OffsetDateTime.now());
+        attemptAnswerJdbcDao.upsertDrafts(List.of(
+                new DraftAnswer(attempt, q1, "{\"value\":\"c\"}")), OffsetDateTime.now());
+
+        assertThat(attemptAnswerJdbcDao.findAnswers(attempt))
+                .containsExactlyEntriesOf(Map.of(q1, "{\"value\": \"c\"}", q2, "{\"value\": \"b\"}"));
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from attempt_answers where attempt_id = ? and not is_correct and awarded_points = 0",
+                Long.class, attempt)).isEqualTo(2);
+    }
+
+    @Test
+    void upsertDrafts_skipsFinishedAttemptsButWritesTheRestOfTheBatch() {
+        long open = attempt(false);
+        long finished = attempt(true);
+
+        attemptAnswerJdbcDao.upsertDrafts(List.of(
+                new DraftAnswer(finished, q1, "{\"value\":\"late\"}"),
+                new DraftAnswer(open, q1, "{\"value\":\"a\"}")), OffsetDateTime.now());
+
+        assertThat(attemptAnswerJdbcDao.findAnswers(finished)).isEmpty();
+        assertThat(attemptAnswerJdbcDao.findAnswers(open)).containsOnlyKeys(q1);
+    }
+
+    @Test
+    void saveAll_overwritesDraftsWithScoredAnswers() {
+        long attempt = attempt(false);
+        attemptAnswerJdbcDao.upsertDrafts(List.of(new DraftAnswer(attempt, q1, "{\"value\":\"a\"}")), OffsetDateTime.now());
+
+        attemptAnswerJdbcDao.saveAll(attempt, List.of(
+                new NewAnswer(q1, "{\"value\":\"A\"}", true, 3),
+                new NewAnswer(q2, "{\"value\":\"B\"}", false, -1)), OffsetDateTime.now());
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select sum(awarded_points) from attempt_answers where attempt_id = ?", Integer.class, attempt))
+                .isEqualTo(2);
+        assertThat(attemptAnswerJdbcDao.findAnswers(attempt).get(q1)).isEqualTo("{\"value\": \"A\"}");
+    }
+
+    private long question(long quiz) {
+        return jdbcTemplate.queryForObject(
+                "insert into questions(quiz_id, type, prompt) values (?, 'SINGLE_CHOICE', 'p') returning id",
+                Long.class, quiz);
+    }
+
+    private long attempt(boolean finished) {
+        long quizId = jdbcTemplate.queryForObject("select quiz_id from questions where id = ?", Long.class, q1);
+        return jdbcTemplate.queryForObject(
+                "insert into attempts(quiz_id, nickname, finished_at) values (?, 'n', "
+                        + (finished ? "now()" : "null") + ") returning id",
+                Long.class, quizId);
+    }
+}
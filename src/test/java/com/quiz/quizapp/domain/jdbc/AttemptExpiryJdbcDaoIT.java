@@ -0,0 +1,111 @@
+package com.quiz.quizapp.domain.jdbc;
+
+import com.quiz.quizapp.domain.jdbc.AttemptExpiryJdbcDao.FinalScore;
+import com.quiz.quizapp.domain.jdbc.AttemptExpiryJdbcDao.OpenAttempt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+class AttemptExpiryJdbcDaoIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        r.add("spring.datasource.username", POSTGRES::getUsername);
+        r.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    AttemptExpiryJdbcDao attemptExpiryJdbcDao;
+
+    private long timedQuiz;
+    private long untimedQuiz;
+
+    @BeforeEach
+    void data() {
+        jdbcTemplate.execute("truncate quizzes cascade");
+        timedQuiz = jdbcTemplate.queryForObject(
+                "insert into quizzes(title, time_limit_seconds, negative_points_enabled) values ('T', 60, true) returning id",
+                Long.class);
+        untimedQuiz = jdbcTemplate.queryForObject("insert into quizzes(title) values ('U') returning id", Long.class);
+    }
+
+    @Test
+    void findOpenTimedAttempts_returnsOnlyOpenAttemptsOfTimedQuizzesWithTheirDeadline() {
+        OffsetDateTime started = OffsetDateTime.parse("2024-01-01T10:00:00Z");
+        long open = attempt(timedQuiz, started, false);
+        attempt(timedQuiz, started, true);
+        attempt(untimedQuiz, started, false);
+
+        List<OpenAttempt> out = attemptExpiryJdbcDao.findOpenTimedAttempts();
+
+        assertThat(out).hasSize(1);
+        assertThat(out.getFirst().id()).isEqualTo(open);
+        assertThat(out.getFirst().deadline().toInstant()).isEqualTo(started.plusSeconds(60).toInstant());
+        assertThat(out.getFirst().negativePointsEnabled()).isTrue();
+    }
+
+    @Test
+    void findOpen_reportsNoDeadlineOnceTheLimitIsRemoved() {
+        long a = attempt(timedQuiz, OffsetDateTime.now(), false);
+        long finished = attempt(timedQuiz, OffsetDateTime.now(), true);
+        jdbcTemplate.update("update quizzes set time_limit_seconds = null where id = ?", timedQuiz);
+
+        List<OpenAttempt> out = attemptExpiryJdbcDao.findOpen(List.of(a, finished));
+
+        assertThat(out).extracting(OpenAttempt::id).containsExactly(a);
+        assertThat(out.getFirst().deadline()).isNull();
+    }
+
+    @Test
+    void finish_onlyFinishesAttemptsStillOpen() {
+        long open = attempt(timedQuiz, OffsetDateTime.now().minusMinutes(5), false);
+        long submitted = attempt(timedQuiz, OffsetDateTime.now().minusMinutes(5), true);
+
+        List<Long> finished = attemptExpiryJdbcDao.finish(
+                List.of(new FinalScore(open, 4), new FinalScore(submitted, 9)), OffsetDateTime.now());
+
+        assertThat(finished).containsExactly(open);
+        assertThat(jdbcTemplate.queryForObject("select score from attempts where id = ?", Integer.class, open))
+                .isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("select score from attempts where id = ?", Integer.class, submitted))
+                .isZero();
+    }
+
+    @Test
+    void openAttemptsIndexExists() {
+        assertThat(jdbcTemplate.queryForObject(
+                "select indexdef from pg_indexes where indexname = 'idx_attempts_open'", String.class))
+                .contains("WHERE (finished_at IS NULL)");
+    }
+
+    private long attempt(long quizId, OffsetDateTime startedAt, boolean finished) {
+        return jdbcTemplate.queryForObject(
+                "insert into attempts(quiz_id, nickname, started_at, finished_at) values (?, 'n', ?, "
+                        + (finished ? "now()" : "null") + ") returning id",
+                Long.class, quizId, startedAt);
+    }
+}
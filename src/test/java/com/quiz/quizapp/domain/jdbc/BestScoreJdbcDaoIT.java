@@ -0,0 +1,135 @@
+package com.quiz.quizapp.domain.jdbc;
+
+import com.quiz.quizapp.api.dto.RankingRowResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+class BestScoreJdbcDaoIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        r.add("spring.datasource.username", POSTGRES::getUsername);
+        r.add("spring.datasource.password", POSTGRES::getPassword);
+        r.add("spring.flyway.enabled", () -> "false");
+        r.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BestScoreJdbcDao bestScoreJdbcDao;
+
+    private final OffsetDateTime t0 = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+    @BeforeEach
+    void schema() throws IOException {
+        jdbcTemplate.execute("drop table if exists leaderboard_backfill");
+        jdbcTemplate.execute("drop table if exists leaderboard_entries");
+        jdbcTemplate.execute("drop table if exists attempts");
+        jdbcTemplate.execute("""
+                create table attempts (
+                    id bigserial primary key,
+                    quiz_id bigint not null,
+                    nickname varchar(60) not null,
+                    score int not null,
+                    started_at timestamptz not null,
+                    finished_at timestamptz
+                )
+                """);
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V13__leaderboard_entries.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void record_keepsOnlyAResultThatBeatsTheStoredOne() {
+        long first = insertAttempt(1L, "Alice", 5, t0);
+        long better = insertAttempt(1L, " alice ", 8, t0.plusMinutes(1));
+        long worse = insertAttempt(1L, "ALICE", 3, t0.plusMinutes(2));
+        long tiedLater = insertAttempt(1L, "alice", 8, t0.plusMinutes(3));
+
+        bestScoreJdbcDao.record(1L, first, "Alice", 5, t0);
+        bestScoreJdbcDao.record(1L, better, " alice ", 8, t0.plusMinutes(1));
+        bestScoreJdbcDao.record(1L, worse, "ALICE", 3, t0.plusMinutes(2));
+        bestScoreJdbcDao.record(1L, tiedLater, "alice", 8, t0.plusMinutes(3));
+
+        assertThat(jdbcTemplate.queryForList("select attempt_id from leaderboard_entries", Long.class))
+                .containsExactly(better);
+    }
+
+    @Test
+    void backfill_inBatchesMatchesTheRankingComputedFromAttempts() {
+        for (int i = 0; i < 30; i++) {
+            insertAttempt(1L, "p" + (i % 7), (i * 37) % 11, t0.plusSeconds(i));
+        }
+        insertAttempt(1L, "open", 99, null);
+        insertAttempt(2L, "p1", 50, t0);
+
+        long max = bestScoreJdbcDao.maxAttemptId();
+        for (long from = 0; from < max; from += 4) {
+            bestScoreJdbcDao.backfill(from, Math.min(max, from + 4));
+        }
+
+        assertThat(bestScoreJdbcDao.top(1L, 10))
+                .hasSize(7)
+                .containsExactlyElementsOf(bestScoreJdbcDao.topFromAttempts(1L, 10));
+        assertThat(bestScoreJdbcDao.top(2L, 10)).containsExactly(new RankingRowResponse("p1", 50));
+    }
+
+    @Test
+    void rebuild_replacesTheQuizEntriesAfterScoresChanged() {
+        long a = insertAttempt(1L, "a", 9, t0);
+        insertAttempt(1L, "b", 5, t0);
+        bestScoreJdbcDao.backfill(0, bestScoreJdbcDao.maxAttemptId());
+
+        jdbcTemplate.update("update attempts set score = 1 where id = ?", a);
+        bestScoreJdbcDao.rebuild(1L);
+
+        assertThat(bestScoreJdbcDao.top(1L, 10))
+                .containsExactly(new RankingRowResponse("b", 5), new RankingRowResponse("a", 1));
+    }
+
+    @Test
+    void backfillPosition_isTrackedUntilCompleted() {
+        assertThat(bestScoreJdbcDao.backfillPosition()).contains(0L);
+
+        bestScoreJdbcDao.saveBackfillPosition(42);
+        assertThat(bestScoreJdbcDao.backfillPosition()).contains(42L);
+
+        bestScoreJdbcDao.completeBackfill();
+        assertThat(bestScoreJdbcDao.backfillPosition()).isEmpty();
+    }
+
+    private long insertAttempt(long quizId, String nickname, int score, OffsetDateTime finishedAt) {
+        Long id = jdbcTemplate.queryForObject("""
+                insert into attempts(quiz_id, nickname, score, started_at, finished_at)
+                values (?,?,?,?,?)
+                returning id
+                """, Long.class, quizId, nickname, score, t0.minusHours(1), finishedAt);
+        return id == null ? 0 : id;
+    }
+}
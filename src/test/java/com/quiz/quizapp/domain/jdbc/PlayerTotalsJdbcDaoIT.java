@@ -0,0 +1,136 @@
+package com.quiz.quizapp.domain.jdbc;
+
+import com.quiz.quizapp.domain.ranking.PlayerMetric;
+import com.quiz.quizapp.domain.ranking.PlayerStanding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+class PlayerTotalsJdbcDaoIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        r.add("spring.datasource.username", POSTGRES::getUsername);
+        r.add("spring.datasource.password", POSTGRES::getPassword);
+        r.add("spring.flyway.enabled", () -> "false");
+        r.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BestScoreJdbcDao bestScoreJdbcDao;
+
+    @Autowired
+    PlayerTotalsJdbcDao playerTotalsJdbcDao;
+
+    private final OffsetDateTime t0 = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+    @BeforeEach
+    void schema() throws IOException {
+        jdbcTemplate.execute("drop table if exists player_totals");
+        jdbcTemplate.execute("drop table if exists leaderboard_backfill");
+        jdbcTemplate.execute("drop table if exists leaderboard_entries");
+        jdbcTemplate.execute("drop table if exists attempts");
+        jdbcTemplate.execute("""
+                create table attempts (
+                    id bigserial primary key,
+                    quiz_id bigint not null,
+                    nickname varchar(60) not null,
+                    score int not null,
+                    started_at timestamptz not null,
+                    finished_at timestamptz
+                )
+                """);
+        jdbcTemplate.execute(migration("V13__leaderboard_entries.sql"));
+        jdbcTemplate.execute(migration("V15__player_totals.sql"));
+    }
+
+    @Test
+    void refresh_sumsEachPlayersBestAcrossQuizzes() {
+        finish(1L, "Ann", 10);
+        finish(1L, "ann ", 30);
+        finish(2L, "ANN", 20);
+        finish(1L, "Bob", 25);
+
+        List<PlayerStanding> out = playerTotalsJdbcDao.refresh(List.of("ann", " Bob", "nobody"));
+
+        assertThat(out).extracting(PlayerStanding::nicknameKey).containsExactlyInAnyOrder("ann", "bob");
+        PlayerStanding ann = out.stream().filter(p -> p.nicknameKey().equals("ann")).findFirst().orElseThrow();
+        assertThat(ann.totalScore()).isEqualTo(50);
+        assertThat(ann.quizzes()).isEqualTo(2);
+        assertThat(ann.averageScore()).isEqualTo(25.0);
+        assertThat(playerTotalsJdbcDao.top(PlayerMetric.TOTAL, 10)).extracting(PlayerStanding::nicknameKey)
+                .containsExactly("ann", "bob");
+        assertThat(playerTotalsJdbcDao.top(PlayerMetric.AVERAGE, 10)).extracting(PlayerStanding::nicknameKey)
+                .containsExactly("bob", "ann");
+    }
+
+    @Test
+    void removeEmpty_dropsPlayersWhoseEntriesAreGone() {
+        long attempt = finish(1L, "Ann", 10);
+        playerTotalsJdbcDao.refresh(List.of("Ann"));
+
+        jdbcTemplate.update("delete from attempts where id = ?", attempt);
+
+        assertThat(playerTotalsJdbcDao.removeEmpty(List.of("ANN"))).containsExactly("ann");
+        assertThat(playerTotalsJdbcDao.top(PlayerMetric.TOTAL, 10)).isEmpty();
+    }
+
+    @Test
+    void rebuildRanges_coverEveryPlayerAndDropStaleTotals() {
+        for (int i = 0; i < 7; i++) finish(1L + i % 2, "p" + i, i);
+        jdbcTemplate.update("insert into player_totals(nickname_key, nickname, total_score, quizzes) values ('gone', 'gone', 99, 1)");
+
+        String after = null;
+        while (true) {
+            List<String> keys = playerTotalsJdbcDao.playerKeysAfter(after, 3);
+            String upTo = keys.size() < 3 ? null : keys.getLast();
+            playerTotalsJdbcDao.rebuildRange(after, upTo);
+            if (upTo == null) break;
+            after = upTo;
+        }
+
+        assertThat(playerTotalsJdbcDao.top(PlayerMetric.TOTAL, 10)).extracting(PlayerStanding::nicknameKey)
+                .containsExactly("p6", "p5", "p4", "p3", "p2", "p1", "p0");
+    }
+
+    private long finish(long quizId, String nickname, int score) {
+        Long id = jdbcTemplate.queryForObject("""
+                insert into attempts(quiz_id, nickname, score, started_at, finished_at)
+                values (?,?,?,?,?)
+                returning id
+                """, Long.class, quizId, nickname, score, t0.minusHours(1), t0);
+        bestScoreJdbcDao.record(quizId, id, nickname, score, t0);
+        return id;
+    }
+
+    private static String migration(String name) throws IOException {
+        return new ClassPathResource("db/migration/" + name).getContentAsString(StandardCharsets.UTF_8);
+    }
+}
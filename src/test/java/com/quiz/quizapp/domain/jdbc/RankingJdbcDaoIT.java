@@ -1,10 +1,12 @@
 package com.quiz.quizapp.domain.jdbc;
 
 import com.quiz.quizapp.api.dto.RankingRowResponse;
+import com.quiz.quizapp.domain.ranking.LeaderboardEntry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -12,6 +14,9 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.List;
 
@@ -55,6 +60,7 @@ class RankingJdbcDaoIT {
                     finished_at timestamptz
                 )
                 """);
+        jdbcTemplate.execute(migration("V12__ranking_index.sql"));
     }
 
     @Test
@@ -107,6 +113,92 @@ class RankingJdbcDaoIT {
         assertThat(out).extracting(RankingRowResponse::nickname).containsExactly("C", "B");
     }
 
+    @Test
+    void leaderboard_returnsFinishedAttemptsInBoardOrderWithIdBreakingTies() {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        insertAttempt(1L, "A", 10, now.minusMinutes(10), now.minusMinutes(5));
+        insertAttempt(1L, "B", 10, now.minusMinutes(10), now.minusMinutes(5));
+        insertAttempt(1L, "C", 20, now.minusMinutes(10), now.minusMinutes(4));
+        insertAttempt(1L, "OPEN", 99, now.minusMinutes(1), null);
+
+        List<LeaderboardEntry> out = rankingJdbcDao.leaderboard(1L, 10);
+
+        assertThat(out).extracting(LeaderboardEntry::nickname).containsExactly("C", "A", "B");
+        assertThat(out).isSortedAccordingTo(LeaderboardEntry.ORDER);
+    }
+
+    @Test
+    void keysetQueries_walkAroundAnAttemptInBoardOrder() {
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int score = 1; score <= 6; score++) {
+            insertAttempt(1L, "P" + score, score, now.minusMinutes(10), now.minusMinutes(5));
+        }
+        insertAttempt(2L, "OTHER", 4, now.minusMinutes(10), now.minusMinutes(5));
+        List<LeaderboardEntry> board = rankingJdbcDao.leaderboard(1L, 10);
+        LeaderboardEntry p4 = board.get(2);
+
+        assertThat(rankingJdbcDao.countFinished(1L)).isEqualTo(6);
+        assertThat(rankingJdbcDao.findFinished(1L, p4.attemptId())).contains(p4);
+        assertThat(rankingJdbcDao.countAhead(1L, p4)).isEqualTo(2);
+        assertThat(rankingJdbcDao.before(1L, p4, 5)).extracting(LeaderboardEntry::nickname).containsExactly("P6", "P5");
+        assertThat(rankingJdbcDao.after(1L, p4, 2)).extracting(LeaderboardEntry::nickname).containsExactly("P3", "P2");
+        assertThat(rankingJdbcDao.after(1L, null, 1)).extracting(LeaderboardEntry::nickname).containsExactly("P6");
+    }
+
+    @Test
+    void dailyTop_keepsTheBestOfEachDaySinceTheStart() {
+        OffsetDateTime day1 = OffsetDateTime.parse("2026-03-01T08:00:00Z");
+        OffsetDateTime day2 = day1.plusDays(1);
+        insertAttempt(1L, "OLD", 99, day1.minusDays(1), day1.minusDays(1));
+        insertAttempt(1L, "A", 5, day1, day1);
+        insertAttempt(1L, "B", 7, day1, day1.plusHours(1));
+        insertAttempt(1L, "C", 6, day1, day1.plusHours(2));
+        insertAttempt(1L, "D", 1, day2, day2);
+        insertAttempt(1L, "OPEN", 50, day2, null);
+
+        List<LeaderboardEntry> out = rankingJdbcDao.dailyTop(1L, day1.withHour(0), "UTC", 2);
+
+        assertThat(out).extracting(LeaderboardEntry::nickname).containsExactlyInAnyOrder("B", "C", "D");
+    }
+
+    @Test
+    void rankingQueries_readTheCoveringIndexInOrderOnAMillionAttempts() {
+        // 100 quizzes of 10k attempts, a tenth of them still open
+        jdbcTemplate.update("""
+                insert into attempts(quiz_id, nickname, score, started_at, finished_at)
+                select g % 100, 'p' || g, (g * 7919) % 1000, now() - interval '1 day',
+                       case when g % 10 = 0 then null else now() - g * interval '1 millisecond' end
+                from generate_series(1, 1000000) g
+                """);
+        jdbcTemplate.execute("vacuum analyze attempts");
+        OffsetDateTime at = OffsetDateTime.now().minusMinutes(1);
+
+        assertThat(plan(RankingJdbcDao.LEADERBOARD_SQL, 7L, 50))
+                .contains("Index Only Scan using idx_attempts_ranking")
+                .doesNotContain("Sort");
+        assertThat(plan(RankingJdbcDao.AFTER_SQL, 7L, 500, 500, at, at, 5000L, 50))
+                .contains("Index Only Scan using idx_attempts_ranking")
+                .doesNotContain("Sort");
+        assertThat(plan(RankingJdbcDao.BEFORE_SQL, 7L, 500, 500, at, at, 5000L, 50))
+                .contains("Index Only Scan Backward using idx_attempts_ranking")
+                .doesNotContain("Sort");
+        assertThat(plan(RankingJdbcDao.COUNT_AHEAD_SQL, 7L, 500, 500, at, at, 5000L))
+                .contains("Index Only Scan using idx_attempts_ranking");
+    }
+
+    private String plan(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, args));
+    }
+
+    private static String migration(String name) {
+        try {
+            return new ClassPathResource("db/migration/" + name).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private void insertAttempt(Long quizId, String nickname, int score, OffsetDateTime startedAt, OffsetDateTime finishedAt) {
         jdbcTemplate.update("""
                 insert into attempts(quiz_id, nickname, score, started_at, finished_at)
@@ -0,0 +1,140 @@
+package com.quiz.quizapp.domain.jdbc;
+
+import com.quiz.quizapp.domain.dto.RescoreJobInfo;
+import com.quiz.quizapp.domain.jdbc.RescoreJdbcDao.AnswerRow;
+import com.quiz.quizapp.domain.jdbc.RescoreJdbcDao.AnswerUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Testcontainers
+class RescoreJdbcDaoIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        r.add("spring.datasource.username", POSTGRES::getUsername);
+        r.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    RescoreJdbcDao rescoreJdbcDao;
+
+    private long quizId;
+    private long q1;
+    private long q2;
+
+    @BeforeEach
+    void data() {
+        jdbcTemplate.execute("truncate quizzes, rescore_jobs restart identity cascade");
+        quizId = jdbcTemplate.queryForObject("insert into quizzes(title) values ('Q') returning id", Long.class);
+        q1 = question(quizId);
+        q2 = question(quizId);
+    }
+
+    @Test
+    void streamAnswers_returnsTheQuestionsAnswersAfterCheckpointInIdOrder() {
+        long otherQuiz = jdbcTemplate.queryForObject("insert into quizzes(title) values ('Other') returning id", Long.class);
+        long attempt = attempt(quizId, 0, true);
+        long first = answer(attempt, q1, "{\"value\":\"A\"}", true, 1);
+        long other = answer(attempt, q2, "{\"value\":\"B\"}", false, 0);
+        long second = answer(attempt(quizId, 0, true), q1, "{\"value\":\"B\"}", false, 0);
+        answer(attempt(otherQuiz, 0, true), question(otherQuiz), "{\"value\":\"A\"}", true, 1);
+
+        List<AnswerRow> all = new ArrayList<>();
+        rescoreJdbcDao.streamAnswers(q1, 0, 1, all::add);
+        List<AnswerRow> resumed = new ArrayList<>();
+        rescoreJdbcDao.streamAnswers(q1, first, 1, resumed::add);
+        List<AnswerRow> next = new ArrayList<>();
+        rescoreJdbcDao.streamAnswers(q2, 0, 1, next::add);
+
+        assertThat(all).extracting(AnswerRow::id).containsExactly(first, second);
+        assertThat(all.getFirst().answerJson()).isEqualTo("{\"value\": \"A\"}");
+        assertThat(resumed).extracting(AnswerRow::id).containsExactly(second);
+        assertThat(next).extracting(AnswerRow::id).containsExactly(other);
+        assertThat(rescoreJdbcDao.countAnswers(List.of(q1, q2))).isEqualTo(3);
+    }
+
+    @Test
+    void updateAnswersAndRecomputeScores_onlyTouchFinishedAttemptsWhoseScoreChanged() {
+        long finished = attempt(quizId, 1, true);
+        long unfinished = attempt(quizId, 0, false);
+        long a1 = answer(finished, q1, "{}", true, 1);
+        answer(finished, q2, "{}", false, 0);
+        answer(unfinished, q1, "{}", false, 0);
+
+        rescoreJdbcDao.updateAnswers(List.of(new AnswerUpdate(a1, false, -1)));
+
+        assertThat(rescoreJdbcDao.recomputeScores(quizId)).isEqualTo(1);
+        assertThat(score(finished)).isEqualTo(-1);
+        assertThat(score(unfinished)).isZero();
+        assertThat(rescoreJdbcDao.recomputeScores(quizId)).isZero();
+    }
+
+    @Test
+    void createJob_allowsOneRunningJobPerQuiz() {
+        long jobId = rescoreJdbcDao.createJob(quizId, 10);
+
+        assertThatThrownBy(() -> rescoreJdbcDao.createJob(quizId, 10)).isInstanceOf(DuplicateKeyException.class);
+
+        rescoreJdbcDao.saveProgress(jobId, 7, 42, 5, 2);
+        rescoreJdbcDao.fail(jobId, "boom");
+        assertThat(rescoreJdbcDao.findRunningJob(quizId)).isEmpty();
+        assertThat(rescoreJdbcDao.reopen(jobId)).isTrue();
+
+        RescoreJobInfo job = rescoreJdbcDao.findJob(jobId).orElseThrow();
+        assertThat(job.status()).isEqualTo(RescoreJobInfo.RUNNING);
+        assertThat(job.lastQuestionId()).isEqualTo(7);
+        assertThat(job.lastAnswerId()).isEqualTo(42);
+        assertThat(job.processedAnswers()).isEqualTo(5);
+        assertThat(job.error()).isNull();
+    }
+
+    private long question(long quiz) {
+        return jdbcTemplate.queryForObject(
+                "insert into questions(quiz_id, type, prompt) values (?, 'SINGLE_CHOICE', 'p') returning id",
+                Long.class, quiz);
+    }
+
+    private long attempt(long quiz, int score, boolean finished) {
+        return jdbcTemplate.queryForObject(
+                "insert into attempts(quiz_id, nickname, score, finished_at) values (?, 'n', ?, "
+                        + (finished ? "now()" : "null") + ") returning id",
+                Long.class, quiz, score);
+    }
+
+    private long answer(long attempt, long question, String json, boolean correct, int points) {
+        return jdbcTemplate.queryForObject("""
+                insert into attempt_answers(attempt_id, question_id, answer, is_correct, awarded_points)
+                values (?, ?, ?::jsonb, ?, ?) returning id
+                """, Long.class, attempt, question, json, correct, points);
+    }
+
+    private int score(long attempt) {
+        return jdbcTemplate.queryForObject("select score from attempts where id = ?", Integer.class, attempt);
+    }
+}
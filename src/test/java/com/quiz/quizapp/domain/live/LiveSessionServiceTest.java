@@ -0,0 +1,209 @@
+package com.quiz.quizapp.domain.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import com.quiz.quizapp.domain.entity.AttemptEntity;
+import com.quiz.quizapp.domain.entity.QuizEntity;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao.NewAnswer;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot.PlayQuestion;
+import com.quiz.quizapp.domain.play.QuizSnapshotCache;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
+import com.quiz.quizapp.domain.repository.AttemptRepository;
+import com.quiz.quizapp.domain.repository.QuizRepository;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import com.quiz.quizapp.domain.service.ScoringService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveSessionServiceTest {
+
+    private static final long QUIZ_ID = 1L;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private AttemptRepository attemptRepository;
+
+    @Mock
+    private AttemptAnswerJdbcDao attemptAnswerJdbcDao;
+
+    @Mock
+    private QuizSnapshotCache quizSnapshotCache;
+
+    @Mock
+    private ScoringService scoringService;
+
+    @Mock
+    private LeaderboardCache leaderboardCache;
+
+    @Mock
+    private SseFanOut fanOut;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LiveSessionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LiveSessionService(quizRepository, attemptRepository, attemptAnswerJdbcDao, quizSnapshotCache,
+                scoringService, leaderboardCache, fanOut, new ObjectMapper(), transactionManager, 100, 120);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void create_refusesQuizWithoutQuestions() {
+        when(quizRepository.findById(QUIZ_ID)).thenReturn(Optional.of(new QuizEntity("Q", "d")));
+        when(quizSnapshotCache.get(QUIZ_ID)).thenReturn(new QuizPlaySnapshot(QUIZ_ID, 0L, List.of(), Map.of(), Map.of()));
+
+        assertThatThrownBy(() -> service.create(QUIZ_ID)).hasMessageContaining("no questions");
+    }
+
+    @Test
+    void next_publishesCloseOfOpenQuestionThenTheNewQuestion() {
+        String id = createSession();
+
+        service.next(id);
+        service.next(id);
+
+        var order = inOrder(fanOut);
+        order.verify(fanOut).publish(eq("live:" + id), eq("question"), any());
+        order.verify(fanOut).publish(eq("live:" + id), eq("closed"), any());
+        order.verify(fanOut).publish(eq("live:" + id), eq("question"), any());
+    }
+
+    @Test
+    void answer_rejectsMalformedJsonBeforeTouchingTheSession() {
+        String id = createSession();
+        var player = service.join(id, "a");
+        service.next(id);
+
+        assertThatThrownBy(() -> service.answer(id, player.token(), 11L, "{nope"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(scoringService);
+    }
+
+    @Test
+    void answer_rejectsJsonThatTheStoredGameCouldNotHold() {
+        String id = createSession();
+        var player = service.join(id, "a");
+        service.next(id);
+
+        // Well-formed JSON, but the jsonb cast in end() would refuse it and fail the whole game
+        assertThatThrownBy(() -> service.answer(id, player.token(), 11L, "{\"v\":\"\\u0000\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.answer(id, player.token(), 11L, "{\"v\":\"\\ud800\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(scoringService);
+    }
+
+    @Test
+    void end_storesEveryPlayerAsFinishedAttemptInOneBatch() {
+        String id = createSession();
+        var a = service.join(id, " alice ");
+        var b = service.join(id, "bob");
+        service.next(id);
+        when(scoringService.isCorrect(nullable(CompiledAnswerKey.class), eq("{\"v\":\"right\"}"))).thenReturn(true);
+        when(scoringService.isCorrect(nullable(CompiledAnswerKey.class), eq("{\"v\":\"wrong\"}"))).thenReturn(false);
+        service.answer(id, a.token(), 11L, "{\"v\":\"right\"}");
+        service.answer(id, b.token(), 11L, "{\"v\":\"wrong\"}");
+        stubSaveAll();
+
+        var standings = service.end(id);
+
+        assertThat(standings).extracting(LiveSession.Standing::nickname).containsExactly("alice", "bob");
+
+        ArgumentCaptor<List<AttemptEntity>> attempts = ArgumentCaptor.captor();
+        verify(attemptRepository).saveAllAndFlush(attempts.capture());
+        assertThat(attempts.getValue()).allSatisfy(at -> assertThat(at.getFinishedAt()).isNotNull());
+        assertThat(attempts.getValue()).extracting(AttemptEntity::getScore).containsExactlyInAnyOrder(3, 0);
+
+        ArgumentCaptor<Map<Long, List<NewAnswer>>> answers = ArgumentCaptor.captor();
+        verify(attemptAnswerJdbcDao).saveAll(answers.capture(), any());
+        assertThat(answers.getValue()).hasSize(2);
+        assertThat(answers.getValue().values()).allSatisfy(list -> assertThat(list).hasSize(1));
+
+        verify(fanOut).publish(eq("live:" + id), eq("ended"), any());
+        verify(fanOut).close("live:" + id);
+        assertThat(service.sessionCount()).isZero();
+        assertThatThrownBy(() -> service.get(id)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void end_keepsSessionWhenStoringFailsSoItCanBeRetried() {
+        String id = createSession();
+        service.join(id, "a");
+        when(quizRepository.getReferenceById(QUIZ_ID)).thenReturn(new QuizEntity("Q", "d"));
+        when(attemptRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenAnswer(inv -> withIds(inv.getArgument(0)));
+
+        assertThatThrownBy(() -> service.end(id)).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(service.get(id).status()).isEqualTo("ENDED");
+        verify(fanOut, never()).close(any());
+
+        service.end(id);
+
+        assertThat(service.sessionCount()).isZero();
+    }
+
+    @Test
+    void join_unknownSessionIsNotFound() {
+        assertThatThrownBy(() -> service.join("NOPE42", "a")).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private String createSession() {
+        when(quizRepository.findById(QUIZ_ID)).thenReturn(Optional.of(new QuizEntity("Q", "d")));
+        var questions = List.of(
+                new QuestionForPlayDto(11L, "SHORT_ANSWER", "p1", 3, null),
+                new QuestionForPlayDto(12L, "SHORT_ANSWER", "p2", 1, null));
+        var byId = Map.of(11L, new PlayQuestion(11L, 3, null), 12L, new PlayQuestion(12L, 1, null));
+        when(quizSnapshotCache.get(QUIZ_ID)).thenReturn(new QuizPlaySnapshot(QUIZ_ID, 0L, questions, byId, Map.of()));
+        return service.create(QUIZ_ID).id();
+    }
+
+    private void stubSaveAll() {
+        when(quizRepository.getReferenceById(QUIZ_ID)).thenReturn(new QuizEntity("Q", "d"));
+        when(attemptRepository.saveAllAndFlush(anyList())).thenAnswer(inv -> withIds(inv.getArgument(0)));
+    }
+
+    private static List<AttemptEntity> withIds(List<AttemptEntity> attempts) {
+        long id = 100;
+        for (AttemptEntity a : attempts) {
+            try {
+                Field f = AttemptEntity.class.getDeclaredField("id");
+                f.setAccessible(true);
+                f.set(a, id++);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return attempts;
+    }
+}
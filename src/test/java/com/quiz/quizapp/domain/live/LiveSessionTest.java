@@ -0,0 +1,122 @@
+package com.quiz.quizapp.domain.live;
+
+import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.QuestionForPlayDto;
+import com.quiz.quizapp.domain.live.LiveSession.Player;
+import com.quiz.quizapp.domain.live.LiveSession.QuestionResult;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot.PlayQuestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LiveSessionTest {
+
+    @Test
+    void hostMovesFollowTheStateMachine() {
+        LiveSession session = session(false);
+        assertThat(session.status()).isEqualTo(LiveSession.Status.LOBBY);
+        assertThatThrownBy(session::close).isInstanceOf(IllegalStateException.class);
+
+        assertThat(session.openNext()).isZero();
+        assertThat(session.currentQuestion().id()).isEqualTo(11L);
+        assertThatThrownBy(session::openNext).hasMessageContaining("still open");
+
+        session.close();
+        session.openNext();
+        session.close();
+        assertThatThrownBy(session::openNext).hasMessageContaining("No more questions");
+
+        session.end();
+        assertThat(session.status()).isEqualTo(LiveSession.Status.ENDED);
+        assertThatThrownBy(() -> session.join("late", 10)).hasMessageContaining("ended");
+    }
+
+    @Test
+    void answer_onlyForTheOpenQuestionAndOncePerPlayer() {
+        LiveSession session = session(true);
+        Player p = session.join("a", 10);
+
+        assertThatThrownBy(() -> session.answer(p.token(), 11L, "{}", (k, a) -> true))
+                .hasMessageContaining("not open");
+
+        session.openNext();
+        assertThatThrownBy(() -> session.answer(p.token(), 12L, "{}", (k, a) -> true))
+                .hasMessageContaining("not open");
+        assertThatThrownBy(() -> session.answer("nobody", 11L, "{}", (k, a) -> true))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        session.answer(p.token(), 11L, "{\"v\":1}", (k, a) -> false);
+        assertThatThrownBy(() -> session.answer(p.token(), 11L, "{\"v\":2}", (k, a) -> true))
+                .hasMessageContaining("already answered");
+
+        // Negative points are on: a wrong answer costs the question's points
+        assertThat(p.score()).isEqualTo(-3);
+        assertThat(p.answers()).singleElement().extracting(LiveSession.Answer::answerJson).isEqualTo("{\"v\":1}");
+    }
+
+    @Test
+    void join_refusesPlayersBeyondCapacity() {
+        LiveSession session = session(false);
+        session.join("a", 2);
+        session.join("b", 2);
+
+        assertThatThrownBy(() -> session.join("c", 2)).hasMessageContaining("full");
+    }
+
+    @Test
+    void concurrentAnswersAreCountedExactlyOnce() throws Exception {
+        LiveSession session = session(false);
+        int playerCount = 5000;
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) players.add(session.join("p" + i, playerCount));
+        session.openNext();
+
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < playerCount; i++) {
+                Player p = players.get(i);
+                boolean right = i % 4 == 0;
+                // Every player answers twice at once; only one of the two may count
+                for (int attempt = 0; attempt < 2; attempt++) {
+                    pool.execute(() -> {
+                        try {
+                            start.await();
+                            session.answer(p.token(), 11L, "{}", (k, a) -> right);
+                        } catch (IllegalStateException e) {
+                            rejected.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                }
+            }
+            start.countDown();
+        }
+
+        QuestionResult result = session.close();
+        assertThat(result.answered()).isEqualTo(playerCount);
+        assertThat(result.correct()).isEqualTo(playerCount / 4);
+        assertThat(rejected).hasValue(playerCount);
+        assertThat(session.standings(3)).allSatisfy(s -> assertThat(s.score()).isEqualTo(3));
+    }
+
+    private static LiveSession session(boolean negativePoints) {
+        var questions = List.of(
+                new QuestionForPlayDto(11L, "SHORT_ANSWER", "p1", 3, null),
+                new QuestionForPlayDto(12L, "SHORT_ANSWER", "p2", 2, null));
+        var byId = Map.of(
+                11L, new PlayQuestion(11L, 3, null),
+                12L, new PlayQuestion(12L, 2, null));
+        return new LiveSession("ABC123", 1L, "Quiz", negativePoints,
+                new QuizPlaySnapshot(1L, 0L, questions, byId, Map.of()));
+    }
+}
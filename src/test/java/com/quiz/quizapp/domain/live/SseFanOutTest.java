@@ -0,0 +1,140 @@
+package com.quiz.quizapp.domain.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseFanOutTest {
+
+    private final SseFanOut fanOut = new SseFanOut(new ObjectMapper(), 60_000);
+
+    @AfterEach
+    void tearDown() {
+        fanOut.shutdown();
+    }
+
+    @Test
+    void subscriberGetsInitialStateThenEventsInOrder() throws Exception {
+        var emitter = new RecordingEmitter(11);
+        fanOut.subscribe("c", emitter, Map.of("status", "LOBBY"));
+
+        for (int i = 0; i < 10; i++) fanOut.publish("c", "tick", Map.of("n", i));
+
+        assertThat(emitter.received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.frames.getFirst()).contains("event:state").contains("LOBBY");
+        for (int i = 0; i < 10; i++) {
+            assertThat(emitter.frames.get(i + 1)).contains("event:tick").contains("{\"n\":" + i + "}");
+        }
+    }
+
+    @Test
+    void fansOutToFiveThousandSubscribersQuickly() throws Exception {
+        int subscribers = 5000;
+        CountDownLatch delivered = new CountDownLatch(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            fanOut.subscribe("c", new RecordingEmitter(delivered), null);
+        }
+
+        long start = System.nanoTime();
+        fanOut.publish("c", "question", Map.of("index", 0));
+
+        // Well under a second in practice; the bound is loose so a busy CI box doesn't flake
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+    }
+
+    @Test
+    void slowSubscriberDoesNotHoldUpTheOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        var slow = new RecordingEmitter(1) {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(items);
+            }
+        };
+        var fast = new RecordingEmitter(1);
+        fanOut.subscribe("c", slow, null);
+        fanOut.subscribe("c", fast, null);
+
+        fanOut.publish("c", "question", Map.of());
+
+        assertThat(fast.received.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        assertThat(slow.received.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void failedSubscriberIsDropped() throws Exception {
+        var broken = new RecordingEmitter(1) {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                received.countDown();
+                throw new IOException("Broken pipe");
+            }
+        };
+        fanOut.subscribe("c", broken, null);
+
+        fanOut.publish("c", "question", Map.of());
+
+        assertThat(broken.received.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 50 && fanOut.subscriberCount("c") > 0; i++) Thread.sleep(10);
+        assertThat(fanOut.subscriberCount("c")).isZero();
+    }
+
+    @Test
+    void closeCompletesAfterQueuedEvents() throws Exception {
+        var emitter = new RecordingEmitter(1);
+        fanOut.subscribe("c", emitter, null);
+
+        fanOut.publish("c", "ended", List.of());
+        fanOut.close("c");
+
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.frames).singleElement().asString().contains("event:ended");
+        assertThat(fanOut.subscriberCount("c")).isZero();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<String> frames = new CopyOnWriteArrayList<>();
+        final CountDownLatch received;
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter(int expected) {
+            this(new CountDownLatch(expected));
+        }
+
+        RecordingEmitter(CountDownLatch received) {
+            this.received = received;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            frames.add(items.stream().map(d -> String.valueOf(d.getData())).collect(Collectors.joining()));
+            received.countDown();
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.quiz.quizapp.domain.play;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.entity.QuestionEntity;
+import com.quiz.quizapp.domain.repository.QuestionRepository;
+import com.quiz.quizapp.domain.scoring.AnswerKeyCache;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import com.quiz.quizapp.domain.service.QuizVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizSnapshotCacheTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    private QuizVersions quizVersions;
+    private QuizSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        quizVersions = new QuizVersions();
+        cache = new QuizSnapshotCache(questionRepository, new AnswerKeyCache(MAPPER, 100), MAPPER, quizVersions, 2);
+    }
+
+    @Test
+    void get_buildsDtosOptionsAndCompiledKeys() {
+        var q = question(11L, "SINGLE_CHOICE", "[\"A\",\"B\"]", "{\"value\":\"A\"}");
+        var open = question(12L, "SHORT_ANSWER", null, "{\"value\":\"Paris\"}");
+        stubQuestions(1L, q, open);
+
+        QuizPlaySnapshot snapshot = cache.get(1L);
+
+        assertThat(snapshot.questions()).extracting(d -> d.id()).containsExactly(11L, 12L);
+        assertThat(snapshot.optionsByQuestionId()).containsOnlyKeys(11L);
+        assertThat(snapshot.optionsByQuestionId().get(11L)).containsExactly("A", "B");
+        assertThat(snapshot.question(11L).key()).isEqualTo(new CompiledAnswerKey.ExactText("A"));
+        assertThat(snapshot.question(12L).points()).isEqualTo(1);
+        assertThat(snapshot.question(99L)).isNull();
+    }
+
+    @Test
+    void get_returnsSameSnapshotUntilVersionBumped() {
+        stubQuestions(1L, question(11L, "SHORT_ANSWER", null, "{\"value\":\"x\"}"));
+
+        QuizPlaySnapshot first = cache.get(1L);
+        assertThat(cache.get(1L)).isSameAs(first);
+
+        quizVersions.bump(1L);
+        QuizPlaySnapshot second = cache.get(1L);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.version()).isEqualTo(1);
+        verify(questionRepository, times(2)).findByQuiz_Id(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedQuizBeyondCapacity() {
+        stubQuestions(1L);
+        stubQuestions(2L);
+        stubQuestions(3L);
+
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(1L);
+        cache.get(3L);
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(cache.size()).isEqualTo(2);
+        verify(questionRepository, times(1)).findByQuiz_Id(eq(1L), any(Pageable.class));
+        verify(questionRepository, times(2)).findByQuiz_Id(eq(2L), any(Pageable.class));
+    }
+
+    @Test
+    void get_doesNotCacheFailedLoad() {
+        when(questionRepository.findByQuiz_Id(eq(1L), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        assertThatThrownBy(() -> cache.get(1L)).isInstanceOf(IllegalStateException.class).hasMessage("db down");
+        assertThat(cache.get(1L).questions()).isEmpty();
+    }
+
+    @Test
+    void get_concurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(questionRepository.findByQuiz_Id(eq(1L), any(Pageable.class))).thenAnswer(inv -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new PageImpl<>(List.of(question(11L, "SHORT_ANSWER", null, "{\"value\":\"x\"}")));
+        });
+
+        int callers = 300;
+        List<Future<QuizPlaySnapshot>> results = new ArrayList<>(callers);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get(1L)));
+            }
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+
+            QuizPlaySnapshot first = results.getFirst().get(5, TimeUnit.SECONDS);
+            for (Future<QuizPlaySnapshot> f : results) {
+                assertThat(f.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        }
+
+        verify(questionRepository, times(1)).findByQuiz_Id(eq(1L), any(Pageable.class));
+    }
+
+    private void stubQuestions(long quizId, QuestionEntity... questions) {
+        when(questionRepository.findByQuiz_Id(eq(quizId), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(questions)));
+    }
+
+    private static QuestionEntity question(long id, String type, String options, String answerKey) {
+        var q = new QuestionEntity(type, "P" + id, 1);
+        q.setOptions(options);
+        q.setAnswerKey(answerKey);
+        try {
+            Field f = QuestionEntity.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(q, id);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return q;
+    }
+}
@@ -0,0 +1,59 @@
+package com.quiz.quizapp.domain.play;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeededShuffleTest {
+
+    @Test
+    void permutation_containsEveryIndexOnce() {
+        int[] order = SeededShuffle.permutation(123L, 50);
+
+        assertThat(order).hasSize(50);
+        assertThat(Arrays.stream(order).sorted().toArray()).isEqualTo(IntStream.range(0, 50).toArray());
+    }
+
+    @Test
+    void permutation_isStableForSameSeed() {
+        assertThat(SeededShuffle.permutation(7L, 20)).isEqualTo(SeededShuffle.permutation(7L, 20));
+    }
+
+    @Test
+    void permutation_differsAcrossSeeds() {
+        Set<String> orders = new HashSet<>();
+        for (long seed = 0; seed < 20; seed++) {
+            orders.add(Arrays.toString(SeededShuffle.permutation(seed, 10)));
+        }
+        assertThat(orders.size()).isGreaterThan(15);
+    }
+
+    @Test
+    void permutation_handlesEmptyAndSingle() {
+        assertThat(SeededShuffle.permutation(1L, 0)).isEmpty();
+        assertThat(SeededShuffle.permutation(1L, 1)).containsExactly(0);
+    }
+
+    @Test
+    void apply_returnsReorderedCopyAndLeavesInputAlone() {
+        List<String> items = List.of("a", "b", "c", "d", "e");
+
+        List<String> shuffled = SeededShuffle.apply(items, 99L);
+
+        assertThat(shuffled).containsExactlyInAnyOrderElementsOf(items);
+        assertThat(shuffled).isEqualTo(SeededShuffle.apply(items, 99L));
+        assertThat(items).containsExactly("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void optionSeed_differsPerQuestion() {
+        assertThat(SeededShuffle.optionSeed(5L, 1L)).isNotEqualTo(SeededShuffle.optionSeed(5L, 2L));
+        assertThat(SeededShuffle.optionSeed(5L, 1L)).isEqualTo(SeededShuffle.optionSeed(5L, 1L));
+    }
+}
@@ -0,0 +1,71 @@
+package com.quiz.quizapp.domain.question;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.LinkedMultiValueMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionTypeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void resolve_findsStoredUpperCaseName() {
+        assertThat(QuestionType.resolve("MULTI_CHOICE")).contains(QuestionType.MULTI_CHOICE);
+    }
+
+    @Test
+    void resolve_acceptsLegacyMixedCaseName() {
+        assertThat(QuestionType.resolve(" short_Answer ")).contains(QuestionType.SHORT_ANSWER);
+    }
+
+    @Test
+    void resolve_returnsEmptyForUnknownOrNull() {
+        assertThat(QuestionType.resolve("ESSAY")).isEmpty();
+        assertThat(QuestionType.resolve(null)).isEmpty();
+    }
+
+    @Test
+    void names_listsAllTypesInDeclarationOrder() {
+        assertThat(QuestionType.names()).containsExactly(
+                "SINGLE_CHOICE", "MULTI_CHOICE", "TRUE_FALSE", "SHORT_ANSWER",
+                "LIST_CHOICE", "FILL_BLANKS", "SORTING", "MATCHING");
+    }
+
+    @Test
+    void trueFalse_formValueIsWrittenAsBoolean() throws Exception {
+        var params = new LinkedMultiValueMap<String, String>();
+        params.add("q_7", "true");
+
+        assertThat(QuestionType.TRUE_FALSE.handler().answerJsonFromForm(7L, params, objectMapper))
+                .isEqualTo("{\"value\":true}");
+    }
+
+    @Test
+    void fillBlanks_returnsNullWhenAnyBlankIsEmpty() throws Exception {
+        var params = new LinkedMultiValueMap<String, String>();
+        params.add("q_7_0", "public");
+        params.add("q_7_1", " ");
+
+        assertThat(QuestionType.FILL_BLANKS.handler().answerJsonFromForm(7L, params, objectMapper)).isNull();
+    }
+
+    @Test
+    void matching_parsesOnePairPerLine() throws Exception {
+        var params = new LinkedMultiValueMap<String, String>();
+        params.add("q_7_pairs", "JVM = 1\n\nJRE=2");
+
+        assertThat(QuestionType.MATCHING.handler().answerJsonFromForm(7L, params, objectMapper))
+                .isEqualTo("{\"pairs\":{\"JVM\":\"1\",\"JRE\":\"2\"}}");
+    }
+
+    @Test
+    void sorting_splitsCsvAndDropsBlanks() throws Exception {
+        var params = new LinkedMultiValueMap<String, String>();
+        params.add("q_7_csv", "b, a,,c");
+
+        assertThat(QuestionType.SORTING.handler().answerJsonFromForm(7L, params, objectMapper))
+                .isEqualTo("{\"values\":[\"b\",\"a\",\"c\"]}");
+    }
+}
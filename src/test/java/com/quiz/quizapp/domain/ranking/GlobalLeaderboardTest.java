@@ -0,0 +1,60 @@
+package com.quiz.quizapp.domain.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalLeaderboardTest {
+
+    @Test
+    void keepsTheBestPlayersUpToCapacity() {
+        var board = new GlobalLeaderboard(PlayerMetric.TOTAL, 3);
+        board.load(List.of());
+
+        for (int i = 1; i <= 10; i++) board.update(player("p" + i, i * 10, 1));
+
+        assertThat(board.top(10)).extracting(PlayerStanding::nicknameKey).containsExactly("p10", "p9", "p8");
+        assertThat(board.top(2)).hasSize(2);
+        assertThat(board.stale()).isFalse();
+    }
+
+    @Test
+    void aRisingPlayerMovesUpAndPushesTheWeakestOut() {
+        var board = new GlobalLeaderboard(PlayerMetric.TOTAL, 2);
+        board.load(List.of(player("a", 50, 1), player("b", 40, 1)));
+
+        board.update(player("c", 45, 1));
+        board.update(player("b", 60, 2));
+
+        assertThat(board.top(5)).extracting(PlayerStanding::nicknameKey).containsExactly("b", "a");
+        assertThat(board.stale()).isFalse();
+    }
+
+    @Test
+    void aFallingOrVanishingPlayerMakesTheBoardStale() {
+        var board = new GlobalLeaderboard(PlayerMetric.AVERAGE, 2);
+        board.load(List.of(player("a", 50, 1), player("b", 40, 1)));
+
+        board.update(player("a", 60, 3));
+        assertThat(board.stale()).isTrue();
+
+        board.load(List.of(player("b", 40, 1), player("a", 60, 3)));
+        board.remove("b");
+        assertThat(board.stale()).isTrue();
+        assertThat(board.top(5)).extracting(PlayerStanding::nicknameKey).containsExactly("a");
+    }
+
+    @Test
+    void averageRanksByTheMeanAndTiesByKey() {
+        var board = new GlobalLeaderboard(PlayerMetric.AVERAGE, 5);
+        board.load(List.of(player("z", 30, 3), player("y", 100, 4), player("x", 10, 1)));
+
+        assertThat(board.top(5)).extracting(PlayerStanding::nicknameKey).containsExactly("y", "x", "z");
+    }
+
+    private static PlayerStanding player(String key, long total, int quizzes) {
+        return new PlayerStanding(key, key.toUpperCase(), total, quizzes, (double) total / quizzes);
+    }
+}
@@ -0,0 +1,228 @@
+package com.quiz.quizapp.domain.ranking;
+
+import com.quiz.quizapp.domain.jdbc.BestScoreJdbcDao;
+import com.quiz.quizapp.domain.jdbc.RankingJdbcDao;
+import com.quiz.quizapp.domain.service.GlobalRankingService;
+import com.quiz.quizapp.domain.service.QuizVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardCacheTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private RankingJdbcDao rankingJdbcDao;
+
+    @Mock
+    private BestScoreJdbcDao bestScoreJdbcDao;
+
+    @Mock
+    private WindowedLeaderboardCache windows;
+
+    @Mock
+    private GlobalRankingService globalRanking;
+
+    @Mock
+    private LiveRankingFeed liveFeed;
+
+    private QuizVersions quizVersions;
+    private LeaderboardCache cache;
+
+    @BeforeEach
+    void setUp() {
+        quizVersions = new QuizVersions();
+        cache = new LeaderboardCache(rankingJdbcDao, bestScoreJdbcDao, windows, globalRanking, liveFeed, quizVersions, 2, 100);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadsOnceAndThenServesFromMemory() {
+        when(rankingJdbcDao.leaderboard(1L, 101)).thenReturn(List.of(entry(1, 10)));
+
+        cache.get(1L);
+        cache.record(1L, 2L, "p2", 20, T0);
+
+        assertThat(cache.get(1L).top(10)).extracting(LeaderboardEntry::attemptId).containsExactly(2L, 1L);
+        verify(rankingJdbcDao, times(1)).leaderboard(1L, 101);
+    }
+
+    @Test
+    void concurrentFirstReadersShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        when(rankingJdbcDao.leaderboard(1L, 101)).thenAnswer(inv -> {
+            loading.await();
+            return List.of(entry(1, 10));
+        });
+
+        List<Future<QuizLeaderboard>> boards = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) boards.add(pool.submit(() -> cache.get(1L)));
+            Thread.sleep(50);
+            loading.countDown();
+        }
+
+        for (Future<QuizLeaderboard> b : boards) assertThat(b.get()).isSameAs(boards.getFirst().get());
+        verify(rankingJdbcDao, times(1)).leaderboard(1L, 101);
+    }
+
+    @Test
+    void recordForAQuizWithoutBoardIsLeftToTheLoad() {
+        cache.record(1L, 2L, "p2", 20, T0);
+
+        assertThat(cache.size()).isZero();
+        verifyNoInteractions(rankingJdbcDao);
+    }
+
+    @Test
+    void recordUpsertsThePlayersBestScoreEvenWithoutBoard() {
+        cache.record(1L, 2L, "p2", 20, T0.plusNanos(1_234_567));
+
+        verify(bestScoreJdbcDao).record(1L, 2L, "p2", 20, T0.plusNanos(1_234_000));
+    }
+
+    @Test
+    void recordTouchesTheGlobalTotalsOnlyWhenThePlayersBestImproved() {
+        when(bestScoreJdbcDao.record(1L, 2L, "p2", 20, T0)).thenReturn(true);
+        when(bestScoreJdbcDao.record(1L, 3L, "p2", 5, T0)).thenReturn(false);
+
+        cache.record(1L, 2L, "p2", 20, T0);
+        cache.record(1L, 3L, "p2", 5, T0);
+
+        verify(globalRanking, times(1)).touch("p2");
+        verify(windows, times(2)).put(eq(1L), any());
+    }
+
+    @Test
+    void recordReportsOnlyResultsThatMakeTheLiveTopN() {
+        when(liveFeed.topN()).thenReturn(2);
+        when(rankingJdbcDao.leaderboard(1L, 101)).thenReturn(List.of(entry(1, 30), entry(2, 20)));
+        QuizLeaderboard board = cache.get(1L);
+
+        cache.record(1L, 3L, "p3", 10, T0);
+        verify(liveFeed, never()).changed(anyLong(), any());
+
+        cache.record(1L, 4L, "p4", 25, T0);
+        verify(liveFeed).changed(1L, board);
+    }
+
+    @Test
+    void recordAndEvictBumpTheResultsVersionOnly() {
+        cache.record(1L, 2L, "p2", 20, T0);
+        cache.evict(1L);
+
+        assertThat(quizVersions.results(1L)).isEqualTo(2);
+        assertThat(quizVersions.current(1L)).isZero();
+    }
+
+    @Test
+    void recordBumpsTheResultsVersionOnlyOnceTheBoardHoldsTheEntry() {
+        when(rankingJdbcDao.leaderboard(1L, 101)).thenReturn(List.of(entry(1, 10)));
+        QuizLeaderboard board = cache.get(1L);
+        var seenMidHook = new AtomicLong(-1);
+        doAnswer(inv -> {
+            seenMidHook.set(quizVersions.results(1L));
+            return null;
+        }).when(windows).put(eq(1L), any());
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.record(1L, 2L, "p2", 20, T0);
+        // Committed, hooks not run yet: old tag, old body
+        assertThat(quizVersions.results(1L)).isZero();
+        assertThat(board.top(10)).extracting(LeaderboardEntry::attemptId).containsExactly(1L);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(seenMidHook).hasValue(0);
+        assertThat(quizVersions.results(1L)).isEqualTo(1);
+        assertThat(board.top(10)).extracting(LeaderboardEntry::attemptId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void evictBumpsTheResultsVersionAfterTheBoardIsGone() {
+        when(rankingJdbcDao.leaderboard(1L, 101)).thenReturn(List.of());
+        cache.get(1L);
+        var seenMidEvict = new AtomicLong(-1);
+        doAnswer(inv -> {
+            assertThat(cache.size()).isZero();
+            seenMidEvict.set(quizVersions.results(1L));
+            return null;
+        }).when(windows).evict(1L);
+
+        cache.evict(1L);
+
+        assertThat(seenMidEvict).hasValue(0);
+        assertThat(quizVersions.results(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void quizWriteOrEvictMakesTheNextReaderLoadAgain() {
+        when(rankingJdbcDao.leaderboard(1L, 101)).thenReturn(List.of());
+
+        cache.get(1L);
+        quizVersions.bump(1L);
+        cache.get(1L);
+        cache.evict(1L);
+        cache.get(1L);
+
+        verify(rankingJdbcDao, times(3)).leaderboard(1L, 101);
+    }
+
+    @Test
+    void evictsLeastRecentlyViewedQuizBeyondCapacity() {
+        when(rankingJdbcDao.leaderboard(anyLong(), eq(101))).thenReturn(List.of());
+
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(1L);
+        cache.get(3L);
+
+        assertThat(cache.size()).isEqualTo(2);
+        cache.get(1L);
+        verify(rankingJdbcDao, times(1)).leaderboard(1L, 101);
+        cache.get(2L);
+        verify(rankingJdbcDao, times(2)).leaderboard(2L, 101);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        when(rankingJdbcDao.leaderboard(1L, 101))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(List.of(entry(1, 10)));
+
+        assertThatThrownBy(() -> cache.get(1L)).hasMessage("down");
+        assertThat(cache.get(1L).size()).isEqualTo(1);
+    }
+
+    private static LeaderboardEntry entry(long id, int score) {
+        return new LeaderboardEntry(id, "p" + id, score, T0);
+    }
+}
@@ -0,0 +1,102 @@
+package com.quiz.quizapp.domain.ranking;
+
+import com.quiz.quizapp.api.dto.RankedRowResponse;
+import com.quiz.quizapp.api.dto.RankingDeltaResponse;
+import com.quiz.quizapp.domain.live.SseFanOut;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveRankingFeedTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private SseFanOut fanOut;
+
+    private LiveRankingFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new LiveRankingFeed(fanOut, 3, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void subscriberGetsTheCurrentTopAsState() {
+        feed.subscribe(1L, List.of(entry(1, 30), entry(2, 20)));
+
+        verify(fanOut).subscribe("ranking:1", new RankingDeltaResponse(2, List.of(
+                new RankedRowResponse(1, "p1", 30),
+                new RankedRowResponse(2, "p2", 20)
+        )));
+    }
+
+    @Test
+    void changesWithinTheIntervalAreCoalescedIntoOneDeltaOfChangedRanks() {
+        when(fanOut.subscriberCount("ranking:1")).thenReturn(1);
+        var publishedAt = new CopyOnWriteArrayList<Long>();
+        doAnswer(inv -> publishedAt.add(System.nanoTime())).when(fanOut).publish(any(), any(), any());
+        var board = new QuizLeaderboard(100);
+        board.put(entry(1, 30));
+        board.put(entry(2, 20));
+        feed.subscribe(1L, board.top(3));
+
+        board.put(entry(3, 25));
+        feed.changed(1L, board);
+        board.put(entry(4, 40));
+        feed.changed(1L, board);
+
+        var delta = ArgumentCaptor.forClass(Object.class);
+        verify(fanOut, timeout(2000)).publish(eq("ranking:1"), eq("delta"), delta.capture());
+        assertThat(delta.getValue()).isEqualTo(new RankingDeltaResponse(3, List.of(
+                new RankedRowResponse(1, "p4", 40),
+                new RankedRowResponse(2, "p1", 30),
+                new RankedRowResponse(3, "p3", 25)
+        )));
+
+        // The next change waits out the interval after that push
+        board.put(entry(5, 35));
+        feed.changed(1L, board);
+        verify(fanOut, timeout(2000).times(2)).publish(eq("ranking:1"), eq("delta"), delta.capture());
+        assertThat(publishedAt.get(1) - publishedAt.get(0)).isGreaterThanOrEqualTo(150_000_000L);
+        assertThat(delta.getValue()).isEqualTo(new RankingDeltaResponse(3, List.of(
+                new RankedRowResponse(2, "p5", 35),
+                new RankedRowResponse(3, "p1", 30)
+        )));
+    }
+
+    @Test
+    void changeWithoutSubscribersPublishesNothing() throws Exception {
+        var board = new QuizLeaderboard(100);
+        board.put(entry(1, 30));
+
+        feed.changed(1L, board);
+        Thread.sleep(50);
+
+        verify(fanOut, never()).publish(any(), any(), any());
+        assertThat(feed.feedCount()).isZero();
+    }
+
+    private static LeaderboardEntry entry(long id, int score) {
+        return new LeaderboardEntry(id, "p" + id, score, T0);
+    }
+}
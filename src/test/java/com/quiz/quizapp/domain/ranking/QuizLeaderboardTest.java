@@ -0,0 +1,120 @@
+package com.quiz.quizapp.domain.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuizLeaderboardTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+    @Test
+    void ordersByScoreThenEarlierFinishThenId() {
+        var board = new QuizLeaderboard(10);
+        board.put(entry(1, 10, 5));
+        board.put(entry(2, 20, 9));
+        board.put(entry(3, 10, 1));
+        board.put(entry(4, 10, 1));
+
+        assertThat(board.top(10)).extracting(LeaderboardEntry::attemptId).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(board.top(2)).extracting(LeaderboardEntry::attemptId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void putReturnsTheRankOrMinusOneWhenLeftOut() {
+        var board = new QuizLeaderboard(2);
+
+        assertThat(board.put(entry(1, 10, 0))).isZero();
+        assertThat(board.put(entry(2, 20, 0))).isZero();
+        assertThat(board.put(entry(3, 15, 0))).isEqualTo(1);
+        assertThat(board.put(entry(4, 5, 0))).isEqualTo(-1);
+    }
+
+    @Test
+    void putMovesAnAttemptThatIsAlreadyOnTheBoard() {
+        var board = new QuizLeaderboard(10);
+        board.put(entry(1, 10, 0));
+        board.put(entry(2, 5, 0));
+        board.put(entry(2, 50, 0));
+
+        assertThat(board.size()).isEqualTo(2);
+        assertThat(board.top(1)).extracting(LeaderboardEntry::score).containsExactly(50);
+    }
+
+    @Test
+    void loadKeepsEntriesThatArrivedWhileReading() {
+        var board = new QuizLeaderboard(10);
+        board.put(entry(1, 30, 0));
+
+        board.load(List.of(entry(1, 0, 0), entry(2, 10, 0)), 2);
+
+        assertThat(board.top(10)).extracting(LeaderboardEntry::score).containsExactly(30, 10);
+        assertThat(board.truncated()).isFalse();
+    }
+
+    @Test
+    void keepsOnlyTheBestWhenFullAndDeclinesDeeperReads() {
+        var board = new QuizLeaderboard(2);
+        board.put(entry(1, 10, 0));
+        board.put(entry(2, 20, 0));
+        board.put(entry(3, 5, 0));
+        board.put(entry(4, 30, 0));
+
+        assertThat(board.size()).isEqualTo(2);
+        assertThat(board.truncated()).isTrue();
+        assertThat(board.top(2)).extracting(LeaderboardEntry::attemptId).containsExactly(4L, 2L);
+        assertThat(board.top(3)).isNull();
+    }
+
+    @Test
+    void incompleteLoadMarksTheBoardTruncated() {
+        var board = new QuizLeaderboard(10);
+        board.load(List.of(entry(1, 10, 0)), 5);
+
+        assertThat(board.top(1)).hasSize(1);
+        assertThat(board.top(2)).isNull();
+    }
+
+    @Test
+    void positionGivesRankPercentileAndNeighbours() {
+        var board = new QuizLeaderboard(100);
+        for (int i = 1; i <= 10; i++) board.put(entry(i, 100 - i, 0));
+
+        RankPosition p = board.position(4, 2);
+
+        assertThat(p.rank()).isEqualTo(4);
+        assertThat(p.total()).isEqualTo(10);
+        assertThat(p.percentile()).isEqualTo(70.0);
+        assertThat(p.above()).extracting(LeaderboardEntry::attemptId).containsExactly(2L, 3L);
+        assertThat(p.below()).extracting(LeaderboardEntry::attemptId).containsExactly(5L, 6L);
+        assertThat(board.position(1, 2).above()).isEmpty();
+        assertThat(board.position(99, 2)).isNull();
+    }
+
+    @Test
+    void positionNearTheEndOfATruncatedBoardIsLeftToTheDatabase() {
+        var board = new QuizLeaderboard(5);
+        board.load(List.of(entry(1, 50, 0), entry(2, 40, 0), entry(3, 30, 0), entry(4, 20, 0), entry(5, 10, 0)), 1000);
+
+        assertThat(board.position(2, 2)).isNotNull().extracting(RankPosition::total).isEqualTo(1000L);
+        assertThat(board.position(4, 2)).isNull();
+    }
+
+    @Test
+    void afterContinuesFromACursorWhetherOrNotItIsStillOnTheBoard() {
+        var board = new QuizLeaderboard(100);
+        for (int i = 1; i <= 6; i++) board.put(entry(i, 100 - i * 10, 0));
+
+        assertThat(board.after(entry(2, 80, 0), 2)).extracting(LeaderboardEntry::attemptId).containsExactly(3L, 4L);
+        // Nobody scored 75; the page starts with whoever ranks after that
+        assertThat(board.after(entry(99, 75, 0), 2)).extracting(LeaderboardEntry::attemptId).containsExactly(3L, 4L);
+        assertThat(board.after(entry(6, 40, 0), 2)).isEmpty();
+    }
+
+    private static LeaderboardEntry entry(long id, int score, int finishedSecond) {
+        return new LeaderboardEntry(id, "p" + id, score, T0.plusSeconds(finishedSecond));
+    }
+}
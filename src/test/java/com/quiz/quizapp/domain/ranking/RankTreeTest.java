@@ -0,0 +1,67 @@
+package com.quiz.quizapp.domain.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankTreeTest {
+
+    @Test
+    void keepsOrderAndAnswersRankAndPosition() {
+        var tree = new RankTree<Integer>(Comparator.reverseOrder());
+        for (int v : new int[]{5, 1, 9, 3, 7}) tree.add(v);
+
+        assertThat(tree.size()).isEqualTo(5);
+        assertThat(tree.range(0, 10)).containsExactly(9, 7, 5, 3, 1);
+        assertThat(tree.rank(9)).isZero();
+        assertThat(tree.rank(3)).isEqualTo(3);
+        assertThat(tree.rank(4)).isEqualTo(3); // absent: how many order before it
+        assertThat(tree.get(1)).isEqualTo(7);
+        assertThat(tree.last()).isEqualTo(1);
+        assertThat(tree.range(1, 2)).containsExactly(7, 5);
+        assertThatThrownBy(() -> tree.get(5)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void ignoresDuplicatesAndRemoves() {
+        var tree = new RankTree<Integer>(Comparator.naturalOrder());
+        assertThat(tree.add(1)).isTrue();
+        assertThat(tree.add(1)).isFalse();
+        assertThat(tree.remove(2)).isFalse();
+        assertThat(tree.remove(1)).isTrue();
+        assertThat(tree.size()).isZero();
+        assertThat(tree.last()).isNull();
+        assertThat(tree.range(0, 3)).isEmpty();
+    }
+
+    @Test
+    void matchesASortedSetUnderRandomInsertsAndRemovals() {
+        var tree = new RankTree<Integer>(Comparator.naturalOrder());
+        var reference = new TreeSet<Integer>();
+        var random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            int v = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(tree.remove(v)).isEqualTo(reference.remove(v));
+            } else {
+                assertThat(tree.add(v)).isEqualTo(reference.add(v));
+            }
+        }
+
+        List<Integer> expected = new ArrayList<>(reference);
+        assertThat(tree.size()).isEqualTo(expected.size());
+        assertThat(tree.range(0, expected.size())).isEqualTo(expected);
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertThat(tree.get(i)).isEqualTo(expected.get(i));
+            assertThat(tree.rank(expected.get(i))).isEqualTo(i);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.quiz.quizapp.domain.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankingCursorTest {
+
+    @Test
+    void roundTripsTheSortKey() {
+        var entry = new LeaderboardEntry(42L, "alice", -3, OffsetDateTime.parse("2026-03-01T12:30:45.123456+02:00"));
+
+        LeaderboardEntry decoded = RankingCursor.decode(RankingCursor.encode(entry));
+
+        assertThat(LeaderboardEntry.ORDER.compare(decoded, entry)).isZero();
+        assertThat(decoded.attemptId()).isEqualTo(42L);
+        assertThat(decoded.score()).isEqualTo(-3);
+        assertThat(decoded.nickname()).isNull();
+    }
+
+    @Test
+    void blankMeansFromTheTopAndGarbageIsRejected() {
+        assertThat(RankingCursor.decode(null)).isNull();
+        assertThat(RankingCursor.decode(" ")).isNull();
+        assertThatThrownBy(() -> RankingCursor.decode("bm9wZQ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankingCursor.decode("***")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void timeOutOfRangeIsRejected() {
+        for (long micros : new long[]{Long.MIN_VALUE, Long.MAX_VALUE}) {
+            String cursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(("5:" + micros + ":1").getBytes(StandardCharsets.UTF_8));
+
+            assertThatThrownBy(() -> RankingCursor.decode(cursor))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid ranking cursor");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.quiz.quizapp.domain.ranking;
+
+import com.quiz.quizapp.domain.jdbc.RankingJdbcDao;
+import com.quiz.quizapp.domain.service.QuizVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WindowedLeaderboardCacheTest {
+
+    @Mock
+    private RankingJdbcDao rankingJdbcDao;
+
+    private QuizVersions quizVersions;
+    private WindowedLeaderboardCache cache;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        quizVersions = new QuizVersions();
+        cache = new WindowedLeaderboardCache(rankingJdbcDao, quizVersions, "UTC", 10, 5, 2);
+        today = cache.today();
+    }
+
+    @Test
+    void loadsTheRetainedDaysOnceAndThenKeepsThemCurrent() {
+        when(rankingJdbcDao.dailyTop(eq(1L), any(), eq("UTC"), eq(5)))
+                .thenReturn(List.of(entry(1, 5, today.minusDays(2)), entry(2, 8, today)));
+
+        assertThat(cache.top(1L, today, today, 10)).extracting(LeaderboardEntry::attemptId).containsExactly(2L);
+        cache.put(1L, entry(3, 9, today));
+
+        assertThat(cache.top(1L, today.minusDays(6), today, 10))
+                .extracting(LeaderboardEntry::attemptId).containsExactly(3L, 2L, 1L);
+        verify(rankingJdbcDao, times(1)).dailyTop(eq(1L), eq(atMidnight(cache.retainedSince())), eq("UTC"), eq(5));
+    }
+
+    @Test
+    void putForAQuizWithoutBoardIsLeftToTheLoad() {
+        cache.put(1L, entry(3, 9, today));
+
+        assertThat(cache.size()).isZero();
+        verifyNoInteractions(rankingJdbcDao);
+    }
+
+    @Test
+    void evictAndQuizWritesMakeTheNextReaderLoadAgain() {
+        when(rankingJdbcDao.dailyTop(eq(1L), any(), any(), anyInt())).thenReturn(List.of());
+
+        cache.top(1L, today, today, 10);
+        cache.evict(1L);
+        cache.top(1L, today, today, 10);
+        quizVersions.bump(1L);
+        cache.top(1L, today, today, 10);
+
+        verify(rankingJdbcDao, times(3)).dailyTop(eq(1L), any(), any(), anyInt());
+    }
+
+    @Test
+    void weekStartsOnMondayAndRetentionCoversAtLeastAWeek() {
+        var shortRetention = new WindowedLeaderboardCache(rankingJdbcDao, quizVersions, "UTC", 1, 5, 2);
+
+        assertThat(cache.weekStart().getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(cache.weekStart()).isAfterOrEqualTo(today.minusDays(6));
+        assertThat(shortRetention.retainedSince()).isEqualTo(shortRetention.today().minusDays(6));
+    }
+
+    private static OffsetDateTime atMidnight(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private static LeaderboardEntry entry(long id, int score, LocalDate day) {
+        return new LeaderboardEntry(id, "p" + id, score, atMidnight(day).plusHours(1));
+    }
+}
@@ -0,0 +1,70 @@
+package com.quiz.quizapp.domain.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WindowedLeaderboardTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+    @Test
+    void mergesTheDaysOfTheWindowInLeaderboardOrder() {
+        var board = new WindowedLeaderboard(7, 10);
+        board.put(100, entry(1, 5));
+        board.put(101, entry(2, 9));
+        board.put(102, entry(3, 7));
+        board.put(102, entry(4, 1));
+
+        assertThat(board.top(100, 102, 10)).extracting(LeaderboardEntry::attemptId).containsExactly(2L, 3L, 1L, 4L);
+        assertThat(board.top(101, 102, 2)).extracting(LeaderboardEntry::attemptId).containsExactly(2L, 3L);
+        assertThat(board.top(102, 102, 10)).extracting(LeaderboardEntry::attemptId).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void aNewDayTakesOverTheSlotOfTheExpiredOne() {
+        var board = new WindowedLeaderboard(7, 10);
+        board.put(100, entry(1, 5));
+
+        board.put(107, entry(2, 3));
+
+        assertThat(board.top(100, 107, 10)).extracting(LeaderboardEntry::attemptId).containsExactly(2L);
+        // Too old for the ring by now
+        board.put(100, entry(3, 99));
+        assertThat(board.top(100, 107, 10)).extracting(LeaderboardEntry::attemptId).containsExactly(2L);
+    }
+
+    @Test
+    void eachDayKeepsItsBestKAndTheMergedTopKStaysExact() {
+        var board = new WindowedLeaderboard(7, 5);
+        List<LeaderboardEntry> all = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            var e = new LeaderboardEntry(i, "p" + i, random.nextInt(50), T0.plusSeconds(random.nextInt(1000)));
+            board.put(200 + i % 7, e);
+            all.add(e);
+        }
+        all.sort(LeaderboardEntry.ORDER);
+
+        assertThat(board.top(200, 206, 5)).containsExactlyElementsOf(all.subList(0, 5));
+        assertThat(board.top(200, 206, 50)).hasSize(5);
+    }
+
+    @Test
+    void offeringTheSameAttemptTwiceKeepsOneEntry() {
+        var board = new WindowedLeaderboard(7, 5);
+        board.put(100, entry(1, 5));
+        board.put(100, entry(1, 5));
+
+        assertThat(board.top(100, 100, 10)).hasSize(1);
+    }
+
+    private static LeaderboardEntry entry(long id, int score) {
+        return new LeaderboardEntry(id, "p" + id, score, T0);
+    }
+}
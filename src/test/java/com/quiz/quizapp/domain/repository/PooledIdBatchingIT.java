@@ -0,0 +1,156 @@
+package com.quiz.quizapp.domain.repository;
+
+import com.quiz.quizapp.domain.entity.AttemptAnswerEntity;
+import com.quiz.quizapp.domain.entity.AttemptEntity;
+import com.quiz.quizapp.domain.entity.QuestionEntity;
+import com.quiz.quizapp.domain.entity.QuizEntity;
+import com.quiz.quizapp.domain.service.AttemptService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the Flyway schema (not a Hibernate-generated one), so it also proves the sequence
+ * increments from V8 match the entity allocation sizes.
+ */
+@SpringBootTest
+@Testcontainers
+class PooledIdBatchingIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        r.add("spring.datasource.username", POSTGRES::getUsername);
+        r.add("spring.datasource.password", POSTGRES::getPassword);
+        r.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    QuizRepository quizRepository;
+
+    @Autowired
+    AttemptRepository attemptRepository;
+
+    @Autowired
+    AttemptAnswerRepository attemptAnswerRepository;
+
+    @Autowired
+    AttemptService attemptService;
+
+    private Statistics statistics;
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("truncate quizzes cascade");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void questionInsertsAreBatchedAndIdsComeFromOneSequenceCallPerBlock() {
+        statistics.clear();
+
+        QuizEntity saved = tx.execute(status -> {
+            var quiz = new QuizEntity("Quiz", "d");
+            for (int i = 0; i < 120; i++) {
+                quiz.addQuestion(new QuestionEntity("SHORT_ANSWER", "Q" + i, 1));
+            }
+            return quizRepository.save(quiz);
+        });
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from questions", Long.class)).isEqualTo(120);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(121);
+        // 1 + 3 nextval calls, 1 quiz insert and 3 question batches (50, 50, 20); one statement
+        // per row would be well over a hundred
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+
+        List<Long> ids = jdbcTemplate.queryForList("select id from questions order by id", Long.class);
+        assertThat(ids.getLast() - ids.getFirst()).isEqualTo(119);
+        assertThat(saved.getId()).isNotNull();
+    }
+
+    @Test
+    void answerInsertsAreBatched() {
+        var quiz = new QuizEntity("Quiz", "d");
+        for (int i = 0; i < 10; i++) {
+            quiz.addQuestion(new QuestionEntity("SHORT_ANSWER", "Q" + i, 1));
+        }
+        QuizEntity savedQuiz = tx.execute(status -> quizRepository.save(quiz));
+        statistics.clear();
+
+        tx.executeWithoutResult(status -> {
+            List<AttemptAnswerEntity> answers = new ArrayList<>();
+            for (int a = 0; a < 20; a++) {
+                var attempt = attemptRepository.save(new AttemptEntity(savedQuiz, "p" + a));
+                for (QuestionEntity q : savedQuiz.getQuestions()) {
+                    answers.add(new AttemptAnswerEntity(attempt, q, "{\"value\":\"x\"}", false, 0));
+                }
+            }
+            attemptAnswerRepository.saveAll(answers);
+        });
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from attempt_answers", Long.class)).isEqualTo(200);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(220);
+        // 1 + 2 nextval calls, 1 attempt batch and 4 answer batches of 50
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void bulkStartInsertsAttemptsInBatches() {
+        long quizId = tx.execute(status -> quizRepository.save(new QuizEntity("Quiz", "d")).getId());
+        List<String> nicknames = new ArrayList<>();
+        for (int i = 0; i < 500; i++) nicknames.add("p" + i);
+        statistics.clear();
+
+        var infos = attemptService.startAll(quizId, nicknames);
+
+        assertThat(infos).hasSize(500);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from attempts where quiz_id = ?", Long.class, quizId))
+                .isEqualTo(500);
+        // 1 quiz select, 5 nextval calls and 10 batches of 50; one insert per row would be 500+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(20);
+    }
+
+    @Test
+    void plainInsertsThroughColumnDefaultDoNotCollideWithPooledIds() {
+        long quizId = tx.execute(status -> quizRepository.save(new QuizEntity("A", "d")).getId());
+        long rawId = jdbcTemplate.queryForObject("insert into quizzes(title) values ('B') returning id", Long.class);
+        long nextId = tx.execute(status -> quizRepository.save(new QuizEntity("C", "d")).getId());
+
+        assertThat(List.of(quizId, rawId, nextId)).doesNotHaveDuplicates();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from quizzes", Long.class)).isEqualTo(3);
+    }
+}
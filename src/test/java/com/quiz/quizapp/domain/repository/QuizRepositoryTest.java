@@ -1,5 +1,6 @@
 package com.quiz.quizapp.domain.repository;
 
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.entity.QuizEntity;
 import com.quiz.quizapp.testsupport.PostgresContainerBase;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Field;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -59,4 +66,30 @@ class QuizRepositoryTest extends PostgresContainerBase {
         assertThat(first.isNegativePointsEnabled()).isTrue();
         assertThat(first.getTitle()).isEqualTo("A");
     }
+
+    @Test
+    void findPageAfter_walksNewestFirstWithTiesBrokenById() throws Exception {
+        var at = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+        Field createdAt = QuizEntity.class.getDeclaredField("createdAt");
+        createdAt.setAccessible(true);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            var q = new QuizEntity("Q" + i, "d");
+            // Two quizzes share each timestamp, so the id has to break the tie
+            createdAt.set(q, at.plusMinutes(i / 2));
+            ids.add(quizRepository.save(q).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        QuizCursor after = null;
+        Slice<QuizEntity> page;
+        do {
+            page = quizRepository.findPageAfter(after, PageRequest.of(0, 2));
+            page.forEach(q -> seen.add(q.getId()));
+            QuizEntity last = page.getContent().getLast();
+            after = new QuizCursor(last.getCreatedAt(), last.getId());
+        } while (page.hasNext());
+
+        assertThat(seen).containsExactly(ids.get(4), ids.get(3), ids.get(2), ids.get(1), ids.get(0));
+    }
 }
@@ -0,0 +1,107 @@
+package com.quiz.quizapp.domain.scoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.entity.QuestionEntity;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnswerKeyCacheTest {
+
+    private final AnswerKeyCache cache = new AnswerKeyCache(new ObjectMapper(), 100);
+
+    @Test
+    void get_returnsSameCompiledKeyForUnchangedQuestion() {
+        var q = question(1L, "MULTI_CHOICE", "{\"values\":[\"A\",\"B\"]}");
+
+        assertThat(cache.get(q)).isSameAs(cache.get(q));
+    }
+
+    @Test
+    void get_recompilesWhenAnswerKeyChanges() {
+        var q = question(1L, "SINGLE_CHOICE", "{\"value\":\"A\"}");
+        var first = cache.get(q);
+
+        q.setAnswerKey("{\"value\":\"B\"}");
+
+        assertThat(cache.get(q)).isNotSameAs(first).isEqualTo(new CompiledAnswerKey.ExactText("B"));
+    }
+
+    @Test
+    void get_recompilesAfterEvict() {
+        var q = question(1L, "SINGLE_CHOICE", "{\"value\":\"A\"}");
+        var first = cache.get(q);
+
+        cache.evict(1L);
+
+        assertThat(cache.get(q)).isNotSameAs(first).isEqualTo(first);
+    }
+
+    @Test
+    void get_rejectsAllForAQuestionWithoutAType() {
+        var q = question(1L, null, "{\"value\":\"A\"}");
+
+        assertThat(cache.get(q)).isInstanceOf(CompiledAnswerKey.RejectAll.class);
+        // Second lookup hits the cached entry, whose type is null too
+        assertThat(cache.get(q)).isInstanceOf(CompiledAnswerKey.RejectAll.class);
+
+        q.setType("SINGLE_CHOICE");
+        assertThat(cache.get(q)).isEqualTo(new CompiledAnswerKey.ExactText("A"));
+    }
+
+    @Test
+    void get_evictsTheLeastRecentlyUsedKeyWhenFull() {
+        var small = new AnswerKeyCache(new ObjectMapper(), 2);
+        var q1 = question(1L, "SINGLE_CHOICE", "{\"value\":\"A\"}");
+        var q2 = question(2L, "SINGLE_CHOICE", "{\"value\":\"B\"}");
+        var q3 = question(3L, "SINGLE_CHOICE", "{\"value\":\"C\"}");
+        var first = small.get(q1);
+        var second = small.get(q2);
+        small.get(q1);
+
+        small.get(q3);
+
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.get(q1)).isSameAs(first);
+        assertThat(small.get(q2)).isNotSameAs(second);
+    }
+
+    @Test
+    void compile_buildsTypedMatchers() {
+        assertThat(cache.compile("multi_choice", "{\"values\":[\"A\",\"B\"]}"))
+                .isEqualTo(CompiledAnswerKey.TextSet.of(List.of("A", "B")));
+        assertThat(cache.compile("SHORT_ANSWER", "{\"value\":\"  Hello   World \"}"))
+                .isEqualTo(new CompiledAnswerKey.NormalisedText("hello world", 0));
+        assertThat(cache.compile("FILL_BLANKS", "{\"values\":[\" Foo\",\"BAR \"]}"))
+                .isEqualTo(new CompiledAnswerKey.NormalisedList(List.of("foo", "bar"), 0));
+        assertThat(cache.compile("SHORT_ANSWER", "{\"value\":\"Kraków\",\"maxTypos\":2}"))
+                .isEqualTo(new CompiledAnswerKey.NormalisedText("krakow", 2));
+        assertThat(cache.compile("MATCHING", "{\"pairs\":{\"A\":\"1\"}}"))
+                .isEqualTo(CompiledAnswerKey.TextMap.of(Map.of("A", "1")));
+    }
+
+    @Test
+    void compile_rejectsAllForMalformedKeyOrUnknownType() {
+        assertThat(cache.compile("SINGLE_CHOICE", "not-json")).isInstanceOf(CompiledAnswerKey.RejectAll.class);
+        assertThat(cache.compile("ESSAY", "{\"value\":\"A\"}")).isInstanceOf(CompiledAnswerKey.RejectAll.class);
+        assertThat(cache.compile("TRUE_FALSE", "{}")).isInstanceOf(CompiledAnswerKey.RejectAll.class);
+    }
+
+    private static QuestionEntity question(long id, String type, String answerKey) {
+        var q = new QuestionEntity();
+        q.setType(type);
+        q.setAnswerKey(answerKey);
+        try {
+            Field f = QuestionEntity.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(q, id);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return q;
+    }
+}
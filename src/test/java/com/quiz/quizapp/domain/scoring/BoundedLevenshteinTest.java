@@ -0,0 +1,63 @@
+package com.quiz.quizapp.domain.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedLevenshteinTest {
+
+    @Test
+    void within_acceptsUpToMaxEdits() {
+        assertThat(within("photosynthesis", "fotosynthesis", 2)).isTrue();
+        assertThat(within("kitten", "sitting", 3)).isTrue();
+        assertThat(within("kitten", "sitting", 2)).isFalse();
+        assertThat(within("abc", "abc", 0)).isTrue();
+        assertThat(within("warszawa", "krakow", 1)).isFalse();
+    }
+
+    @Test
+    void within_neverTakesAnEmptySideForATypo() {
+        assertThat(within("abc", "", 3)).isFalse();
+        assertThat(within("ab", "", 5)).isFalse();
+        assertThat(within("", "ab", 5)).isFalse();
+        assertThat(within("", "", 0)).isTrue();
+    }
+
+    @Test
+    void within_agreesWithFullEditDistance() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            String a = randomWord(random);
+            String b = randomWord(random);
+            int max = random.nextInt(4);
+
+            boolean expected = a.isEmpty() || b.isEmpty() ? a.equals(b) : distance(a, b) <= max;
+            assertThat(within(a, b, max)).as("%s / %s / %d", a, b, max).isEqualTo(expected);
+        }
+    }
+
+    private static boolean within(String a, String b, int max) {
+        return BoundedLevenshtein.within(a, b.toCharArray(), b.length(), max);
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int j = random.nextInt(9); j > 0; j--) sb.append((char) ('a' + random.nextInt(3)));
+        return sb.toString();
+    }
+
+    private static int distance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1));
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
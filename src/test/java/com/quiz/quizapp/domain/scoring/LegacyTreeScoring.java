@@ -0,0 +1,77 @@
+package com.quiz.quizapp.domain.scoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.*;
+
+/**
+ * The tree-based scorer as it was before keys were compiled and answers streamed. Kept as the
+ * reference for equivalence tests and for {@code ScoringBenchmark#legacyIsCorrect} only.
+ */
+public final class LegacyTreeScoring {
+
+    private final ObjectMapper objectMapper;
+
+    public LegacyTreeScoring(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isCorrect(String questionType, String answerKey, String answerJson) {
+        try {
+            JsonNode key = objectMapper.readTree(answerKey);
+            JsonNode ans = objectMapper.readTree(answerJson);
+
+            String type = questionType.toUpperCase(Locale.ROOT);
+
+            return switch (type) {
+                case "SINGLE_CHOICE", "LIST_CHOICE" -> eqText(ans.get("value"), key.get("value"));
+                case "MULTI_CHOICE" -> toSet(ans.get("values")).equals(toSet(key.get("values")));
+                case "TRUE_FALSE" -> ans.get("value").asBoolean() == key.get("value").asBoolean();
+                case "SHORT_ANSWER" -> eqNormalised(ans.get("value"), key.get("value"));
+                case "FILL_BLANKS" -> toList(ans.get("values")).stream().map(LegacyTreeScoring::normalise).toList()
+                        .equals(toList(key.get("values")).stream().map(LegacyTreeScoring::normalise).toList());
+                case "SORTING" -> toList(ans.get("values")).equals(toList(key.get("values")));
+                case "MATCHING" -> toMap(ans.get("pairs")).equals(toMap(key.get("pairs")));
+                default -> false;
+            };
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean eqText(JsonNode a, JsonNode b) {
+        if (a == null || b == null || a.isNull() || b.isNull()) return false;
+        return Objects.equals(a.asText(), b.asText());
+    }
+
+    private static boolean eqNormalised(JsonNode a, JsonNode b) {
+        if (a == null || b == null || a.isNull() || b.isNull()) return false;
+        return normalise(a.asText()).equals(normalise(b.asText()));
+    }
+
+    private static Set<String> toSet(JsonNode node) {
+        if (node == null || !node.isArray()) return Set.of();
+        Set<String> s = new HashSet<>();
+        node.forEach(n -> s.add(n.asText()));
+        return s;
+    }
+
+    private static List<String> toList(JsonNode node) {
+        if (node == null || !node.isArray()) return List.of();
+        List<String> l = new ArrayList<>();
+        node.forEach(n -> l.add(n.asText()));
+        return l;
+    }
+
+    private static Map<String, String> toMap(JsonNode node) {
+        if (node == null || !node.isObject()) return Map.of();
+        Map<String, String> m = new HashMap<>();
+        node.fields().forEachRemaining(e -> m.put(e.getKey(), e.getValue().asText()));
+        return m;
+    }
+
+    private static String normalise(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
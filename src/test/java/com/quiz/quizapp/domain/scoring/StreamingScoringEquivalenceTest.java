@@ -0,0 +1,90 @@
+package com.quiz.quizapp.domain.scoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.domain.entity.QuestionEntity;
+import com.quiz.quizapp.domain.service.ScoringService;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingScoringEquivalenceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ScoringService scoringService = new ScoringService(MAPPER, new AnswerKeyCache(MAPPER, 100));
+    private final LegacyTreeScoring legacy = new LegacyTreeScoring(MAPPER);
+
+    @ParameterizedTest(name = "{0} key={1} answer={2}")
+    @MethodSource("cases")
+    void streamingScorerAgreesWithTreeScorer(String type, String key, String answer) {
+        var q = new QuestionEntity();
+        q.setType(type);
+        q.setAnswerKey(key);
+
+        assertThat(scoringService.isCorrect(q, answer)).isEqualTo(legacy.isCorrect(type, key, answer));
+    }
+
+    static Stream<Arguments> cases() {
+        List<Arguments> out = new ArrayList<>();
+
+        List<String> scalarKeys = List.of(
+                "{\"value\":\"A\"}", "{\"value\":\"\"}", "{\"value\":null}", "{\"value\":1}",
+                "{\"value\":true}", "{\"value\":false}", "{\"value\":[\"A\"]}", "{}", "not-json");
+        List<String> scalarAnswers = List.of(
+                "{\"value\":\"A\"}", "{\"value\":\"a\"}", "{\"value\":\" A \"}", "{\"value\":\"\"}",
+                "{\"value\":null}", "{\"value\":1}", "{\"value\":1.0}", "{\"value\":-0}", "{\"value\":1e2}",
+                "{\"value\":12345678901234567890123}", "{\"value\":true}", "{\"value\":\" true \"}",
+                "{\"value\":\"false\"}", "{\"value\":0}", "{\"value\":{\"x\":1}}", "{\"value\":[]}",
+                "{\"value\":\"B\",\"value\":\"A\"}", "{\"value\":\"A\",\"value\":\"B\"}",
+                "{\"other\":{\"value\":\"A\"},\"value\":\"A\"}", "{}", "[]", "[{\"value\":\"A\"}]", "\"A\"",
+                "null", "", "{\"value\":\"A\"} trailing", "{\"value\":\"A\",", "{\"value\":\"A\",\"x\":[1,}",
+                "not-json");
+        for (String type : List.of("SINGLE_CHOICE", "LIST_CHOICE", "TRUE_FALSE", "SHORT_ANSWER", "short_answer")) {
+            for (String key : scalarKeys) {
+                for (String answer : scalarAnswers) out.add(Arguments.of(type, key, answer));
+            }
+        }
+        out.add(Arguments.of("SHORT_ANSWER", "{\"value\":\"Hello  World\"}", "{\"value\":\"  hello\\tworld \"}"));
+        // Free-text inputs stay ASCII: diacritic folding and Unicode spaces go beyond the old
+        // scorer on purpose and are covered by TextNormaliserTest
+
+        List<String> listKeys = List.of(
+                "{\"values\":[\"A\",\"B\",\"C\"]}", "{\"values\":[\"A\",\"A\",\"B\"]}", "{\"values\":[]}",
+                "{\"values\":[\"1\",\"true\",\"\"]}", "{}", "{\"values\":\"A\"}");
+        List<String> listAnswers = List.of(
+                "{\"values\":[\"A\",\"B\",\"C\"]}", "{\"values\":[\"C\",\"B\",\"A\"]}", "{\"values\":[\"A\",\"B\"]}",
+                "{\"values\":[\"A\",\"B\",\"C\",\"C\"]}", "{\"values\":[\"A\",\"B\",\"B\"]}", "{\"values\":[\"a\",\" b \",\"C\"]}",
+                "{\"values\":[1,true,\"\"]}", "{\"values\":[1,true,{}]}", "{\"values\":[1,true,[]]}",
+                "{\"values\":[]}", "{\"values\":null}", "{\"values\":\"A\"}", "{}", "[]",
+                "{\"values\":[\"X\"],\"values\":[\"A\",\"B\",\"C\"]}", "{\"values\":[\"A\",\"B\",\"C\"],\"values\":[\"X\"]}",
+                "{\"values\":[\"X\",\"B\",\"C\"]}", "{\"values\":[\"X\",{\"a\":[1,2]},\"C\"]}", "{\"values\":[\"A\",\"B\"",
+                "not-json");
+        for (String type : List.of("MULTI_CHOICE", "SORTING", "FILL_BLANKS")) {
+            for (String key : listKeys) {
+                for (String answer : listAnswers) out.add(Arguments.of(type, key, answer));
+            }
+        }
+
+        List<String> mapKeys = List.of(
+                "{\"pairs\":{\"A\":\"1\",\"B\":\"2\"}}", "{\"pairs\":{}}", "{}", "{\"pairs\":{\"A\":1}}");
+        List<String> mapAnswers = List.of(
+                "{\"pairs\":{\"A\":\"1\",\"B\":\"2\"}}", "{\"pairs\":{\"B\":\"2\",\"A\":\"1\"}}", "{\"pairs\":{\"A\":\"1\"}}",
+                "{\"pairs\":{\"A\":\"1\",\"B\":\"2\",\"C\":\"3\"}}", "{\"pairs\":{\"A\":\"2\",\"B\":\"2\"}}",
+                "{\"pairs\":{\"A\":\"2\",\"B\":\"2\",\"A\":\"1\"}}", "{\"pairs\":{\"A\":\"1\",\"B\":\"2\",\"A\":\"2\"}}",
+                "{\"pairs\":{\"A\":1,\"B\":\"2\"}}", "{\"pairs\":{\"A\":\"1\",\"B\":{}}}", "{\"pairs\":{}}",
+                "{\"pairs\":[]}", "{\"pairs\":null}", "{}", "{\"pairs\":{\"A\":\"1\",\"B\":\"2\"}",
+                "{\"pairs\":{\"X\":\"1\",\"B\":\"2\",\"A\":\"1\"}}", "not-json");
+        for (String key : mapKeys) {
+            for (String answer : mapAnswers) out.add(Arguments.of("MATCHING", key, answer));
+        }
+
+        out.add(Arguments.of("ESSAY", "{\"value\":\"A\"}", "{\"value\":\"A\"}"));
+        return out.stream();
+    }
+}
@@ -0,0 +1,79 @@
+package com.quiz.quizapp.domain.scoring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormaliserTest {
+
+    @ParameterizedTest(name = "\"{0}\" -> \"{1}\"")
+    @CsvSource(delimiter = '|', value = {
+            "'  Hello \t\n  World  '|'hello world'",
+            "Łódź|lodz",
+            "ZAŻÓŁĆ GĘŚLĄ JAŹŃ|zazolc gesla jazn",
+            "Crème Brûlée|creme brulee",
+            "Straße|straße",
+            "Øresund|oresund",
+            "'a b'|'a b'",
+            "Προβολή|προβολη",
+            "Йогурт|йогурт",
+            "''|''",
+            "'   '|''"
+    })
+    void normalise_foldsCaseDiacriticsAndWhitespace(String input, String expected) {
+        assertThat(TextNormaliser.normalise(input)).isEqualTo(expected);
+    }
+
+    @Test
+    void normalise_dropsSeparateCombiningMarks() {
+        assertThat(TextNormaliser.normalise("Café")).isEqualTo(TextNormaliser.normalise("Café")).isEqualTo("cafe");
+    }
+
+    @Test
+    void normalise_isNullSafeAndIdempotent() {
+        assertThat(TextNormaliser.normalise(null)).isEmpty();
+        for (char c = 0; c < 0x0400; c++) {
+            String once = TextNormaliser.normalise(String.valueOf(c));
+            assertThat(TextNormaliser.normalise(once)).as("U+%04X", (int) c).isEqualTo(once);
+        }
+    }
+
+    @Test
+    void normalise_agreesWithOldRegexRulesOnPlainAscii() {
+        Random random = new Random(42);
+        String alphabet = "aAbBzZ09 \t\n.-";
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = random.nextInt(12); j > 0; j--) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            String s = sb.toString();
+
+            assertThat(TextNormaliser.normalise(s))
+                    .isEqualTo(s.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " "));
+        }
+    }
+
+    @Test
+    void matches_comparesRegionAgainstNormalisedKey() {
+        char[] buf = "xx  Gdańsk   Główny yy".toCharArray();
+
+        assertThat(TextNormaliser.matches("gdansk glowny", buf, 2, buf.length - 4)).isTrue();
+        assertThat(TextNormaliser.matches("gdansk", buf, 2, buf.length - 4)).isFalse();
+        assertThat(TextNormaliser.matches("gdansk glowny x", buf, 2, buf.length - 4)).isFalse();
+        assertThat(TextNormaliser.matches("", "  ".toCharArray(), 0, 2)).isTrue();
+    }
+
+    @Test
+    void fold_writesSameTextAsNormalise() {
+        char[] buf = " Zürich  HB ".toCharArray();
+        char[] out = new char[buf.length];
+
+        int n = TextNormaliser.fold(buf, 0, buf.length, out);
+
+        assertThat(new String(out, 0, n)).isEqualTo("zurich hb");
+    }
+}
@@ -0,0 +1,214 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao.DraftAnswer;
+import com.quiz.quizapp.domain.service.AnswerDraftBuffer.AttemptState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnswerDraftBufferTest {
+
+    private static final AttemptState STATE = new AttemptState(7L, null);
+
+    @Mock
+    private AttemptAnswerJdbcDao dao;
+
+    private AnswerDraftBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        // Long interval: the tests flush by hand
+        buffer = new AnswerDraftBuffer(dao, 3_600_000, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void state_loadsOncePerAttempt() {
+        AtomicInteger loads = new AtomicInteger();
+
+        buffer.state(1L, () -> { loads.incrementAndGet(); return STATE; });
+        AttemptState second = buffer.state(1L, () -> { loads.incrementAndGet(); return STATE; });
+
+        assertThat(second).isEqualTo(STATE);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void flush_coalescesEditsToTheSameQuestionIntoOneRow() {
+        buffer.state(1L, () -> STATE);
+        buffer.put(1L, 11L, "{\"value\":\"a\"}");
+        buffer.put(1L, 11L, "{\"value\":\"ab\"}");
+        buffer.put(1L, 11L, "{\"value\":\"abc\"}");
+        buffer.put(1L, 12L, "{\"value\":true}");
+
+        buffer.flush();
+
+        verify(dao).upsertDrafts(eq(List.of(
+                new DraftAnswer(1L, 11L, "{\"value\":\"abc\"}"),
+                new DraftAnswer(1L, 12L, "{\"value\":true}"))), any());
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void flush_writesAllAttemptsInOneBatchAndNothingWhenIdle() {
+        buffer.state(1L, () -> STATE);
+        buffer.state(2L, () -> STATE);
+        buffer.put(1L, 11L, "{}");
+        buffer.put(2L, 11L, "{}");
+
+        buffer.flush();
+        buffer.flush();
+
+        ArgumentCaptor<List<DraftAnswer>> captor = ArgumentCaptor.captor();
+        verify(dao, times(1)).upsertDrafts(captor.capture(), any());
+        assertThat(captor.getValue()).hasSize(2);
+    }
+
+    @Test
+    void flush_keepsFailedBatchPendingButPrefersNewerEdits() {
+        buffer.state(1L, () -> STATE);
+        buffer.put(1L, 11L, "{\"v\":1}");
+        buffer.put(1L, 12L, "{\"v\":1}");
+        doThrow(new DataAccessResourceFailureException("down")).when(dao).upsertDrafts(any(), any());
+
+        assertThatThrownBy(buffer::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(buffer.pendingCount()).isEqualTo(2);
+
+        buffer.put(1L, 12L, "{\"v\":2}");
+        assertThat(buffer.close(1L)).containsEntry(11L, "{\"v\":1}").containsEntry(12L, "{\"v\":2}");
+    }
+
+    @Test
+    void flush_dropsTheRowTheDatabaseRejectsAndWritesTheRest() {
+        String nul = "{\"value\":\"\\u0000\"}";
+        buffer.state(1L, () -> STATE);
+        buffer.state(2L, () -> STATE);
+        buffer.put(1L, 11L, "{\"value\":\"a\"}");
+        buffer.put(1L, 12L, nul);
+        buffer.put(2L, 11L, "{\"value\":\"b\"}");
+        // Stands in for the jsonb cast: any batch holding the NUL escape fails
+        doThrow(new DataIntegrityViolationException("unsupported Unicode escape sequence"))
+                .when(dao).upsertDrafts(argThat(l -> l.stream().anyMatch(d -> d.answerJson().equals(nul))), any());
+
+        buffer.flush();
+
+        verify(dao).upsertDrafts(eq(List.of(new DraftAnswer(1L, 11L, "{\"value\":\"a\"}"))), any());
+        verify(dao).upsertDrafts(eq(List.of(new DraftAnswer(2L, 11L, "{\"value\":\"b\"}"))), any());
+        assertThat(buffer.pendingCount()).isZero();
+        buffer.flush();
+        verify(dao, times(4)).upsertDrafts(any(), any());
+    }
+
+    @Test
+    void scheduledFlushKeepsRunningAfterAnUnexpectedFailure() {
+        buffer.shutdown();
+        buffer = new AnswerDraftBuffer(dao, 20, 1000);
+        buffer.state(1L, () -> STATE);
+        buffer.put(1L, 11L, "{}");
+        doThrow(new IllegalStateException("boom")).doThrow(new IllegalStateException("boom"))
+                .doNothing()
+                .when(dao).upsertDrafts(any(), any());
+
+        verify(dao, timeout(2000).times(3)).upsertDrafts(any(), any());
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void put_flushesInBackgroundOnceThresholdReached() {
+        buffer.shutdown();
+        buffer = new AnswerDraftBuffer(dao, 3_600_000, 3);
+        buffer.state(1L, () -> STATE);
+
+        buffer.put(1L, 11L, "{}");
+        buffer.put(1L, 12L, "{}");
+        buffer.put(1L, 12L, "{}"); // coalesced, doesn't count
+        buffer.put(1L, 13L, "{}");
+
+        verify(dao, timeout(2000)).upsertDrafts(argThat(l -> l.size() == 3), any());
+    }
+
+    @Test
+    void close_returnsPendingAndRejectsLaterSaves() {
+        buffer.state(1L, () -> STATE);
+        buffer.put(1L, 11L, "{\"value\":\"x\"}");
+
+        assertThat(buffer.close(1L)).containsExactlyEntriesOf(java.util.Map.of(11L, "{\"value\":\"x\"}"));
+
+        assertThatThrownBy(() -> buffer.put(1L, 12L, "{}")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> buffer.state(1L, () -> STATE)).isInstanceOf(IllegalStateException.class);
+        buffer.flush();
+        verifyNoInteractions(dao);
+    }
+
+    @Test
+    void close_withoutSavesStillBlocksASaveStartedLater() {
+        assertThat(buffer.close(1L)).isEmpty();
+
+        assertThatThrownBy(() -> buffer.state(1L, () -> STATE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already finished");
+    }
+
+    @Test
+    void close_rolledBackPutsTheAnswersBackAndTakesSavesAgain() {
+        buffer.state(1L, () -> STATE);
+        buffer.put(1L, 11L, "{\"value\":\"x\"}");
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(buffer.close(1L)).containsOnlyKeys(11L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+        assertThat(buffer.state(1L, () -> STATE)).isEqualTo(STATE);
+        buffer.put(1L, 12L, "{}");
+        assertThat(buffer.close(1L)).containsOnlyKeys(11L, 12L);
+    }
+
+    @Test
+    void close_committedStaysClosed() {
+        buffer.state(1L, () -> STATE);
+        buffer.put(1L, 11L, "{\"value\":\"x\"}");
+        TransactionSynchronizationManager.initSynchronization();
+
+        buffer.close(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(buffer.pendingCount()).isZero();
+        assertThatThrownBy(() -> buffer.put(1L, 12L, "{}")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void reopen_ofACloseWithoutSavesLoadsTheStateOnNextUse() {
+        assertThat(buffer.close(1L)).isEmpty();
+        buffer.reopen(1L, java.util.Map.of());
+
+        assertThat(buffer.state(1L, () -> STATE)).isEqualTo(STATE);
+    }
+}
@@ -0,0 +1,284 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao.NewAnswer;
+import com.quiz.quizapp.domain.jdbc.AttemptExpiryJdbcDao;
+import com.quiz.quizapp.domain.jdbc.AttemptExpiryJdbcDao.FinalScore;
+import com.quiz.quizapp.domain.jdbc.AttemptExpiryJdbcDao.OpenAttempt;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot;
+import com.quiz.quizapp.domain.play.QuizPlaySnapshot.PlayQuestion;
+import com.quiz.quizapp.domain.play.QuizSnapshotCache;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import com.quiz.quizapp.testsupport.SynchronizingTransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttemptExpiryServiceTest {
+
+    private static final long QUIZ_ID = 7L;
+
+    @Mock
+    private AttemptExpiryJdbcDao expiryDao;
+
+    @Mock
+    private AttemptAnswerJdbcDao answerDao;
+
+    @Mock
+    private AnswerDraftBuffer answerDraftBuffer;
+
+    @Mock
+    private QuizSnapshotCache quizSnapshotCache;
+
+    @Mock
+    private ScoringService scoringService;
+
+    @Mock
+    private LeaderboardCache leaderboardCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AttemptExpiryService service;
+
+    @BeforeEach
+    void setUp() {
+        // Long tick and no grace: the tests sweep by hand
+        service = new AttemptExpiryService(expiryDao, answerDao, answerDraftBuffer, quizSnapshotCache,
+                scoringService, leaderboardCache, transactionManager, 3_600_000, 0, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void sweep_leavesAttemptsThatAreNotDueInTheQueue() {
+        service.track(1L, OffsetDateTime.now().plusMinutes(5));
+
+        assertThat(service.sweep()).isZero();
+
+        assertThat(service.size()).isEqualTo(1);
+        verifyNoInteractions(expiryDao);
+    }
+
+    @Test
+    void sweep_finishesDueAttemptsInBatchesAndScoresSavedAnswers() {
+        OffsetDateTime past = OffsetDateTime.now().minusSeconds(10);
+        for (long id = 1; id <= 3; id++) service.track(id, past.plusSeconds(id));
+        when(expiryDao.findOpen(anyList())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).stream()
+                .map(id -> new OpenAttempt(id, QUIZ_ID, "p" + id, true, past)).toList());
+        when(answerDao.findAnswers(anyList())).thenReturn(new HashMap<>(Map.of(
+                1L, new LinkedHashMap<>(Map.of(11L, "{\"value\":\"A\"}")))));
+        when(answerDraftBuffer.close(anyLong())).thenReturn(Map.of());
+        when(answerDraftBuffer.close(2L)).thenReturn(Map.of(12L, "{\"value\":\"x\"}"));
+        when(quizSnapshotCache.get(QUIZ_ID)).thenReturn(snapshot());
+        when(scoringService.isCorrect(nullable(CompiledAnswerKey.class), eq("{\"value\":\"A\"}"))).thenReturn(true);
+        when(scoringService.isCorrect(nullable(CompiledAnswerKey.class), eq("{\"value\":\"x\"}"))).thenReturn(false);
+        when(expiryDao.finish(anyList(), any())).thenAnswer(inv -> inv.<List<FinalScore>>getArgument(0).stream()
+                .map(FinalScore::attemptId).toList());
+
+        assertThat(service.sweep()).isEqualTo(3);
+
+        ArgumentCaptor<List<FinalScore>> scores = ArgumentCaptor.captor();
+        verify(expiryDao, times(2)).finish(scores.capture(), any());
+        assertThat(scores.getAllValues().getFirst())
+                .containsExactly(new FinalScore(1L, 3), new FinalScore(2L, -2));
+        assertThat(scores.getAllValues().getLast()).containsExactly(new FinalScore(3L, 0));
+
+        ArgumentCaptor<Map<Long, List<NewAnswer>>> answers = ArgumentCaptor.captor();
+        verify(answerDao, times(2)).saveAll(answers.capture(), any());
+        assertThat(answers.getAllValues().getFirst().get(2L))
+                .containsExactly(new NewAnswer(12L, "{\"value\":\"x\"}", false, -2));
+        assertThat(service.size()).isZero();
+    }
+
+    @Test
+    void sweep_skipsSubmittedAttemptsAndRequeuesOnesWithALongerLimit() {
+        OffsetDateTime later = OffsetDateTime.now().plusMinutes(10);
+        service.track(1L, OffsetDateTime.now().minusSeconds(1));
+        service.track(2L, OffsetDateTime.now().minusSeconds(1));
+        // 1 was submitted meanwhile (not open any more), 2's quiz limit was raised
+        when(expiryDao.findOpen(anyList())).thenReturn(List.of(new OpenAttempt(2L, QUIZ_ID, "p2", false, later)));
+
+        assertThat(service.sweep()).isZero();
+
+        assertThat(service.size()).isEqualTo(1);
+        verify(expiryDao, never()).finish(anyList(), any());
+        verifyNoInteractions(answerDraftBuffer);
+    }
+
+    @Test
+    void sweep_writesAnswersOnlyForAttemptsItActuallyFinished() {
+        OffsetDateTime past = OffsetDateTime.now().minusSeconds(1);
+        service.track(1L, past);
+        service.track(2L, past);
+        when(expiryDao.findOpen(anyList())).thenReturn(List.of(
+                new OpenAttempt(1L, QUIZ_ID, "p1", false, past), new OpenAttempt(2L, QUIZ_ID, "p2", false, past)));
+        when(answerDao.findAnswers(anyList())).thenReturn(new HashMap<>());
+        when(answerDraftBuffer.close(anyLong())).thenReturn(Map.of());
+        when(answerDraftBuffer.close(1L)).thenReturn(Map.of(11L, "{\"value\":\"A\"}"));
+        when(quizSnapshotCache.get(QUIZ_ID)).thenReturn(snapshot());
+        // 1 got submitted between the read and the claim
+        when(expiryDao.finish(anyList(), any())).thenReturn(List.of(2L));
+
+        assertThat(service.sweep()).isEqualTo(1);
+
+        // The drafts taken for 1 go back
+        verify(answerDraftBuffer).reopen(1L, Map.of(11L, "{\"value\":\"A\"}"));
+        verify(answerDraftBuffer, never()).reopen(eq(2L), any());
+
+        ArgumentCaptor<Map<Long, List<NewAnswer>>> answers = ArgumentCaptor.captor();
+        verify(answerDao).saveAll(answers.capture(), any());
+        assertThat(answers.getValue()).containsOnlyKeys(2L);
+        verify(leaderboardCache).record(eq(QUIZ_ID), eq(2L), eq("p2"), eq(0), any());
+        verifyNoMoreInteractions(leaderboardCache);
+    }
+
+    @Test
+    void sweep_putsAFailedBatchBackForTheNextTick() {
+        service.track(1L, OffsetDateTime.now().minusSeconds(1));
+        when(expiryDao.findOpen(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThatThrownBy(service::sweep).isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(service.size()).isEqualTo(1);
+    }
+
+    @Test
+    void sweep_rolledBackBatchLeavesBufferedDraftsForTheNextTick() {
+        var buffer = new AnswerDraftBuffer(answerDao, 3_600_000, 1000);
+        var expiry = new AttemptExpiryService(expiryDao, answerDao, buffer, quizSnapshotCache,
+                scoringService, leaderboardCache, new SynchronizingTransactionManager(), 3_600_000, 0, 2);
+        try {
+            OffsetDateTime past = OffsetDateTime.now().minusSeconds(1);
+            expiry.track(1L, past);
+            buffer.state(1L, () -> new AnswerDraftBuffer.AttemptState(QUIZ_ID, null));
+            buffer.put(1L, 11L, "{\"value\":\"A\"}");
+            when(expiryDao.findOpen(anyList())).thenReturn(List.of(new OpenAttempt(1L, QUIZ_ID, "p1", false, past)));
+            when(answerDao.findAnswers(anyList())).thenAnswer(inv -> new HashMap<>());
+            when(quizSnapshotCache.get(QUIZ_ID)).thenReturn(snapshot());
+            when(expiryDao.finish(anyList(), any()))
+                    .thenThrow(new DataAccessResourceFailureException("down"))
+                    .thenAnswer(inv -> List.of(1L));
+
+            assertThatThrownBy(expiry::sweep).isInstanceOf(DataAccessResourceFailureException.class);
+            assertThat(buffer.pendingCount()).isEqualTo(1);
+            // Due again right away rather than after the backoff
+            expiry.track(1L, past);
+
+            assertThat(expiry.sweep()).isEqualTo(1);
+
+            ArgumentCaptor<List<FinalScore>> scores = ArgumentCaptor.captor();
+            verify(expiryDao, times(2)).finish(scores.capture(), any());
+            assertThat(scores.getValue()).containsExactly(new FinalScore(1L, 0));
+            ArgumentCaptor<Map<Long, List<NewAnswer>>> answers = ArgumentCaptor.captor();
+            verify(answerDao).saveAll(answers.capture(), any());
+            assertThat(answers.getValue().get(1L)).extracting(NewAnswer::questionId).containsExactly(11L);
+        } finally {
+            expiry.shutdown();
+            buffer.shutdown();
+        }
+    }
+
+    @Test
+    void sweep_splitsAFailingBatchSoOnlyTheBadAttemptIsHeldBack() {
+        OffsetDateTime past = OffsetDateTime.now().minusSeconds(1);
+        service.track(1L, past);
+        service.track(2L, past);
+        when(expiryDao.findOpen(anyList())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).stream()
+                .map(id -> new OpenAttempt(id, QUIZ_ID, "p" + id, false, past)).toList());
+        when(answerDao.findAnswers(anyList())).thenAnswer(inv -> new HashMap<>());
+        when(answerDraftBuffer.close(anyLong())).thenReturn(Map.of());
+        // Attempt 1 can't be written, whatever batch it is in
+        when(expiryDao.finish(anyList(), any())).thenAnswer(inv -> {
+            List<FinalScore> scores = inv.getArgument(0);
+            if (scores.stream().anyMatch(s -> s.attemptId() == 1L)) throw new DataIntegrityViolationException("bad");
+            return scores.stream().map(FinalScore::attemptId).toList();
+        });
+
+        assertThat(service.sweep()).isEqualTo(1);
+
+        verify(leaderboardCache).record(eq(QUIZ_ID), eq(2L), eq("p2"), eq(0), any());
+        // 1 is back in the queue, but not due again right away
+        assertThat(service.size()).isEqualTo(1);
+        assertThat(service.sweep()).isZero();
+        verify(expiryDao, times(3)).finish(anyList(), any());
+    }
+
+    @Test
+    void sweep_doesNotSplitWhenNoTransactionCanBeHad() {
+        OffsetDateTime past = OffsetDateTime.now().minusSeconds(1);
+        service.track(1L, past);
+        service.track(2L, past);
+        when(expiryDao.findOpen(anyList())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).stream()
+                .map(id -> new OpenAttempt(id, QUIZ_ID, "p" + id, false, past)).toList());
+        when(transactionManager.getTransaction(any())).thenThrow(new CannotCreateTransactionException("pool exhausted"));
+
+        assertThatThrownBy(service::sweep).isInstanceOf(CannotCreateTransactionException.class);
+
+        verify(transactionManager, times(1)).getTransaction(any());
+        assertThat(service.size()).isEqualTo(2);
+    }
+
+    @Test
+    void scheduledSweepKeepsRunningWhenNoTransactionCanBeHad() {
+        service.shutdown();
+        service = new AttemptExpiryService(expiryDao, answerDao, answerDraftBuffer, quizSnapshotCache,
+                scoringService, leaderboardCache, transactionManager, 10, 0, 2);
+        OffsetDateTime past = OffsetDateTime.now().minusSeconds(1);
+        when(expiryDao.findOpen(anyList())).thenReturn(List.of(new OpenAttempt(1L, QUIZ_ID, "p1", false, past)));
+        when(transactionManager.getTransaction(any())).thenThrow(new CannotCreateTransactionException("pool exhausted"));
+
+        service.track(1L, past);
+
+        verify(transactionManager, timeout(2000).atLeast(2)).getTransaction(any());
+    }
+
+    @Test
+    void rebuild_loadsDeadlinesOfOpenAttempts() {
+        OffsetDateTime past = OffsetDateTime.now().minusSeconds(1);
+        when(expiryDao.findOpenTimedAttempts()).thenReturn(List.of(
+                new OpenAttempt(1L, QUIZ_ID, "p1", false, past),
+                new OpenAttempt(2L, QUIZ_ID, "p2", false, OffsetDateTime.now().plusMinutes(1))));
+
+        service.rebuild();
+
+        assertThat(service.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rebuild_withoutSchemaTracksNothing() {
+        when(expiryDao.findOpenTimedAttempts()).thenThrow(new DataAccessResourceFailureException("no table"));
+
+        service.rebuild();
+
+        assertThat(service.size()).isZero();
+    }
+
+    private static QuizPlaySnapshot snapshot() {
+        Map<Long, PlayQuestion> byId = Map.of(
+                11L, new PlayQuestion(11L, 3, null),
+                12L, new PlayQuestion(12L, 2, null));
+        return new QuizPlaySnapshot(QUIZ_ID, 0L, List.of(), byId, Map.of());
+    }
+}
@@ -1,8 +1,10 @@
 package com.quiz.quizapp.domain.service;
 
 import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.AttemptInfo;
 import com.quiz.quizapp.domain.entity.AttemptEntity;
 import com.quiz.quizapp.domain.entity.QuizEntity;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
 import com.quiz.quizapp.domain.repository.AttemptRepository;
 import com.quiz.quizapp.domain.repository.QuizRepository;
 import org.junit.jupiter.api.Test;
@@ -13,11 +15,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +36,12 @@ class AttemptServiceTest {
     @Mock
     private AttemptRepository attemptRepository;
 
+    @Mock
+    private AttemptExpiryService attemptExpiryService;
+
+    @Mock
+    private LeaderboardCache leaderboardCache;
+
     @InjectMocks
     private AttemptService service;
 
@@ -85,6 +98,79 @@ class AttemptServiceTest {
         assertThat(info.quizId()).isEqualTo(1L);
     }
 
+    @Test
+    void start_tracksDeadlineOfTimeLimitedQuiz() {
+        var quiz = new QuizEntity("Q", "d");
+        setId(quiz, 1L);
+        quiz.setTimeLimitSeconds(60);
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        when(attemptRepository.save(any(AttemptEntity.class))).thenAnswer(inv -> {
+            AttemptEntity a = inv.getArgument(0);
+            setId(a, 123L);
+            setField(a, "startedAt", startedAt);
+            return a;
+        });
+
+        service.start(1L, "nick");
+
+        verify(attemptExpiryService).track(123L, startedAt.plusSeconds(60));
+    }
+
+    @Test
+    void start_doesNotTrackQuizWithoutTimeLimit() {
+        var quiz = new QuizEntity("Q", "d");
+        setId(quiz, 1L);
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+        when(attemptRepository.save(any(AttemptEntity.class))).thenAnswer(inv -> {
+            AttemptEntity a = inv.getArgument(0);
+            setId(a, 123L);
+            return a;
+        });
+
+        service.start(1L, "nick");
+
+        verifyNoInteractions(attemptExpiryService);
+    }
+
+    @Test
+    void startAll_readsQuizOnceAndSavesAllAttemptsTogether() {
+        var quiz = new QuizEntity("Q", "d");
+        setId(quiz, 1L);
+        quiz.setTimeLimitSeconds(30);
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        when(attemptRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<AttemptEntity> attempts = inv.getArgument(0);
+            long id = 100;
+            for (AttemptEntity a : attempts) {
+                setId(a, id++);
+                setField(a, "startedAt", startedAt);
+            }
+            return attempts;
+        });
+
+        var infos = service.startAll(1L, List.of(" a ", "b", "c"));
+
+        assertThat(infos).extracting(AttemptInfo::id).containsExactly(100L, 101L, 102L);
+        assertThat(infos).extracting(AttemptInfo::nickname).containsExactly("a", "b", "c");
+        verify(quizRepository, times(1)).findById(1L);
+        verify(attemptRepository, never()).save(any());
+        verify(attemptExpiryService, times(3)).track(anyLong(), eq(startedAt.plusSeconds(30)));
+    }
+
+    @Test
+    void startAll_throwsWhenQuizMissing() {
+        when(quizRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.startAll(99L, List.of("x")))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verifyNoInteractions(attemptRepository);
+    }
+
     @Test
     void start_throwsWhenQuizMissing() {
         when(quizRepository.findById(99L)).thenReturn(Optional.empty());
@@ -105,6 +191,7 @@ class AttemptServiceTest {
         setId(attempt, 5L);
 
         when(attemptRepository.findById(5L)).thenReturn(Optional.of(attempt));
+        when(attemptRepository.claimFinish(eq(5L), any(), isNull())).thenReturn(1);
 
         var info = service.finish(5L, 123);
 
@@ -120,6 +207,7 @@ class AttemptServiceTest {
         setId(attempt, 5L);
 
         when(attemptRepository.findById(5L)).thenReturn(Optional.of(attempt));
+        when(attemptRepository.claimFinish(eq(5L), any(), isNull())).thenReturn(1);
 
         var info = service.finish(5L, 123);
 
@@ -135,19 +223,39 @@ class AttemptServiceTest {
         setId(attempt, 5L);
 
         when(attemptRepository.findById(5L)).thenReturn(Optional.of(attempt));
+        when(attemptRepository.claimFinish(eq(5L), any(), isNull())).thenReturn(1);
 
         var info = service.finish(5L, 123);
 
         assertThat(info.id()).isEqualTo(5L);
     }
 
+    @Test
+    void finish_rejectsAttemptFinishedConcurrently() {
+        var attempt = new AttemptEntity(new QuizEntity("Q", "d"), "nick");
+        setId(attempt, 5L);
+
+        when(attemptRepository.findById(5L)).thenReturn(Optional.of(attempt));
+        when(attemptRepository.claimFinish(eq(5L), any(), isNull())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.finish(5L, 123))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already finished");
+        assertThat(attempt.getScore()).isZero();
+        assertThat(attempt.getFinishedAt()).isNull();
+    }
+
     private static void setId(Object entity, Long id) {
+        setField(entity, "id", id);
+    }
+
+    private static void setField(Object entity, String name, Object value) {
         try {
-            Field f = entity.getClass().getDeclaredField("id");
+            Field f = entity.getClass().getDeclaredField(name);
             f.setAccessible(true);
-            f.set(entity, id);
+            f.set(entity, value);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to set id via reflection for " + entity.getClass(), e);
+            throw new RuntimeException("Failed to set " + name + " via reflection for " + entity.getClass(), e);
         }
     }
 }
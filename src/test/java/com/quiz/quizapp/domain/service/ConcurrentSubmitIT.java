@@ -0,0 +1,141 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.dto.SubmitAnswerDto;
+import com.quiz.quizapp.domain.dto.SubmitAnswersCommand;
+import com.quiz.quizapp.domain.dto.SubmitOutcome;
+import com.quiz.quizapp.domain.entity.AttemptEntity;
+import com.quiz.quizapp.domain.entity.QuestionEntity;
+import com.quiz.quizapp.domain.entity.QuizEntity;
+import com.quiz.quizapp.domain.repository.AttemptRepository;
+import com.quiz.quizapp.domain.repository.QuizRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Many submits of one attempt at once, against Postgres, so the row lock is the real one. */
+@SpringBootTest
+@Testcontainers
+class ConcurrentSubmitIT {
+
+    private static final int THREADS = 16;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        r.add("spring.datasource.username", POSTGRES::getUsername);
+        r.add("spring.datasource.password", POSTGRES::getPassword);
+        r.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(THREADS + 2));
+    }
+
+    @Autowired
+    GameplayService gameplayService;
+
+    @Autowired
+    QuizRepository quizRepository;
+
+    @Autowired
+    AttemptRepository attemptRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private long attemptId;
+    private SubmitAnswersCommand answers;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("truncate quizzes cascade");
+        var tx = new TransactionTemplate(transactionManager);
+        var quiz = new QuizEntity("Quiz", "d");
+        for (int i = 0; i < 5; i++) {
+            var q = new QuestionEntity("SHORT_ANSWER", "Q" + i, 2);
+            q.setAnswerKey("{\"value\":\"yes\"}");
+            quiz.addQuestion(q);
+        }
+        attemptId = tx.execute(status -> {
+            QuizEntity saved = quizRepository.save(quiz);
+            return attemptRepository.save(new AttemptEntity(saved, "p")).getId();
+        });
+        List<SubmitAnswerDto> list = new ArrayList<>();
+        for (QuestionEntity q : quiz.getQuestions()) {
+            list.add(new SubmitAnswerDto(q.getId(), "{\"value\":\"yes\"}"));
+        }
+        answers = new SubmitAnswersCommand(list);
+    }
+
+    @RepeatedTest(5)
+    void distinctSubmitsHaveExactlyOneWinnerAndNoWastedInserts() throws Exception {
+        List<Object> results = race(i -> gameplayService.submitAndFinish(attemptId, "key-" + i, answers));
+
+        assertThat(results).filteredOn(SubmitOutcome.class::isInstance).singleElement()
+                .isEqualTo(new SubmitOutcome(attemptId, 10));
+        // Losers are turned away by the claim, never by the unique key on attempt_answers
+        assertThat(results).filteredOn(r -> !(r instanceof SubmitOutcome)).hasSize(THREADS - 1)
+                .allSatisfy(r -> assertThat(r).isInstanceOf(IllegalStateException.class));
+        assertThat(answerRows()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("select score from attempts where id = ?", Integer.class, attemptId))
+                .isEqualTo(10);
+    }
+
+    @Test
+    void retriesOfOneSubmitAllGetTheSameOutcome() throws Exception {
+        List<Object> results = race(i -> gameplayService.submitAndFinish(attemptId, "same-key", answers));
+
+        assertThat(results).hasSize(THREADS).containsOnly(new SubmitOutcome(attemptId, 10));
+        assertThat(answerRows()).isEqualTo(5);
+    }
+
+    private long answerRows() {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from attempt_answers where attempt_id = ?", Long.class, attemptId);
+    }
+
+    /** Runs {@code submit} on every thread at once; each result is an outcome or the exception thrown. */
+    private List<Object> race(IntFunction<SubmitOutcome> submit) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                int n = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        return submit.apply(n);
+                    } catch (RuntimeException e) {
+                        return e;
+                    }
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> f : futures) results.add(f.get(30, TimeUnit.SECONDS));
+            return results;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.quiz.quizapp.domain.entity.QuestionEntity;
 import com.quiz.quizapp.domain.entity.QuizEntity;
 import com.quiz.quizapp.domain.repository.QuestionRepository;
 import com.quiz.quizapp.domain.repository.QuizRepository;
+import com.quiz.quizapp.domain.scoring.AnswerKeyCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,11 +30,17 @@ class CreatorQuestionServiceTest {
     @Mock
     private QuestionRepository questionRepository;
 
+    @Mock
+    private AnswerKeyCache answerKeyCache;
+
+    private final QuizVersions quizVersions = new QuizVersions();
+
     private CreatorQuestionService service;
 
     @BeforeEach
     void setUp() {
-        service = new CreatorQuestionService(quizRepository, questionRepository, new ObjectMapper());
+        service = new CreatorQuestionService(quizRepository, questionRepository, new ObjectMapper(), answerKeyCache,
+                quizVersions);
     }
 
     @Test
@@ -59,6 +66,16 @@ class CreatorQuestionServiceTest {
         assertThat(captor.getValue().getQuiz()).isSameAs(quiz);
     }
 
+    @Test
+    void create_bumpsQuizVersion() {
+        QuizEntity quiz = new QuizEntity("T", "D");
+        when(quizRepository.findById(5L)).thenReturn(Optional.of(quiz));
+
+        service.create(5L, "SHORT_ANSWER", "P", 3, null, "{\"value\":\"x\"}");
+
+        assertThat(quizVersions.current(5L)).isEqualTo(1);
+    }
+
     @Test
     void create_trimsAndUppercasesType() {
         QuizEntity quiz = new QuizEntity("T", "D");
@@ -7,27 +7,45 @@ import com.quiz.quizapp.domain.dto.SubmitAnswersCommand;
 import com.quiz.quizapp.domain.entity.AttemptEntity;
 import com.quiz.quizapp.domain.entity.QuestionEntity;
 import com.quiz.quizapp.domain.entity.QuizEntity;
-import com.quiz.quizapp.domain.repository.AttemptAnswerRepository;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao;
+import com.quiz.quizapp.domain.jdbc.AttemptAnswerJdbcDao.NewAnswer;
+import com.quiz.quizapp.domain.play.QuizSnapshotCache;
+import com.quiz.quizapp.domain.play.SeededShuffle;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
 import com.quiz.quizapp.domain.repository.AttemptRepository;
 import com.quiz.quizapp.domain.repository.QuestionRepository;
+import com.quiz.quizapp.domain.scoring.AnswerKeyCache;
+import com.quiz.quizapp.domain.scoring.CompiledAnswerKey;
+import com.quiz.quizapp.testsupport.SynchronizingTransactionManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.lang.reflect.Field;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -41,22 +59,44 @@ class GameplayServiceTest {
     private QuestionRepository questionRepository;
 
     @Mock
-    private AttemptAnswerRepository attemptAnswerRepository;
+    private AttemptAnswerJdbcDao attemptAnswerJdbcDao;
+
+    @Mock
+    private AnswerDraftBuffer answerDraftBuffer;
 
     @Mock
     private ScoringService scoringService;
 
+    @Mock
+    private LeaderboardCache leaderboardCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private QuizVersions quizVersions;
+
     private GameplayService gameplayService;
 
     @BeforeEach
     void setUp() {
+        var objectMapper = new ObjectMapper();
+        quizVersions = new QuizVersions();
+        var snapshotCache = new QuizSnapshotCache(
+                questionRepository, new AnswerKeyCache(objectMapper, 100), objectMapper, quizVersions, 10);
         gameplayService = new GameplayService(
                 attemptRepository,
                 questionRepository,
-                attemptAnswerRepository,
+                attemptAnswerJdbcDao,
+                answerDraftBuffer,
                 scoringService,
-                new ObjectMapper()
+                snapshotCache,
+                objectMapper,
+                new SubmitOutcomeCache(100),
+                leaderboardCache,
+                transactionManager
         );
+        // Uncontended: every submit wins its claim
+        lenient().when(attemptRepository.claimFinish(anyLong(), any(), anyString())).thenReturn(1);
     }
 
     @Test
@@ -68,7 +108,7 @@ class GameplayServiceTest {
                 .hasMessageContaining("Attempt not found");
 
         verify(attemptRepository).findById(1L);
-        verifyNoMoreInteractions(attemptRepository, questionRepository, attemptAnswerRepository, scoringService);
+        verifyNoMoreInteractions(attemptRepository, questionRepository, attemptAnswerJdbcDao, scoringService);
     }
 
     @Test
@@ -84,7 +124,7 @@ class GameplayServiceTest {
                 .hasMessageContaining("already finished");
 
         verify(attemptRepository).findById(1L);
-        verifyNoMoreInteractions(attemptRepository, questionRepository, attemptAnswerRepository, scoringService);
+        verifyNoMoreInteractions(attemptRepository, questionRepository, attemptAnswerJdbcDao, scoringService);
     }
 
     @Test
@@ -93,18 +133,46 @@ class GameplayServiceTest {
         var attempt = attempt(quiz);
 
         when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
-        when(questionRepository.findByQuiz_Id(eq(quiz.getId()), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(
-                        question(quiz, 1L),
-                        question(quiz, 2L),
-                        question(quiz, 3L)
-                )));
+        questionsOfQuiz(question(quiz, 1L), question(quiz, 2L), question(quiz, 3L));
 
         var out = gameplayService.questionsForAttempt(1L);
 
         assertThat(out).extracting(q -> q.id()).containsExactlyInAnyOrder(1L, 2L, 3L);
     }
 
+    @Test
+    void questionsForAttempt_randomisedOrderIsStableAcrossCallsAndFollowsSeed() {
+        var quiz = quiz(true);
+        var attempt = attempt(quiz);
+
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        var questions = new QuestionEntity[10];
+        for (int i = 0; i < questions.length; i++) questions[i] = question(quiz, i + 1L);
+        questionsOfQuiz(questions);
+
+        var first = gameplayService.questionsForAttempt(1L);
+        var second = gameplayService.questionsForAttempt(1L);
+
+        assertThat(second).isEqualTo(first);
+        int[] order = SeededShuffle.permutation(attempt.getShuffleSeed(), questions.length);
+        assertThat(first).extracting(q -> q.id())
+                .containsExactlyElementsOf(Arrays.stream(order).mapToObj(i -> i + 1L).toList());
+    }
+
+    @Test
+    void attemptQuestions_carriesTheSnapshotsQuizAndVersion() {
+        var quiz = quiz(false);
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt(quiz)));
+        questionsOfQuiz(question(quiz, 1L));
+        quizVersions.bump(1L);
+
+        var out = gameplayService.attemptQuestions(1L);
+
+        assertThat(out.quizId()).isEqualTo(1L);
+        assertThat(out.version()).isEqualTo(1);
+        assertThat(out.questions()).extracting(q -> q.id()).containsExactly(1L);
+    }
+
     @Test
     void submitAndFinish_throwsWhenTimeLimitExceeded() {
         var quiz = quiz(false);
@@ -120,7 +188,7 @@ class GameplayServiceTest {
                 .hasMessageContaining("Time limit exceeded");
 
         verify(attemptRepository).findById(1L);
-        verifyNoMoreInteractions(attemptRepository, questionRepository, attemptAnswerRepository, scoringService);
+        verifyNoMoreInteractions(attemptRepository, questionRepository, attemptAnswerJdbcDao, scoringService);
     }
 
     @Test
@@ -136,7 +204,7 @@ class GameplayServiceTest {
                 .hasMessageContaining("already finished");
 
         verify(attemptRepository).findById(1L);
-        verifyNoMoreInteractions(attemptRepository, questionRepository, attemptAnswerRepository, scoringService);
+        verifyNoMoreInteractions(attemptRepository, questionRepository, attemptAnswerJdbcDao, scoringService);
     }
 
     @Test
@@ -151,6 +219,7 @@ class GameplayServiceTest {
         var foreignQuestion = question(otherQuiz, foreignQuestionId);
 
         when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        questionsOfQuiz(question(quiz, 11L));
         when(questionRepository.findById(foreignQuestionId)).thenReturn(Optional.of(foreignQuestion));
 
         var req = new SubmitAnswersCommand(List.of(new SubmitAnswerDto(foreignQuestionId, "{\"value\":\"x\"}")));
@@ -159,8 +228,9 @@ class GameplayServiceTest {
                 .isInstanceOf(IllegalArgumentException.class);
 
         verify(attemptRepository).findById(1L);
+        verify(questionRepository).findByQuiz_Id(eq(1L), any(Pageable.class));
         verify(questionRepository).findById(foreignQuestionId);
-        verifyNoMoreInteractions(attemptRepository, questionRepository, attemptAnswerRepository, scoringService);
+        verifyNoMoreInteractions(attemptRepository, questionRepository, attemptAnswerJdbcDao, scoringService);
     }
 
     @Test
@@ -174,8 +244,8 @@ class GameplayServiceTest {
         q1.setPoints(5);
 
         when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
-        when(questionRepository.findById(11L)).thenReturn(Optional.of(q1));
-        when(scoringService.isCorrect(eq(q1), anyString())).thenReturn(false);
+        questionsOfQuiz(q1);
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), anyString())).thenReturn(false);
 
         var req = new SubmitAnswersCommand(List.of(new SubmitAnswerDto(11L, "{\"value\":\"x\"}")));
         var out = gameplayService.submitAndFinish(1L, req);
@@ -194,8 +264,8 @@ class GameplayServiceTest {
         q1.setPoints(5);
 
         when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
-        when(questionRepository.findById(11L)).thenReturn(Optional.of(q1));
-        when(scoringService.isCorrect(eq(q1), anyString())).thenReturn(false);
+        questionsOfQuiz(q1);
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), anyString())).thenReturn(false);
 
         gameplayService.submitAndFinish(1L, new SubmitAnswersCommand(List.of(new SubmitAnswerDto(11L, "{\"value\":\"x\"}"))));
 
@@ -213,12 +283,12 @@ class GameplayServiceTest {
         q1.setPoints(5);
 
         when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
-        when(questionRepository.findById(11L)).thenReturn(Optional.of(q1));
-        when(scoringService.isCorrect(eq(q1), anyString())).thenReturn(false);
+        questionsOfQuiz(q1);
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), anyString())).thenReturn(false);
 
         gameplayService.submitAndFinish(1L, new SubmitAnswersCommand(List.of(new SubmitAnswerDto(11L, "{\"value\":\"x\"}"))));
 
-        verify(attemptAnswerRepository).save(argThat(a -> a != null));
+        verify(attemptAnswerJdbcDao).saveAll(eq(1L), eq(List.of(new NewAnswer(11L, "{\"value\":\"x\"}", false, -5))), any());
     }
 
     @Test
@@ -232,14 +302,371 @@ class GameplayServiceTest {
         q1.setPoints(5);
 
         when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
-        when(questionRepository.findById(11L)).thenReturn(Optional.of(q1));
-        when(scoringService.isCorrect(eq(q1), anyString())).thenReturn(false);
+        questionsOfQuiz(q1);
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), anyString())).thenReturn(false);
 
         var out = gameplayService.submitAndFinish(1L, new SubmitAnswersCommand(List.of(new SubmitAnswerDto(11L, "{\"value\":\"x\"}"))));
 
         assertThat(out.totalScore()).isEqualTo(0);
     }
 
+    @Test
+    void submitAndFinish_scoresFromQuizSnapshotAndWritesAnswersInOneBatch() {
+        var quiz = quiz(false);
+        var attempt = attempt(quiz);
+        var q1 = question(quiz, 11L);
+        var q2 = question(quiz, 12L);
+        q2.setPoints(3);
+
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        questionsOfQuiz(q2, q1);
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), eq("{\"value\":\"A\"}"))).thenReturn(true);
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), eq("{\"value\":\"B\"}"))).thenReturn(true);
+
+        var out = gameplayService.submitAndFinish(1L, new SubmitAnswersCommand(List.of(
+                new SubmitAnswerDto(11L, "{\"value\":\"A\"}"),
+                new SubmitAnswerDto(12L, "{\"value\":\"B\"}"))));
+
+        assertThat(out.totalScore()).isEqualTo(4);
+        verify(questionRepository).findByQuiz_Id(eq(1L), any(Pageable.class));
+        verify(attemptAnswerJdbcDao).saveAll(eq(1L), eq(List.of(
+                new NewAnswer(11L, "{\"value\":\"A\"}", true, 1),
+                new NewAnswer(12L, "{\"value\":\"B\"}", true, 3))), any());
+        verify(attemptAnswerJdbcDao).findAnswers(1L);
+        verifyNoMoreInteractions(questionRepository, attemptAnswerJdbcDao);
+    }
+
+    @Test
+    void submitAndFinish_includesSavedAnswersAndLetsSubmittedOnesWin() {
+        var quiz = quiz(false);
+        var attempt = attempt(quiz);
+        var q1 = question(quiz, 11L);
+        var q2 = question(quiz, 12L);
+        var q3 = question(quiz, 13L);
+
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        questionsOfQuiz(q1, q2, q3);
+        when(attemptAnswerJdbcDao.findAnswers(1L)).thenReturn(Map.of(11L, "{\"value\":\"old\"}", 12L, "{\"value\":\"B\"}"));
+        when(answerDraftBuffer.close(1L)).thenReturn(Map.of(11L, "{\"value\":\"A\"}", 13L, "{\"value\":\"x\"}"));
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), anyString())).thenReturn(false);
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), eq("{\"value\":\"A\"}"))).thenReturn(true);
+
+        var out = gameplayService.submitAndFinish(1L, new SubmitAnswersCommand(List.of(
+                new SubmitAnswerDto(13L, "{\"value\":\"A\"}"))));
+
+        assertThat(out.totalScore()).isEqualTo(2);
+        ArgumentCaptor<List<NewAnswer>> captor = ArgumentCaptor.captor();
+        verify(attemptAnswerJdbcDao).saveAll(eq(1L), captor.capture(), any());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(
+                new NewAnswer(11L, "{\"value\":\"A\"}", true, 1),
+                new NewAnswer(12L, "{\"value\":\"B\"}", false, 0),
+                new NewAnswer(13L, "{\"value\":\"A\"}", true, 1));
+    }
+
+    @Test
+    void submitAndFinish_replayWithSameKeyReturnsFirstOutcomeWithoutScoringAgain() {
+        var quiz = quiz(false);
+        var attempt = attempt(quiz);
+
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        questionsOfQuiz(question(quiz, 11L));
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), anyString())).thenReturn(true);
+        var req = new SubmitAnswersCommand(List.of(new SubmitAnswerDto(11L, "{\"value\":\"A\"}")));
+
+        var first = gameplayService.submitAndFinish(1L, "k-1", req);
+        var replay = gameplayService.submitAndFinish(1L, "k-1", req);
+
+        assertThat(replay).isEqualTo(first);
+        assertThat(attempt.getSubmitKey()).isEqualTo("k-1");
+        // Ranked once, by the submit that finished it
+        verify(leaderboardCache).record(eq(1L), eq(1L), eq("nick"), eq(1), any());
+        verify(attemptRepository).findById(1L);
+        verify(scoringService).isCorrect(any(CompiledAnswerKey.class), anyString());
+        verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    void submitAndFinish_replayWithoutKeyIsMatchedByAttemptId() {
+        var attempt = attempt(quiz(false));
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+
+        var first = gameplayService.submitAndFinish(1L, new SubmitAnswersCommand(List.of()));
+        var replay = gameplayService.submitAndFinish(1L, new SubmitAnswersCommand(List.of()));
+
+        assertThat(replay).isEqualTo(first);
+        assertThat(attempt.getSubmitKey()).isEqualTo("1");
+        verify(attemptRepository).findById(1L);
+    }
+
+    @Test
+    void submitAndFinish_otherKeyAfterFinishIsRejected() {
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt(quiz(false))));
+        gameplayService.submitAndFinish(1L, "k-1", new SubmitAnswersCommand(List.of()));
+
+        assertThatThrownBy(() -> gameplayService.submitAndFinish(1L, "k-2", new SubmitAnswersCommand(List.of())))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already finished");
+        verify(attemptRepository).findById(1L);
+    }
+
+    @Test
+    void submitAndFinish_replayNotCachedAnymoreIsAnsweredFromTheAttempt() {
+        var attempt = attempt(quiz(false));
+        attempt.setScore(7);
+        attempt.markFinished(OffsetDateTime.now(), "k-1");
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+
+        var out = gameplayService.submitAndFinish(1L, "k-1", new SubmitAnswersCommand(List.of(
+                new SubmitAnswerDto(11L, "{\"value\":\"A\"}"))));
+
+        assertThat(out.totalScore()).isEqualTo(7);
+        verifyNoInteractions(scoringService, attemptAnswerJdbcDao, answerDraftBuffer);
+    }
+
+    @Test
+    void submitAndFinish_rejectsOverlongKey() {
+        assertThatThrownBy(() -> gameplayService.submitAndFinish(1L, "k".repeat(101), new SubmitAnswersCommand(List.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(attemptRepository, transactionManager);
+    }
+
+    @Test
+    void submitAndFinish_concurrentSubmitsScoreAndWriteOnlyForTheClaimWinner() throws Exception {
+        var quiz = quiz(false);
+        var attempt = attempt(quiz);
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        questionsOfQuiz(question(quiz, 11L));
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), anyString())).thenReturn(true);
+        // Stands in for the conditional update: the first caller gets the row
+        var open = new AtomicBoolean(true);
+        when(attemptRepository.claimFinish(eq(1L), any(), anyString()))
+                .thenAnswer(inv -> open.compareAndSet(true, false) ? 1 : 0);
+
+        int threads = 32;
+        var req = new SubmitAnswersCommand(List.of(new SubmitAnswerDto(11L, "{\"value\":\"A\"}")));
+        var start = new CountDownLatch(1);
+        var wins = new AtomicInteger();
+        var rejected = new AtomicInteger();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                String key = "k-" + i;
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        gameplayService.submitAndFinish(1L, key, req);
+                        wins.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(wins).hasValue(1);
+        assertThat(rejected).hasValue(threads - 1);
+        verify(scoringService, times(1)).isCorrect(any(CompiledAnswerKey.class), anyString());
+        verify(answerDraftBuffer, times(1)).close(1L);
+        verify(attemptAnswerJdbcDao, times(1)).saveAll(eq(1L), anyList(), any());
+    }
+
+    @Test
+    void submitAndFinish_rolledBackFinishKeepsBufferedDraftsForTheRetry() {
+        var quiz = quiz(false);
+        var buffer = new AnswerDraftBuffer(attemptAnswerJdbcDao, 3_600_000, 1000);
+        var service = new GameplayService(
+                attemptRepository, questionRepository, attemptAnswerJdbcDao, buffer, scoringService,
+                new QuizSnapshotCache(questionRepository, new AnswerKeyCache(new ObjectMapper(), 100),
+                        new ObjectMapper(), quizVersions, 10),
+                new ObjectMapper(), new SubmitOutcomeCache(100), leaderboardCache, new SynchronizingTransactionManager());
+        try {
+            // The rollback undoes the claim, so every read sees the attempt open
+            when(attemptRepository.findById(1L)).thenAnswer(inv -> Optional.of(attempt(quiz)));
+            questionsOfQuiz(question(quiz, 11L));
+            when(scoringService.isCorrect(any(CompiledAnswerKey.class), anyString())).thenReturn(true);
+            buffer.state(1L, () -> new AnswerDraftBuffer.AttemptState(1L, null));
+            buffer.put(1L, 11L, "{\"value\":\"A\"}");
+            doThrow(new DataAccessResourceFailureException("down"))
+                    .doNothing()
+                    .when(attemptAnswerJdbcDao).saveAll(eq(1L), anyList(), any());
+
+            assertThatThrownBy(() -> service.submitAndFinish(1L, "k-1", new SubmitAnswersCommand(List.of())))
+                    .isInstanceOf(DataAccessResourceFailureException.class);
+            assertThat(buffer.pendingCount()).isEqualTo(1);
+
+            var out = service.submitAndFinish(1L, "k-1", new SubmitAnswersCommand(List.of()));
+
+            assertThat(out.totalScore()).isEqualTo(1);
+            verify(attemptAnswerJdbcDao, times(2)).saveAll(eq(1L),
+                    eq(List.of(new NewAnswer(11L, "{\"value\":\"A\"}", true, 1))), any());
+            assertThat(buffer.pendingCount()).isZero();
+        } finally {
+            buffer.shutdown();
+        }
+    }
+
+    @Test
+    void saveAnswer_buffersAfterCheckingAttemptQuestionAndJson() {
+        var quiz = quiz(false);
+        questionsOfQuiz(question(quiz, 11L));
+        when(answerDraftBuffer.state(eq(1L), any())).thenReturn(new AnswerDraftBuffer.AttemptState(1L, null));
+
+        gameplayService.saveAnswer(1L, 11L, "{\"value\":\"A\"}");
+
+        verify(answerDraftBuffer).put(1L, 11L, "{\"value\":\"A\"}");
+        verifyNoInteractions(attemptRepository, attemptAnswerJdbcDao);
+    }
+
+    @Test
+    void saveAnswer_loadsAttemptStateThroughRepository() {
+        var quiz = quiz(false);
+        quiz.setTimeLimitSeconds(60);
+        var attempt = attempt(quiz);
+        when(attemptRepository.findWithQuizById(1L)).thenReturn(Optional.of(attempt));
+        questionsOfQuiz(question(quiz, 11L));
+        when(answerDraftBuffer.state(eq(1L), any())).thenAnswer(inv ->
+                inv.<java.util.function.Supplier<AnswerDraftBuffer.AttemptState>>getArgument(1).get());
+
+        gameplayService.saveAnswer(1L, 11L, "{\"value\":\"A\"}");
+
+        verify(answerDraftBuffer).put(1L, 11L, "{\"value\":\"A\"}");
+    }
+
+    @Test
+    void saveAnswer_rejectsAfterDeadline() {
+        when(answerDraftBuffer.state(eq(1L), any()))
+                .thenReturn(new AnswerDraftBuffer.AttemptState(1L, OffsetDateTime.now().minusSeconds(1)));
+
+        assertThatThrownBy(() -> gameplayService.saveAnswer(1L, 11L, "{\"value\":\"A\"}"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Time limit exceeded");
+
+        verify(answerDraftBuffer, never()).put(anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    void saveAnswer_rejectsMalformedJson() {
+        var quiz = quiz(false);
+        questionsOfQuiz(question(quiz, 11L));
+        when(answerDraftBuffer.state(eq(1L), any())).thenReturn(new AnswerDraftBuffer.AttemptState(1L, null));
+
+        assertThatThrownBy(() -> gameplayService.saveAnswer(1L, 11L, "{\"value\":"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gameplayService.saveAnswer(1L, 11L, "{} {}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Well-formed JSON the jsonb cast still refuses
+        assertThatThrownBy(() -> gameplayService.saveAnswer(1L, 11L, "{\"value\":\"a\\u0000\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gameplayService.saveAnswer(1L, 11L, "{\"value\":\"\\ud800\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gameplayService.saveAnswer(1L, 11L, "{\"\\udc00\":1}"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(answerDraftBuffer, never()).put(anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    void saveAnswer_acceptsPairedSurrogates() {
+        var quiz = quiz(false);
+        questionsOfQuiz(question(quiz, 11L));
+        when(answerDraftBuffer.state(eq(1L), any())).thenReturn(new AnswerDraftBuffer.AttemptState(1L, null));
+
+        gameplayService.saveAnswer(1L, 11L, "{\"value\":\"\\ud83d\\ude00 \uD83D\uDE00\"}");
+
+        verify(answerDraftBuffer).put(eq(1L), eq(11L), anyString());
+    }
+
+    @Test
+    void saveAnswer_rejectsQuestionOfAnotherQuiz() {
+        var quiz = quiz(false);
+        var otherQuiz = quiz(false);
+        setId(otherQuiz, 999L);
+        questionsOfQuiz(question(quiz, 11L));
+        when(answerDraftBuffer.state(eq(1L), any())).thenReturn(new AnswerDraftBuffer.AttemptState(1L, null));
+        when(questionRepository.findById(44L)).thenReturn(Optional.of(question(otherQuiz, 44L)));
+
+        assertThatThrownBy(() -> gameplayService.saveAnswer(1L, 44L, "{\"value\":\"A\"}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not belong");
+    }
+
+    @Test
+    void submitAndFinish_throwsWhenQuestionMissing() {
+        var quiz = quiz(false);
+        var attempt = attempt(quiz);
+
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        questionsOfQuiz(question(quiz, 11L));
+        when(questionRepository.findById(12L)).thenReturn(Optional.empty());
+
+        var req = new SubmitAnswersCommand(List.of(
+                new SubmitAnswerDto(11L, "{\"value\":\"A\"}"),
+                new SubmitAnswerDto(12L, "{\"value\":\"B\"}")));
+
+        assertThatThrownBy(() -> gameplayService.submitAndFinish(1L, req))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Question not found: 12");
+
+        verifyNoInteractions(attemptAnswerJdbcDao, scoringService);
+    }
+
+    @Test
+    void submitAndFinish_throwsWhenQuestionAnsweredTwice() {
+        var quiz = quiz(false);
+        var attempt = attempt(quiz);
+
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+
+        var req = new SubmitAnswersCommand(List.of(
+                new SubmitAnswerDto(11L, "{\"value\":\"A\"}"),
+                new SubmitAnswerDto(11L, "{\"value\":\"B\"}")));
+
+        assertThatThrownBy(() -> gameplayService.submitAndFinish(1L, req))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("more than once");
+
+        verifyNoInteractions(questionRepository, attemptAnswerJdbcDao, scoringService);
+    }
+
+    @Test
+    void questionsForAttemptAndSubmit_readQuestionsOnceWhileQuizUnchanged() {
+        var quiz = quiz(false);
+        var attempt = attempt(quiz);
+
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        questionsOfQuiz(question(quiz, 11L));
+        when(scoringService.isCorrect(any(CompiledAnswerKey.class), anyString())).thenReturn(true);
+
+        gameplayService.questionsForAttempt(1L);
+        gameplayService.questionsForAttempt(1L);
+        gameplayService.submitAndFinish(1L, new SubmitAnswersCommand(List.of(new SubmitAnswerDto(11L, "{\"value\":\"A\"}"))));
+
+        verify(questionRepository, times(1)).findByQuiz_Id(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void questionsForAttempt_reloadsAfterQuizVersionBump() {
+        var quiz = quiz(false);
+        var attempt = attempt(quiz);
+
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        questionsOfQuiz(question(quiz, 11L));
+        assertThat(gameplayService.questionsForAttempt(1L)).extracting(q -> q.id()).containsExactly(11L);
+
+        questionsOfQuiz(question(quiz, 11L), question(quiz, 12L));
+        quizVersions.bump(1L);
+
+        assertThat(gameplayService.questionsForAttempt(1L)).extracting(q -> q.id()).containsExactly(11L, 12L);
+        verify(questionRepository, times(2)).findByQuiz_Id(eq(1L), any(Pageable.class));
+    }
+
+    private void questionsOfQuiz(QuestionEntity... questions) {
+        when(questionRepository.findByQuiz_Id(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(questions)));
+    }
+
     private static QuizEntity quiz(boolean randomiseQuestions) {
         var q = new QuizEntity("T", "D");
         setId(q, 1L);
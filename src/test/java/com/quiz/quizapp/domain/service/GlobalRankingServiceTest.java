@@ -0,0 +1,104 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.jdbc.PlayerTotalsJdbcDao;
+import com.quiz.quizapp.domain.ranking.PlayerMetric;
+import com.quiz.quizapp.domain.ranking.PlayerStanding;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GlobalRankingServiceTest {
+
+    @Mock
+    private PlayerTotalsJdbcDao playerTotalsJdbcDao;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GlobalRankingService service;
+
+    @BeforeEach
+    void setUp() {
+        // A flush period long enough that only the test flushes
+        service = new GlobalRankingService(playerTotalsJdbcDao, transactionManager, 3, 60_000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void top_loadsTheBoardOnceThenServesFromMemory() {
+        when(playerTotalsJdbcDao.top(PlayerMetric.TOTAL, 3)).thenReturn(List.of(player("a", 50), player("b", 40)));
+
+        service.top(PlayerMetric.TOTAL, 10);
+        List<PlayerStanding> top = service.top(PlayerMetric.TOTAL, 10);
+
+        assertThat(top).extracting(PlayerStanding::nicknameKey).containsExactly("a", "b");
+        verify(playerTotalsJdbcDao, times(1)).top(PlayerMetric.TOTAL, 3);
+    }
+
+    @Test
+    void flush_recomputesDirtyPlayersOnceInKeyOrderAndFeedsTheBoards() {
+        when(playerTotalsJdbcDao.top(any(), anyInt())).thenReturn(List.of(player("a", 50)));
+        service.top(PlayerMetric.TOTAL, 10);
+        when(playerTotalsJdbcDao.refresh(List.of("Zed", "bob"))).thenReturn(List.of(player("bob", 90)));
+
+        service.touch("bob");
+        service.touch("Zed");
+        service.touch("bob");
+
+        assertThat(service.flush()).isEqualTo(1);
+        assertThat(service.flush()).isZero();
+        assertThat(service.top(PlayerMetric.TOTAL, 10)).extracting(PlayerStanding::nicknameKey).containsExactly("bob", "a");
+        verify(playerTotalsJdbcDao, times(1)).refresh(any());
+        verify(playerTotalsJdbcDao).removeEmpty(List.of("Zed", "bob"));
+    }
+
+    @Test
+    void flush_failureKeepsThePlayersDirty() {
+        when(playerTotalsJdbcDao.refresh(List.of("bob")))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of(player("bob", 90)));
+
+        service.touch("bob");
+
+        assertThatThrownBy(() -> service.flush()).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(service.flush()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_walksKeyRangesAndReloadsTheBoards() {
+        when(playerTotalsJdbcDao.top(any(), anyInt())).thenReturn(List.of());
+        service.top(PlayerMetric.TOTAL, 10);
+        when(playerTotalsJdbcDao.playerKeysAfter(null, 2)).thenReturn(List.of("a", "b"));
+        when(playerTotalsJdbcDao.playerKeysAfter("b", 2)).thenReturn(List.of("c"));
+
+        service.rebuild();
+        service.top(PlayerMetric.TOTAL, 10);
+
+        InOrder order = inOrder(playerTotalsJdbcDao);
+        order.verify(playerTotalsJdbcDao).rebuildRange(null, "b");
+        order.verify(playerTotalsJdbcDao).rebuildRange("b", null);
+        verify(playerTotalsJdbcDao, times(2)).top(PlayerMetric.TOTAL, 3);
+    }
+
+    private static PlayerStanding player(String key, long total) {
+        return new PlayerStanding(key, key, total, 1, total);
+    }
+}
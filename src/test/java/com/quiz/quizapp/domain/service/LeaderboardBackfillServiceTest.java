@@ -0,0 +1,108 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.jdbc.BestScoreJdbcDao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardBackfillServiceTest {
+
+    @Mock
+    private BestScoreJdbcDao bestScoreJdbcDao;
+
+    @Mock
+    private GlobalRankingService globalRanking;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LeaderboardBackfillService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LeaderboardBackfillService(bestScoreJdbcDao, globalRanking, transactionManager, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void run_walksIdRangesFromThePositionAndSavesEach() {
+        when(bestScoreJdbcDao.maxAttemptId()).thenReturn(250L);
+        when(bestScoreJdbcDao.backfill(anyLong(), anyLong())).thenReturn(7);
+
+        long written = service.run(20);
+
+        InOrder order = inOrder(bestScoreJdbcDao);
+        order.verify(bestScoreJdbcDao).backfill(20, 120);
+        order.verify(bestScoreJdbcDao).saveBackfillPosition(120);
+        order.verify(bestScoreJdbcDao).backfill(120, 220);
+        order.verify(bestScoreJdbcDao).saveBackfillPosition(220);
+        order.verify(bestScoreJdbcDao).backfill(220, 250);
+        order.verify(bestScoreJdbcDao).saveBackfillPosition(250);
+        order.verify(bestScoreJdbcDao).completeBackfill();
+        assertThat(written).isEqualTo(21);
+        assertThat(service.complete()).isTrue();
+    }
+
+    @Test
+    void run_failedBatchLeavesTheBackfillIncomplete() {
+        when(bestScoreJdbcDao.maxAttemptId()).thenReturn(250L);
+        when(bestScoreJdbcDao.backfill(100, 200)).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThatThrownBy(() -> service.run(100)).isInstanceOf(DataAccessResourceFailureException.class);
+
+        verify(bestScoreJdbcDao, never()).saveBackfillPosition(anyLong());
+        verify(bestScoreJdbcDao, never()).completeBackfill();
+        assertThat(service.complete()).isFalse();
+    }
+
+    @Test
+    void start_alreadyCompletedBackfillOnlyRebuildsTheGlobalTotals() {
+        when(bestScoreJdbcDao.backfillPosition()).thenReturn(Optional.empty());
+
+        service.start();
+
+        assertThat(service.complete()).isTrue();
+        verify(globalRanking, timeout(5000)).rebuild();
+        verify(bestScoreJdbcDao, never()).maxAttemptId();
+    }
+
+    @Test
+    void start_rebuildsTheGlobalTotalsOnceTheBackfillCompletes() {
+        when(bestScoreJdbcDao.backfillPosition()).thenReturn(Optional.of(0L));
+        when(bestScoreJdbcDao.maxAttemptId()).thenReturn(50L);
+
+        service.start();
+
+        verify(globalRanking, timeout(5000)).rebuild();
+        InOrder order = inOrder(bestScoreJdbcDao, globalRanking);
+        order.verify(bestScoreJdbcDao).completeBackfill();
+        order.verify(globalRanking).rebuild();
+    }
+
+    @Test
+    void start_withoutTheTableStaysIncomplete() {
+        when(bestScoreJdbcDao.backfillPosition()).thenThrow(new DataAccessResourceFailureException("no table"));
+
+        service.start();
+
+        assertThat(service.complete()).isFalse();
+        verifyNoInteractions(globalRanking);
+    }
+}
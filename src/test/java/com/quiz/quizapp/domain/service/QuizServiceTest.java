@@ -2,19 +2,24 @@ package com.quiz.quizapp.domain.service;
 
 import com.quiz.quizapp.common.ResourceNotFoundException;
 import com.quiz.quizapp.domain.dto.QuizCreateCommand;
+import com.quiz.quizapp.domain.dto.QuizCursor;
 import com.quiz.quizapp.domain.dto.QuizInfo;
 import com.quiz.quizapp.domain.dto.QuizUpdateCommand;
 import com.quiz.quizapp.domain.entity.QuizEntity;
+import com.quiz.quizapp.domain.jdbc.BestScoreJdbcDao;
 import com.quiz.quizapp.domain.repository.QuizRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.lang.reflect.Field;
 import java.time.OffsetDateTime;
@@ -32,54 +37,66 @@ class QuizServiceTest {
     @Mock
     private QuizRepository quizRepository;
 
+    @Mock
+    private QuizVersions quizVersions;
+
+    @Mock
+    private BestScoreJdbcDao bestScoreJdbcDao;
+
+    @Mock
+    private GlobalRankingService globalRanking;
+
     @InjectMocks
     private QuizService quizService;
 
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
-    void list_mapsEntityIdsToInfo() {
+    void list_mapsEntitiesToInfoNewestFirst() {
         QuizEntity q1 = new QuizEntity("T1", "D1");
         setId(q1, 1L);
-        setCreatedAt(q1, OffsetDateTime.now().minusDays(1));
+        setCreatedAt(q1, OffsetDateTime.now());
 
         QuizEntity q2 = new QuizEntity("T2", "D2");
         setId(q2, 2L);
-        setCreatedAt(q2, OffsetDateTime.now());
+        setCreatedAt(q2, OffsetDateTime.now().minusDays(1));
 
-        Page<QuizEntity> page = new PageImpl<>(List.of(q1, q2), PageRequest.of(0, 10), 2);
-        when(quizRepository.findAll(PageRequest.of(0, 10))).thenReturn(page);
+        when(quizRepository.findPageAfter(null, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(q1, q2), PageRequest.of(0, 10), false));
 
-        Page<QuizInfo> out = quizService.list(PageRequest.of(0, 10));
+        Slice<QuizInfo> out = quizService.list(null, 10);
 
         assertThat(out.getContent()).extracting(QuizInfo::id).containsExactly(1L, 2L);
+        assertThat(out.getContent()).extracting(QuizInfo::title).containsExactly("T1", "T2");
     }
 
     @Test
-    void list_mapsTitlesToInfo() {
-        QuizEntity q1 = new QuizEntity("T1", "D1");
-        setId(q1, 1L);
-        setCreatedAt(q1, OffsetDateTime.now().minusDays(1));
-
-        QuizEntity q2 = new QuizEntity("T2", "D2");
-        setId(q2, 2L);
-        setCreatedAt(q2, OffsetDateTime.now());
+    void list_seeksPastTheCursorWithoutCounting() {
+        var cursor = new QuizCursor(OffsetDateTime.parse("2026-01-01T10:00:00Z"), 7L);
+        when(quizRepository.findPageAfter(cursor, PageRequest.of(0, 10))).thenCallRealMethod();
+        when(quizRepository.findOlderThan(cursor.createdAt(), 7L, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
 
-        Page<QuizEntity> page = new PageImpl<>(List.of(q1, q2), PageRequest.of(0, 10), 2);
-        when(quizRepository.findAll(PageRequest.of(0, 10))).thenReturn(page);
+        quizService.list(cursor, 10);
 
-        Page<QuizInfo> out = quizService.list(PageRequest.of(0, 10));
-
-        assertThat(out.getContent()).extracting(QuizInfo::title).containsExactly("T1", "T2");
+        verify(quizRepository).findPageAfter(cursor, PageRequest.of(0, 10));
+        verify(quizRepository).findOlderThan(cursor.createdAt(), 7L, PageRequest.of(0, 10));
+        verify(quizRepository, never()).count();
     }
 
     @Test
-    void list_delegatesToRepositoryWithPageable() {
-        Page<QuizEntity> page = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
-        when(quizRepository.findAll(PageRequest.of(0, 10))).thenReturn(page);
+    void list_clampsThePageSize() {
+        when(quizRepository.findPageAfter(any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
 
-        quizService.list(PageRequest.of(0, 10));
+        quizService.list(null, 10_000);
 
-        verify(quizRepository).findAll(PageRequest.of(0, 10));
-        verifyNoMoreInteractions(quizRepository);
+        verify(quizRepository).findPageAfter(null, PageRequest.of(0, QuizService.MAX_PAGE_SIZE));
     }
 
     @Test
@@ -218,6 +235,19 @@ class QuizServiceTest {
         assertThat(out.title()).isEqualTo("NEW");
     }
 
+    @Test
+    void update_bumpsQuizVersion() {
+        QuizEntity existing = new QuizEntity("OLD", "OLD-D");
+        setId(existing, 3L);
+
+        when(quizRepository.findById(3L)).thenReturn(Optional.of(existing));
+        when(quizRepository.save(any(QuizEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        quizService.update(3L, new QuizUpdateCommand("NEW", "NEW-D", true, true, 15, true));
+
+        verify(quizVersions).bump(3L);
+    }
+
     @Test
     void delete_throwsNotFound_whenMissing() {
         when(quizRepository.existsById(123L)).thenReturn(false);
@@ -236,6 +266,23 @@ class QuizServiceTest {
         quizService.delete(9L);
 
         verify(quizRepository).deleteById(9L);
+        verify(quizVersions).bump(9L);
+    }
+
+    @Test
+    void delete_touchesThePlayersGlobalTotalsOnceCommitted() {
+        when(quizRepository.existsById(9L)).thenReturn(true);
+        when(bestScoreJdbcDao.players(9L)).thenReturn(List.of("ann", "bob"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        quizService.delete(9L);
+        verifyNoInteractions(globalRanking);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        var order = inOrder(bestScoreJdbcDao, quizRepository, globalRanking);
+        order.verify(bestScoreJdbcDao).players(9L);
+        order.verify(quizRepository).deleteById(9L);
+        order.verify(globalRanking).touchAll(List.of("ann", "bob"));
     }
 
     private static void setId(QuizEntity q, long id) {
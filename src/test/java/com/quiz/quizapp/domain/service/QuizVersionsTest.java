@@ -0,0 +1,61 @@
+package com.quiz.quizapp.domain.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuizVersionsTest {
+
+    private final QuizVersions versions = new QuizVersions();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void bump_outsideTransactionIncrementsImmediately() {
+        assertThat(versions.current(1L)).isZero();
+
+        versions.bump(1L);
+        versions.bump(1L);
+
+        assertThat(versions.current(1L)).isEqualTo(2);
+        assertThat(versions.current(2L)).isZero();
+    }
+
+    @Test
+    void bump_insideTransactionWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.bump(1L);
+        assertThat(versions.current(1L)).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(versions.current(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void bump_isDroppedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.bump(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(versions.current(1L)).isZero();
+    }
+
+    @Test
+    void bumpResults_leavesTheContentVersionAlone() {
+        versions.bumpResults(1L);
+
+        assertThat(versions.results(1L)).isEqualTo(1);
+        assertThat(versions.current(1L)).isZero();
+    }
+}
@@ -0,0 +1,252 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.api.dto.RankingRowResponse;
+import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.jdbc.BestScoreJdbcDao;
+import com.quiz.quizapp.domain.jdbc.RankingJdbcDao;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
+import com.quiz.quizapp.domain.ranking.LeaderboardEntry;
+import com.quiz.quizapp.domain.ranking.LiveRankingFeed;
+import com.quiz.quizapp.domain.ranking.PlayerMetric;
+import com.quiz.quizapp.domain.ranking.QuizLeaderboard;
+import com.quiz.quizapp.domain.ranking.RankPosition;
+import com.quiz.quizapp.domain.ranking.RankingCursor;
+import com.quiz.quizapp.domain.ranking.RankingPage;
+import com.quiz.quizapp.domain.ranking.WindowedLeaderboardCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingServiceTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private RankingJdbcDao rankingJdbcDao;
+
+    @Mock
+    private LeaderboardCache leaderboardCache;
+
+    @Mock
+    private BestScoreJdbcDao bestScoreJdbcDao;
+
+    @Mock
+    private LeaderboardBackfillService backfill;
+
+    @Mock
+    private WindowedLeaderboardCache windows;
+
+    @Mock
+    private GlobalRankingService globalRanking;
+
+    @Mock
+    private LiveRankingFeed liveFeed;
+
+    @InjectMocks
+    private RankingService rankingService;
+
+    @Test
+    void topForQuiz_readsTheBoardWithoutQuerying() {
+        var board = new QuizLeaderboard(10);
+        board.put(new LeaderboardEntry(1L, "alice", 7, OffsetDateTime.now()));
+        when(leaderboardCache.get(5L)).thenReturn(board);
+
+        assertThat(rankingService.topForQuiz(5L, 10)).containsExactly(new RankingRowResponse("alice", 7));
+        verifyNoInteractions(rankingJdbcDao);
+    }
+
+    @Test
+    void topForQuiz_queriesWhenLimitIsDeeperThanATruncatedBoard() {
+        var board = new QuizLeaderboard(1);
+        board.load(List.of(new LeaderboardEntry(1L, "alice", 7, OffsetDateTime.now())), 5);
+        when(leaderboardCache.get(5L)).thenReturn(board);
+        when(rankingJdbcDao.topForQuiz(5L, 10)).thenReturn(List.of(new RankingRowResponse("alice", 7)));
+
+        assertThat(rankingService.topForQuiz(5L, 10)).hasSize(1);
+        verify(rankingJdbcDao).topForQuiz(5L, 10);
+    }
+
+    @Test
+    void topForQuiz_clampsTheLimitToOnePage() {
+        var board = new QuizLeaderboard(1);
+        board.load(List.of(new LeaderboardEntry(1L, "alice", 7, OffsetDateTime.now())), 500);
+        when(leaderboardCache.get(5L)).thenReturn(board);
+
+        rankingService.topForQuiz(5L, 1_000_000);
+
+        verify(rankingJdbcDao).topForQuiz(5L, RankingService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void topForQuiz_readsAtLeastOneRow() {
+        var board = new QuizLeaderboard(10);
+        board.put(new LeaderboardEntry(1L, "alice", 7, OffsetDateTime.now()));
+        board.put(new LeaderboardEntry(2L, "bob", 5, OffsetDateTime.now()));
+        when(leaderboardCache.get(5L)).thenReturn(board);
+
+        assertThat(rankingService.topForQuiz(5L, -3)).containsExactly(new RankingRowResponse("alice", 7));
+    }
+
+    @Test
+    void subscribe_startsTheLiveFeedFromTheBoardsTopN() {
+        var board = new QuizLeaderboard(10);
+        board.put(entry(1L, 9));
+        board.put(entry(2L, 5));
+        when(leaderboardCache.get(5L)).thenReturn(board);
+        when(liveFeed.topN()).thenReturn(1);
+
+        rankingService.subscribe(5L);
+
+        verify(liveFeed).subscribe(5L, List.of(board.top(1).getFirst()));
+        verifyNoInteractions(rankingJdbcDao);
+    }
+
+    @Test
+    void position_comesFromTheBoardWithoutQuerying() {
+        var board = new QuizLeaderboard(10);
+        board.put(entry(1L, 9));
+        board.put(entry(2L, 5));
+        when(leaderboardCache.get(5L)).thenReturn(board);
+
+        RankPosition p = rankingService.position(5L, 2L, 3);
+
+        assertThat(p.rank()).isEqualTo(2);
+        assertThat(p.above()).extracting(LeaderboardEntry::attemptId).containsExactly(1L);
+        verifyNoInteractions(rankingJdbcDao);
+    }
+
+    @Test
+    void position_unknownAttemptOnACompleteBoardIsNotFoundWithoutQuerying() {
+        when(leaderboardCache.get(5L)).thenReturn(new QuizLeaderboard(10));
+
+        assertThatThrownBy(() -> rankingService.position(5L, 2L, 3)).isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(rankingJdbcDao);
+    }
+
+    @Test
+    void position_pastATruncatedBoardIsCountedInTheTable() {
+        var board = new QuizLeaderboard(1);
+        board.load(List.of(entry(1L, 9)), 500);
+        var self = entry(300L, 1);
+        when(leaderboardCache.get(5L)).thenReturn(board);
+        when(rankingJdbcDao.findFinished(5L, 300L)).thenReturn(Optional.of(self));
+        when(rankingJdbcDao.countAhead(5L, self)).thenReturn(299L);
+        when(rankingJdbcDao.before(5L, self, 2)).thenReturn(List.of(entry(298L, 1), entry(299L, 1)));
+        when(rankingJdbcDao.after(5L, self, 2)).thenReturn(List.of(entry(301L, 1)));
+
+        RankPosition p = rankingService.position(5L, 300L, 2);
+
+        assertThat(p.rank()).isEqualTo(300);
+        assertThat(p.total()).isEqualTo(500);
+        assertThat(p.above()).hasSize(2);
+        assertThat(p.below()).hasSize(1);
+    }
+
+    @Test
+    void page_walksTheBoardWithCursors() {
+        var board = new QuizLeaderboard(10);
+        for (long id = 1; id <= 5; id++) board.put(entry(id, 10 - (int) id));
+        when(leaderboardCache.get(5L)).thenReturn(board);
+
+        RankingPage first = rankingService.page(5L, null, 2);
+        RankingPage second = rankingService.page(5L, first.nextCursor(), 2);
+        RankingPage last = rankingService.page(5L, second.nextCursor(), 2);
+
+        assertThat(first.entries()).extracting(LeaderboardEntry::attemptId).containsExactly(1L, 2L);
+        assertThat(second.entries()).extracting(LeaderboardEntry::attemptId).containsExactly(3L, 4L);
+        assertThat(last.entries()).extracting(LeaderboardEntry::attemptId).containsExactly(5L);
+        assertThat(last.nextCursor()).isNull();
+        verifyNoInteractions(rankingJdbcDao);
+    }
+
+    @Test
+    void page_pastATruncatedBoardUsesTheKeysetQuery() {
+        var board = new QuizLeaderboard(2);
+        board.load(List.of(entry(1L, 9), entry(2L, 8)), 100);
+        when(leaderboardCache.get(5L)).thenReturn(board);
+        var cursor = RankingCursor.encode(entry(2L, 8));
+        when(rankingJdbcDao.after(eq(5L), any(), eq(3))).thenReturn(List.of(entry(3L, 7), entry(4L, 7), entry(5L, 6)));
+
+        RankingPage page = rankingService.page(5L, cursor, 2);
+
+        assertThat(page.entries()).extracting(LeaderboardEntry::attemptId).containsExactly(3L, 4L);
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void page_rejectsAGarbledCursor() {
+        assertThatThrownBy(() -> rankingService.page(5L, "%%%", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bestForQuiz_readsTheBestScoreTableOnceBackfilled() {
+        when(backfill.complete()).thenReturn(true);
+        when(bestScoreJdbcDao.top(5L, 10)).thenReturn(List.of(new RankingRowResponse("alice", 9)));
+
+        assertThat(rankingService.bestForQuiz(5L, 10)).containsExactly(new RankingRowResponse("alice", 9));
+        verify(bestScoreJdbcDao, never()).topFromAttempts(anyLong(), anyInt());
+    }
+
+    @Test
+    void bestForQuiz_groupsAttemptsWhileTheBackfillRuns() {
+        when(backfill.complete()).thenReturn(false);
+        when(bestScoreJdbcDao.topFromAttempts(5L, 100)).thenReturn(List.of());
+
+        assertThat(rankingService.bestForQuiz(5L, 1000)).isEmpty();
+        verify(bestScoreJdbcDao, never()).top(anyLong(), anyInt());
+    }
+
+    @Test
+    void topPlayers_capsTheLimit() {
+        rankingService.topPlayers(PlayerMetric.TOTAL, 5000);
+
+        verify(globalRanking).top(PlayerMetric.TOTAL, 100);
+    }
+
+    @Test
+    void windowTop_weekRunsFromMondayToToday() {
+        LocalDate today = LocalDate.of(2026, 10, 15);
+        when(windows.today()).thenReturn(today);
+        when(windows.weekStart()).thenReturn(LocalDate.of(2026, 10, 12));
+        when(windows.top(5L, LocalDate.of(2026, 10, 12), today, 10)).thenReturn(List.of(entry(1L, 9)));
+
+        assertThat(rankingService.windowTop(5L, "week", null, null, 10)).containsExactly(new RankingRowResponse("p1", 9));
+    }
+
+    @Test
+    void windowTop_customWindowIsClampedToTodayAndChecked() {
+        LocalDate today = LocalDate.of(2026, 10, 15);
+        when(windows.today()).thenReturn(today);
+        when(windows.retainedSince()).thenReturn(today.minusDays(34));
+
+        rankingService.windowTop(5L, "custom", today.minusDays(3), today.plusDays(3), 10);
+
+        verify(windows).top(5L, today.minusDays(3), today, 10);
+        assertThatThrownBy(() -> rankingService.windowTop(5L, "custom", today.minusDays(40), today, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rankingService.windowTop(5L, "custom", today, today.minusDays(1), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rankingService.windowTop(5L, "custom", null, today, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rankingService.windowTop(5L, "month", null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static LeaderboardEntry entry(long id, int score) {
+        return new LeaderboardEntry(id, "p" + id, score, T0);
+    }
+}
@@ -0,0 +1,286 @@
+package com.quiz.quizapp.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.quizapp.common.ResourceNotFoundException;
+import com.quiz.quizapp.domain.dto.RescoreJobInfo;
+import com.quiz.quizapp.domain.entity.QuestionEntity;
+import com.quiz.quizapp.domain.entity.QuizEntity;
+import com.quiz.quizapp.domain.jdbc.BestScoreJdbcDao;
+import com.quiz.quizapp.domain.jdbc.RescoreJdbcDao;
+import com.quiz.quizapp.domain.jdbc.RescoreJdbcDao.AnswerRow;
+import com.quiz.quizapp.domain.jdbc.RescoreJdbcDao.AnswerUpdate;
+import com.quiz.quizapp.domain.ranking.LeaderboardCache;
+import com.quiz.quizapp.domain.repository.QuestionRepository;
+import com.quiz.quizapp.domain.repository.QuizRepository;
+import com.quiz.quizapp.domain.scoring.AnswerKeyCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RescoreServiceTest {
+
+    private static final long QUIZ_ID = 1L;
+    private static final long JOB_ID = 5L;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private RescoreJdbcDao rescoreJdbcDao;
+
+    @Mock
+    private LeaderboardCache leaderboardCache;
+
+    @Mock
+    private BestScoreJdbcDao bestScoreJdbcDao;
+
+    @Mock
+    private GlobalRankingService globalRanking;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RescoreService rescoreService;
+
+    @BeforeEach
+    void setUp() {
+        var objectMapper = new ObjectMapper();
+        rescoreService = new RescoreService(
+                quizRepository,
+                questionRepository,
+                rescoreJdbcDao,
+                new ScoringService(objectMapper, new AnswerKeyCache(objectMapper, 100)),
+                leaderboardCache,
+                bestScoreJdbcDao,
+                globalRanking,
+                transactionManager,
+                3,
+                2
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        rescoreService.shutdown();
+    }
+
+    @Test
+    void run_writesOnlyChangedVerdictsAndRecomputesScores() {
+        stubQuiz(false);
+        when(rescoreJdbcDao.findJob(JOB_ID)).thenReturn(Optional.of(job(RescoreJobInfo.RUNNING, 0, 0, 0, 0)));
+        streamRows(
+                new AnswerRow(10, 100, "{\"value\":\"B\"}", false, 0),   // now correct
+                new AnswerRow(11, 100, "{\"value\":\"A\"}", true, 2),    // now wrong
+                new AnswerRow(12, 100, "{\"value\":\"B\"}", true, 2),    // unchanged
+                new AnswerRow(13, 100, "{\"value\":\"C\"}", false, 0),   // unchanged
+                new AnswerRow(14, 100, "{\"value\":\"B\"}", false, 0)    // now correct
+        );
+        List<AnswerUpdate> written = new CopyOnWriteArrayList<>();
+        doAnswer(inv -> written.addAll(inv.getArgument(0))).when(rescoreJdbcDao).updateAnswers(anyList());
+        when(rescoreJdbcDao.recomputeScores(QUIZ_ID)).thenReturn(3);
+
+        rescoreService.run(JOB_ID);
+
+        assertThat(written).containsExactlyInAnyOrder(
+                new AnswerUpdate(10, true, 2), new AnswerUpdate(11, false, 0), new AnswerUpdate(14, true, 2));
+        verify(rescoreJdbcDao).streamAnswers(eq(100L), eq(0L), eq(2), any());
+        verify(rescoreJdbcDao, atLeastOnce()).saveProgress(eq(JOB_ID), anyLong(), anyLong(), anyLong(), anyLong());
+        verify(rescoreJdbcDao).saveProgress(JOB_ID, 100L, 14L, 5L, 3L);
+        verify(rescoreJdbcDao).complete(JOB_ID, 3);
+        verify(rescoreJdbcDao, never()).fail(anyLong(), anyString());
+        verify(leaderboardCache).evict(QUIZ_ID);
+        verify(bestScoreJdbcDao).rebuild(QUIZ_ID);
+        verify(globalRanking).touchAll(List.of());
+    }
+
+    @Test
+    void run_leavesAnswersToUnknownQuestionsAlone() {
+        stubQuiz(false);
+        when(rescoreJdbcDao.findJob(JOB_ID)).thenReturn(Optional.of(job(RescoreJobInfo.RUNNING, 0, 0, 0, 0)));
+        streamRows(
+                new AnswerRow(10, 999, "{\"value\":\"B\"}", false, 0),
+                new AnswerRow(11, 100, "{\"value\":\"B\"}", false, 0)
+        );
+        List<AnswerUpdate> written = new CopyOnWriteArrayList<>();
+        doAnswer(inv -> written.addAll(inv.getArgument(0))).when(rescoreJdbcDao).updateAnswers(anyList());
+
+        rescoreService.run(JOB_ID);
+
+        assertThat(written).containsExactly(new AnswerUpdate(11, true, 2));
+        verify(rescoreJdbcDao).complete(eq(JOB_ID), anyInt());
+        verify(rescoreJdbcDao, never()).fail(anyLong(), anyString());
+    }
+
+    @Test
+    void run_appliesNegativePointsToWrongAnswers() {
+        stubQuiz(true);
+        when(rescoreJdbcDao.findJob(JOB_ID)).thenReturn(Optional.of(job(RescoreJobInfo.RUNNING, 0, 0, 0, 0)));
+        streamRows(new AnswerRow(10, 100, "{\"value\":\"A\"}", true, 2));
+        List<AnswerUpdate> written = new CopyOnWriteArrayList<>();
+        doAnswer(inv -> written.addAll(inv.getArgument(0))).when(rescoreJdbcDao).updateAnswers(anyList());
+
+        rescoreService.run(JOB_ID);
+
+        assertThat(written).containsExactly(new AnswerUpdate(10, false, -2));
+    }
+
+    @Test
+    void run_resumesFromCheckpointAndKeepsEarlierCounts() {
+        stubQuiz(false);
+        when(rescoreJdbcDao.findJob(JOB_ID)).thenReturn(Optional.of(job(RescoreJobInfo.RUNNING, 100, 12, 40, 7)));
+        streamRows(new AnswerRow(13, 100, "{\"value\":\"B\"}", false, 0));
+
+        rescoreService.run(JOB_ID);
+
+        verify(rescoreJdbcDao).streamAnswers(eq(100L), eq(12L), eq(2), any());
+        verify(rescoreJdbcDao).saveProgress(JOB_ID, 100L, 13L, 41L, 8L);
+        verify(rescoreJdbcDao).complete(eq(JOB_ID), anyInt());
+    }
+
+    @Test
+    void run_walksOneQuestionAtATimeFromTheCheckpointedOne() {
+        stubQuiz(false, 101L, 99L, 100L);
+        when(rescoreJdbcDao.findJob(JOB_ID)).thenReturn(Optional.of(job(RescoreJobInfo.RUNNING, 100, 12, 40, 7)));
+
+        rescoreService.run(JOB_ID);
+
+        var order = inOrder(rescoreJdbcDao);
+        order.verify(rescoreJdbcDao).streamAnswers(eq(100L), eq(12L), eq(2), any());
+        order.verify(rescoreJdbcDao).streamAnswers(eq(101L), eq(0L), eq(2), any());
+        verify(rescoreJdbcDao, never()).streamAnswers(eq(99L), anyLong(), anyInt(), any());
+        verify(rescoreJdbcDao).complete(eq(JOB_ID), anyInt());
+    }
+
+    @Test
+    void run_marksJobFailedAndDoesNotCheckpointPastTheFailedChunk() {
+        stubQuiz(false);
+        when(rescoreJdbcDao.findJob(JOB_ID)).thenReturn(Optional.of(job(RescoreJobInfo.RUNNING, 0, 0, 0, 0)));
+        streamRows(
+                new AnswerRow(10, 100, "{\"value\":\"B\"}", false, 0),
+                new AnswerRow(11, 100, "{\"value\":\"B\"}", false, 0)
+        );
+        doThrow(new IllegalStateException("connection lost")).when(rescoreJdbcDao).updateAnswers(anyList());
+
+        rescoreService.run(JOB_ID);
+
+        verify(rescoreJdbcDao).fail(eq(JOB_ID), eq("Re-score failed: connection lost"));
+        verify(rescoreJdbcDao, never()).saveProgress(anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+        verify(rescoreJdbcDao, never()).recomputeScores(anyLong());
+        verify(rescoreJdbcDao, never()).complete(anyLong(), anyInt());
+    }
+
+    @Test
+    void run_skipsJobThatIsNoLongerRunning() {
+        when(rescoreJdbcDao.findJob(JOB_ID)).thenReturn(Optional.of(job(RescoreJobInfo.COMPLETED, 0, 0, 0, 0)));
+
+        rescoreService.run(JOB_ID);
+
+        verify(rescoreJdbcDao, never()).streamAnswers(anyLong(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void start_returnsAlreadyRunningJob() {
+        var running = job(RescoreJobInfo.RUNNING, 0, 0, 0, 0);
+        when(quizRepository.existsById(QUIZ_ID)).thenReturn(true);
+        when(rescoreJdbcDao.findRunningJob(QUIZ_ID)).thenReturn(Optional.of(running));
+
+        assertThat(rescoreService.start(QUIZ_ID)).isSameAs(running);
+
+        verify(rescoreJdbcDao, never()).createJob(anyLong(), anyLong());
+    }
+
+    @Test
+    void start_throwsWhenQuizMissing() {
+        when(quizRepository.existsById(QUIZ_ID)).thenReturn(false);
+
+        assertThatThrownBy(() -> rescoreService.start(QUIZ_ID)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void get_throwsWhenJobBelongsToAnotherQuiz() {
+        when(rescoreJdbcDao.findJob(JOB_ID)).thenReturn(Optional.of(job(RescoreJobInfo.RUNNING, 0, 0, 0, 0)));
+
+        assertThatThrownBy(() -> rescoreService.get(2L, JOB_ID)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void resume_rejectsCompletedJob() {
+        when(rescoreJdbcDao.findJob(JOB_ID)).thenReturn(Optional.of(job(RescoreJobInfo.COMPLETED, 0, 0, 0, 0)));
+
+        assertThatThrownBy(() -> rescoreService.resume(QUIZ_ID, JOB_ID)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void resume_conflictsWhenAnotherJobRunsForQuiz() {
+        when(rescoreJdbcDao.findJob(JOB_ID)).thenReturn(Optional.of(job(RescoreJobInfo.FAILED, 0, 0, 0, 0)));
+        when(rescoreJdbcDao.reopen(JOB_ID)).thenThrow(new DuplicateKeyException("ux_rescore_jobs_running"));
+
+        assertThatThrownBy(() -> rescoreService.resume(QUIZ_ID, JOB_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Another re-score job");
+    }
+
+    private void stubQuiz(boolean negativePoints) {
+        stubQuiz(negativePoints, 100L);
+    }
+
+    private void stubQuiz(boolean negativePoints, long... questionIds) {
+        var quiz = new QuizEntity("Quiz", "desc");
+        quiz.setNegativePointsEnabled(negativePoints);
+        when(quizRepository.findById(QUIZ_ID)).thenReturn(Optional.of(quiz));
+
+        List<QuestionEntity> questions = new ArrayList<>();
+        for (long id : questionIds) {
+            var q = new QuestionEntity("SINGLE_CHOICE", "Pick B", 2);
+            q.setAnswerKey("{\"value\":\"B\"}");
+            setId(q, id);
+            questions.add(q);
+        }
+        when(questionRepository.findByQuiz_Id(eq(QUIZ_ID), any(Pageable.class))).thenReturn(new PageImpl<>(questions));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRows(AnswerRow... rows) {
+        doAnswer(inv -> {
+            Consumer<AnswerRow> consumer = inv.getArgument(3);
+            for (AnswerRow row : rows) consumer.accept(row);
+            return null;
+        }).when(rescoreJdbcDao).streamAnswers(anyLong(), anyLong(), anyInt(), any());
+    }
+
+    private static RescoreJobInfo job(String status, long lastQuestionId, long lastAnswerId, long processed, long changed) {
+        return new RescoreJobInfo(JOB_ID, QUIZ_ID, status, 100, processed, changed, lastQuestionId, lastAnswerId, 0,
+                null, null, null);
+    }
+
+    private static void setId(Object entity, Long id) {
+        try {
+            Field f = entity.getClass().getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(entity, id);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -2,13 +2,14 @@ package com.quiz.quizapp.domain.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quiz.quizapp.domain.entity.QuestionEntity;
+import com.quiz.quizapp.domain.scoring.AnswerKeyCache;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ScoringServiceTest {
 
-    private final ScoringService scoringService = new ScoringService(new ObjectMapper());
+    private final ScoringService scoringService = new ScoringService(new ObjectMapper(), new AnswerKeyCache(new ObjectMapper(), 100));
 
     @Test
     void singleChoice_returnsTrueWhenValuesMatch() {
@@ -58,6 +59,40 @@ class ScoringServiceTest {
         assertThat(scoringService.isCorrect(q, "{\"values\":[\" foo \",\"bar\"]}")).isTrue();
     }
 
+    @Test
+    void shortAnswer_foldsDiacritics() {
+        var q = question("SHORT_ANSWER", "{\"value\":\"Łódź\"}");
+        assertThat(scoringService.isCorrect(q, "{\"value\":\"LODZ\"}")).isTrue();
+    }
+
+    @Test
+    void shortAnswer_acceptsTyposOnlyWithinTolerance() {
+        var q = question("SHORT_ANSWER", "{\"value\":\"Photosynthesis\",\"maxTypos\":1}");
+        assertThat(scoringService.isCorrect(q, "{\"value\":\"photosyntesis\"}")).isTrue();
+        assertThat(scoringService.isCorrect(q, "{\"value\":\"fotosyntesis\"}")).isFalse();
+    }
+
+    @Test
+    void shortAnswer_rejectsBlankAnswerEvenWhenToleranceCoversTheKey() {
+        var q = question("SHORT_ANSWER", "{\"value\":\"Ab\",\"maxTypos\":2}");
+        assertThat(scoringService.isCorrect(q, "{\"value\":\"\"}")).isFalse();
+        assertThat(scoringService.isCorrect(q, "{\"value\":\"  \"}")).isFalse();
+        assertThat(scoringService.isCorrect(q, "{\"value\":\"A\"}")).isTrue();
+    }
+
+    @Test
+    void shortAnswer_requiresExactMatchWithoutTolerance() {
+        var q = question("SHORT_ANSWER", "{\"value\":\"Photosynthesis\"}");
+        assertThat(scoringService.isCorrect(q, "{\"value\":\"photosyntesis\"}")).isFalse();
+    }
+
+    @Test
+    void fillBlanks_appliesToleranceToEachBlank() {
+        var q = question("FILL_BLANKS", "{\"values\":[\"public\",\"static\"],\"maxTypos\":1}");
+        assertThat(scoringService.isCorrect(q, "{\"values\":[\"pubic\",\"statc\"]}")).isTrue();
+        assertThat(scoringService.isCorrect(q, "{\"values\":[\"pubic\",\"stc\"]}")).isFalse();
+    }
+
     @Test
     void sorting_returnsTrueWhenExactOrderMatches() {
         var q = question("SORTING", "{\"values\":[\"1\",\"2\",\"3\"]}");
@@ -88,6 +123,24 @@ class ScoringServiceTest {
         assertThat(scoringService.isCorrect(q, "not-json")).isFalse();
     }
 
+    @Test
+    void multiChoice_returnsTrueWhenBothKeyAndAnswerLackValues() {
+        var q = question("MULTI_CHOICE", "{}");
+        assertThat(scoringService.isCorrect(q, "{\"other\":1}")).isTrue();
+    }
+
+    @Test
+    void singleChoice_returnsFalseWhenKeyValueIsNull() {
+        var q = question("SINGLE_CHOICE", "{\"value\":null}");
+        assertThat(scoringService.isCorrect(q, "{\"value\":null}")).isFalse();
+    }
+
+    @Test
+    void trueFalse_returnsFalseWhenAnswerLacksValue() {
+        var q = question("TRUE_FALSE", "{\"value\":false}");
+        assertThat(scoringService.isCorrect(q, "{}")).isFalse();
+    }
+
     private static QuestionEntity question(String type, String answerKey) {
         var q = new QuestionEntity();
         q.setType(type);
@@ -0,0 +1,82 @@
+package com.quiz.quizapp.domain.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SingleInstanceGuardTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement(anyString())).thenReturn(statement);
+        lenient().when(statement.executeQuery()).thenReturn(resultSet);
+        lenient().when(resultSet.next()).thenReturn(true);
+    }
+
+    @Test
+    void firstInstanceTakesTheLockAndKeepsItsConnectionUntilShutdown() throws Exception {
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        var guard = new SingleInstanceGuard(dataSource, true);
+
+        guard.acquire();
+
+        assertThat(guard.holdsLock()).isTrue();
+        verify(statement).setLong(1, SingleInstanceGuard.LOCK_KEY);
+        verify(connection, never()).close();
+
+        guard.release();
+
+        verify(connection).prepareStatement("select pg_advisory_unlock(?)");
+        verify(connection).close();
+        assertThat(guard.holdsLock()).isFalse();
+    }
+
+    @Test
+    void secondInstanceFailsToStart() throws Exception {
+        when(resultSet.getBoolean(1)).thenReturn(false);
+        var guard = new SingleInstanceGuard(dataSource, true);
+
+        assertThatThrownBy(guard::acquire)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Another instance");
+
+        verify(connection).close();
+        assertThat(guard.holdsLock()).isFalse();
+    }
+
+    @Test
+    void notEnforcedTakesNoConnection() throws Exception {
+        var guard = new SingleInstanceGuard(dataSource, false);
+
+        guard.acquire();
+        guard.release();
+
+        verifyNoInteractions(dataSource);
+    }
+}
@@ -0,0 +1,31 @@
+package com.quiz.quizapp.domain.service;
+
+import com.quiz.quizapp.domain.dto.SubmitOutcome;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubmitOutcomeCacheTest {
+
+    @Test
+    void keepsOutcomeWithItsKey() {
+        var cache = new SubmitOutcomeCache(10);
+        cache.put("k", new SubmitOutcome(1L, 5));
+
+        assertThat(cache.get(1L)).isEqualTo(new SubmitOutcomeCache.Entry("k", new SubmitOutcome(1L, 5)));
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondCapacity() {
+        var cache = new SubmitOutcomeCache(2);
+        cache.put("a", new SubmitOutcome(1L, 0));
+        cache.put("b", new SubmitOutcome(2L, 0));
+        cache.get(1L);
+        cache.put("c", new SubmitOutcome(3L, 0));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.get(2L)).isNull();
+    }
+}
@@ -5,14 +5,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -37,25 +38,29 @@ class CreatorQuizControllerWebMvcTest {
 
     @Test
     void list_rendersLayoutViewName() throws Exception {
-        when(creatorQuizFacade.list(any())).thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 50), 0));
+        when(creatorQuizFacade.list(isNull(), eq(50))).thenReturn(new SliceImpl<>(List.of()));
 
         mvc.perform(get("/creator/quizzes"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("fragments/layout"));
 
-        verify(creatorQuizFacade).list(any());
+        verify(creatorQuizFacade).list(null, 50);
+        verify(creatorQuizFacade).nextCursor(any());
         verifyNoMoreInteractions(creatorQuizFacade);
     }
 
     @Test
     void list_exposesExpectedModelAttributes() throws Exception {
-        when(creatorQuizFacade.list(any())).thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 50), 0));
+        when(creatorQuizFacade.list(eq("abc"), eq(50))).thenReturn(new SliceImpl<>(List.of()));
+        when(creatorQuizFacade.nextCursor(any())).thenReturn("def");
 
-        mvc.perform(get("/creator/quizzes"))
+        mvc.perform(get("/creator/quizzes").param("after", "abc"))
                 .andExpect(status().isOk())
-                .andExpect(model().attributeExists("quizzes", "title", "contentTemplate", "contentFragment"));
+                .andExpect(model().attributeExists("quizzes", "title", "contentTemplate", "contentFragment"))
+                .andExpect(model().attribute("nextCursor", "def"));
 
-        verify(creatorQuizFacade).list(any());
+        verify(creatorQuizFacade).list("abc", 50);
+        verify(creatorQuizFacade).nextCursor(any());
         verifyNoMoreInteractions(creatorQuizFacade);
     }
 
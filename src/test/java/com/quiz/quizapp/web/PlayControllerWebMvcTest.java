@@ -67,25 +67,30 @@ class PlayControllerWebMvcTest {
 
     @Test
     void home_rendersPlayHomeViewName() throws Exception {
-        when(playFacade.listPlayableQuizzes()).thenReturn(List.of());
+        when(playFacade.getHomeViewModel(null)).thenReturn(Map.of("quizzes", List.of()));
 
         mvc.perform(get("/play"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("play/home"));
 
-        verify(playFacade).listPlayableQuizzes();
+        verify(playFacade).getHomeViewModel(null);
         verifyNoMoreInteractions(playFacade);
     }
 
     @Test
-    void home_exposesQuizzesModelAttribute() throws Exception {
-        when(playFacade.listPlayableQuizzes()).thenReturn(List.of());
+    void home_passesTheCursorAndExposesTheNextOne() throws Exception {
+        Map<String, Object> vm = new HashMap<>();
+        vm.put("quizzes", List.of());
+        vm.put("after", "abc");
+        vm.put("nextCursor", "def");
+        when(playFacade.getHomeViewModel("abc")).thenReturn(vm);
 
-        mvc.perform(get("/play"))
+        mvc.perform(get("/play").param("after", "abc"))
                 .andExpect(status().isOk())
+                .andExpect(model().attribute("nextCursor", "def"))
                 .andExpect(model().attributeExists("quizzes"));
 
-        verify(playFacade).listPlayableQuizzes();
+        verify(playFacade).getHomeViewModel("abc");
         verifyNoMoreInteractions(playFacade);
     }
 
@@ -206,6 +211,19 @@ class PlayControllerWebMvcTest {
         verifyNoMoreInteractions(playFacade);
     }
 
+    @Test
+    void globalRanking_rendersGlobalRankingView() throws Exception {
+        when(playFacade.getGlobalRankingViewModel("average", 25)).thenReturn(Map.of("metric", "average", "rows", List.of()));
+
+        mvc.perform(get("/play/ranking").param("metric", "average"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("play/global-ranking"))
+                .andExpect(model().attribute("metric", "average"));
+
+        verify(playFacade).getGlobalRankingViewModel("average", 25);
+        verifyNoMoreInteractions(playFacade);
+    }
+
     @Test
     void ranking_rendersRankingViewName() throws Exception {
         Map<String, Object> vm = Map.of(